@@ -0,0 +1,164 @@
+package io.HeslingtonHustle.benchmarks;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.math.Rectangle;
+import com.main.utils.CollisionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures moving entities one tick with {@link CollisionHandler#adjustPos}, both the allocating version and the
+ * one the collision system uses, which writes into arrays, and checking them against the door layers with
+ * {@link CollisionHandler#isTouching} as the game screen does every frame.
+ * <p>
+ * Each operation moves every entity once from the same starting positions, so the work is the same in every
+ * iteration. The movement decides how much collision resolution there is to do: walking in the open hits
+ * nothing, walking diagonally into a wall slides along it, walking into a corner is pushed back twice, and
+ * walking among scattered blocks hits a bit of everything.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    // The player's collision box, as the game sets it up
+    private static final float SPRITE_WIDTH = 24, SPRITE_HEIGHT = 38 * 0.5f, BOX_SCALE = 0.7f;
+    private static final float STEP = 2; // Pixels moved in a tick, about the player's walking speed
+    private static final long SEED = 1;
+
+    /**
+     * Enumerates the ways the entities move.
+     */
+    public enum Movement {
+        OPEN,        // In the middle of the rooms, in every direction
+        ALONG_WALL,  // Diagonally into the wall above, sliding along it
+        INTO_CORNER, // Diagonally into the top right corner of the room
+        SCATTERED    // Among randomly blocked tiles, in every direction
+    }
+
+    @Param({"64", "256", "1024"})
+    public int mapTiles;
+
+    @Param({"1", "100", "1000"})
+    public int entities;
+
+    @Param
+    public Movement movement;
+
+    private CollisionHandler collisions;
+    private float[] x, y, dx, dy;
+    private float[] resolvedX, resolvedY; // Where adjustPosInPlace writes, as the collision system uses the world's arrays
+    private Rectangle[] boxes;
+
+    @Setup
+    public void setUp() {
+        TiledMap map = SyntheticMap.create(mapTiles, movement == Movement.SCATTERED);
+        collisions = new CollisionHandler(map, SyntheticMap.TILE_SIZE, SyntheticMap.TILE_SIZE,
+                SPRITE_WIDTH, SPRITE_HEIGHT, BOX_SCALE, BOX_SCALE);
+        collisions.addCollisionLayers(SyntheticMap.COLLISION_LAYERS);
+
+        x = new float[entities];
+        y = new float[entities];
+        dx = new float[entities];
+        dy = new float[entities];
+        resolvedX = new float[entities];
+        resolvedY = new float[entities];
+        boxes = new Rectangle[entities];
+        Random random = new Random(SEED);
+        int rooms = SyntheticMap.rooms(mapTiles);
+        int roomSize = SyntheticMap.ROOM_TILES * SyntheticMap.TILE_SIZE;
+        for (int i = 0; i < entities; i++) {
+            // The corner of the room the entity starts in, inside its walls
+            float roomX = (i % rooms) * roomSize + SyntheticMap.TILE_SIZE;
+            float roomY = (i / rooms % rooms) * roomSize + SyntheticMap.TILE_SIZE;
+            // The furthest the box can go before touching the walls to the right of and above the room
+            float right = roomX + roomSize - SyntheticMap.TILE_SIZE - collisions.getBoxWidth() - 1;
+            float top = roomY + roomSize - SyntheticMap.TILE_SIZE - collisions.getBoxHeight() - 1;
+            float boxX, boxY;
+            switch (movement) {
+                case ALONG_WALL:
+                    boxX = roomX + 2 * SyntheticMap.TILE_SIZE;
+                    boxY = top;
+                    dx[i] = dy[i] = STEP;
+                    break;
+                case INTO_CORNER:
+                    boxX = right;
+                    boxY = top;
+                    dx[i] = dy[i] = STEP;
+                    break;
+                case SCATTERED:
+                    do {
+                        boxX = SyntheticMap.TILE_SIZE + random.nextFloat() * (mapTiles - 3) * SyntheticMap.TILE_SIZE;
+                        boxY = SyntheticMap.TILE_SIZE + random.nextFloat() * (mapTiles - 3) * SyntheticMap.TILE_SIZE;
+                    } while (overlapsBlock(boxX, boxY));
+                    randomStep(random, i);
+                    break;
+                default:
+                    boxX = roomX + 3 * SyntheticMap.TILE_SIZE;
+                    boxY = roomY + 3 * SyntheticMap.TILE_SIZE;
+                    randomStep(random, i);
+                    break;
+            }
+            x[i] = boxX - collisions.getBoxOffsetX();
+            y[i] = boxY - collisions.getBoxOffsetY();
+            boxes[i] = new Rectangle(boxX, boxY, collisions.getBoxWidth(), collisions.getBoxHeight());
+        }
+    }
+
+    private void randomStep(Random random, int i) {
+        double angle = random.nextDouble() * 2 * Math.PI;
+        dx[i] = (float) (Math.cos(angle) * STEP);
+        dy[i] = (float) (Math.sin(angle) * STEP);
+    }
+
+    private boolean overlapsBlock(float boxX, float boxY) {
+        int left = (int) boxX / SyntheticMap.TILE_SIZE, bottom = (int) boxY / SyntheticMap.TILE_SIZE;
+        int right = (int) (boxX + collisions.getBoxWidth()) / SyntheticMap.TILE_SIZE;
+        int top = (int) (boxY + collisions.getBoxHeight()) / SyntheticMap.TILE_SIZE;
+        for (int tileX = left; tileX <= right; tileX++) {
+            for (int tileY = bottom; tileY <= top; tileY++) {
+                if (collisions.isBlocked(tileX, tileY)) return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public void adjustPos(Blackhole blackhole) {
+        for (int i = 0; i < entities; i++) {
+            blackhole.consume(collisions.adjustPos(x[i], y[i], x[i] + dx[i], y[i] + dy[i]));
+        }
+    }
+
+    @Benchmark
+    public float adjustPosInPlace() {
+        for (int i = 0; i < entities; i++) {
+            collisions.adjustPos(x[i], y[i], x[i] + dx[i], y[i] + dy[i], resolvedX, resolvedY, i);
+        }
+        return resolvedX[entities - 1] + resolvedY[entities - 1];
+    }
+
+    @Benchmark
+    public void isTouching(Blackhole blackhole) {
+        for (int i = 0; i < entities; i++) {
+            for (String door : SyntheticMap.DOOR_LAYERS) {
+                blackhole.consume(collisions.isTouching(door, boxes[i]));
+            }
+        }
+    }
+}
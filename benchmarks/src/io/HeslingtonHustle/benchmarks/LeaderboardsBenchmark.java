@@ -0,0 +1,72 @@
+package io.HeslingtonHustle.benchmarks;
+
+import com.main.utils.Leaderboards;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Leaderboards#registerResult} on a full leaderboard, for a new high score that pushes the
+ * lowest entry off, a player on the board beating their own score, and a score too low to place. Every one
+ * of them rewrites the leaderboard file, which is leaderboard.csv in the working directory, so the
+ * benchmark is run from a scratch directory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardsBenchmark {
+    private static final String FILE_NAME = "leaderboard.csv";
+    private static final int ENTRIES = 10;
+    private static final int NAMES = 1000; // New players cycle through this many names
+
+    private Leaderboards leaderboards;
+    private int nextScore, nextName;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        new File(FILE_NAME).delete();
+        leaderboards = new Leaderboards();
+        for (int i = 0; i < ENTRIES; i++) {
+            leaderboards.registerResult(100 + i, "player" + i);
+        }
+        nextScore = 200;
+        nextName = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        new File(FILE_NAME).delete();
+    }
+
+    @Benchmark
+    public void newHighScore() {
+        leaderboards.registerResult(nextScore++, "new" + nextName);
+        nextName = (nextName + 1) % NAMES;
+    }
+
+    @Benchmark
+    public void playerImproves() {
+        leaderboards.registerResult(nextScore++, "player" + ENTRIES / 2);
+    }
+
+    @Benchmark
+    public void tooLowToPlace() {
+        leaderboards.registerResult(0, "new" + nextName);
+        nextName = (nextName + 1) % NAMES;
+    }
+}
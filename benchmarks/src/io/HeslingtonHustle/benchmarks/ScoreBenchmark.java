@@ -0,0 +1,96 @@
+package io.HeslingtonHustle.benchmarks;
+
+import com.main.rules.Place;
+import com.main.rules.Score;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures scoring a day with {@link Score#calculateScore()}, for days that exercise different parts of the
+ * rules, and playing a whole day's worth of actions into a score and scoring it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreBenchmark {
+
+    /**
+     * Enumerates the kinds of day scored.
+     */
+    public enum Day {
+        EMPTY,      // Nothing done, so studying is missed
+        TYPICAL,    // Studying once, three meals and one activity
+        ALL_PLACES, // Studying and relaxing everywhere, for the variety bonuses
+        FEAST       // Eating eight times, more meals than are timed
+    }
+
+    @Param
+    public Day day;
+
+    private Score score;
+
+    @Setup
+    public void setUp() {
+        score = new Score();
+        play(score, day);
+    }
+
+    /**
+     * Records a day's actions into a score.
+     */
+    private static void play(Score score, Day day) {
+        switch (day) {
+            case TYPICAL:
+                score.study(3, Place.COMP_SCI);
+                score.eat(9);
+                score.doRecActivity(Place.GYM);
+                score.eat(13);
+                score.eat(19);
+                break;
+            case ALL_PLACES:
+                score.study(2, Place.COMP_SCI);
+                score.study(2, Place.PIAZZA);
+                score.study(2, Place.RON_COOKE);
+                score.doRecActivity(Place.GYM);
+                score.doRecActivity(Place.FEED_DUCKS);
+                score.doRecActivity(Place.VISIT_CITY);
+                score.eat(8);
+                score.eat(12);
+                score.eat(18);
+                break;
+            case FEAST:
+                score.study(1, Place.PIAZZA);
+                for (int hour = 22; hour >= 8; hour -= 2) score.eat(hour);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Benchmark
+    public int calculateScore() {
+        return score.calculateScore();
+    }
+
+    @Benchmark
+    public int playAndScoreDay() {
+        play(score, day);
+        int result = score.calculateScore();
+        score.resetDailyCounters();
+        return result;
+    }
+}
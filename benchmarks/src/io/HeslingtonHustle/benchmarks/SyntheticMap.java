@@ -0,0 +1,89 @@
+package io.HeslingtonHustle.benchmarks;
+
+import com.badlogic.gdx.maps.MapLayers;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+
+import java.util.Random;
+
+/**
+ * Builds tile maps of any size laid out like the campus, with the same collision and door layers, so the
+ * collision benchmarks can be run on maps larger than the real one without loading any textures.
+ * <p>
+ * The map is a grid of square rooms, each walled on every side with a gap in the middle of each wall, and a
+ * door tile in the middle of each room. Blocked tiles are spread over the collision layers in turn, as the
+ * real map's walls, water and trees are. A scattered map instead blocks a quarter of its tiles at random.
+ */
+final class SyntheticMap {
+    static final int TILE_SIZE = 16;
+    static final int ROOM_TILES = 16; // The width and height of a room, including one of its walls
+    // The layers the player collides with and the doors checked each frame, as in the game
+    static final String[] COLLISION_LAYERS = {"Water", "Trees", "wall_1", "wall_2", "wall_3", "roof_1", "roof_2", "roof_3", "other"};
+    static final String[] DOOR_LAYERS = {"Comp_sci_door", "Piazza_door", "Gym_door", "Goodricke_door", "Feed_ducks", "Visit_city"};
+    private static final float SCATTERED_BLOCKED = 0.25f;
+    private static final long SEED = 1;
+
+    private SyntheticMap() {
+    }
+
+    /**
+     * Builds a map.
+     *
+     * @param tiles The width and height of the map in tiles.
+     * @param scattered True to block tiles at random instead of building rooms.
+     * @return The map.
+     */
+    static TiledMap create(int tiles, boolean scattered) {
+        TiledMap map = new TiledMap();
+        MapLayers layers = map.getLayers();
+        TiledMapTileLayer[] collision = new TiledMapTileLayer[COLLISION_LAYERS.length];
+        for (int i = 0; i < collision.length; i++) {
+            collision[i] = layer(COLLISION_LAYERS[i], tiles);
+            layers.add(collision[i]);
+        }
+        TiledMapTileLayer[] doors = new TiledMapTileLayer[DOOR_LAYERS.length];
+        for (int i = 0; i < doors.length; i++) {
+            doors[i] = layer(DOOR_LAYERS[i], tiles);
+            layers.add(doors[i]);
+        }
+
+        // The layers only check whether a cell is present, so every blocked tile can share one
+        TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+        Random random = new Random(SEED);
+        int blocked = 0, room = 0;
+        for (int x = 0; x < tiles; x++) {
+            for (int y = 0; y < tiles; y++) {
+                if (isBlocked(x, y, tiles, scattered, random)) {
+                    collision[blocked++ % collision.length].setCell(x, y, cell);
+                } else if (!scattered && x % ROOM_TILES == ROOM_TILES / 2 && y % ROOM_TILES == ROOM_TILES / 2) {
+                    doors[room++ % doors.length].setCell(x, y, cell);
+                }
+            }
+        }
+        return map;
+    }
+
+    private static boolean isBlocked(int x, int y, int tiles, boolean scattered, Random random) {
+        if (x == 0 || y == 0 || x == tiles - 1 || y == tiles - 1) return true;
+        if (scattered) return random.nextFloat() < SCATTERED_BLOCKED;
+        boolean gap = x % ROOM_TILES == ROOM_TILES / 2 || y % ROOM_TILES == ROOM_TILES / 2;
+        return (x % ROOM_TILES == 0 || y % ROOM_TILES == 0) && !gap;
+    }
+
+    private static TiledMapTileLayer layer(String name, int tiles) {
+        TiledMapTileLayer layer = new TiledMapTileLayer(tiles, tiles, TILE_SIZE, TILE_SIZE);
+        layer.setName(name);
+        return layer;
+    }
+
+    /**
+     * Returns the number of rooms along each side of a map that are walled on every side, leaving out
+     * the ones cut short by the edge of the map.
+     *
+     * @param tiles The width and height of the map in tiles.
+     * @return The number of rooms, at least 1.
+     */
+    static int rooms(int tiles) {
+        return Math.max((tiles - 1) / ROOM_TILES, 1);
+    }
+}
@@ -0,0 +1,86 @@
+package io.HeslingtonHustle.benchmarks;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.loaders.resolvers.AbsoluteFileHandleResolver;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading the campus map as the game screen does, parsing the TMX file and decoding the tileset
+ * images, under the headless backend with a GL context that does nothing. The time to upload the textures
+ * to a GPU is not included.
+ * <p>
+ * The assets directory is given by the benchmarks.assets system property, and another map in it can be
+ * measured with -p map=path/to/map.tmx.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TmxLoadBenchmark {
+    @Param({"map/MainMap.tmx"})
+    public String map;
+
+    private HeadlessApplication application;
+    private TmxMapLoader loader;
+    private String path;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new HeadlessApplication(new ApplicationAdapter() {}, new HeadlessApplicationConfiguration());
+        Gdx.gl = Gdx.gl20 = nullGL();
+        loader = new TmxMapLoader(new AbsoluteFileHandleResolver());
+        path = new File(System.getProperty("benchmarks.assets", "../assets"), map).getAbsolutePath();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.exit();
+    }
+
+    @Benchmark
+    public int loadMap() {
+        TiledMap tiledMap = loader.load(path);
+        int layers = tiledMap.getLayers().getCount();
+        tiledMap.dispose();
+        return layers;
+    }
+
+    /**
+     * Creates a GL context in which every call does nothing and returns zero.
+     */
+    private static GL20 nullGL() {
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] {GL20.class},
+                (proxy, method, args) -> {
+                    Class<?> type = method.getReturnType();
+                    if (type == int.class) return 0;
+                    if (type == boolean.class) return false;
+                    if (type == float.class) return 0f;
+                    if (type == long.class) return 0L;
+                    return null;
+                });
+    }
+}
@@ -1,20 +1,38 @@
 package com.main;
 
 import com.badlogic.gdx.Game;
-import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import static com.badlogic.gdx.Gdx.graphics;
+import static com.badlogic.gdx.Gdx.input;
+import com.main.utils.AssetLoader;
+import com.main.utils.DisposableTracker;
+import com.main.utils.FontCache;
+import com.main.utils.GameClock;
 import com.main.utils.GameData;
+import com.main.utils.InputLog;
+import com.main.utils.InputRecorder;
+import com.main.utils.InputRouter;
+import com.main.utils.JobSystem;
+import com.main.utils.PowerManager;
+import com.main.utils.RandomService;
 import com.main.utils.ScreenManager;
 import com.main.utils.ScreenType;
+import com.main.utils.SimulatedScreen;
+
+import java.io.OutputStream;
 
 /**
  * The main class for the game, extending the LibGDX Game class.
  * It initialises and manages the game's resources, screens, and settings.
+ * <p>
+ * The game runs in fixed ticks of {@link GameClock#STEP}, and everything random is drawn from the session's
+ * seed, so a session can be recorded by an {@link InputRecorder} and replayed exactly by calling
+ * {@link #frame(int)} with the recorded ticks.
  */
 public class Main extends Game {
 	public SpriteBatch batch; // Used for drawing textures and sprites in batches
@@ -23,9 +41,37 @@ public class Main extends Game {
 	public int screenWidth, screenHeight; // The current width and height of the screen
 	public int defWidth, defHeight; // Default screen width and height, used for UI scaling
 	public Skin skin; // Used for storing UI elements' styles and skins
+	public FontCache fonts; // Shared Peaberry font, baked once for each size the screens draw at
+	public AssetLoader assets; // Loads screen textures, decoding prewarmed ones in the background
+	public InputRouter inputRouter; // Receives all input and forwards it to the current screen
+	public PowerManager power; // Throttles the game while it is in the background or idle
+	public JobSystem jobs; // Runs per-frame work, such as updating entities, across all cores
 	public OrthographicCamera defaultCamera;
 	public float scaleFactorX;
 	public float scaleFactorY;
+	public final long sessionSeed; // Everything random in the session is drawn from this
+	public final RandomService random; // Named random streams split from the session seed
+	public final GameClock clock; // Turns the time between frames into fixed ticks
+	public final InputRecorder recorder; // Records the session, or null if it isn't being recorded
+
+	/**
+	 * Constructs the game with a seed from the clock, without recording the session.
+	 */
+	public Main() {
+		this(System.nanoTime(), null);
+	}
+
+	/**
+	 * Constructs the game.
+	 * @param sessionSeed The seed everything random in the session is drawn from.
+	 * @param recording The stream to record the session to, or null not to record it.
+	 */
+	public Main(long sessionSeed, OutputStream recording) {
+		this.sessionSeed = sessionSeed;
+		this.random = new RandomService(sessionSeed);
+		this.clock = new GameClock();
+		this.recorder = recording == null ? null : new InputRecorder(recording, sessionSeed);
+	}
 
     /**
 	 * Called when the game is first created.
@@ -33,7 +79,8 @@ public class Main extends Game {
 	 */
 	@Override
 	public void create () {
-		batch = new SpriteBatch();
+		DisposableTracker.setOwner("Main");
+		batch = DisposableTracker.track(new SpriteBatch(), "SpriteBatch");
 		gameData = new GameData();
 		screenWidth = graphics.getWidth();
 		screenHeight = graphics.getHeight();
@@ -48,15 +95,26 @@ public class Main extends Game {
 		scaleFactorY = 1;
 
 		// Fonts for writing in game
+		fonts = new FontCache();
 		skin = new Skin();
-		BitmapFont font = new BitmapFont(Gdx.files.internal("font/WhitePeaberry.fnt"));
+		BitmapFont font = fonts.getBase();
 		skin.add("default-font", font, BitmapFont.class);
 		Label.LabelStyle labelStyle = new Label.LabelStyle();
 		labelStyle.font = font;
 		skin.add("Peaberry", labelStyle, Label.LabelStyle.class);
 
+		// All input goes through the router, so the power manager sees it whatever screen is showing
+		inputRouter = new InputRouter();
+		inputRouter.setRecorder(recorder);
+		input.setInputProcessor(inputRouter);
+
+		assets = new AssetLoader();
+		jobs = new JobSystem();
+
 		// Initialize and set up the screen manager
 		screenManager = new ScreenManager(this);
+		power = new PowerManager(this);
+		inputRouter.addFilter(power);
 		screenManager.keepInMemory(ScreenType.GAME_SCREEN);
 		screenManager.setScreen(ScreenType.MAIN_MENU);
 	}
@@ -72,18 +130,45 @@ public class Main extends Game {
 	 */
 	@Override
 	public void render () {
-		super.render();
+		frame(clock.advance(graphics.getDeltaTime()));
+	}
+
+	/**
+	 * Runs one frame of the game. A {@link SimulatedScreen} is updated once for each tick and then drawn
+	 * once; any other screen is rendered once with the time of all the ticks. Either way the screen is drawn
+	 * even if the frame has no ticks.
+	 * @param ticks The number of ticks to run.
+	 */
+	public void frame(int ticks) {
+		if (recorder != null) recorder.frame(ticks);
+		clock.count(ticks);
+		assets.update();
+		screenManager.applyPendingResize();
+		Screen current = screen;
+		if (current instanceof SimulatedScreen) {
+			SimulatedScreen simulated = (SimulatedScreen) current;
+			// Stop if a tick changes the screen, such as the game ending
+			for (int tick = 0; tick < ticks && screen == simulated; tick++) {
+				simulated.update(GameClock.STEP);
+			}
+			if (screen == simulated) simulated.draw();
+			else if (screen != null) screen.render(0);
+		} else if (current != null) {
+			current.render(ticks * GameClock.STEP);
+		}
+		screenManager.renderTransition(ticks * GameClock.STEP);
 	}
 
 	/**
 	 * Called when the application is resized.
+	 * The screens are not laid out here; the screen manager applies the final size once before the next frame.
 	 * @param width The new width of the application.
 	 * @param height The new height of the application.
 	 */
 	@Override
 	public void resize(int width, int height) {
 		if (width != 0 || height != 0){
-			super.resize(width, height);
+			if (recorder != null) recorder.record(InputLog.RESIZE, false, width, height);
 			defaultCamera.setToOrtho(false, width, height);
 			defaultCamera.update();
 			screenWidth = width;
@@ -94,11 +179,40 @@ public class Main extends Game {
 		}
 	}
 
+	/**
+	 * Called when the window loses focus or is minimised.
+	 * The power manager pauses the current screen and the music and lowers the frame rate.
+	 */
+	@Override
+	public void pause() {
+		power.setBackground(true);
+	}
+
+	/**
+	 * Called when the window regains focus or is restored.
+	 */
+	@Override
+	public void resume() {
+		power.setBackground(false);
+	}
+
 	/**
 	 * Called when the game is closing.
 	 * Disposes of resources to avoid memory leaks.
 	 */
 	@Override
 	public void dispose () {
+		if (recorder != null) recorder.close();
+		power.dispose();
+		screenManager.dispose();
+		assets.dispose();
+		jobs.dispose();
+		DisposableTracker.dispose(batch);
+		// The skin's font belongs to the font cache, which disposes it
+		skin.remove("default-font", BitmapFont.class);
+		skin.dispose();
+		fonts.dispose();
+		gameData.dispose();
+		DisposableTracker.report("Game disposed");
 	}
 }
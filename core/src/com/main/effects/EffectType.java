@@ -0,0 +1,39 @@
+package com.main.effects;
+
+/**
+ * The kinds of particle effect shown as feedback for the player's activities, each with the settings
+ * its particles are emitted with.
+ */
+public enum EffectType {
+    //        duration rate life  speed direction spread gravity size  red   green blue  alpha
+    CRUMBS   (1.0f,    40,  0.8f, 40,   270,      120,   -60,    1.5f, 0.76f, 0.6f, 0.42f, 1f),  // Feeding the ducks
+    SWEAT    (1.5f,    25,  0.6f, 50,   90,       100,   -120,   1.5f, 0.6f,  0.8f, 1f,    1f),  // Exercising at the gym
+    SPARKLES (1.2f,    30,  0.7f, 25,   90,       360,   0,      2f,   1f,    0.95f, 0.5f, 1f),  // Studying
+    STEAM    (2.0f,    15,  1.5f, 15,   90,       30,    8,      3f,   1f,    1f,   1f,    0.6f); // Eating a meal
+
+    final float duration;    // How long the effect emits particles for, in seconds
+    final float rate;        // Particles emitted per second
+    final float life;        // How long each particle lasts, in seconds
+    final float speed;       // Starting speed of a particle, in pixels per second
+    final float direction;   // Direction particles are emitted in, in degrees counterclockwise from the right
+    final float spread;      // Range of directions around the direction, in degrees
+    final float gravity;     // Vertical acceleration, in pixels per second squared
+    final float size;        // Width and height of a particle, in pixels
+    final float red, green, blue, alpha; // The starting color, which fades out over the particle's life
+
+    EffectType(float duration, float rate, float life, float speed, float direction, float spread, float gravity,
+               float size, float red, float green, float blue, float alpha) {
+        this.duration = duration;
+        this.rate = rate;
+        this.life = life;
+        this.speed = speed;
+        this.direction = direction;
+        this.spread = spread;
+        this.gravity = gravity;
+        this.size = size;
+        this.red = red;
+        this.green = green;
+        this.blue = blue;
+        this.alpha = alpha;
+    }
+}
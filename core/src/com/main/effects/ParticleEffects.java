@@ -0,0 +1,215 @@
+package com.main.effects;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.main.map.CameraController;
+import com.main.utils.DisposableTracker;
+
+import java.util.SplittableRandom;
+
+/**
+ * The ParticleEffects class shows small bursts of particles as feedback for the player's activities,
+ * such as crumbs when feeding the ducks or steam from a meal.
+ * <p>
+ * Everything is allocated up front: a fixed pool of effects, and one set of particle arrays shared by all
+ * of them whose size is the particle budget. Starting an effect takes a free one from the pool, and emitting
+ * a particle takes the next free slot in the arrays, so nothing is allocated during the game. When the budget
+ * is used up new particles are simply not emitted until others die. Effects further outside the camera's view
+ * than the cull distance do not emit at all, particles outside the view are not drawn, and the rest are all drawn
+ * from a single 1x1 white texture so the batch never has to switch textures between them.
+ */
+public class ParticleEffects implements Disposable {
+    public static final int DEFAULT_PARTICLE_BUDGET = 1024;
+    public static final int DEFAULT_MAX_EFFECTS = 16;
+    public static final float CULL_DISTANCE = 200f; // Effects further than this outside the view do not emit
+    private static final EffectType[] TYPES = EffectType.values(); // values() copies the array on every call
+
+    private final Texture white;
+    private final SplittableRandom random;
+
+    // The pool of effects, of which the first activeEffects are running
+    private final EffectType[] effectType;
+    private final float[] effectX, effectY, effectTime, effectEmitDebt;
+    private int activeEffects;
+
+    // Live particles, kept packed at the front of the arrays
+    private final byte[] particleType;
+    private final float[] particleX, particleY, velocityX, velocityY, age;
+    private int particles;
+
+    /**
+     * Constructs a particle subsystem with the default budget and pool size.
+     *
+     * @param random The source of the particles' directions and speeds.
+     */
+    public ParticleEffects(SplittableRandom random) {
+        this(DEFAULT_PARTICLE_BUDGET, DEFAULT_MAX_EFFECTS, random);
+    }
+
+    /**
+     * Constructs a particle subsystem.
+     *
+     * @param particleBudget The most particles that can be alive at once.
+     * @param maxEffects The most effects that can be running at once.
+     * @param random The source of the particles' directions and speeds.
+     */
+    public ParticleEffects(int particleBudget, int maxEffects, SplittableRandom random) {
+        Pixmap pixel = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        pixel.setColor(Color.WHITE);
+        pixel.fill();
+        this.white = DisposableTracker.track(new Texture(pixel), "particle texture");
+        pixel.dispose();
+        this.random = random;
+
+        this.effectType = new EffectType[maxEffects];
+        this.effectX = new float[maxEffects];
+        this.effectY = new float[maxEffects];
+        this.effectTime = new float[maxEffects];
+        this.effectEmitDebt = new float[maxEffects];
+
+        this.particleType = new byte[particleBudget];
+        this.particleX = new float[particleBudget];
+        this.particleY = new float[particleBudget];
+        this.velocityX = new float[particleBudget];
+        this.velocityY = new float[particleBudget];
+        this.age = new float[particleBudget];
+    }
+
+    /**
+     * Starts an effect at a position.
+     *
+     * @param type The kind of effect.
+     * @param x The X coordinate particles are emitted from.
+     * @param y The Y coordinate particles are emitted from.
+     * @return False if every effect in the pool is already running, in which case nothing is shown.
+     */
+    public boolean start(EffectType type, float x, float y) {
+        if (activeEffects == effectType.length) return false;
+        int i = activeEffects++;
+        effectType[i] = type;
+        effectX[i] = x;
+        effectY[i] = y;
+        effectTime[i] = 0;
+        effectEmitDebt[i] = 0;
+        return true;
+    }
+
+    /**
+     * Emits new particles from the running effects, moves the particles and removes those that have died.
+     *
+     * @param delta Time since last frame in seconds.
+     * @param view The camera controller, used to skip emitting from effects that are far off screen.
+     */
+    public void update(float delta, CameraController view) {
+        for (int i = 0; i < activeEffects; i++) {
+            EffectType type = effectType[i];
+            effectTime[i] += delta;
+            if (effectTime[i] >= type.duration) {
+                removeEffect(i--);
+                continue;
+            }
+            if (!view.isNearView(effectX[i], effectY[i], CULL_DISTANCE)) continue;
+
+            effectEmitDebt[i] += type.rate * delta;
+            while (effectEmitDebt[i] >= 1) {
+                effectEmitDebt[i]--;
+                emit(type, effectX[i], effectY[i]);
+            }
+        }
+
+        for (int p = 0; p < particles; p++) {
+            EffectType type = TYPES[particleType[p]];
+            age[p] += delta;
+            if (age[p] >= type.life) {
+                removeParticle(p--);
+                continue;
+            }
+            velocityY[p] += type.gravity * delta;
+            particleX[p] += velocityX[p] * delta;
+            particleY[p] += velocityY[p] * delta;
+        }
+    }
+
+    /**
+     * Draws the particles in view, fading each out over its life.
+     *
+     * @param batch The batch to draw with, which must already have begun.
+     * @param view The controller of the camera the world is viewed through.
+     */
+    public void draw(SpriteBatch batch, CameraController view) {
+        if (particles == 0) return;
+        float previousColor = batch.getPackedColor();
+        for (int p = 0; p < particles; p++) {
+            EffectType type = TYPES[particleType[p]];
+            float x = particleX[p] - type.size / 2f, y = particleY[p] - type.size / 2f;
+            if (!view.isVisible(x, y, type.size, type.size)) continue;
+            float fade = 1 - age[p] / type.life;
+            batch.setPackedColor(Color.toFloatBits(type.red, type.green, type.blue, type.alpha * fade));
+            batch.draw(white, x, y, type.size, type.size);
+        }
+        batch.setPackedColor(previousColor);
+    }
+
+    /**
+     * Returns the number of live particles.
+     *
+     * @return The number of particles.
+     */
+    public int getParticleCount() {
+        return particles;
+    }
+
+    /**
+     * Stops every effect and removes every particle.
+     */
+    public void clear() {
+        for (int i = 0; i < activeEffects; i++) effectType[i] = null;
+        activeEffects = 0;
+        particles = 0;
+    }
+
+    private void emit(EffectType type, float x, float y) {
+        if (particles == particleType.length) return; // Over budget
+        int p = particles++;
+        float angle = (type.direction + ((float) random.nextDouble() - 0.5f) * type.spread) * MathUtils.degreesToRadians;
+        float speed = type.speed * (0.5f + (float) random.nextDouble() * 0.5f);
+        particleType[p] = (byte) type.ordinal();
+        particleX[p] = x;
+        particleY[p] = y;
+        velocityX[p] = MathUtils.cos(angle) * speed;
+        velocityY[p] = MathUtils.sin(angle) * speed;
+        age[p] = 0;
+    }
+
+    private void removeEffect(int i) {
+        int last = --activeEffects;
+        effectType[i] = effectType[last];
+        effectX[i] = effectX[last];
+        effectY[i] = effectY[last];
+        effectTime[i] = effectTime[last];
+        effectEmitDebt[i] = effectEmitDebt[last];
+        effectType[last] = null;
+    }
+
+    private void removeParticle(int p) {
+        int last = --particles;
+        particleType[p] = particleType[last];
+        particleX[p] = particleX[last];
+        particleY[p] = particleY[last];
+        velocityX[p] = velocityX[last];
+        velocityY[p] = velocityY[last];
+        age[p] = age[last];
+    }
+
+    /**
+     * Releases the particle texture.
+     */
+    @Override
+    public void dispose() {
+        DisposableTracker.dispose(white);
+    }
+}
@@ -0,0 +1,42 @@
+package com.main.entity;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.main.utils.Directions;
+
+/**
+ * An AnimationSet holds the walking and idle animations of a character for each direction it can face,
+ * and is shared by every entity that looks the same.
+ */
+public class AnimationSet {
+    private final Animation<TextureRegion>[] walk;
+    private final Animation<TextureRegion>[] idle;
+
+    /**
+     * Constructs an animation set. Both arrays are indexed by the ordinal of {@link Directions}.
+     *
+     * @param walk The walking animation for each direction.
+     * @param idle The idle animation for each direction.
+     */
+    public AnimationSet(Animation<TextureRegion>[] walk, Animation<TextureRegion>[] idle) {
+        this.walk = walk;
+        this.idle = idle;
+    }
+
+    /**
+     * Returns the frame to draw for a character.
+     *
+     * @param facing The ordinal of the direction the character faces.
+     * @param moving Whether the character is walking.
+     * @param stateTime How long the character has been animated for, in seconds.
+     * @return The frame to draw.
+     */
+    public TextureRegion getFrame(int facing, boolean moving, float stateTime) {
+        // Animation.getKeyFrame records the last frame it returned, so the looping frame is worked out here
+        // instead, letting entities on different threads share the animations
+        Animation<TextureRegion> animation = (moving ? walk : idle)[facing];
+        TextureRegion[] frames = animation.getKeyFrames();
+        int frameNumber = (int) (stateTime / animation.getFrameDuration());
+        return frames[frameNumber % frames.length];
+    }
+}
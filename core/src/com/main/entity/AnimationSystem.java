@@ -0,0 +1,21 @@
+package com.main.entity;
+
+/**
+ * The AnimationSystem class advances the animation of entities with the {@link EntityWorld#ANIMATION}
+ * component and chooses the frame the {@link RenderSystem} draws, from the direction the entity faces
+ * and whether it is moving.
+ */
+public class AnimationSystem implements EntitySystem {
+    @Override
+    public void update(EntityWorld world, int start, int end, float delta) {
+        final int[] components = world.components, animationSet = world.animationSet;
+        final float[] stateTime = world.stateTime, velocityX = world.velocityX, velocityY = world.velocityY;
+        final byte[] facing = world.facing;
+        for (int i = start; i < end; i++) {
+            if ((components[i] & EntityWorld.ANIMATION) == 0 || animationSet[i] < 0) continue;
+            stateTime[i] += delta;
+            boolean moving = velocityX[i] != 0 || velocityY[i] != 0;
+            world.frame[i] = world.getAnimationSet(animationSet[i]).getFrame(facing[i], moving, stateTime[i]);
+        }
+    }
+}
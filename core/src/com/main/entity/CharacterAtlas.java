@@ -0,0 +1,109 @@
+package com.main.entity;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+import com.main.utils.DisposableTracker;
+import com.main.utils.Directions;
+
+/**
+ * The CharacterAtlas class packs the idle and walking sprite sheets of both player characters side by side
+ * into a single texture, and builds the animations of each character from it once.
+ * <p>
+ * Switching character is then just a matter of picking the other {@link AnimationSet}, so returning to the
+ * game screen after changing character in the settings reads no files and uploads nothing to the GPU, and
+ * the player is drawn from the same texture whichever character is chosen.
+ */
+public class CharacterAtlas implements Disposable {
+    private static final String[] SHEETS = {
+            "character/boy_idle.png", "character/boy_walk.png",
+            "character/girl_idle.png", "character/girl_walk.png"
+    };
+
+    private final Texture texture;
+    private final AnimationSet boy, girl;
+
+    /**
+     * Loads the sprite sheets, packs them into one texture and builds the animations.
+     *
+     * @param frameWidth The width of a frame in the sprite sheets.
+     * @param frameHeight The height of a frame in the sprite sheets.
+     * @param frameDuration How long each frame of the animations is shown for, in seconds.
+     */
+    public CharacterAtlas(int frameWidth, int frameHeight, float frameDuration) {
+        Pixmap[] sheets = new Pixmap[SHEETS.length];
+        int width = 0, height = 0;
+        for (int i = 0; i < SHEETS.length; i++) {
+            sheets[i] = new Pixmap(Gdx.files.internal(SHEETS[i]));
+            width += sheets[i].getWidth();
+            height = Math.max(height, sheets[i].getHeight());
+        }
+
+        Pixmap packed = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+        packed.setBlending(Pixmap.Blending.None); // Copy the pixels exactly, including transparent ones
+        int[] offsets = new int[SHEETS.length];
+        int x = 0;
+        for (int i = 0; i < SHEETS.length; i++) {
+            offsets[i] = x;
+            packed.drawPixmap(sheets[i], x, 0);
+            x += sheets[i].getWidth();
+        }
+        texture = DisposableTracker.track(new Texture(packed), "character atlas");
+        packed.dispose();
+
+        boy = buildAnimations(offsets[0], offsets[1], sheets[0], sheets[1], frameWidth, frameHeight, frameDuration);
+        girl = buildAnimations(offsets[2], offsets[3], sheets[2], sheets[3], frameWidth, frameHeight, frameDuration);
+        for (Pixmap sheet : sheets) {
+            sheet.dispose();
+        }
+    }
+
+    /**
+     * Returns the animations of a character.
+     *
+     * @param isBoy True for the boy, false for the girl, as stored in the game data.
+     * @return The character's animations.
+     */
+    public AnimationSet getAnimations(boolean isBoy) {
+        return isBoy ? boy : girl;
+    }
+
+    /**
+     * Splits a character's two sheets within the packed texture into frames and builds an animation for each
+     * direction. The rows of the sheets are down, left, right and up, and the idle sheet's first two frames
+     * of each row are used.
+     */
+    @SuppressWarnings("unchecked")
+    private AnimationSet buildAnimations(int idleX, int walkX, Pixmap idleSheet, Pixmap walkSheet,
+                                         int frameWidth, int frameHeight, float frameDuration) {
+        TextureRegion[][] idleFrames = new TextureRegion(texture, idleX, 0, idleSheet.getWidth(), idleSheet.getHeight())
+                .split(frameWidth, frameHeight);
+        TextureRegion[][] walkFrames = new TextureRegion(texture, walkX, 0, walkSheet.getWidth(), walkSheet.getHeight())
+                .split(frameWidth, frameHeight);
+
+        int[] rows = new int[Directions.values().length];
+        rows[Directions.Down.ordinal()] = 0;
+        rows[Directions.Left.ordinal()] = 1;
+        rows[Directions.Right.ordinal()] = 2;
+        rows[Directions.Up.ordinal()] = 3;
+        Animation<TextureRegion>[] walk = new Animation[Directions.values().length];
+        Animation<TextureRegion>[] idle = new Animation[Directions.values().length];
+        for (Directions dir : Directions.values()) {
+            int row = rows[dir.ordinal()];
+            walk[dir.ordinal()] = new Animation<>(frameDuration, walkFrames[row]);
+            idle[dir.ordinal()] = new Animation<>(frameDuration, idleFrames[row][0], idleFrames[row][1]);
+        }
+        return new AnimationSet(walk, idle);
+    }
+
+    /**
+     * Releases the packed texture.
+     */
+    @Override
+    public void dispose() {
+        DisposableTracker.dispose(texture);
+    }
+}
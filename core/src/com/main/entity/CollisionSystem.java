@@ -0,0 +1,49 @@
+package com.main.entity;
+
+import com.main.utils.CollisionHandler;
+
+/**
+ * The CollisionSystem class moves entities with the {@link EntityWorld#COLLISION} component towards the
+ * target position chosen by the {@link MovementSystem}, keeping them inside the map and stopping them
+ * at blocked tiles using the collision handler registered for the entity. Collisions are resolved straight
+ * into the world's arrays, so nothing is allocated however many entities move.
+ */
+public class CollisionSystem implements EntitySystem {
+    private final float mapWidth, mapHeight;
+
+    /**
+     * Constructs a collision system for a map of the given size.
+     *
+     * @param mapWidth The width of the map in pixels.
+     * @param mapHeight The height of the map in pixels.
+     */
+    public CollisionSystem(float mapWidth, float mapHeight) {
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+    }
+
+    @Override
+    public void update(EntityWorld world, int start, int end, float delta) {
+        final int[] components = world.components, collider = world.collider;
+        final float[] x = world.x, y = world.y, targetX = world.targetX, targetY = world.targetY;
+        final float[] width = world.width, height = world.height;
+        for (int i = start; i < end; i++) {
+            if ((components[i] & EntityWorld.COLLISION) == 0) continue;
+
+            // Entities don't walk beyond the map
+            float targX = Math.max(0, Math.min(targetX[i], mapWidth - width[i]));
+            float targY = Math.max(0, Math.min(targetY[i], mapHeight - height[i]));
+            if (targX == x[i] && targY == y[i]) continue; // Standing still cannot collide with anything
+
+            if (collider[i] >= 0) {
+                CollisionHandler handler = world.getCollider(collider[i]);
+                handler.adjustPos(x[i], y[i], targX, targY, targetX, targetY, i);
+            } else {
+                targetX[i] = targX;
+                targetY[i] = targY;
+            }
+            x[i] = targetX[i];
+            y[i] = targetY[i];
+        }
+    }
+}
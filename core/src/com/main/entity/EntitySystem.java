@@ -0,0 +1,31 @@
+package com.main.entity;
+
+/**
+ * A system updates one aspect of every entity that has the components it works on,
+ * by walking the component arrays of the {@link EntityWorld} from start to end.
+ * <p>
+ * The world may hand different ranges of entities to different threads at the same time, so a system must
+ * only write to the slots of the entities in its own range, and must not change shared state such as the
+ * registered animation sets. Reading anything else is fine, as nothing else is written during an update.
+ */
+public interface EntitySystem {
+    /**
+     * Prepares for an update, on the calling thread before any range of entities is updated.
+     * This is where a system can gather what it needs to read about other entities.
+     *
+     * @param world The world holding the entities.
+     * @param delta Time since last frame in seconds.
+     */
+    default void begin(EntityWorld world, float delta) {
+    }
+
+    /**
+     * Updates a range of entities for one frame.
+     *
+     * @param world The world holding the entities.
+     * @param start The index of the first entity to update.
+     * @param end One past the index of the last entity to update.
+     * @param delta Time since last frame in seconds.
+     */
+    void update(EntityWorld world, int start, int end, float delta);
+}
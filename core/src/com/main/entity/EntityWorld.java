@@ -0,0 +1,407 @@
+package com.main.entity;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.main.utils.CollisionHandler;
+import com.main.utils.Directions;
+import com.main.utils.JobSystem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The EntityWorld class stores every entity in the game world, such as the player, as rows of
+ * primitive arrays rather than as one object per entity.
+ * <p>
+ * An entity is just an id. The components it has are a bit mask of {@link #MOVEMENT}, {@link #COLLISION},
+ * {@link #ANIMATION}, {@link #RENDER}, {@link #FLOCK} and {@link #NPC}, and its data lives at the same index in each component array.
+ * The arrays are kept densely packed: destroying an entity moves the last entity into its slot, so the
+ * systems can walk the arrays from 0 to {@link #size()} without gaps. Ids stay valid while their entity
+ * is alive and are translated to array indices through {@link #indexOf(int)}.
+ * <p>
+ * The world runs its systems in the order they were added each time {@link #update(float)} is called.
+ * Given a {@link JobSystem}, each system is run over batches of entities on several threads, and the next
+ * system only starts once every batch of the previous one is done. Drawing is kept separate in the
+ * {@link RenderSystem}, on the render thread, so that it can happen inside the screen's batch after the update.
+ */
+public class EntityWorld {
+    public static final int MOVEMENT = 1;   // Moves by its velocity every update
+    public static final int COLLISION = 2;  // Stops at blocked tiles and the edge of the map
+    public static final int ANIMATION = 4;  // Picks its frame from an animation set
+    public static final int RENDER = 8;     // Is drawn by the render system
+    public static final int FLOCK = 16;     // Is steered by the flock system, like the ducks
+    public static final int NPC = 32;       // Follows a timetable, moved by the NPC system
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Component data, indexed by position in the dense arrays
+    int[] ids, components;
+    float[] x, y, targetX, targetY, velocityX, velocityY, width, height, stateTime;
+    int[] collider, animationSet;
+    byte[] facing;
+    TextureRegion[] frame;
+    int size;
+
+    // Maps ids to dense indices, with the ids of destroyed entities kept for reuse
+    private int[] indices;
+    private int[] freeIds;
+    private int freeCount, nextId;
+
+    private final List<CollisionHandler> colliders;
+    private final List<AnimationSet> animationSets;
+    private final List<EntitySystem> systems;
+    private final JobSystem.RangeJob runSystem;
+    private JobSystem jobs;
+    private EntitySystem currentSystem;
+    private float currentDelta;
+
+    /**
+     * Constructs an empty world with room for a few entities. The arrays grow as entities are created.
+     */
+    public EntityWorld() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty world with room for a given number of entities before the arrays have to grow.
+     *
+     * @param capacity The number of entities to allocate room for.
+     */
+    public EntityWorld(int capacity) {
+        capacity = Math.max(capacity, 1);
+        ids = new int[capacity];
+        components = new int[capacity];
+        x = new float[capacity];
+        y = new float[capacity];
+        targetX = new float[capacity];
+        targetY = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        width = new float[capacity];
+        height = new float[capacity];
+        stateTime = new float[capacity];
+        collider = new int[capacity];
+        animationSet = new int[capacity];
+        facing = new byte[capacity];
+        frame = new TextureRegion[capacity];
+        indices = new int[capacity];
+        freeIds = new int[capacity];
+        Arrays.fill(indices, -1);
+        colliders = new ArrayList<>();
+        animationSets = new ArrayList<>();
+        systems = new ArrayList<>();
+        // Created once, rather than a lambda for each system every frame
+        runSystem = (start, end) -> currentSystem.update(this, start, end, currentDelta);
+    }
+
+    /**
+     * Sets the job system used to run the systems in parallel.
+     *
+     * @param jobs The job system, or null to run every system on the calling thread.
+     */
+    public void setJobSystem(JobSystem jobs) {
+        this.jobs = jobs;
+    }
+
+    /**
+     * Adds a system to be run on every update, after the systems already added.
+     *
+     * @param system The system to add.
+     * @return The system, so it can be kept by the caller.
+     */
+    public <T extends EntitySystem> T addSystem(T system) {
+        systems.add(system);
+        return system;
+    }
+
+    /**
+     * Runs every system over the entities, returning once all of them have finished.
+     * Entities must not be created or destroyed by the systems.
+     *
+     * @param delta Time since last frame in seconds.
+     */
+    public void update(float delta) {
+        for (EntitySystem system : systems) {
+            system.begin(this, delta);
+            if (jobs == null) {
+                system.update(this, 0, size, delta);
+                continue;
+            }
+            currentSystem = system;
+            currentDelta = delta;
+            jobs.parallelFor(size, runSystem);
+        }
+        currentSystem = null;
+    }
+
+    /**
+     * Creates an entity at the origin, facing down and standing still.
+     *
+     * @param components The components of the entity, combined with bitwise or.
+     * @return The id of the new entity.
+     */
+    public int create(int components) {
+        if (size == ids.length) grow(size * 2);
+        int id = freeCount > 0 ? freeIds[--freeCount] : nextId++;
+        if (id >= indices.length) {
+            int oldLength = indices.length;
+            indices = Arrays.copyOf(indices, Math.max(id + 1, oldLength * 2));
+            Arrays.fill(indices, oldLength, indices.length, -1);
+        }
+
+        int i = size++;
+        indices[id] = i;
+        ids[i] = id;
+        this.components[i] = components;
+        x[i] = y[i] = targetX[i] = targetY[i] = 0;
+        velocityX[i] = velocityY[i] = 0;
+        width[i] = height[i] = 0;
+        stateTime[i] = 0;
+        collider[i] = -1;
+        animationSet[i] = -1;
+        facing[i] = (byte) Directions.Down.ordinal();
+        frame[i] = null;
+        return id;
+    }
+
+    /**
+     * Destroys an entity. Its id may be handed out again by a later call to {@link #create(int)}.
+     *
+     * @param entity The id of the entity.
+     */
+    public void destroy(int entity) {
+        int i = indexOf(entity);
+        int last = --size;
+        if (i != last) {
+            // Move the last entity into the gap so the arrays stay packed
+            ids[i] = ids[last];
+            components[i] = components[last];
+            x[i] = x[last];
+            y[i] = y[last];
+            targetX[i] = targetX[last];
+            targetY[i] = targetY[last];
+            velocityX[i] = velocityX[last];
+            velocityY[i] = velocityY[last];
+            width[i] = width[last];
+            height[i] = height[last];
+            stateTime[i] = stateTime[last];
+            collider[i] = collider[last];
+            animationSet[i] = animationSet[last];
+            facing[i] = facing[last];
+            frame[i] = frame[last];
+            indices[ids[i]] = i;
+        }
+        frame[last] = null;
+        indices[entity] = -1;
+        if (freeCount == freeIds.length) freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        freeIds[freeCount++] = entity;
+    }
+
+    /**
+     * Destroys every entity, keeping the systems, colliders and animation sets.
+     */
+    public void clear() {
+        while (size > 0) destroy(ids[size - 1]);
+    }
+
+    /**
+     * Returns whether an id belongs to a live entity.
+     *
+     * @param entity The id of the entity.
+     * @return True if the entity exists.
+     */
+    public boolean isAlive(int entity) {
+        return entity >= 0 && entity < indices.length && indices[entity] >= 0;
+    }
+
+    /**
+     * Returns the position of an entity in the component arrays.
+     *
+     * @param entity The id of the entity.
+     * @return The index of the entity's data.
+     * @throws IllegalArgumentException If the entity does not exist.
+     */
+    int indexOf(int entity) {
+        if (!isAlive(entity)) throw new IllegalArgumentException("No entity with id " + entity);
+        return indices[entity];
+    }
+
+    /**
+     * Returns the number of live entities.
+     *
+     * @return The number of entities.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether an entity has all of the given components.
+     *
+     * @param entity The id of the entity.
+     * @param components The components, combined with bitwise or.
+     * @return True if the entity has every component.
+     */
+    public boolean has(int entity, int components) {
+        return (this.components[indexOf(entity)] & components) == components;
+    }
+
+    /**
+     * Moves an entity to a position without checking for collisions.
+     *
+     * @param entity The id of the entity.
+     * @param newX The new X coordinate.
+     * @param newY The new Y coordinate.
+     */
+    public void setPosition(int entity, float newX, float newY) {
+        int i = indexOf(entity);
+        x[i] = targetX[i] = newX;
+        y[i] = targetY[i] = newY;
+    }
+
+    public float getX(int entity) {
+        return x[indexOf(entity)];
+    }
+
+    public float getY(int entity) {
+        return y[indexOf(entity)];
+    }
+
+    /**
+     * Sets the velocity the movement system moves an entity by.
+     *
+     * @param entity The id of the entity.
+     * @param newVelocityX The horizontal velocity in pixels per second.
+     * @param newVelocityY The vertical velocity in pixels per second.
+     */
+    public void setVelocity(int entity, float newVelocityX, float newVelocityY) {
+        int i = indexOf(entity);
+        velocityX[i] = newVelocityX;
+        velocityY[i] = newVelocityY;
+    }
+
+    /**
+     * Returns whether an entity has a velocity, which the animation system uses to choose between walking
+     * and idle animations.
+     *
+     * @param entity The id of the entity.
+     * @return True if the entity is moving.
+     */
+    public boolean isMoving(int entity) {
+        int i = indexOf(entity);
+        return velocityX[i] != 0 || velocityY[i] != 0;
+    }
+
+    /**
+     * Sets the size an entity is drawn at, which is also the box kept inside the map.
+     *
+     * @param entity The id of the entity.
+     * @param newWidth The width in pixels.
+     * @param newHeight The height in pixels.
+     */
+    public void setSize(int entity, float newWidth, float newHeight) {
+        int i = indexOf(entity);
+        width[i] = newWidth;
+        height[i] = newHeight;
+    }
+
+    public float getWidth(int entity) {
+        return width[indexOf(entity)];
+    }
+
+    public float getHeight(int entity) {
+        return height[indexOf(entity)];
+    }
+
+    public void setFacing(int entity, Directions dir) {
+        facing[indexOf(entity)] = (byte) dir.ordinal();
+    }
+
+    public Directions getFacing(int entity) {
+        return Directions.values()[facing[indexOf(entity)]];
+    }
+
+    /**
+     * Sets the frame drawn for an entity without an animation set.
+     *
+     * @param entity The id of the entity.
+     * @param region The region to draw.
+     */
+    public void setFrame(int entity, TextureRegion region) {
+        frame[indexOf(entity)] = region;
+    }
+
+    public TextureRegion getFrame(int entity) {
+        return frame[indexOf(entity)];
+    }
+
+    /**
+     * Registers a collision handler that entities can share.
+     *
+     * @param handler The handler, sized for the entities that will use it.
+     * @return The collider number to pass to {@link #setCollider(int, int)}.
+     */
+    public int addCollider(CollisionHandler handler) {
+        colliders.add(handler);
+        return colliders.size() - 1;
+    }
+
+    CollisionHandler getCollider(int collider) {
+        return colliders.get(collider);
+    }
+
+    public void setCollider(int entity, int collider) {
+        this.collider[indexOf(entity)] = collider;
+    }
+
+    /**
+     * Registers a set of animations that entities can share.
+     *
+     * @param set The animations.
+     * @return The set number to pass to {@link #setAnimationSet(int, int)}.
+     */
+    public int addAnimationSet(AnimationSet set) {
+        animationSets.add(set);
+        return animationSets.size() - 1;
+    }
+
+    /**
+     * Replaces a registered set of animations, changing the animations of every entity that uses it.
+     *
+     * @param setNumber The set number returned when it was registered.
+     * @param set The new animations.
+     */
+    public void replaceAnimationSet(int setNumber, AnimationSet set) {
+        animationSets.set(setNumber, set);
+    }
+
+    AnimationSet getAnimationSet(int setNumber) {
+        return animationSets.get(setNumber);
+    }
+
+    public void setAnimationSet(int entity, int setNumber) {
+        animationSet[indexOf(entity)] = setNumber;
+    }
+
+    /**
+     * Grows every component array to a new capacity.
+     *
+     * @param capacity The new number of entities there is room for.
+     */
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        components = Arrays.copyOf(components, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        targetX = Arrays.copyOf(targetX, capacity);
+        targetY = Arrays.copyOf(targetY, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        stateTime = Arrays.copyOf(stateTime, capacity);
+        collider = Arrays.copyOf(collider, capacity);
+        animationSet = Arrays.copyOf(animationSet, capacity);
+        facing = Arrays.copyOf(facing, capacity);
+        frame = Arrays.copyOf(frame, capacity);
+    }
+}
@@ -0,0 +1,302 @@
+package com.main.entity;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The FlockSystem class steers entities with the {@link EntityWorld#FLOCK} component, the ducks on the lake,
+ * as a boids flock: each duck moves away from ducks that are too close (separation), matches the heading
+ * of its neighbours (alignment) and moves towards their centre (cohesion). While an attractor is set, such
+ * as the player feeding the ducks, nearby ducks also swim towards it.
+ * <p>
+ * Neighbours are found through a uniform grid with cells as wide as the neighbour radius, rebuilt at the
+ * start of each update, so each duck only looks at the ducks in the 3x3 cells around it rather than at the
+ * whole flock. The grid and a copy of every duck's position and velocity are taken before the ducks are
+ * steered, so the steering reads only that copy and gives the same result on any number of threads.
+ * <p>
+ * Ducks are kept on the water: they are pushed away from nearby tiles that are not water, and a velocity
+ * that would carry a duck onto land this update is cut back until it does not.
+ */
+public class FlockSystem implements EntitySystem {
+    public static final float NEIGHBOUR_RADIUS = 24f;  // Also the width of a grid cell
+    public static final float SEPARATION_RADIUS = 12f;
+    public static final float ATTRACTION_RADIUS = 160f;
+    public static final float MAX_SPEED = 30f;         // Pixels per second
+    public static final float MAX_FORCE = 40f;         // Pixels per second squared
+    public static final float SEPARATION_WEIGHT = 1.6f;
+    public static final float ALIGNMENT_WEIGHT = 1.0f;
+    public static final float COHESION_WEIGHT = 0.6f;
+    public static final float ATTRACTION_WEIGHT = 1.2f;
+    public static final float SHORE_WEIGHT = 3.0f;
+    private static final int SPAWN_ATTEMPTS = 50;      // Tries at finding water before a duck is given up on
+
+    private final boolean[] water;
+    private final int tilesX, tilesY, tileSize;
+    private final int cellsX, cellsY;
+    private final TextureRegion facingLeft, facingRight;
+
+    // Rebuilt at the start of every update, indexed by position in the world's arrays
+    private float[] snapshotX, snapshotY, snapshotVelocityX, snapshotVelocityY;
+    private int[] cellOf;
+    private final int[] cellStart;
+    private int[] cellEntities;
+
+    private boolean attracting;
+    private float attractX, attractY;
+
+    /**
+     * Constructs a flock system for a map.
+     *
+     * @param waterLayer The layer whose tiles the ducks may swim on.
+     * @param tileSize The size of a tile in pixels.
+     * @param facingLeft The duck frame drawn while swimming left.
+     * @param facingRight The duck frame drawn while swimming right.
+     */
+    public FlockSystem(TiledMapTileLayer waterLayer, int tileSize, TextureRegion facingLeft, TextureRegion facingRight) {
+        this.tilesX = waterLayer.getWidth();
+        this.tilesY = waterLayer.getHeight();
+        this.tileSize = tileSize;
+        this.water = new boolean[tilesX * tilesY];
+        for (int tileY = 0; tileY < tilesY; tileY++) {
+            for (int tileX = 0; tileX < tilesX; tileX++) {
+                water[tileY * tilesX + tileX] = waterLayer.getCell(tileX, tileY) != null;
+            }
+        }
+        this.cellsX = (int) Math.ceil(tilesX * tileSize / NEIGHBOUR_RADIUS);
+        this.cellsY = (int) Math.ceil(tilesY * tileSize / NEIGHBOUR_RADIUS);
+        this.cellStart = new int[cellsX * cellsY + 1];
+        this.cellEntities = new int[0];
+        this.snapshotX = this.snapshotY = this.snapshotVelocityX = this.snapshotVelocityY = new float[0];
+        this.cellOf = new int[0];
+        this.facingLeft = facingLeft;
+        this.facingRight = facingRight;
+    }
+
+    /**
+     * Creates ducks at random points on the water around a position, swimming in random directions.
+     *
+     * @param world The world to create the ducks in.
+     * @param count The number of ducks to create.
+     * @param centreX The X coordinate to create the ducks around.
+     * @param centreY The Y coordinate to create the ducks around.
+     * @param radius How far from the position the ducks may be created.
+     * @param random The source of the ducks' positions and headings.
+     * @return The number of ducks created, which is less than asked for if too little water was found.
+     */
+    public int spawn(EntityWorld world, int count, float centreX, float centreY, float radius, SplittableRandom random) {
+        int width = facingLeft.getRegionWidth(), height = facingLeft.getRegionHeight();
+        int created = 0;
+        for (int n = 0; n < count; n++) {
+            for (int attempt = 0; attempt < SPAWN_ATTEMPTS; attempt++) {
+                float x = centreX + ((float) random.nextDouble() * 2 - 1) * radius;
+                float y = centreY + ((float) random.nextDouble() * 2 - 1) * radius;
+                if (!isWater(x, y)) continue;
+
+                int duck = world.create(EntityWorld.FLOCK | EntityWorld.MOVEMENT | EntityWorld.RENDER);
+                world.setSize(duck, width, height);
+                world.setPosition(duck, x - width / 2f, y - height / 2f);
+                double heading = random.nextDouble() * Math.PI * 2;
+                float speed = MAX_SPEED * 0.5f;
+                world.setVelocity(duck, (float) Math.cos(heading) * speed, (float) Math.sin(heading) * speed);
+                world.setFrame(duck, Math.cos(heading) < 0 ? facingLeft : facingRight);
+                created++;
+                break;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Makes the ducks within the attraction radius of a point swim towards it.
+     *
+     * @param x The X coordinate of the point.
+     * @param y The Y coordinate of the point.
+     */
+    public void setAttractor(float x, float y) {
+        attracting = true;
+        attractX = x;
+        attractY = y;
+    }
+
+    /**
+     * Stops the ducks swimming towards the attractor.
+     */
+    public void clearAttractor() {
+        attracting = false;
+    }
+
+    /**
+     * Copies the ducks' positions and velocities and sorts the ducks into the grid.
+     */
+    @Override
+    public void begin(EntityWorld world, float delta) {
+        int size = world.size;
+        if (snapshotX.length < size) {
+            int capacity = world.ids.length;
+            snapshotX = new float[capacity];
+            snapshotY = new float[capacity];
+            snapshotVelocityX = new float[capacity];
+            snapshotVelocityY = new float[capacity];
+            cellOf = new int[capacity];
+            cellEntities = new int[capacity];
+        }
+
+        // Count the ducks in each cell, then turn the counts into where each cell's ducks start
+        Arrays.fill(cellStart, 0);
+        final int[] components = world.components;
+        for (int i = 0; i < size; i++) {
+            if ((components[i] & EntityWorld.FLOCK) == 0) {
+                cellOf[i] = -1;
+                continue;
+            }
+            float centreX = world.x[i] + world.width[i] / 2f, centreY = world.y[i] + world.height[i] / 2f;
+            snapshotX[i] = centreX;
+            snapshotY[i] = centreY;
+            snapshotVelocityX[i] = world.velocityX[i];
+            snapshotVelocityY[i] = world.velocityY[i];
+            int cell = cellIndex(centreX, centreY);
+            cellOf[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int cell = 0; cell < cellsX * cellsY; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        // Fill the cells in index order, so the order neighbours are visited in never changes
+        int[] next = cellEntities;
+        for (int i = 0; i < size; i++) {
+            int cell = cellOf[i];
+            if (cell < 0) continue;
+            int slot = cellStart[cell];
+            next[slot] = i;
+            cellStart[cell] = slot + 1;
+        }
+        // Filling moved each start to the end of its cell, so shift them back
+        for (int cell = cellsX * cellsY; cell > 0; cell--) {
+            cellStart[cell] = cellStart[cell - 1];
+        }
+        cellStart[0] = 0;
+    }
+
+    @Override
+    public void update(EntityWorld world, int start, int end, float delta) {
+        final int[] components = world.components;
+        final float[] velocityX = world.velocityX, velocityY = world.velocityY;
+        final float neighbourRadius2 = NEIGHBOUR_RADIUS * NEIGHBOUR_RADIUS;
+        final float separationRadius2 = SEPARATION_RADIUS * SEPARATION_RADIUS;
+        for (int i = start; i < end; i++) {
+            if ((components[i] & EntityWorld.FLOCK) == 0) continue;
+            final float px = snapshotX[i], py = snapshotY[i];
+            float separateX = 0, separateY = 0, alignX = 0, alignY = 0, centreX = 0, centreY = 0;
+            int neighbours = 0;
+
+            int cellX = cellOf[i] % cellsX, cellY = cellOf[i] / cellsX;
+            for (int cy = Math.max(cellY - 1, 0); cy <= Math.min(cellY + 1, cellsY - 1); cy++) {
+                for (int cx = Math.max(cellX - 1, 0); cx <= Math.min(cellX + 1, cellsX - 1); cx++) {
+                    int cell = cy * cellsX + cx;
+                    for (int slot = cellStart[cell], last = cellStart[cell + 1]; slot < last; slot++) {
+                        int other = cellEntities[slot];
+                        if (other == i) continue;
+                        float dx = snapshotX[other] - px, dy = snapshotY[other] - py;
+                        float distance2 = dx * dx + dy * dy;
+                        if (distance2 > neighbourRadius2) continue;
+                        neighbours++;
+                        alignX += snapshotVelocityX[other];
+                        alignY += snapshotVelocityY[other];
+                        centreX += snapshotX[other];
+                        centreY += snapshotY[other];
+                        if (distance2 < separationRadius2 && distance2 > 0) {
+                            separateX -= dx / distance2;
+                            separateY -= dy / distance2;
+                        }
+                    }
+                }
+            }
+
+            float steerX = 0, steerY = 0;
+            if (neighbours > 0) {
+                steerX += separateX * SEPARATION_RADIUS * SEPARATION_WEIGHT * MAX_FORCE;
+                steerY += separateY * SEPARATION_RADIUS * SEPARATION_WEIGHT * MAX_FORCE;
+                steerX += (alignX / neighbours - snapshotVelocityX[i]) * ALIGNMENT_WEIGHT;
+                steerY += (alignY / neighbours - snapshotVelocityY[i]) * ALIGNMENT_WEIGHT;
+                steerX += (centreX / neighbours - px) * COHESION_WEIGHT;
+                steerY += (centreY / neighbours - py) * COHESION_WEIGHT;
+            }
+            if (attracting) {
+                float dx = attractX - px, dy = attractY - py;
+                float distance2 = dx * dx + dy * dy;
+                if (distance2 < ATTRACTION_RADIUS * ATTRACTION_RADIUS && distance2 > 0) {
+                    float distance = (float) Math.sqrt(distance2);
+                    steerX += dx / distance * MAX_FORCE * ATTRACTION_WEIGHT;
+                    steerY += dy / distance * MAX_FORCE * ATTRACTION_WEIGHT;
+                }
+            }
+
+            // Push away from the centres of the surrounding tiles that are not water
+            int tileX = (int) Math.floor(px / tileSize), tileY = (int) Math.floor(py / tileSize);
+            for (int ty = tileY - 1; ty <= tileY + 1; ty++) {
+                for (int tx = tileX - 1; tx <= tileX + 1; tx++) {
+                    if (isWaterTile(tx, ty)) continue;
+                    float dx = px - (tx + 0.5f) * tileSize, dy = py - (ty + 0.5f) * tileSize;
+                    float distance = Math.max((float) Math.sqrt(dx * dx + dy * dy), 1f);
+                    steerX += dx / distance * MAX_FORCE * SHORE_WEIGHT;
+                    steerY += dy / distance * MAX_FORCE * SHORE_WEIGHT;
+                }
+            }
+
+            float steer = (float) Math.sqrt(steerX * steerX + steerY * steerY);
+            float maxSteer = MAX_FORCE * (SHORE_WEIGHT + 1);
+            if (steer > maxSteer) {
+                steerX *= maxSteer / steer;
+                steerY *= maxSteer / steer;
+            }
+            float vx = snapshotVelocityX[i] + steerX * delta;
+            float vy = snapshotVelocityY[i] + steerY * delta;
+            float speed = (float) Math.sqrt(vx * vx + vy * vy);
+            if (speed > MAX_SPEED) {
+                vx *= MAX_SPEED / speed;
+                vy *= MAX_SPEED / speed;
+            }
+
+            // The movement system moves the duck by exactly this much, so only keep what stays on the water
+            float halfWidth = world.width[i] / 2f, halfHeight = world.height[i] / 2f;
+            float x = world.x[i], y = world.y[i];
+            if (!isWater(x + vx * delta + halfWidth, y + vy * delta + halfHeight)) {
+                if (isWater(x + vx * delta + halfWidth, y + halfHeight)) {
+                    vy = 0;
+                } else if (isWater(x + halfWidth, y + vy * delta + halfHeight)) {
+                    vx = 0;
+                } else {
+                    vx = vy = 0;
+                }
+            }
+            velocityX[i] = vx;
+            velocityY[i] = vy;
+            if (vx < 0) world.frame[i] = facingLeft;
+            else if (vx > 0) world.frame[i] = facingRight;
+        }
+    }
+
+    /**
+     * Returns whether a point in the world is on a water tile.
+     *
+     * @param x The X coordinate of the point.
+     * @param y The Y coordinate of the point.
+     * @return True if the point is on water.
+     */
+    public boolean isWater(float x, float y) {
+        return isWaterTile((int) Math.floor(x / tileSize), (int) Math.floor(y / tileSize));
+    }
+
+    private boolean isWaterTile(int tileX, int tileY) {
+        return tileX >= 0 && tileY >= 0 && tileX < tilesX && tileY < tilesY && water[tileY * tilesX + tileX];
+    }
+
+    private int cellIndex(float x, float y) {
+        int cellX = Math.min(Math.max((int) (x / NEIGHBOUR_RADIUS), 0), cellsX - 1);
+        int cellY = Math.min(Math.max((int) (y / NEIGHBOUR_RADIUS), 0), cellsY - 1);
+        return cellY * cellsX + cellX;
+    }
+}
@@ -0,0 +1,25 @@
+package com.main.entity;
+
+/**
+ * The MovementSystem class moves entities with the {@link EntityWorld#MOVEMENT} component by their velocity.
+ * Entities that also collide only have their target position set, which the {@link CollisionSystem}
+ * then resolves into their new position.
+ */
+public class MovementSystem implements EntitySystem {
+    @Override
+    public void update(EntityWorld world, int start, int end, float delta) {
+        final int[] components = world.components;
+        final float[] x = world.x, y = world.y, targetX = world.targetX, targetY = world.targetY;
+        final float[] velocityX = world.velocityX, velocityY = world.velocityY;
+        for (int i = start; i < end; i++) {
+            int mask = components[i];
+            if ((mask & EntityWorld.MOVEMENT) == 0) continue;
+            targetX[i] = x[i] + velocityX[i] * delta;
+            targetY[i] = y[i] + velocityY[i] * delta;
+            if ((mask & EntityWorld.COLLISION) == 0) {
+                x[i] = targetX[i];
+                y[i] = targetY[i];
+            }
+        }
+    }
+}
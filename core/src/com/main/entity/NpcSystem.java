@@ -0,0 +1,181 @@
+package com.main.entity;
+
+import com.main.map.CameraController;
+import com.main.map.RouteMap;
+import com.main.utils.Directions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The NpcSystem class moves the student NPCs, entities with the {@link EntityWorld#NPC} component, around
+ * the campus following their {@link Timetable}s by the time of day.
+ * <p>
+ * Where an NPC should be is worked out from the clock alone: the entry of their timetable they last set off
+ * for, and how far they have walked along the route to it since, found on the {@link RouteMap} without
+ * walking the route. This costs the same however much time has passed, so it also keeps NPCs right when
+ * time jumps forward for an activity or back for a new day.
+ * <p>
+ * Only NPCs in or near the camera's view are simulated in detail: they are given the movement, collision,
+ * animation and render components and steered towards where their timetable puts them, so they walk,
+ * bump into walls and animate like the player. Every other NPC has those components taken away, so the
+ * other systems skip them, and is simply placed where their timetable says. NPCs who have gone into a
+ * building are hidden the same way. Hundreds of NPCs therefore cost little more than the few on screen.
+ */
+public class NpcSystem implements EntitySystem {
+    public static final float WALK_SPEED = 180f;       // Pixels per second
+    public static final float MAX_LATE_HOURS = 0.5f;   // NPCs set off up to this long after their timetable says
+    public static final float SPEED_VARIATION = 0.1f;  // NPCs walk up to this fraction faster or slower
+    public static final float CATCH_UP = 1.5f;         // How much faster than walking an NPC can catch up
+    public static final float SNAP_DISTANCE = 48f;     // NPCs further than this from where they should be jump there
+    public static final float VIEW_MARGIN = 64f;       // How far outside the view NPCs are still simulated in detail
+    private static final int DETAIL = EntityWorld.MOVEMENT | EntityWorld.COLLISION | EntityWorld.ANIMATION | EntityWorld.RENDER;
+
+    private final RouteMap routes;
+    private final CameraController view;
+    private final float secondsPerGameHour;
+    private final List<Timetable> timetables;
+
+    // Indexed by entity id, so they stay with the NPC when the world moves its data
+    private Timetable[] timetableOf;
+    private float[] lateBy, speedOf;
+
+    private float hour;
+
+    /**
+     * Constructs an NPC system.
+     *
+     * @param routes The routes between the places in the timetables.
+     * @param view The camera controller, used to choose which NPCs to simulate in detail.
+     * @param secondsPerGameHour How many seconds an hour of the game lasts.
+     */
+    public NpcSystem(RouteMap routes, CameraController view, float secondsPerGameHour) {
+        this.routes = routes;
+        this.view = view;
+        this.secondsPerGameHour = secondsPerGameHour;
+        this.timetables = new ArrayList<>();
+        this.timetableOf = new Timetable[0];
+        this.lateBy = new float[0];
+        this.speedOf = new float[0];
+        this.hour = 8;
+    }
+
+    /**
+     * Adds a timetable for NPCs created later to follow.
+     *
+     * @param timetable The timetable.
+     */
+    public void addTimetable(Timetable timetable) {
+        timetables.add(timetable);
+    }
+
+    /**
+     * Sets the time of day the NPCs are placed for by the next update.
+     *
+     * @param hour The hour of the day, with the fraction of the hour passed, such as 13.5 for 13:30.
+     */
+    public void setTime(float hour) {
+        this.hour = hour;
+    }
+
+    /**
+     * Creates NPCs, taking turns at the timetables and the looks, each running a little late and walking
+     * at a slightly different speed so they don't move in step.
+     *
+     * @param world The world to create the NPCs in.
+     * @param count The number of NPCs to create.
+     * @param width The width of an NPC's sprite.
+     * @param height The height of an NPC's sprite.
+     * @param collider The collider number of the collision handler the routes were found for.
+     * @param animationSets The animation set numbers of the looks NPCs can have.
+     * @param random The source of how late and how fast each NPC is.
+     * @throws IllegalStateException If no timetables have been added.
+     */
+    public void spawn(EntityWorld world, int count, float width, float height, int collider, int[] animationSets, SplittableRandom random) {
+        if (timetables.isEmpty()) throw new IllegalStateException("NPCs need a timetable to follow");
+        for (int n = 0; n < count; n++) {
+            int npc = world.create(EntityWorld.NPC); // Given more detail once placed, if in view
+            if (npc >= timetableOf.length) {
+                int capacity = Math.max(npc + 1, timetableOf.length * 2);
+                timetableOf = Arrays.copyOf(timetableOf, capacity);
+                lateBy = Arrays.copyOf(lateBy, capacity);
+                speedOf = Arrays.copyOf(speedOf, capacity);
+            }
+            timetableOf[npc] = timetables.get(n % timetables.size());
+            lateBy[npc] = (float) random.nextDouble() * MAX_LATE_HOURS;
+            speedOf[npc] = WALK_SPEED * (1 + ((float) random.nextDouble() * 2 - 1) * SPEED_VARIATION);
+            world.setSize(npc, width, height);
+            world.setCollider(npc, collider);
+            world.setAnimationSet(npc, animationSets[n % animationSets.length]);
+        }
+    }
+
+    @Override
+    public void update(EntityWorld world, int start, int end, float delta) {
+        final int[] components = world.components, ids = world.ids;
+        final float[] x = world.x, y = world.y, targetX = world.targetX, targetY = world.targetY;
+        final float[] velocityX = world.velocityX, velocityY = world.velocityY;
+        final float[] width = world.width, height = world.height;
+        for (int i = start; i < end; i++) {
+            int mask = components[i];
+            if ((mask & EntityWorld.NPC) == 0) continue;
+            int id = ids[i];
+            if (delta > 0) velocityX[i] = velocityY[i] = 0; // While paused NPCs keep walking on the spot
+
+            // Where the timetable puts the NPC
+            Timetable timetable = timetableOf[id];
+            float npcHour = hour - lateBy[id];
+            int entry = timetable.entryAt(npcHour);
+            if (entry < 0) { // Still at home
+                components[i] = mask & ~DETAIL;
+                continue;
+            }
+            int place = timetable.getPlace(entry);
+            RouteMap.Route route = routes.getRoute(timetable.getStartPlace(entry), place);
+            float walked = (npcHour - timetable.getHour(entry)) * secondsPerGameHour * speedOf[id];
+            if (walked >= route.getLength() && routes.isIndoors(place)) { // Gone inside
+                components[i] = mask & ~DETAIL;
+                continue;
+            }
+            int line = route.lineAt(walked);
+            float routeX = route.getX(line, walked), routeY = route.getY(line, walked);
+
+            boolean detailed = (mask & EntityWorld.RENDER) != 0;
+            boolean inView = view.isNearView(routeX + width[i] / 2f, routeY + height[i] / 2f, VIEW_MARGIN)
+                    || (detailed && view.isNearView(x[i] + width[i] / 2f, y[i] + height[i] / 2f, VIEW_MARGIN));
+            if (!inView) {
+                components[i] = mask & ~DETAIL;
+                x[i] = targetX[i] = routeX;
+                y[i] = targetY[i] = routeY;
+                continue;
+            }
+
+            components[i] = mask | DETAIL;
+            float dx = routeX - x[i], dy = routeY - y[i];
+            if (!detailed || dx * dx + dy * dy > SNAP_DISTANCE * SNAP_DISTANCE) {
+                x[i] = targetX[i] = routeX;
+                y[i] = targetY[i] = routeY;
+                continue;
+            }
+            if (delta <= 0) continue;
+
+            // Walk to where the timetable puts the NPC by the end of this update, catching up if held up
+            float vx = dx / delta, vy = dy / delta;
+            float speed = (float) Math.sqrt(vx * vx + vy * vy), maxSpeed = speedOf[id] * CATCH_UP;
+            if (speed > maxSpeed) {
+                vx *= maxSpeed / speed;
+                vy *= maxSpeed / speed;
+            }
+            velocityX[i] = vx;
+            velocityY[i] = vy;
+            if (vx != 0 || vy != 0) world.facing[i] = (byte) facing(vx, vy).ordinal();
+        }
+    }
+
+    private static Directions facing(float vx, float vy) {
+        if (Math.abs(vx) > Math.abs(vy)) return vx > 0 ? Directions.Right : Directions.Left;
+        return vy > 0 ? Directions.Up : Directions.Down;
+    }
+}
@@ -2,12 +2,7 @@ package com.main.entity;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Disposable;
 import com.main.map.GameMap;
 import com.main.Main;
@@ -15,67 +10,66 @@ import com.main.utils.CollisionHandler;
 import com.main.utils.Directions;
 
 /**
- * The Player class represents the character in the game, handling movement, collision,
- * and animations.
+ * The Player class represents the character in the game. The player is an entity of the {@link EntityWorld}:
+ * this class turns keyboard input into the entity's velocity and facing, and the world's systems handle
+ * movement, collision and animation.
  */
-public class Player extends Entity implements Disposable {
+public class Player implements Disposable {
     // Start of added code
     public static final float ANIMATION_SPEED = 0.2f; // speed that sprite will animate or frame duration
     public static final int SPRITE_X = 24;// this is in reference to the sprite sheet
     public static final int SPRITE_Y = 38;
     final Main game;
     final GameMap gameMap;
-    final OrthographicCamera camera;
     final CollisionHandler collisionHandler;
+    final EntityWorld world;
+    final int id; // The player's entity in the world
+    final int animationSetNumber;
 
-    Directions dir; // Current direction of the player
     final int tileSize;
 
     public final float startX;
     public final float startY;
     // End of added code
 
-    Texture idleSheet, walkSheet;
-
-    Animation<TextureRegion> walkDownAnimation, walkRightAnimation, walkLeftAnimation, walkUpAnimation;
-    Animation<TextureRegion> idleDownAnimation, idleRightAnimation, idleLeftAnimation, idleUpAnimation;
-
+    public float speed; // walking speed in pixels per second
+    final CharacterAtlas characters;
 
     /**
-     * Constructs a new Player instance.
+     * Constructs a new Player instance and creates its entity.
      *
      * @param game The main game object.
      * @param gameMap The game map for collision detection and boundaries.
-     * @param camera The camera to follow the player.
+     * @param world The world the player's entity is created in.
      */
-    public Player(Main game, GameMap gameMap, OrthographicCamera camera) {
+    public Player(Main game, GameMap gameMap, EntityWorld world) {
         this.game = game;
         this.gameMap = gameMap;
-        this.camera = camera;
+        this.world = world;
 
         tileSize = gameMap.getTileSize();
         this.collisionHandler = new CollisionHandler(gameMap.getMap(), tileSize, tileSize, SPRITE_X, SPRITE_Y * 0.5f, 0.7f, 0.7f); // Added code
         this.collisionHandler.addCollisionLayers("Water", "Trees", "wall_1", "wall_2", "wall_3", "roof_1", "roof_2", "roof_3", "other"); // Added code
-        //this.settingsScreen = settingsScreen;
 
         this.speed = 200;
         startX = (float) game.screenWidth /2 - (float) game.screenHeight /2;
         startY = 500;
-        worldX = startX;
-        worldY = startY;
 
-        updateGender();
+        this.id = world.create(EntityWorld.MOVEMENT | EntityWorld.COLLISION | EntityWorld.ANIMATION | EntityWorld.RENDER);
+        world.setPosition(id, startX, startY);
+        world.setSize(id, SPRITE_X, SPRITE_Y);
+        world.setCollider(id, world.addCollider(collisionHandler));
+        this.characters = new CharacterAtlas(SPRITE_X, SPRITE_Y, ANIMATION_SPEED);
+        this.animationSetNumber = world.addAnimationSet(characters.getAnimations(game.gameData.getGender()));
+        world.setAnimationSet(id, animationSetNumber);
         setDirection(Directions.Down);  // Added code
     }
 
     /**
-     * Updates the player's position, animations, and handles collision.
-     *
-     * @param delta Time since last frame in seconds.
+     * Sets the player's velocity and facing from the keys held down. The world moves the player
+     * when it is next updated.
      */
-    public void update(float delta) {
-        boolean isMoving = false;
-
+    public void handleInput() {
         // Determine if the player is moving diagonally
         boolean isMovingDiagonally = ((Gdx.input.isKeyPressed(Input.Keys.UP) || Gdx.input.isKeyPressed(Input.Keys.W)) ||
                 (Gdx.input.isKeyPressed(Input.Keys.DOWN) || Gdx.input.isKeyPressed(Input.Keys.S))) &&
@@ -91,83 +85,36 @@ public class Player extends Entity implements Disposable {
             normalizedSpeed *= 2; // Increase speed if shift is pressed
         }
 
-        float targX = worldX;
-        float targY = worldY;
+        float velocityX = 0;
+        float velocityY = 0;
 
-        // checks movement and updates animation, adjusts speed with delta time
+        // checks movement and updates the direction faced, the last key checked wins
         if (Gdx.input.isKeyPressed(Input.Keys.UP) || Gdx.input.isKeyPressed(Input.Keys.W)) {
-            targY = worldY + (float) (normalizedSpeed * Gdx.graphics.getDeltaTime());
-            currentAnimation = walkUpAnimation;
-            dir = Directions.Up; // Added code
-            isMoving = true;
+            velocityY = (float) normalizedSpeed;
+            world.setFacing(id, Directions.Up); // Added code
         }
         if (Gdx.input.isKeyPressed(Input.Keys.DOWN) || Gdx.input.isKeyPressed(Input.Keys.S)) {
-            targY = worldY - (float) (normalizedSpeed * Gdx.graphics.getDeltaTime());
-            currentAnimation = walkDownAnimation;
-            dir = Directions.Down; // Added code
-            isMoving = true;
+            velocityY = (float) -normalizedSpeed;
+            world.setFacing(id, Directions.Down); // Added code
         }
         if (Gdx.input.isKeyPressed(Input.Keys.LEFT) || Gdx.input.isKeyPressed(Input.Keys.A)) {
-            targX = worldX - (float) (normalizedSpeed * Gdx.graphics.getDeltaTime());
-            currentAnimation = walkLeftAnimation;
-            dir = Directions.Left; // Added code
-            isMoving = true;
+            velocityX = (float) -normalizedSpeed;
+            world.setFacing(id, Directions.Left); // Added code
         }
         if (Gdx.input.isKeyPressed(Input.Keys.RIGHT) || Gdx.input.isKeyPressed(Input.Keys.D)) {
-            targX = worldX + (float) (normalizedSpeed * Gdx.graphics.getDeltaTime());
-            currentAnimation = walkRightAnimation;
-            dir = Directions.Right; // Added code
-            isMoving = true;
-        }
-
-        // player doesn't walk beyond the map
-        if (targX + SPRITE_X > gameMap.getWidth()){ // Added code
-            targX = gameMap.getWidth() - SPRITE_X; // Added code
-        }
-        else if (targX < 0){
-            targX = 0;
-        }
-        if (targY + SPRITE_Y > gameMap.getHeight()){ // Added code
-            targY = gameMap.getHeight() - SPRITE_Y; // Added code
-        }
-        else if (targY < 0){
-            targY = 0;
+            velocityX = (float) normalizedSpeed;
+            world.setFacing(id, Directions.Right); // Added code
         }
 
-        // this will switch sprite sheet to idle sprite sheet when player is not moving
-        if (!isMoving) {
-            if (currentAnimation == walkDownAnimation) currentAnimation = idleDownAnimation;
-            else if (currentAnimation == walkRightAnimation) currentAnimation = idleRightAnimation;
-            else if (currentAnimation == walkLeftAnimation) currentAnimation = idleLeftAnimation;
-            else if (currentAnimation == walkUpAnimation) currentAnimation = idleUpAnimation;
-        }
-
-        Vector2 newPos = collisionHandler.adjustPos(worldX, worldY, targX, targY);
-        worldX = newPos.x;
-        worldY = newPos.y;
-
-
-        stateTime += delta;
-
-        float camX = worldX + SPRITE_Y /2f; // Added code
-        float camY = worldY + SPRITE_Y /2f; // Added code
-
-        camera.position.set(camX, camY, 0);
-        // this will make sure the camera follows the player
-        if (camX + camera.viewportWidth/2f > gameMap.getWidth()) {
-            camera.position.set(gameMap.getWidth() - camera.viewportWidth/2f, camera.position.y, 0);
-        }
-        else if (camX - camera.viewportWidth/2f < 0){
-            camera.position.set(camera.viewportWidth/2f, camera.position.y, 0);
-        }
-        if (camY + camera.viewportHeight/2f > gameMap.getHeight()) {
-            camera.position.set(camera.position.x, gameMap.getHeight() - camera.viewportHeight/2f, 0);
-        }
-        else if (camY - camera.viewportHeight/2f < 0){
-            camera.position.set(camera.position.x, camera.viewportHeight/2f, 0);
-        }
+        // when no key is held the velocity is zero, which switches the player to the idle animation
+        world.setVelocity(id, velocityX, velocityY);
+    }
 
-        camera.update();
+    /**
+     * Stops the player where they are, for example while a menu is open.
+     */
+    public void stop() {
+        world.setVelocity(id, 0, 0);
     }
 
     /**
@@ -177,68 +124,42 @@ public class Player extends Entity implements Disposable {
      * @param newY The new Y coordinate.
      */
     public void setPos(float newX, float newY) {
-        worldX = newX;
-        worldY = newY;
+        world.setPosition(id, newX, newY);
+    }
+
+    public float getX() {
+        return world.getX(id);
+    }
+
+    public float getY() {
+        return world.getY(id);
     }
 
     /**
-     * Updates the player's gender by changing the TextureRegions' internal path using
-     * the player's choice in the settings menu.
-     * Then updates corresponding textures and animations.
-     * <p>
-     * This functionality should be segregated into its own class to reduce overheads and
-     * processing delay.
+     * Updates the player's gender to the player's choice in the settings menu. Both characters' animations
+     * are built when the player is created, so this only switches which of them the player's entity uses.
      */
     public void updateGender(){
-        if (idleSheet != null) {idleSheet.dispose();}
-        if (walkSheet != null) {walkSheet.dispose();}
-        if (game.gameData.getGender()) {
-            idleSheet = new Texture("character/boy_idle.png");
-            walkSheet = new Texture("character/boy_walk.png");
-        } else {
-            idleSheet = new Texture("character/girl_idle.png");
-            walkSheet = new Texture("character/girl_walk.png");
-        }
-
-        TextureRegion[][] idleSpriteSheet = TextureRegion.split(idleSheet, SPRITE_X, SPRITE_Y); // Splits the sprite sheet up by its frames
-        TextureRegion[][] walkSpriteSheet = TextureRegion.split(walkSheet, SPRITE_X, SPRITE_Y); // Splits the sprite sheet up by its frames
-
-        walkDownAnimation = new Animation<>(ANIMATION_SPEED, walkSpriteSheet[0]); // First row for down
-        walkLeftAnimation = new Animation<>(ANIMATION_SPEED, walkSpriteSheet[1]); // Second row for left
-        walkRightAnimation = new Animation<>(ANIMATION_SPEED, walkSpriteSheet[2]); // Third row for right
-        walkUpAnimation = new Animation<>(ANIMATION_SPEED, walkSpriteSheet[3]); // Fourth row for up
-
-        idleDownAnimation = new Animation<>(ANIMATION_SPEED, idleSpriteSheet[0][0], idleSpriteSheet[0][1]);
-        idleLeftAnimation = new Animation<>(ANIMATION_SPEED, idleSpriteSheet[1][0], idleSpriteSheet[1][1]);
-        idleRightAnimation = new Animation<>(ANIMATION_SPEED, idleSpriteSheet[2][0], idleSpriteSheet[2][1]);
-        idleUpAnimation = new Animation<>(ANIMATION_SPEED, idleSpriteSheet[3][0], idleSpriteSheet[3][1]);
+        world.replaceAnimationSet(animationSetNumber, characters.getAnimations(game.gameData.getGender()));
     }
 
+    /**
+     * Turns the player to face a direction and stops them, showing the idle animation.
+     *
+     * @param dir The direction to face.
+     */
     public void setDirection(Directions dir){
-        this.dir = dir;
-        switch (dir){
-            case Down:
-                currentAnimation = idleDownAnimation;
-                break;
-            case Left:
-                currentAnimation = idleLeftAnimation;
-                break;
-            case Right:
-                currentAnimation = idleRightAnimation;
-                break;
-            case Up:
-                currentAnimation = idleUpAnimation;
-                break;
-        }
+        world.setFacing(id, dir);
+        stop();
     }
 
     /**
-     * Gets the current animation frame for the player based on the state time.
+     * Returns the atlas of both characters' animations, which other characters can share.
      *
-     * @return The current TextureRegion of the player's animation.
+     * @return The character atlas.
      */
-    public TextureRegion getCurrentFrame() {
-        return currentAnimation.getKeyFrame(stateTime, true);
+    public CharacterAtlas getCharacterAtlas(){
+        return characters;
     }
 
     public CollisionHandler getCollisionHandler(){
@@ -246,11 +167,14 @@ public class Player extends Entity implements Disposable {
     }
 
     public Rectangle getHitBox(){
-        return new Rectangle(worldX, worldY, SPRITE_X, SPRITE_Y);
+        return new Rectangle(getX(), getY(), SPRITE_X, SPRITE_Y);
     }
 
+    /**
+     * Releases the character atlas and removes the player's entity from the world.
+     */
     public void dispose(){
-        idleSheet.dispose();
-        walkSheet.dispose();
+        characters.dispose();
+        world.destroy(id);
     }
 }
@@ -0,0 +1,28 @@
+package com.main.entity;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.main.map.WorldSpritePass;
+
+/**
+ * The RenderSystem class hands the current frame of every entity with the {@link EntityWorld#RENDER}
+ * component to the {@link WorldSpritePass}, which sorts them with the map's trees and roofs and skips
+ * those that are off screen. Unlike the other systems it is not run by the world, as it has to be
+ * called on the render thread once the update has finished.
+ */
+public class RenderSystem {
+    /**
+     * Adds the entities to a sprite pass, each sorted by the bottom edge it stands on.
+     *
+     * @param world The world holding the entities.
+     * @param pass The sprite pass, which must have begun.
+     */
+    public void collect(EntityWorld world, WorldSpritePass pass) {
+        final int[] components = world.components;
+        final float[] x = world.x, y = world.y, width = world.width, height = world.height;
+        final TextureRegion[] frame = world.frame;
+        for (int i = 0, n = world.size; i < n; i++) {
+            if ((components[i] & EntityWorld.RENDER) == 0 || frame[i] == null) continue;
+            pass.add(frame[i], x[i], y[i], width[i], height[i], y[i]);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.main.entity;
+
+import java.util.Arrays;
+
+/**
+ * A Timetable is the day of a student NPC: the place they start the day at, and the hours at which they set
+ * off for each of the places they go to, such as a lecture or a meal. Places are the place numbers of a
+ * {@link com.main.map.RouteMap}. The same timetable is followed every day.
+ */
+public class Timetable {
+    private final int home;
+    private float[] hours;
+    private int[] places;
+    private int size;
+
+    /**
+     * Constructs a timetable with nowhere to go yet.
+     *
+     * @param home The place the day starts at.
+     */
+    public Timetable(int home) {
+        this.home = home;
+        this.hours = new float[4];
+        this.places = new int[4];
+    }
+
+    /**
+     * Adds a place to go to. Entries must be added in order of time, and should leave enough time after
+     * the entry before to walk between the two places.
+     *
+     * @param hour The hour of the day to set off, from 8 to 24.
+     * @param place The place to go to.
+     * @return This timetable, so entries can be chained.
+     * @throws IllegalArgumentException If the hour is before the last entry's.
+     */
+    public Timetable at(float hour, int place) {
+        if (size > 0 && hour < hours[size - 1]) {
+            throw new IllegalArgumentException("Timetable entries must be in order, but " + hour + " is before " + hours[size - 1]);
+        }
+        if (size == hours.length) {
+            hours = Arrays.copyOf(hours, size * 2);
+            places = Arrays.copyOf(places, size * 2);
+        }
+        hours[size] = hour;
+        places[size] = place;
+        size++;
+        return this;
+    }
+
+    /**
+     * Finds the last entry set off for by a time of day.
+     *
+     * @param hour The hour of the day.
+     * @return The entry number, or -1 if it is before the first entry.
+     */
+    public int entryAt(float hour) {
+        int entry = -1;
+        while (entry + 1 < size && hours[entry + 1] <= hour) entry++;
+        return entry;
+    }
+
+    public int getHome() {
+        return home;
+    }
+
+    public float getHour(int entry) {
+        return hours[entry];
+    }
+
+    public int getPlace(int entry) {
+        return places[entry];
+    }
+
+    /**
+     * Returns the place set off from for an entry, which is the place of the entry before it or home.
+     *
+     * @param entry The entry number.
+     * @return The place number.
+     */
+    public int getStartPlace(int entry) {
+        return entry == 0 ? home : places[entry - 1];
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,193 @@
+package com.main.map;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+
+/**
+ * The CameraController class moves the game camera to follow a target, usually the player, and is the only
+ * place the camera's matrices are updated, once per frame in {@link #apply()}. The camera is moved towards
+ * its target each tick by {@link #update(float)}, which only moves its position, so a frame that runs many
+ * ticks still updates the matrices once.
+ * <p>
+ * The target can move freely inside a dead zone around the centre of the screen without the camera moving.
+ * Once it leaves the dead zone the camera eases towards it rather than jumping, and the camera is always kept
+ * inside the map, using bounds worked out whenever the viewport changes rather than every frame.
+ * <p>
+ * After each apply the controller also knows the area of the world in view, so anything drawn in the world,
+ * such as entities, particles and trigger areas, can ask {@link #isVisible} and skip itself when off screen.
+ * Ticks between applies see the area in view as of the last frame.
+ */
+public class CameraController {
+    public static final float DEFAULT_SMOOTHING = 8f;          // How quickly the camera catches up, per second
+    public static final float DEFAULT_DEAD_ZONE_WIDTH = 24f;   // In world units
+    public static final float DEFAULT_DEAD_ZONE_HEIGHT = 16f;
+
+    private final OrthographicCamera camera;
+    private final float mapWidth, mapHeight;
+    private float smoothing, deadZoneHalfWidth, deadZoneHalfHeight;
+    private float minX, maxX, minY, maxY; // Where the centre of the camera may be
+    private float targetX, targetY;
+    private float viewLeft, viewRight, viewBottom, viewTop;
+
+    /**
+     * Constructs a controller for a camera looking at a map.
+     *
+     * @param camera The camera to move.
+     * @param mapWidth The width of the map, from {@link GameMap#getWidth()}.
+     * @param mapHeight The height of the map, from {@link GameMap#getHeight()}.
+     */
+    public CameraController(OrthographicCamera camera, float mapWidth, float mapHeight) {
+        this.camera = camera;
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+        this.smoothing = DEFAULT_SMOOTHING;
+        this.deadZoneHalfWidth = DEFAULT_DEAD_ZONE_WIDTH / 2f;
+        this.deadZoneHalfHeight = DEFAULT_DEAD_ZONE_HEIGHT / 2f;
+        this.targetX = camera.position.x;
+        this.targetY = camera.position.y;
+        computeBounds();
+    }
+
+    /**
+     * Sets the size of the area the camera shows, and recomputes where the camera may go.
+     *
+     * @param width The width of the view in world units.
+     * @param height The height of the view in world units.
+     */
+    public void setViewport(float width, float height) {
+        camera.setToOrtho(false, width, height);
+        computeBounds();
+        snapTo(targetX, targetY);
+    }
+
+    /**
+     * Sets how quickly the camera catches up with its target.
+     *
+     * @param smoothing The rate per second, or 0 to follow the target exactly.
+     */
+    public void setSmoothing(float smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    /**
+     * Sets the size of the area the target can move in without the camera moving.
+     *
+     * @param width The width of the dead zone in world units.
+     * @param height The height of the dead zone in world units.
+     */
+    public void setDeadZone(float width, float height) {
+        this.deadZoneHalfWidth = width / 2f;
+        this.deadZoneHalfHeight = height / 2f;
+    }
+
+    /**
+     * Sets the point the camera follows. The camera moves towards it on the next update.
+     *
+     * @param x The X coordinate of the point.
+     * @param y The Y coordinate of the point.
+     */
+    public void follow(float x, float y) {
+        targetX = x;
+        targetY = y;
+    }
+
+    /**
+     * Moves the camera straight to a point, for example when the player is moved home at the end of a day.
+     *
+     * @param x The X coordinate of the point.
+     * @param y The Y coordinate of the point.
+     */
+    public void snapTo(float x, float y) {
+        follow(x, y);
+        camera.position.set(clampX(x), clampY(y), 0);
+        apply();
+    }
+
+    /**
+     * Moves the camera towards its target, without updating its matrices. With no time elapsed the camera
+     * does not move.
+     *
+     * @param delta Time since the last update in seconds.
+     */
+    public void update(float delta) {
+        float x = camera.position.x, y = camera.position.y;
+
+        // Only move far enough to bring the target back to the edge of the dead zone
+        float desiredX = x, desiredY = y;
+        if (targetX > x + deadZoneHalfWidth) desiredX = targetX - deadZoneHalfWidth;
+        else if (targetX < x - deadZoneHalfWidth) desiredX = targetX + deadZoneHalfWidth;
+        if (targetY > y + deadZoneHalfHeight) desiredY = targetY - deadZoneHalfHeight;
+        else if (targetY < y - deadZoneHalfHeight) desiredY = targetY + deadZoneHalfHeight;
+
+        // Ease towards it at the same speed whatever the frame rate
+        float blend = smoothing <= 0 ? 1 : 1 - (float) Math.exp(-smoothing * delta);
+        x += (desiredX - x) * blend;
+        y += (desiredY - y) * blend;
+        camera.position.set(clampX(x), clampY(y), 0);
+    }
+
+    /**
+     * Returns whether any part of a rectangle in the world is in view.
+     *
+     * @param x The X coordinate of the bottom left corner.
+     * @param y The Y coordinate of the bottom left corner.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @return True if the rectangle can be seen.
+     */
+    public boolean isVisible(float x, float y, float width, float height) {
+        return x <= viewRight && x + width >= viewLeft && y <= viewTop && y + height >= viewBottom;
+    }
+
+    /**
+     * Returns whether a point is in view or within a margin of it.
+     *
+     * @param x The X coordinate of the point.
+     * @param y The Y coordinate of the point.
+     * @param margin How far outside the view still counts.
+     * @return True if the point is within the margin of the view.
+     */
+    public boolean isNearView(float x, float y, float margin) {
+        return x >= viewLeft - margin && x <= viewRight + margin && y >= viewBottom - margin && y <= viewTop + margin;
+    }
+
+    public OrthographicCamera getCamera() {
+        return camera;
+    }
+
+    /**
+     * Updates the camera's matrices and the area in view for where the camera has been moved to. Called
+     * once per frame, before anything is drawn.
+     */
+    public void apply() {
+        camera.update();
+        float halfWidth = camera.viewportWidth * camera.zoom / 2f;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2f;
+        viewLeft = camera.position.x - halfWidth;
+        viewRight = camera.position.x + halfWidth;
+        viewBottom = camera.position.y - halfHeight;
+        viewTop = camera.position.y + halfHeight;
+    }
+
+    /**
+     * Works out where the centre of the camera may be without showing anything beyond the map.
+     * If the map is smaller than the view in either direction, the camera is centred on the map.
+     */
+    private void computeBounds() {
+        float halfWidth = camera.viewportWidth * camera.zoom / 2f;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2f;
+        minX = halfWidth;
+        maxX = mapWidth - halfWidth;
+        minY = halfHeight;
+        maxY = mapHeight - halfHeight;
+        if (minX > maxX) minX = maxX = mapWidth / 2f;
+        if (minY > maxY) minY = maxY = mapHeight / 2f;
+    }
+
+    private float clampX(float x) {
+        return Math.min(Math.max(x, minX), maxX);
+    }
+
+    private float clampY(float y) {
+        return Math.min(Math.max(y, minY), maxY);
+    }
+}
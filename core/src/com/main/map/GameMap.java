@@ -1,23 +1,44 @@
 package com.main.map;
 
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.maps.MapLayers;
 import com.badlogic.gdx.maps.MapProperties;
 import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.math.Vector2;
+import com.main.utils.DisposableTracker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Represents the game map, handling rendering and toggling layer visibility.
  * It extends TiledMap to use the functionalities provided by libGDX for tile maps.
+ * <p>
+ * The roofs and trees can be walked behind, so they are not drawn with the rest of the tiles. Instead each of
+ * their tiles is handed to the {@link WorldSpritePass} to be sorted with the player and other sprites. A tile
+ * is sorted by the bottom of the column of tiles it belongs to, the base of the tree or of the building's
+ * walls, rather than by its own position, so the whole of a tree or roof is in front of or behind the player.
  */
 public class GameMap extends TiledMap {
+    private static final String[] SPRITE_LAYERS = {"roof_1", "roof_2", "roof_3", "Trees"};
+    private static final String[] TREE_LAYERS = {"Trees"};
+    private static final String[] BUILDING_LAYERS = {"wall_1", "wall_2", "wall_3", "roof_1", "roof_2", "roof_3"};
     private final int width, height;
     private final TiledMap gameMap;
     private final OrthogonalTiledMapRenderer tiledMapRenderer;
     private final OrthographicCamera camera;
     final int tileSize = 16; // Added code
     float layerToggleTime;
+    private final int[] tileLayers; // The layers drawn by the tile renderer, beneath every sprite
+
+    // The tiles of the sprite layers, in the order they are drawn when at the same depth
+    private final TiledMapTile[] spriteTiles;
+    private final float[] spriteX, spriteY, spriteSortY, spriteScaleX, spriteScaleY, spriteRotation;
 
     /**
      * Constructs a GameMap with an orthographic camera.
@@ -26,27 +47,109 @@ public class GameMap extends TiledMap {
      */
     public GameMap(OrthographicCamera camera) {
         // Load the .tmx with the MainMap for game
-        gameMap = new TmxMapLoader().load("map/MainMap.tmx");
+        gameMap = DisposableTracker.track(new TmxMapLoader().load("map/MainMap.tmx"), "map/MainMap.tmx");
         MapProperties properties = gameMap.getProperties();
         height = properties.get("tileheight", Integer.class) * properties.get("height", Integer.class);
         width = properties.get("tilewidth", Integer.class) * properties.get("width", Integer.class);
 
         // Render the MainMap
-        tiledMapRenderer = new OrthogonalTiledMapRenderer(gameMap);
+        tiledMapRenderer = DisposableTracker.track(new OrthogonalTiledMapRenderer(gameMap), "OrthogonalTiledMapRenderer");
 
         this.camera = camera;
+
+        MapLayers layers = gameMap.getLayers();
+        List<Integer> drawnAsTiles = new ArrayList<>();
+        for (int i = 0; i < layers.getCount(); i++) {
+            if (!Arrays.asList(SPRITE_LAYERS).contains(layers.get(i).getName())) drawnAsTiles.add(i);
+        }
+        tileLayers = new int[drawnAsTiles.size()];
+        for (int i = 0; i < tileLayers.length; i++) {
+            tileLayers[i] = drawnAsTiles.get(i);
+        }
+
+        int spriteCount = 0;
+        for (String name : SPRITE_LAYERS) {
+            spriteCount += countTiles(getLayer(name));
+        }
+        spriteTiles = new TiledMapTile[spriteCount];
+        spriteX = new float[spriteCount];
+        spriteY = new float[spriteCount];
+        spriteSortY = new float[spriteCount];
+        spriteScaleX = new float[spriteCount];
+        spriteScaleY = new float[spriteCount];
+        spriteRotation = new float[spriteCount];
+        int n = 0;
+        for (String name : SPRITE_LAYERS) {
+            TiledMapTileLayer layer = getLayer(name);
+            if (layer == null) continue;
+            String[] columnLayers = name.equals("Trees") ? TREE_LAYERS : BUILDING_LAYERS;
+            for (int tileX = 0; tileX < layer.getWidth(); tileX++) {
+                for (int tileY = 0; tileY < layer.getHeight(); tileY++) {
+                    TiledMapTileLayer.Cell cell = layer.getCell(tileX, tileY);
+                    if (cell == null || cell.getTile() == null) continue;
+                    int baseY = tileY;
+                    while (baseY > 0 && hasTile(columnLayers, tileX, baseY - 1)) baseY--;
+
+                    spriteTiles[n] = cell.getTile();
+                    spriteX[n] = tileX * tileSize + layer.getRenderOffsetX();
+                    spriteY[n] = tileY * tileSize - layer.getRenderOffsetY();
+                    spriteSortY[n] = baseY * tileSize;
+                    spriteScaleX[n] = cell.getFlipHorizontally() ? -1 : 1;
+                    spriteScaleY[n] = cell.getFlipVertically() ? -1 : 1;
+                    spriteRotation[n] = cell.getRotation() * 90;
+                    n++;
+                }
+            }
+        }
+    }
+
+    private TiledMapTileLayer getLayer(String name) {
+        return (TiledMapTileLayer) gameMap.getLayers().get(name);
+    }
+
+    private static int countTiles(TiledMapTileLayer layer) {
+        if (layer == null) return 0;
+        int tiles = 0;
+        for (int tileX = 0; tileX < layer.getWidth(); tileX++) {
+            for (int tileY = 0; tileY < layer.getHeight(); tileY++) {
+                TiledMapTileLayer.Cell cell = layer.getCell(tileX, tileY);
+                if (cell != null && cell.getTile() != null) tiles++;
+            }
+        }
+        return tiles;
+    }
+
+    private boolean hasTile(String[] layerNames, int tileX, int tileY) {
+        for (String name : layerNames) {
+            TiledMapTileLayer layer = getLayer(name);
+            if (layer != null && layer.getCell(tileX, tileY) != null) return true;
+        }
+        return false;
     }
 
     /**
-     * Renders the map by updating the camera and setting the renderer's view accordingly.
+     * Renders the map by setting the renderer's view to the camera, which the {@link CameraController}
+     * has already updated this frame. The renderer only draws the tiles in view.
+     * The roofs and trees are left out, to be drawn by {@link #collectSprites(WorldSpritePass)}.
      */
     public void render() {
-        // Update the camera and set the tiledMapRenderer's view based on that camera
-        camera.update();
+        // Set the tiledMapRenderer's view based on the camera
         tiledMapRenderer.setView(camera);
 
         // Render the map
-        tiledMapRenderer.render();
+        tiledMapRenderer.render(tileLayers);
+    }
+
+    /**
+     * Adds the roof and tree tiles that are in view to a sprite pass.
+     *
+     * @param pass The sprite pass, which must have begun.
+     */
+    public void collectSprites(WorldSpritePass pass) {
+        for (int i = 0; i < spriteTiles.length; i++) {
+            pass.add(spriteTiles[i].getTextureRegion(), spriteX[i], spriteY[i], tileSize, tileSize, spriteSortY[i],
+                    spriteScaleX[i], spriteScaleY[i], spriteRotation[i]);
+        }
     }
 
     /**
@@ -102,6 +205,29 @@ public class GameMap extends TiledMap {
         return height;
     }
 
+    /**
+     * Finds the centre of the tiles of a layer, such as the area in front of a door.
+     *
+     * @param layerName The name of the layer.
+     * @return The average position of the centres of the layer's tiles in world coordinates,
+     * or null if the layer does not exist or has no tiles.
+     */
+    public Vector2 getLayerCentre(String layerName) {
+        TiledMapTileLayer layer = (TiledMapTileLayer) gameMap.getLayers().get(layerName);
+        if (layer == null) return null;
+        float sumX = 0, sumY = 0;
+        int tiles = 0;
+        for (int tileY = 0; tileY < layer.getHeight(); tileY++) {
+            for (int tileX = 0; tileX < layer.getWidth(); tileX++) {
+                if (layer.getCell(tileX, tileY) == null) continue;
+                sumX += (tileX + 0.5f) * tileSize;
+                sumY += (tileY + 0.5f) * tileSize;
+                tiles++;
+            }
+        }
+        return tiles == 0 ? null : new Vector2(sumX / tiles, sumY / tiles);
+    }
+
     /**
      * Gets the TiledMap instance representing the game map.
      *
@@ -111,9 +237,11 @@ public class GameMap extends TiledMap {
         return gameMap;
     }
 
-    
+    /**
+     * Disposes the map's tileset textures and the renderer's batch.
+     */
     public void dispose() {
-        gameMap.dispose();
-        tiledMapRenderer.dispose();
+        DisposableTracker.dispose(gameMap);
+        DisposableTracker.dispose(tiledMapRenderer);
     }
 }
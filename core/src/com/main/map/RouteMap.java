@@ -0,0 +1,325 @@
+package com.main.map;
+
+import com.badlogic.gdx.math.Vector2;
+import com.main.utils.CollisionHandler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * The RouteMap class works out walking routes between named places on the map, such as the doors of
+ * buildings, for characters that collide like the player.
+ * <p>
+ * Every route is found once, when the map is built: a breadth first search from each place over the tiles
+ * where a character's collision box fits gives the shortest path of tiles to that place from anywhere, which
+ * is then straightened into as few straight lines as the walls allow. A route is stored as those lines with
+ * the distance along the route at each corner, so the point any distance along it is found with a binary
+ * search, without walking the route. Characters can therefore be placed anywhere along a route for any time
+ * of day directly, and routes can be shared by any number of threads as they never change.
+ */
+public class RouteMap {
+    private static final Logger logger = Logger.getLogger(RouteMap.class.getName());
+    private static final float SIGHT_STEP = 4f; // How finely straight lines are checked for walls, in pixels
+
+    private final int tilesX, tilesY, tileSize;
+    private final float boxOffsetX, boxOffsetY, boxWidth, boxHeight;
+    private final boolean[] blocked; // Tiles any collision layer has a tile on
+    private final boolean[] fits;    // Tiles the collision box fits on with its corner at the tile's corner
+    private final String[] names;
+    private final int[] placeTiles;
+    private final boolean[] indoors;
+    private final Route[] routes;    // Indexed by from * places + to
+
+    /**
+     * Constructs a route map and finds the routes between every pair of places.
+     *
+     * @param gameMap The map to walk around.
+     * @param collisionHandler The collision handler of the characters that will walk the routes.
+     * @param places The names of the layers marking the places, such as "Piazza_door". Layers whose names
+     *               end in "_door" lead inside buildings.
+     * @throws IllegalArgumentException If the map has no layer with one of the names, or the layer is empty.
+     */
+    public RouteMap(GameMap gameMap, CollisionHandler collisionHandler, String... places) {
+        this.tileSize = gameMap.getTileSize();
+        this.tilesX = gameMap.getWidth() / tileSize;
+        this.tilesY = gameMap.getHeight() / tileSize;
+        this.boxOffsetX = collisionHandler.getBoxOffsetX();
+        this.boxOffsetY = collisionHandler.getBoxOffsetY();
+        this.boxWidth = collisionHandler.getBoxWidth();
+        this.boxHeight = collisionHandler.getBoxHeight();
+
+        this.blocked = new boolean[tilesX * tilesY];
+        for (int tileY = 0; tileY < tilesY; tileY++) {
+            for (int tileX = 0; tileX < tilesX; tileX++) {
+                blocked[tileY * tilesX + tileX] = collisionHandler.isBlocked(tileX, tileY);
+            }
+        }
+        this.fits = new boolean[tilesX * tilesY];
+        for (int tileY = 0; tileY < tilesY; tileY++) {
+            for (int tileX = 0; tileX < tilesX; tileX++) {
+                fits[tileY * tilesX + tileX] = boxFits(tileX * tileSize, tileY * tileSize);
+            }
+        }
+
+        this.names = places.clone();
+        this.placeTiles = new int[places.length];
+        this.indoors = new boolean[places.length];
+        for (int place = 0; place < places.length; place++) {
+            Vector2 centre = gameMap.getLayerCentre(places[place]);
+            if (centre == null) throw new IllegalArgumentException("No tiles in a layer called " + places[place]);
+            placeTiles[place] = nearestFittingTile(centre.x, centre.y);
+            indoors[place] = places[place].endsWith("_door");
+        }
+
+        this.routes = new Route[places.length * places.length];
+        for (int to = 0; to < places.length; to++) {
+            int[] distances = distancesTo(placeTiles[to]);
+            for (int from = 0; from < places.length; from++) {
+                routes[from * places.length + to] = findRoute(from, to, distances);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of a place.
+     *
+     * @param name The name of the place's layer, as given to the constructor.
+     * @return The place number, or -1 if there is no such place.
+     */
+    public int getPlace(String name) {
+        for (int place = 0; place < names.length; place++) {
+            if (names[place].equals(name)) return place;
+        }
+        return -1;
+    }
+
+    public int getPlaceCount() {
+        return names.length;
+    }
+
+    /**
+     * Returns whether a place leads inside a building, where characters who have arrived can't be seen.
+     *
+     * @param place The place number.
+     * @return True if the place is a door.
+     */
+    public boolean isIndoors(int place) {
+        return indoors[place];
+    }
+
+    /**
+     * Returns the route from one place to another.
+     *
+     * @param from The place number to start at.
+     * @param to The place number to finish at.
+     * @return The route.
+     */
+    public Route getRoute(int from, int to) {
+        return routes[from * names.length + to];
+    }
+
+    /**
+     * Finds the route from a place by stepping to a neighbouring tile closer to the destination each time,
+     * then straightens it.
+     */
+    private Route findRoute(int from, int to, int[] distances) {
+        int tile = placeTiles[from];
+        if (distances[tile] < 0) {
+            logger.warning("No route from " + names[from] + " to " + names[to]);
+            return straighten(new int[] {tile}, 1);
+        }
+        int[] path = new int[distances[tile] + 1];
+        int length = 0;
+        path[length++] = tile;
+        while (distances[tile] > 0) {
+            tile = closerNeighbour(tile, distances);
+            path[length++] = tile;
+        }
+        return straighten(path, length);
+    }
+
+    /**
+     * Returns the first neighbouring tile, in a fixed order, that is one step closer to the destination.
+     */
+    private int closerNeighbour(int tile, int[] distances) {
+        int tileX = tile % tilesX, tileY = tile / tilesX;
+        int closer = distances[tile] - 1;
+        if (tileY + 1 < tilesY && distances[tile + tilesX] == closer) return tile + tilesX;
+        if (tileY > 0 && distances[tile - tilesX] == closer) return tile - tilesX;
+        if (tileX > 0 && distances[tile - 1] == closer) return tile - 1;
+        return tile + 1; // Only the right neighbour is left, as some neighbour must be closer
+    }
+
+    /**
+     * Works out how many steps away from a tile every other tile is, for a character walking between
+     * tiles it fits on. Tiles it can't reach are -1.
+     */
+    private int[] distancesTo(int destination) {
+        int[] distances = new int[tilesX * tilesY];
+        Arrays.fill(distances, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        distances[destination] = 0;
+        queue.add(destination);
+        while (!queue.isEmpty()) {
+            int tile = queue.poll();
+            int tileX = tile % tilesX, tileY = tile / tilesX;
+            if (tileY + 1 < tilesY) visit(tile + tilesX, distances[tile] + 1, distances, queue);
+            if (tileY > 0) visit(tile - tilesX, distances[tile] + 1, distances, queue);
+            if (tileX > 0) visit(tile - 1, distances[tile] + 1, distances, queue);
+            if (tileX + 1 < tilesX) visit(tile + 1, distances[tile] + 1, distances, queue);
+        }
+        return distances;
+    }
+
+    private void visit(int tile, int distance, int[] distances, ArrayDeque<Integer> queue) {
+        if (!fits[tile] || distances[tile] >= 0) return;
+        distances[tile] = distance;
+        queue.add(tile);
+    }
+
+    /**
+     * Replaces a path of tiles with straight lines, each going as far along the path as it can without
+     * the collision box touching a blocked tile.
+     */
+    private Route straighten(int[] path, int length) {
+        List<Integer> corners = new ArrayList<>();
+        corners.add(path[0]);
+        int anchor = 0;
+        while (anchor < length - 1) {
+            int next = anchor + 1;
+            while (next + 1 < length && isClearLine(path[anchor], path[next + 1])) next++;
+            corners.add(path[next]);
+            anchor = next;
+        }
+        if (corners.size() == 1) corners.add(path[0]); // A route always has at least one line
+
+        float[] x = new float[corners.size()], y = new float[corners.size()], distance = new float[corners.size()];
+        for (int n = 0; n < corners.size(); n++) {
+            int tile = corners.get(n);
+            // Points are where the character stands, with its collision box's corner on the tile's corner
+            x[n] = (tile % tilesX) * tileSize - boxOffsetX;
+            y[n] = (tile / tilesX) * tileSize - boxOffsetY;
+            if (n > 0) distance[n] = distance[n - 1] + Vector2.dst(x[n - 1], y[n - 1], x[n], y[n]);
+        }
+        return new Route(x, y, distance);
+    }
+
+    /**
+     * Checks whether the collision box can move in a straight line between the corners of two tiles.
+     */
+    private boolean isClearLine(int fromTile, int toTile) {
+        float fromX = (fromTile % tilesX) * tileSize, fromY = (fromTile / tilesX) * tileSize;
+        float toX = (toTile % tilesX) * tileSize, toY = (toTile / tilesX) * tileSize;
+        int steps = (int) Math.ceil(Vector2.dst(fromX, fromY, toX, toY) / SIGHT_STEP);
+        for (int step = 1; step < steps; step++) {
+            float t = (float) step / steps;
+            if (!boxFits(fromX + (toX - fromX) * t, fromY + (toY - fromY) * t)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the collision box touches no blocked tile, and is inside the map, with its bottom left
+     * corner at a point.
+     */
+    private boolean boxFits(float boxX, float boxY) {
+        int left = (int) Math.floor(boxX / tileSize), right = (int) Math.floor((boxX + boxWidth) / tileSize);
+        int bottom = (int) Math.floor(boxY / tileSize), top = (int) Math.floor((boxY + boxHeight) / tileSize);
+        if (left < 0 || bottom < 0 || right >= tilesX || top >= tilesY) return false;
+        for (int tileY = bottom; tileY <= top; tileY++) {
+            for (int tileX = left; tileX <= right; tileX++) {
+                if (blocked[tileY * tilesX + tileX]) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the tile the collision box fits on that is nearest a point. Doors are drawn on walls, so the
+     * centre of a place is usually blocked and the nearest fitting tile is just outside it.
+     */
+    private int nearestFittingTile(float x, float y) {
+        int nearest = -1;
+        float nearestDistance2 = Float.MAX_VALUE;
+        for (int tile = 0; tile < fits.length; tile++) {
+            if (!fits[tile]) continue;
+            float distance2 = Vector2.dst2(x, y, (tile % tilesX + 0.5f) * tileSize, (tile / tilesX + 0.5f) * tileSize);
+            if (distance2 < nearestDistance2) {
+                nearestDistance2 = distance2;
+                nearest = tile;
+            }
+        }
+        if (nearest < 0) throw new IllegalStateException("Nowhere on the map is free to walk");
+        return nearest;
+    }
+
+    /**
+     * A Route is a walking route between two places, made of straight lines. Positions along it are where
+     * a character of the size the routes were found for stands, as for {@link com.main.entity.EntityWorld#setPosition}.
+     */
+    public static final class Route {
+        private final float[] x, y, distance;
+
+        Route(float[] x, float[] y, float[] distance) {
+            this.x = x;
+            this.y = y;
+            this.distance = distance;
+        }
+
+        /**
+         * Returns the length of the route.
+         *
+         * @return The length in pixels.
+         */
+        public float getLength() {
+            return distance[distance.length - 1];
+        }
+
+        /**
+         * Finds which line of the route a distance along it falls on.
+         *
+         * @param along The distance along the route in pixels. Distances beyond either end are on the end lines.
+         * @return The line number, to pass to {@link #getX} and {@link #getY}.
+         */
+        public int lineAt(float along) {
+            int low = 0, high = distance.length - 2;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (distance[middle] <= along) low = middle;
+                else high = middle - 1;
+            }
+            return low;
+        }
+
+        /**
+         * Returns the X coordinate of the point a distance along the route.
+         *
+         * @param line The line the point is on, from {@link #lineAt(float)}.
+         * @param along The distance along the route in pixels.
+         * @return The X coordinate, clamped to the ends of the route.
+         */
+        public float getX(int line, float along) {
+            return x[line] + (x[line + 1] - x[line]) * progress(line, along);
+        }
+
+        /**
+         * Returns the Y coordinate of the point a distance along the route.
+         *
+         * @param line The line the point is on, from {@link #lineAt(float)}.
+         * @param along The distance along the route in pixels.
+         * @return The Y coordinate, clamped to the ends of the route.
+         */
+        public float getY(int line, float along) {
+            return y[line] + (y[line + 1] - y[line]) * progress(line, along);
+        }
+
+        private float progress(int line, float along) {
+            float lineLength = distance[line + 1] - distance[line];
+            if (lineLength <= 0) return 0;
+            return Math.max(0, Math.min(1, (along - distance[line]) / lineLength));
+        }
+    }
+}
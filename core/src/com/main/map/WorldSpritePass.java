@@ -0,0 +1,190 @@
+package com.main.map;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import java.util.Arrays;
+
+/**
+ * The WorldSpritePass class draws everything in the world that the player can walk in front of or behind,
+ * such as the player, the ducks, trees and roofs, in depth order.
+ * <p>
+ * Each frame the sprites in view are collected into a buffer that is reused from frame to frame, sorted by
+ * the height on screen of the point where they stand, and drawn furthest first, so a sprite standing lower
+ * on the screen is drawn in front. The sort is a radix sort over the bits of the sort heights, which takes
+ * the same time however the sprites are ordered, and keeps sprites with the same height in the order they
+ * were added. Nothing is allocated once the buffer has grown to the number of sprites in view.
+ */
+public class WorldSpritePass {
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private TextureRegion[] regions;
+    private float[] x, y, width, height, scaleX, scaleY, rotation;
+    private int[] keys, order, scratch;
+    private final int[] digitCounts;
+    private int count;
+    private CameraController view;
+
+    /**
+     * Constructs an empty sprite pass.
+     */
+    public WorldSpritePass() {
+        regions = new TextureRegion[INITIAL_CAPACITY];
+        x = new float[INITIAL_CAPACITY];
+        y = new float[INITIAL_CAPACITY];
+        width = new float[INITIAL_CAPACITY];
+        height = new float[INITIAL_CAPACITY];
+        scaleX = new float[INITIAL_CAPACITY];
+        scaleY = new float[INITIAL_CAPACITY];
+        rotation = new float[INITIAL_CAPACITY];
+        keys = new int[INITIAL_CAPACITY];
+        order = new int[INITIAL_CAPACITY];
+        scratch = new int[INITIAL_CAPACITY];
+        digitCounts = new int[RADIX];
+    }
+
+    /**
+     * Empties the buffer and sets the view, outside which sprites are not collected.
+     *
+     * @param view The controller of the camera the world is viewed through.
+     */
+    public void begin(CameraController view) {
+        count = 0;
+        this.view = view;
+    }
+
+    /**
+     * Adds a sprite if it is in view.
+     *
+     * @param region The region to draw.
+     * @param x The X coordinate of the bottom left corner.
+     * @param y The Y coordinate of the bottom left corner.
+     * @param width The width to draw at.
+     * @param height The height to draw at.
+     * @param sortY The height the sprite stands at, usually its bottom edge.
+     */
+    public void add(TextureRegion region, float x, float y, float width, float height, float sortY) {
+        add(region, x, y, width, height, sortY, 1, 1, 0);
+    }
+
+    /**
+     * Adds a sprite that is flipped or rotated about its centre, such as a flipped map tile, if it is in view.
+     *
+     * @param region The region to draw.
+     * @param x The X coordinate of the bottom left corner.
+     * @param y The Y coordinate of the bottom left corner.
+     * @param width The width to draw at.
+     * @param height The height to draw at.
+     * @param sortY The height the sprite stands at.
+     * @param scaleX -1 to flip the sprite horizontally, otherwise 1.
+     * @param scaleY -1 to flip the sprite vertically, otherwise 1.
+     * @param rotation The rotation in degrees counterclockwise, applied after flipping.
+     */
+    public void add(TextureRegion region, float x, float y, float width, float height, float sortY,
+                    float scaleX, float scaleY, float rotation) {
+        if (!view.isVisible(x, y, width, height)) return;
+        if (count == regions.length) grow(count * 2);
+        int i = count++;
+        regions[i] = region;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.width[i] = width;
+        this.height[i] = height;
+        this.scaleX[i] = scaleX;
+        this.scaleY[i] = scaleY;
+        this.rotation[i] = rotation;
+        keys[i] = sortKey(sortY);
+    }
+
+    /**
+     * Sorts the collected sprites and draws them, furthest first.
+     *
+     * @param batch The batch to draw with, which must already have begun.
+     */
+    public void end(SpriteBatch batch) {
+        int[] sorted = sort();
+        for (int n = 0; n < count; n++) {
+            int i = sorted[n];
+            if (scaleX[i] == 1 && scaleY[i] == 1 && rotation[i] == 0) {
+                batch.draw(regions[i], x[i], y[i], width[i], height[i]);
+            } else {
+                batch.draw(regions[i], x[i], y[i], width[i] / 2f, height[i] / 2f, width[i], height[i],
+                        scaleX[i], scaleY[i], rotation[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of sprites collected since {@link #begin(CameraController)}.
+     *
+     * @return The number of sprites in view.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Turns a sort height into an integer whose unsigned order puts higher sprites first.
+     * The bits of a float order positive values correctly, so negative values have all their bits
+     * flipped and positive values just their sign bit, and the result is inverted to sort descending.
+     *
+     * @param sortY The height the sprite stands at.
+     * @return The sort key.
+     */
+    private static int sortKey(float sortY) {
+        int bits = Float.floatToIntBits(sortY);
+        return ~(bits ^ ((bits >> 31) | 0x80000000));
+    }
+
+    /**
+     * Sorts the sprites by key with a least significant digit radix sort, one byte at a time.
+     * Each pass is stable, so sprites with equal keys stay in the order they were added.
+     *
+     * @return The indices of the sprites in drawing order.
+     */
+    private int[] sort() {
+        int[] source = order, destination = scratch;
+        for (int i = 0; i < count; i++) source[i] = i;
+        if (count < 2) return source;
+
+        for (int shift = 0; shift < Integer.SIZE; shift += RADIX_BITS) {
+            Arrays.fill(digitCounts, 0);
+            for (int i = 0; i < count; i++) {
+                digitCounts[(keys[i] >>> shift) & (RADIX - 1)]++;
+            }
+            // Sprites in view usually share their top bytes, in which case the pass would change nothing
+            if (digitCounts[(keys[0] >>> shift) & (RADIX - 1)] == count) continue;
+
+            int total = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                int digitCount = digitCounts[digit];
+                digitCounts[digit] = total;
+                total += digitCount;
+            }
+            for (int n = 0; n < count; n++) {
+                int i = source[n];
+                destination[digitCounts[(keys[i] >>> shift) & (RADIX - 1)]++] = i;
+            }
+            int[] swap = source;
+            source = destination;
+            destination = swap;
+        }
+        return source;
+    }
+
+    private void grow(int capacity) {
+        regions = Arrays.copyOf(regions, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        scaleX = Arrays.copyOf(scaleX, capacity);
+        scaleY = Arrays.copyOf(scaleY, capacity);
+        rotation = Arrays.copyOf(rotation, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        order = new int[capacity];
+        scratch = new int[capacity];
+    }
+}
@@ -0,0 +1,98 @@
+package com.main.rules;
+
+/**
+ * An Action is something the player does that the rules respond to, given to {@link GameState#apply(Action)}.
+ * <p>
+ * There are only a few dozen different actions, so every one is made once up front and the factory methods
+ * hand out the same instances. Applying actions therefore allocates nothing, however many days are played.
+ */
+public final class Action {
+    /**
+     * Enumerates the kinds of action.
+     */
+    public enum Type {
+        STUDY,      // Study for some hours at a lecture building
+        RECREATION, // Exercise, feed the ducks or visit the city for some hours
+        EAT,        // Eat a meal
+        SLEEP,      // Go to bed, ending the day
+        SKIP_DAY    // The developer shortcut that skips a day and adds to the score
+    }
+
+    public static final Action SLEEP = new Action(Type.SLEEP, null, 0);
+    public static final Action SKIP_DAY = new Action(Type.SKIP_DAY, null, 0);
+    private static final Action[][] STUDY = new Action[Place.count()][GameState.MAX_HOURS + 1];
+    private static final Action[][] RECREATION = new Action[Place.count()][GameState.MAX_HOURS + 1];
+    private static final Action[] EAT = new Action[Place.count()];
+
+    static {
+        for (int ordinal = 0; ordinal < Place.count(); ordinal++) {
+            Place place = Place.of(ordinal);
+            for (int hours = GameState.MIN_HOURS; hours <= GameState.MAX_HOURS; hours++) {
+                if (place.study) STUDY[ordinal][hours] = new Action(Type.STUDY, place, hours);
+                if (place.recreation) RECREATION[ordinal][hours] = new Action(Type.RECREATION, place, hours);
+            }
+            if (place.eat) EAT[ordinal] = new Action(Type.EAT, place, 0);
+        }
+    }
+
+    public final Type type;
+    public final Place place; // Null for sleeping and skipping a day
+    public final int hours;
+
+    private Action(Type type, Place place, int hours) {
+        this.type = type;
+        this.place = place;
+        this.hours = hours;
+    }
+
+    /**
+     * Returns the action of studying.
+     *
+     * @param place Where to study.
+     * @param hours How long to study for, from {@link GameState#MIN_HOURS} to {@link GameState#MAX_HOURS}.
+     * @return The action.
+     * @throws IllegalArgumentException If the place is not for studying or the hours are out of range.
+     */
+    public static Action study(Place place, int hours) {
+        return pick(STUDY, place, hours, "study");
+    }
+
+    /**
+     * Returns the action of a recreational activity.
+     *
+     * @param place Where to do the activity.
+     * @param hours How long it lasts, from {@link GameState#MIN_HOURS} to {@link GameState#MAX_HOURS}.
+     * @return The action.
+     * @throws IllegalArgumentException If the place is not for recreation or the hours are out of range.
+     */
+    public static Action recreation(Place place, int hours) {
+        return pick(RECREATION, place, hours, "recreation");
+    }
+
+    /**
+     * Returns the action of eating a meal.
+     *
+     * @param place Where to eat.
+     * @return The action.
+     * @throws IllegalArgumentException If there is no food at the place.
+     */
+    public static Action eat(Place place) {
+        if (place == null || EAT[place.ordinal()] == null) throw new IllegalArgumentException("Can't eat at " + place);
+        return EAT[place.ordinal()];
+    }
+
+    private static Action pick(Action[][] actions, Place place, int hours, String kind) {
+        if (hours < GameState.MIN_HOURS || hours > GameState.MAX_HOURS) {
+            throw new IllegalArgumentException("Can't do " + kind + " for " + hours + " hours");
+        }
+        if (place == null || actions[place.ordinal()][hours] == null) {
+            throw new IllegalArgumentException("Can't do " + kind + " at " + place);
+        }
+        return actions[place.ordinal()][hours];
+    }
+
+    @Override
+    public String toString() {
+        return place == null ? type.toString() : type + " " + place + (hours > 0 ? " " + hours : "");
+    }
+}
@@ -0,0 +1,40 @@
+package com.main.rules;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Logs what happens in a game, for following how it is played. Everything is logged at FINE, and nothing is
+ * built for a message that isn't logged.
+ */
+public class GameEventLog implements GameEvents.Listener {
+    private static final Logger logger = Logger.getLogger(GameEventLog.class.getName());
+
+    @Override
+    public void activityStarted(Place place, int hours, int day) {
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("Day " + day + ": " + hours + " hours at " + place);
+        }
+    }
+
+    @Override
+    public void mealEaten(Place place, int hour, int day) {
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("Day " + day + ": ate at " + place + " at " + hour + ":00");
+        }
+    }
+
+    @Override
+    public void dayEnded(int day, int dayScore, int totalScore) {
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("Day " + day + " ended scoring " + dayScore + ", " + totalScore + " in total");
+        }
+    }
+
+    @Override
+    public void triggerEntered(Place place) {
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("Reached " + place);
+        }
+    }
+}
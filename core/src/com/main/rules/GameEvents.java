@@ -0,0 +1,170 @@
+package com.main.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The GameEvents class passes what happens in the game, such as an activity starting or a day ending, on
+ * to whatever reacts to it, like the HUD, sounds and effects, without them being called from where it
+ * happened.
+ * <p>
+ * Events are published into a ring buffer allocated up front, each kept as a handful of numbers, and
+ * handed to the listeners when the buffer is dispatched, normally once a tick. Neither publishing nor
+ * dispatching allocates. Each event is handed to each listener exactly once, in the order the events
+ * were published; if the buffer fills up before it is dispatched, it is dispatched early rather than
+ * losing any.
+ */
+public class GameEvents {
+    public static final int DEFAULT_CAPACITY = 64;
+
+    // Event types
+    static final byte ACTIVITY_STARTED = 0;
+    static final byte MEAL_EATEN = 1;
+    static final byte DAY_ENDED = 2;
+    static final byte TRIGGER_ENTERED = 3;
+
+    /**
+     * Receives the events. Every method does nothing unless overridden, so a listener only overrides the
+     * events it needs.
+     */
+    public interface Listener {
+        /**
+         * Called when the player starts studying or a recreational activity.
+         *
+         * @param place Where the activity is.
+         * @param hours How long it lasts.
+         * @param day The day it was started on.
+         */
+        default void activityStarted(Place place, int hours, int day) {}
+
+        /**
+         * Called when the player eats.
+         *
+         * @param place Where they ate.
+         * @param hour The hour they ate at.
+         * @param day The day they ate on.
+         */
+        default void mealEaten(Place place, int hour, int day) {}
+
+        /**
+         * Called when a day ends and is scored, whether by going to bed or reaching midnight.
+         *
+         * @param day The day that ended.
+         * @param dayScore The score added for the day, which is 0 once the player has failed.
+         * @param totalScore The total score after it.
+         */
+        default void dayEnded(int day, int dayScore, int totalScore) {}
+
+        /**
+         * Called when the player walks onto a place where they can do something.
+         *
+         * @param place The place.
+         */
+        default void triggerEntered(Place place) {}
+    }
+
+    private final List<Listener> listeners = new ArrayList<>();
+
+    // The ring buffer, holding size events starting at head
+    private final byte[] type;
+    private final int[] place, first, second, third; // place is an ordinal, or -1 for none
+    private int head, size;
+
+    /**
+     * Constructs an event bus with the default capacity.
+     */
+    public GameEvents() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an event bus.
+     *
+     * @param capacity The most events that can wait to be dispatched.
+     */
+    public GameEvents(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        this.type = new byte[capacity];
+        this.place = new int[capacity];
+        this.first = new int[capacity];
+        this.second = new int[capacity];
+        this.third = new int[capacity];
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public void activityStarted(Place place, int hours, int day) {
+        publish(ACTIVITY_STARTED, place, hours, day, 0);
+    }
+
+    public void mealEaten(Place place, int hour, int day) {
+        publish(MEAL_EATEN, place, hour, day, 0);
+    }
+
+    public void dayEnded(int day, int dayScore, int totalScore) {
+        publish(DAY_ENDED, null, day, dayScore, totalScore);
+    }
+
+    public void triggerEntered(Place place) {
+        publish(TRIGGER_ENTERED, place, 0, 0, 0);
+    }
+
+    private void publish(byte eventType, Place eventPlace, int a, int b, int c) {
+        if (size == type.length) dispatch();
+        int slot = (head + size) % type.length;
+        type[slot] = eventType;
+        place[slot] = eventPlace == null ? -1 : eventPlace.ordinal();
+        first[slot] = a;
+        second[slot] = b;
+        third[slot] = c;
+        size++;
+    }
+
+    /**
+     * Hands every waiting event to the listeners, oldest first. Events published by a listener while this
+     * runs are dispatched too, after the ones before them.
+     */
+    public void dispatch() {
+        while (size > 0) {
+            int slot = head;
+            head = (head + 1) % type.length;
+            size--;
+            // Read out before the listeners run, as the slot is free for them to publish into
+            byte eventType = type[slot];
+            Place eventPlace = place[slot] < 0 ? null : Place.of(place[slot]);
+            int a = first[slot], b = second[slot], c = third[slot];
+            for (int i = 0; i < listeners.size(); i++) { // Indexed, as an iterator would be allocated
+                Listener listener = listeners.get(i);
+                switch (eventType) {
+                    case ACTIVITY_STARTED:
+                        listener.activityStarted(eventPlace, a, b);
+                        break;
+                    case MEAL_EATEN:
+                        listener.mealEaten(eventPlace, a, b);
+                        break;
+                    case DAY_ENDED:
+                        listener.dayEnded(a, b, c);
+                        break;
+                    case TRIGGER_ENTERED:
+                        listener.triggerEntered(eventPlace);
+                        break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns how many events are waiting to be dispatched.
+     *
+     * @return The number of events.
+     */
+    public int getPending() {
+        return size;
+    }
+}
@@ -0,0 +1,259 @@
+package com.main.rules;
+
+/**
+ * The GameState class holds the rules of the game and everything they keep track of: the clock, the day,
+ * the player's energy, what they have done and their score. It is plain Java with no rendering, so the
+ * game screen drives it from the player's input, and tests and balancing tools can play whole games on
+ * their own, many at a time and far faster than real time.
+ * <p>
+ * Time moves on with {@link #step(float)} and the player acts through {@link #apply(Action)}. Neither
+ * allocates, so simulating a day costs a handful of arithmetic and bit operations. What happens is also
+ * published to a {@link GameEvents} bus, if one is set, for the game to react to.
+ * <p>
+ * The rules are the same as when they lived in the game screen, including its quirks: studying costs
+ * energy only if the player has more than it costs, and the last day ends differently depending on how it
+ * ends. Going to bed on the last day scores the day before the streak bonus is added, whereas reaching
+ * midnight on it adds the streak bonus first, so the last day's score is not in the final score.
+ */
+public class GameState {
+    public static final float DAY_LENGTH_SECONDS = 60f;
+    public static final int DAY_START_HOUR = 8;
+    public static final int DAY_END_HOUR = 24;
+    public static final float SECONDS_PER_HOUR = DAY_LENGTH_SECONDS / (DAY_END_HOUR - DAY_START_HOUR);
+    public static final int LAST_DAY = 7;
+    public static final int BEDTIME_HOUR = 20;          // The player can't go to bed before this
+    public static final int MAX_ENERGY = 10;
+    public static final int MEAL_ENERGY = 3;            // Energy gained from a meal
+    public static final int NIGHT_ENERGY = 4;           // Energy gained overnight
+    public static final int MIN_HOURS = 1;              // The shortest activity
+    public static final int MAX_HOURS = 4;              // The longest activity
+    public static final int SKIP_DAY_SCORE = 100;       // Added by the developer shortcut
+    private static final int FIRST_HOUR_SHOWN = 10;     // The hour shown before the clock first moves
+
+    private final Score score;
+    private int day, hour, energy;
+    private float timeElapsed; // Seconds since the start of the day
+    private int studyHours, recreationCount, mealCount; // Totals for the whole game
+    private int totalScore, finalScore;
+    private boolean failed, over;
+    private GameEvents events; // Where activities, meals and the ends of days are published, or null
+
+    /**
+     * Constructs the state at the start of a new game.
+     */
+    public GameState() {
+        this.score = new Score();
+        this.day = 1;
+        this.hour = FIRST_HOUR_SHOWN;
+        this.energy = MAX_ENERGY;
+    }
+
+    /**
+     * Sets where the state publishes what happens. The state is driven the same either way, so games
+     * simulated without anything reacting to them can leave it unset.
+     *
+     * @param events The event bus, or null not to publish events.
+     */
+    public void setEvents(GameEvents events) {
+        this.events = events;
+    }
+
+    /**
+     * Moves the clock on. Reaching midnight starts the next day, or ends the game on the last day,
+     * after which the clock stops.
+     *
+     * @param delta Time passed in seconds.
+     */
+    public void step(float delta) {
+        if (over) return;
+        timeElapsed += delta;
+        hour = getTimeHour();
+
+        if (hour >= DAY_END_HOUR) { // If it reaches 00:00, reset to 08:00 the next day
+            if (day == LAST_DAY) {
+                totalScore += score.checkStreaks(); // Add bonus points from achieving streaks
+                endGame();
+            }
+            resetDay();
+        }
+    }
+
+    /**
+     * Carries out an action of the player, if the rules allow it.
+     *
+     * @param action The action.
+     * @return True if the action was carried out, false if it isn't allowed at the moment, such as
+     *         exercising without the energy or going to bed before {@link #BEDTIME_HOUR}.
+     */
+    public boolean apply(Action action) {
+        if (over) return false;
+        switch (action.type) {
+            case STUDY:
+                studyHours += action.hours;
+                int cost = (action.hours + 1) / 2;
+                if (energy > cost) energy -= cost;
+                timeElapsed += action.hours * SECONDS_PER_HOUR;
+                score.study(action.hours, action.place);
+                if (events != null) events.activityStarted(action.place, action.hours, day);
+                return true;
+
+            case RECREATION:
+                if (energy < action.hours) return false;
+                recreationCount++;
+                energy -= action.hours;
+                timeElapsed += action.hours * SECONDS_PER_HOUR;
+                score.doRecActivity(action.place);
+                if (events != null) events.activityStarted(action.place, action.hours, day);
+                return true;
+
+            case EAT:
+                energy = Math.min(energy + MEAL_ENERGY, MAX_ENERGY);
+                mealCount++;
+                score.eat(getTimeHour());
+                if (events != null) events.mealEaten(action.place, getTimeHour(), day);
+                return true;
+
+            case SLEEP:
+                if (hour < BEDTIME_HOUR) return false;
+                if (day == LAST_DAY) {
+                    addDailyScore(day);
+                    totalScore += score.checkStreaks(); // Add bonus points from achieving streaks
+                    endGame();
+                } else {
+                    score.incrementSleep(); // Increments count for number of early nights
+                    resetDay();
+                }
+                return true;
+
+            case SKIP_DAY:
+                totalScore += SKIP_DAY_SCORE;
+                day++;
+                step(10);
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Starts the next day: the clock goes back to 08:00, the player gains energy overnight and the day
+     * that has ended is scored.
+     */
+    private void resetDay() {
+        hour = DAY_START_HOUR;
+        day++;
+        timeElapsed = 0;
+        energy = Math.min(energy + NIGHT_ENERGY, MAX_ENERGY);
+        addDailyScore(day - 1);
+    }
+
+    /**
+     * Adds the day's score to the total. A player who misses studying two days running has failed,
+     * and scores nothing more.
+     *
+     * @param endedDay The day being scored.
+     */
+    private void addDailyScore(int endedDay) {
+        if (score.hasMissedStudy() && score.getStudyCount() == 0) {
+            failed = true;
+        }
+        int dayScore = 0;
+        if (!failed) {
+            dayScore = score.calculateScore();
+            totalScore += dayScore;
+            score.resetDailyCounters();
+        }
+        if (events != null) events.dayEnded(endedDay, dayScore, totalScore);
+    }
+
+    private void endGame() {
+        over = true;
+        finalScore = totalScore;
+    }
+
+    /**
+     * Works out the hour from the time since the start of the day.
+     */
+    private int getTimeHour() {
+        return DAY_START_HOUR + (int) (timeElapsed / SECONDS_PER_HOUR);
+    }
+
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * Returns the hour of the day as last worked out by {@link #step(float)}. Activities move the clock on,
+     * but the hour only catches up on the next step.
+     *
+     * @return The hour, from 8 to 24.
+     */
+    public int getHour() {
+        return hour;
+    }
+
+    public float getTimeElapsed() {
+        return timeElapsed;
+    }
+
+    public int getEnergy() {
+        return energy;
+    }
+
+    public int getStudyHours() {
+        return studyHours;
+    }
+
+    public int getRecreationCount() {
+        return recreationCount;
+    }
+
+    public int getMealCount() {
+        return mealCount;
+    }
+
+    public int getTotalScore() {
+        return totalScore;
+    }
+
+    public boolean hasFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns whether the game has ended, after which no more actions are carried out.
+     *
+     * @return True once the last day is over.
+     */
+    public boolean isOver() {
+        return over;
+    }
+
+    /**
+     * Returns the score the game ended with, to show on the end screen.
+     *
+     * @return The final score, or 0 if the game isn't over.
+     */
+    public int getFinalScore() {
+        return finalScore;
+    }
+
+    /**
+     * Returns the streaks achieved, one per line, once the game is over.
+     *
+     * @return The streaks.
+     */
+    public String getStreaks() {
+        return score.getStreaks();
+    }
+
+    /**
+     * Returns the streaks achieved as bits, such as {@link Score#PROGRAMMER}, once the game is over.
+     *
+     * @return The bits of the streaks.
+     */
+    public int getStreakBits() {
+        return score.getStreakBits();
+    }
+}
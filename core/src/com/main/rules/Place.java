@@ -0,0 +1,57 @@
+package com.main.rules;
+
+/**
+ * Enumerates the places on campus where the player can do something, named after the map layers that
+ * mark them, and states what can be done at each. Each place also has a bit, so sets of places can be
+ * kept as a bit mask.
+ */
+public enum Place {
+    COMP_SCI("Comp_sci_door", true, false, false),
+    PIAZZA("Piazza_door", true, true, false),
+    RON_COOKE("Ron_cooke_door", true, true, false),
+    GYM("Gym_door", false, false, true),
+    GOODRICKE("Goodricke_door", false, false, false),
+    FEED_DUCKS("Feed_ducks", false, false, true),
+    VISIT_CITY("Visit_city", false, false, true);
+
+    private static final Place[] PLACES = values(); // values() copies the array on every call
+
+    public final String layerName;
+    public final int bit;
+    public final boolean study, eat, recreation;
+
+    Place(String layerName, boolean study, boolean eat, boolean recreation) {
+        this.layerName = layerName;
+        this.bit = 1 << ordinal();
+        this.study = study;
+        this.eat = eat;
+        this.recreation = recreation;
+    }
+
+    /**
+     * Finds the place marked by a map layer.
+     *
+     * @param layerName The name of the layer, such as "Piazza_door".
+     * @return The place, or null if the layer doesn't mark one.
+     */
+    public static Place fromLayer(String layerName) {
+        for (Place place : PLACES) {
+            if (place.layerName.equals(layerName)) return place;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the place with an ordinal.
+     *
+     * @param ordinal The ordinal of the place.
+     * @return The place.
+     */
+    public static Place of(int ordinal) {
+        return PLACES[ordinal];
+    }
+
+    public static int count() {
+        return PLACES.length;
+    }
+}
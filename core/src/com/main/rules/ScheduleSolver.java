@@ -0,0 +1,628 @@
+package com.main.rules;
+
+import com.main.utils.Leaderboards;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * The ScheduleSolver finds the highest final score the rules allow, and a week of actions that reaches it,
+ * by searching every way of playing. Any score above it was not earned by playing, so it is a check on
+ * leaderboard entries, and a target for balancing.
+ * <p>
+ * The search is split in two. A day is searched on its own for each energy it can start with, hour by hour,
+ * keeping each different state of the day once, packed into a long: the energy, hours studied, places
+ * studied and relaxed at, and meal times. Meal times that the meal bonus can no longer tell apart are kept
+ * as one, and only the most recreational activities are kept for each state, as nothing else depends on
+ * them. What the rest of the week needs to know about a day is only the energy
+ * left, whether it ended in bed and where the player went, so each day's search boils down to the best
+ * day score for each of those outcomes. The week is then searched over days, with states of the energy,
+ * streak counters and whether the player missed study or failed, again packed into longs. Streak counters
+ * that can no longer earn their streak are all kept as one, and those past what the streak needs are
+ * capped, so there are few of them.
+ * <p>
+ * The days for different starting energies, and the week states of each day, are searched in parallel.
+ * Time is counted in whole hours, as actions only ever move it on by whole hours, and walking between
+ * places is taken to be instant, so the score is the most any player could get. The developer shortcut
+ * for skipping a day is left out.
+ */
+public final class ScheduleSolver {
+    private static final int HOURS = GameState.DAY_END_HOUR - GameState.DAY_START_HOUR;
+    private static final int END = HOURS; // The layer of states that have reached midnight
+    private static final int NO_MOVE = 0xFF;
+
+    // The moves of a day, other than going to bed; null waits for an hour
+    private static final Action[] MOVES = moves();
+    // The meals each meals state stands in for, by layer, as meal times that score the same from then on
+    private static final int[][] MEAL_CANON = canonicalMeals();
+
+    // Within-day state: energy 4 bits, hours studied 4, places studied 7, places relaxed 7, meals 15
+    private static final int STUDIED = 4, STUDIED_AT = 8, RELAXED_AT = 15, MEALS = 22;
+    // Meals: the number eaten 3 bits, then the hours since the start of the day of the first ones 4 bits each
+    private static final int MEAL_BITS = 3 + 4 * Score.MEALS_TIMED, MEAL_MASK = (1 << MEAL_BITS) - 1;
+    // Within-day value: the parent state's key 40 bits, its layer 5, the move from it 8, recreational activities 10
+    private static final int PARENT_LAYER = 40, MOVE = 45, RECREATION = 53;
+    private static final long KEY_MASK = (1L << PARENT_LAYER) - 1;
+
+    // Outcome of a day: energy 4 bits, in bed 1, places studied 7, places relaxed 7
+    private static final int ASLEEP = 4, OUTCOME_STUDIED_AT = 5, OUTCOME_RELAXED_AT = 12;
+    // Outcome value: the state it was reached from 40 bits, its layer 5, day score 13
+    private static final int DAY_SCORE = 45;
+    private static final int SCORE_OFFSET = 1 << 12; // Keeps day scores positive when packed
+
+    // Week state: energy, the five streak counters 4 bits each, all-rounder 1 bit, missed or failed 2 bits
+    private static final int DUCKS = 4, SPORTS = 8, VISIT_ALL = 12, COMP_SCI = 16, EARLY_NIGHTS = 20;
+    private static final int ALL_ROUNDER = 24, STATUS = 25;
+    private static final int DEAD = 0xF; // A counter that can no longer earn its streak
+    private static final int PLAYING = 0, MISSED = 1, FAILED = 2;
+
+    private final Day[] days; // Indexed by the energy the day starts with, null if no day can start with it
+    private final StateTable[] week; // The best score to come from each week state, by day
+
+    private ScheduleSolver() {
+        int[] check = new int[Score.MEALS_TIMED];
+        if (Score.dailyScore(0, 0, 0, 1, 0, check) < Score.dailyScore(0, 0, 0, 0, 0, check)) {
+            throw new IllegalStateException("The solver relies on recreational activities never lowering the score");
+        }
+        // Days start with full energy, or with what was left plus a night's sleep
+        this.days = IntStream.rangeClosed(0, GameState.MAX_ENERGY).parallel()
+                .mapToObj(energy -> energy == GameState.MAX_ENERGY || energy >= GameState.NIGHT_ENERGY ? new Day(energy) : null)
+                .toArray(Day[]::new);
+        this.week = new StateTable[GameState.LAST_DAY + 1];
+    }
+
+    /**
+     * Finds the highest final score and a way of reaching it.
+     *
+     * @return The solution.
+     */
+    public static Solution solve() {
+        return new ScheduleSolver().solveWeek();
+    }
+
+    private Solution solveWeek() {
+        // Find the week states each day can start in
+        long[][] states = new long[GameState.LAST_DAY + 1][];
+        StateTable reached = new StateTable(0);
+        reached.improve(start(), 0);
+        for (int day = 1; day <= GameState.LAST_DAY; day++) {
+            states[day] = reached.keys();
+            Arrays.sort(states[day]);
+            if (day == GameState.LAST_DAY) break;
+            reached = new StateTable(0);
+            for (long state : states[day]) {
+                Day outcomes = days[energyOf(state)];
+                for (int o = 0; o < outcomes.size; o++) {
+                    long next = next(state, day, outcomes.keys[o]);
+                    if (next >= 0) reached.improve(next, 0);
+                }
+            }
+        }
+
+        // Then the best score to come from each of them, from the last day back
+        for (int day = GameState.LAST_DAY; day >= 1; day--) {
+            final int today = day;
+            final long[] todays = states[day];
+            int[] best = new int[todays.length];
+            IntStream.range(0, todays.length).parallel().forEach(i -> best[i] = scoreOf(todays[i], today, bestOutcome(todays[i], today)));
+            week[day] = new StateTable(0);
+            for (int i = 0; i < todays.length; i++) week[day].improve(todays[i], best[i] + SCORE_OFFSET);
+        }
+
+        // And follow the best outcomes through the week
+        List<Action> plan = new ArrayList<>();
+        long state = start();
+        for (int day = 1; day <= GameState.LAST_DAY && state >= 0; day++) {
+            Day outcomes = days[energyOf(state)];
+            int o = bestOutcome(state, day);
+            outcomes.addPlan(o, plan);
+            state = next(state, day, outcomes.keys[o]);
+        }
+        return new Solution((int) week[1].get(start()) - SCORE_OFFSET, plan);
+    }
+
+    /**
+     * Finds which outcome of a day scores the most from a week state, taking the first of any ties.
+     */
+    private int bestOutcome(long state, int day) {
+        Day outcomes = days[energyOf(state)];
+        int best = -1, bestScore = Integer.MIN_VALUE;
+        for (int o = 0; o < outcomes.size; o++) {
+            int score = scoreOf(state, day, o);
+            if (score > bestScore) {
+                best = o;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Works out the score from a day on, given the day's outcome and playing the best after it.
+     */
+    private int scoreOf(long state, int day, int o) {
+        Day outcomes = days[energyOf(state)];
+        long outcome = outcomes.keys[o];
+        boolean asleep = (outcome >>> ASLEEP & 1) != 0;
+        boolean lastDay = day == GameState.LAST_DAY;
+        if (lastDay && !asleep) return streakBonus(state); // Reaching midnight on the last day doesn't score it
+
+        int gain = 0;
+        int status = (int) (state >>> STATUS & 3);
+        int studiedAt = (int) (outcome >>> OUTCOME_STUDIED_AT & 0x7F);
+        if (status != FAILED && !(status == MISSED && studiedAt == 0)) gain = outcomes.scores[o];
+        long next = next(state, day, outcome);
+        if (lastDay) return gain + streakBonus(next);
+        return gain + (int) week[day + 1].get(next) - SCORE_OFFSET;
+    }
+
+    /**
+     * Works out the week state after a day, as GameState and Score move on from one day to the next.
+     *
+     * @return The state the next day starts in, or the state the game ends in after going to bed on the last
+     *         day, or -1 if the game ends at midnight on the last day.
+     */
+    private static long next(long state, int day, long outcome) {
+        boolean asleep = (outcome >>> ASLEEP & 1) != 0;
+        if (day == GameState.LAST_DAY && !asleep) return -1;
+        int daysLeft = GameState.LAST_DAY - day;
+        int energy = (int) (outcome & 0xF);
+        int studiedAt = (int) (outcome >>> OUTCOME_STUDIED_AT & 0x7F);
+        int relaxedAt = (int) (outcome >>> OUTCOME_RELAXED_AT & 0x7F);
+        int ducks = counter(state, DUCKS), sports = counter(state, SPORTS), visitAll = counter(state, VISIT_ALL);
+        int compSci = counter(state, COMP_SCI), earlyNights = counter(state, EARLY_NIGHTS);
+        int allRounder = (int) (state >>> ALL_ROUNDER & 1);
+        int status = (int) (state >>> STATUS & 3);
+
+        boolean scored = status != FAILED && !(status == MISSED && studiedAt == 0);
+        boolean visitedAll = scored && Score.visitedAll(studiedAt, relaxedAt);
+        if (!scored) {
+            status = FAILED;
+        } else if (studiedAt == 0) {
+            status = MISSED;
+        }
+        ducks = count(ducks, scored && (relaxedAt & Place.FEED_DUCKS.bit) != 0, Score.FEED_DUCKS_DAYS, true, daysLeft);
+        sports = count(sports, scored && (relaxedAt & Place.GYM.bit) != 0, Score.SPORTS_DAYS, true, daysLeft);
+        compSci = count(compSci, scored && (studiedAt & Place.COMP_SCI.bit) != 0, Score.COMP_SCI_DAYS, false, daysLeft);
+        visitAll = count(visitAll, visitedAll, Score.VISIT_ALL_DAYS, true, daysLeft);
+        earlyNights = count(earlyNights, asleep && day < GameState.LAST_DAY, Score.EARLY_NIGHTS_COUNT, false, daysLeft);
+        if (visitedAll) allRounder = 1;
+
+        energy = Math.min(energy + GameState.NIGHT_ENERGY, GameState.MAX_ENERGY);
+        return week(energy, ducks, sports, visitAll, compSci, earlyNights, allRounder, status);
+    }
+
+    /**
+     * Moves a streak counter on by a day, marking it dead once its streak is out of reach, and capping it at
+     * what the streak needs, as any more makes no difference.
+     *
+     * @param counted Whether the day adds one to the counter.
+     * @param exactly Whether the streak needs exactly the number, rather than at least it.
+     * @param daysLeft The number of days that can still add to the counter.
+     */
+    private static int count(int counter, boolean counted, int needed, boolean exactly, int daysLeft) {
+        if (counter == DEAD) return DEAD;
+        if (counted) counter++;
+        if (counter > needed) {
+            if (exactly) return DEAD;
+            counter = needed;
+        }
+        return counter + daysLeft < needed ? DEAD : counter;
+    }
+
+    private static int streakBonus(long state) {
+        int bits = Score.streakBits(unpack(counter(state, DUCKS)), unpack(counter(state, COMP_SCI)),
+                unpack(counter(state, SPORTS)), unpack(counter(state, EARLY_NIGHTS)),
+                (state >>> ALL_ROUNDER & 1) != 0, unpack(counter(state, VISIT_ALL)));
+        return Score.streakBonus(bits);
+    }
+
+    private static int unpack(int counter) {
+        return counter == DEAD ? -1 : counter;
+    }
+
+    private static int counter(long state, int shift) {
+        return (int) (state >>> shift & 0xF);
+    }
+
+    private static int energyOf(long state) {
+        return (int) (state & 0xF);
+    }
+
+    private static long start() {
+        return week(GameState.MAX_ENERGY, 0, 0, 0, 0, 0, 0, PLAYING);
+    }
+
+    private static long week(int energy, int ducks, int sports, int visitAll, int compSci, int earlyNights,
+                             int allRounder, int status) {
+        return energy | (long) ducks << DUCKS | (long) sports << SPORTS | (long) visitAll << VISIT_ALL
+                | (long) compSci << COMP_SCI | (long) earlyNights << EARLY_NIGHTS
+                | (long) allRounder << ALL_ROUNDER | (long) status << STATUS;
+    }
+
+    private static Action[] moves() {
+        List<Action> moves = new ArrayList<>();
+        moves.add(null);
+        boolean eats = false; // Eating is the same wherever it is, so only one place is tried
+        for (int ordinal = 0; ordinal < Place.count(); ordinal++) {
+            Place place = Place.of(ordinal);
+            if (place.eat && !eats) {
+                moves.add(Action.eat(place));
+                eats = true;
+            }
+            for (int hours = GameState.MIN_HOURS; hours <= GameState.MAX_HOURS; hours++) {
+                if (place.study) moves.add(Action.study(place, hours));
+                if (place.recreation) moves.add(Action.recreation(place, hours));
+            }
+        }
+        return moves.toArray(new Action[0]);
+    }
+
+    /**
+     * Works out which meals stand in for the meals of a state, so that states whose meals differ only in
+     * ways the meal bonus can no longer tell apart are kept as one.
+     */
+    private static long canonical(long key, int layer) {
+        int meals = (int) (key >>> MEALS & MEAL_MASK);
+        return key & ~((long) MEAL_MASK << MEALS) | (long) MEAL_CANON[layer][meals] << MEALS;
+    }
+
+    /**
+     * Finds, for each layer, meals that score the same as each other whatever meals follow them, by trying
+     * every later meal with Score, so the solver never needs to know how the meal bonus works. The first
+     * of each such set stands in for them all.
+     */
+    private static int[][] canonicalMeals() {
+        int[][] canon = new int[END + 1][1 << MEAL_BITS];
+        int[] mealTimes = new int[Score.MEALS_TIMED];
+        for (int layer = 0; layer <= END; layer++) {
+            Set<Integer> eaten = new LinkedHashSet<>();
+            addMeals(0, Math.min(layer, HOURS - 1), eaten);
+            Map<String, Integer> first = new HashMap<>();
+            for (int meals : eaten) {
+                StringBuilder scores = new StringBuilder();
+                addLaterScores(meals, layer, scores, mealTimes);
+                canon[layer][meals] = first.computeIfAbsent(scores.toString(), s -> meals);
+            }
+        }
+        return canon;
+    }
+
+    /**
+     * Adds the meals that can have been eaten by a layer, starting from some meals.
+     */
+    private static void addMeals(int meals, int lastLayer, Set<Integer> eaten) {
+        if (!eaten.add(meals) || (meals & 7) > Score.MEALS_TIMED) return;
+        int count = meals & 7;
+        int from = count == 0 || count > Score.MEALS_TIMED ? 0 : meals >>> 3 + 4 * (count - 1) & 0xF;
+        for (int layer = from; layer <= lastLayer; layer++) addMeals(eat(meals, layer), lastLayer, eaten);
+    }
+
+    /**
+     * Adds the meal bonus of some meals, and of every way of eating more of them from a layer on.
+     */
+    private static void addLaterScores(int meals, int layer, StringBuilder scores, int[] mealTimes) {
+        int count = mealTimes(meals, mealTimes);
+        scores.append(Score.dailyScore(0, 0, 0, 0, count, mealTimes)).append(',');
+        if (count > Score.MEALS_TIMED) return;
+        for (int later = layer; later < HOURS; later++) addLaterScores(eat(meals, later), later, scores, mealTimes);
+        scores.append(';');
+    }
+
+    private static int eat(int meals, int layer) {
+        int count = meals & 7;
+        if (count < Score.MEALS_TIMED) meals |= layer << 3 + 4 * count;
+        if (count <= Score.MEALS_TIMED) meals = meals & ~7 | count + 1;
+        return meals;
+    }
+
+    /**
+     * Unpacks the times of meals.
+     *
+     * @return The number of meals eaten.
+     */
+    private static int mealTimes(int meals, int[] mealTimes) {
+        for (int meal = 0; meal < mealTimes.length; meal++) {
+            mealTimes[meal] = GameState.DAY_START_HOUR + (meals >>> 3 + 4 * meal & 0xF);
+        }
+        return meals & 7;
+    }
+
+    /**
+     * A Day is every way of playing a day from a starting energy, boiled down to the best score for each
+     * outcome. The states it passed through are kept, by hour, to work out how an outcome is reached.
+     */
+    private static final class Day {
+        private final StateTable[] layers; // States by hour since the start of the day
+        private long[] keys;               // The outcomes
+        private int[] scores;              // The best day score for each outcome
+        private long[] ends;               // The layer and state each outcome was reached from
+        private int size;
+
+        Day(int energy) {
+            this.layers = new StateTable[END + 1];
+            for (int layer = 0; layer <= END; layer++) layers[layer] = new StateTable(RECREATION);
+            layers[0].improve(energy, (long) NO_MOVE << MOVE);
+
+            StateTable outcomes = new StateTable(DAY_SCORE);
+            int[] mealTimes = new int[Score.MEALS_TIMED];
+            for (int layer = 0; layer <= END; layer++) {
+                StateTable states = layers[layer];
+                int hour = GameState.DAY_START_HOUR + layer;
+                LongQueue queue = new LongQueue(states.keys());
+                while (!queue.isEmpty()) {
+                    long key = queue.poll();
+                    long value = states.get(key);
+                    int recreation = (int) (value >>> RECREATION);
+                    if (layer == END || hour >= GameState.BEDTIME_HOUR) {
+                        long outcome = outcome(key, layer != END);
+                        int score = score(key, recreation, mealTimes);
+                        outcomes.improve(outcome, (long) (score + SCORE_OFFSET) << DAY_SCORE | (long) layer << PARENT_LAYER | key);
+                    }
+                    if (layer == END) continue;
+                    for (int move = 0; move < MOVES.length; move++) {
+                        Action action = MOVES[move];
+                        long moved = move(key, layer, action);
+                        if (moved < 0) continue;
+                        int to = Math.min(layer + (action == null ? 1 : action.hours), END);
+                        moved = canonical(moved, to);
+                        if (to == layer && moved == key) continue; // Eating when it changes nothing
+                        int movedRecreation = recreation + (action != null && action.type == Action.Type.RECREATION ? 1 : 0);
+                        long movedValue = (long) movedRecreation << RECREATION | (long) move << MOVE | (long) layer << PARENT_LAYER | key;
+                        if (layers[to].improve(moved, movedValue) && to == layer) queue.add(moved);
+                    }
+                }
+            }
+
+            this.keys = outcomes.keys();
+            Arrays.sort(keys);
+            this.size = keys.length;
+            this.scores = new int[size];
+            this.ends = new long[size];
+            for (int o = 0; o < size; o++) {
+                long value = outcomes.get(keys[o]);
+                scores[o] = (int) (value >>> DAY_SCORE) - SCORE_OFFSET;
+                ends[o] = value & ((1L << DAY_SCORE) - 1);
+            }
+        }
+
+        /**
+         * Adds the actions that reach an outcome to a plan, following the states back from where it ended.
+         */
+        void addPlan(int o, List<Action> plan) {
+            List<Action> day = new ArrayList<>();
+            boolean asleep = (keys[o] >>> ASLEEP & 1) != 0;
+            if (asleep) day.add(Action.SLEEP);
+            int layer = (int) (ends[o] >>> PARENT_LAYER);
+            long key = ends[o] & KEY_MASK;
+            while (true) {
+                long value = layers[layer].get(key);
+                int move = (int) (value >>> MOVE & 0xFF);
+                if (move == NO_MOVE) break;
+                day.add(MOVES[move]);
+                layer = (int) (value >>> PARENT_LAYER & 0x1F);
+                key = value & KEY_MASK;
+            }
+            Collections.reverse(day);
+            plan.addAll(day);
+        }
+
+        /**
+         * Works out the state after a move, or -1 if the rules don't allow it.
+         */
+        private static long move(long key, int layer, Action action) {
+            if (action == null) return key;
+            int energy = (int) (key & 0xF);
+            switch (action.type) {
+                case STUDY: {
+                    int cost = (action.hours + 1) / 2;
+                    if (energy > cost) energy -= cost;
+                    int studied = Math.min((int) (key >>> STUDIED & 0xF) + action.hours, Score.MAX_STUDY_HOURS);
+                    key = key & ~0xFL & ~(0xFL << STUDIED) | energy | (long) studied << STUDIED;
+                    return key | (long) action.place.bit << STUDIED_AT;
+                }
+                case RECREATION:
+                    if (energy < action.hours) return -1;
+                    return key & ~0xFL | (energy - action.hours) | (long) action.place.bit << RELAXED_AT;
+                case EAT:
+                    energy = Math.min(energy + GameState.MEAL_ENERGY, GameState.MAX_ENERGY);
+                    int meals = eat((int) (key >>> MEALS & MEAL_MASK), layer);
+                    return key & ~0xFL & ~((long) MEAL_MASK << MEALS) | energy | (long) meals << MEALS;
+                default:
+                    return -1;
+            }
+        }
+
+        private static int score(long key, int recreation, int[] mealTimes) {
+            int meals = mealTimes((int) (key >>> MEALS & MEAL_MASK), mealTimes);
+            return Score.dailyScore((int) (key >>> STUDIED & 0xF), (int) (key >>> STUDIED_AT & 0x7F),
+                    (int) (key >>> RELAXED_AT & 0x7F), recreation, meals, mealTimes);
+        }
+
+        private static long outcome(long key, boolean asleep) {
+            return (key & 0xF) | (asleep ? 1L : 0) << ASLEEP
+                    | (key >>> STUDIED_AT & 0x7F) << OUTCOME_STUDIED_AT | (key >>> RELAXED_AT & 0x7F) << OUTCOME_RELAXED_AT;
+        }
+    }
+
+    /**
+     * The Solution holds the highest final score and a week of actions that reaches it.
+     */
+    public static final class Solution {
+        private final int maxScore;
+        private final List<Action> plan;
+
+        Solution(int maxScore, List<Action> plan) {
+            this.maxScore = maxScore;
+            this.plan = Collections.unmodifiableList(plan);
+        }
+
+        public int getMaxScore() {
+            return maxScore;
+        }
+
+        /**
+         * Returns the actions that reach the highest score, from 08:00 on the first day, where null means
+         * waiting an hour. Each action is carried out when the one before it has finished.
+         *
+         * @return The actions.
+         */
+        public List<Action> getPlan() {
+            return plan;
+        }
+    }
+
+    /**
+     * A StateTable maps packed states to packed values, keeping the best value put for each state.
+     * It uses open addressing on primitive arrays, as boxing millions of states would be far slower.
+     */
+    private static final class StateTable {
+        private static final long EMPTY = -1; // Keys are never negative
+        private final int rankShift; // Values are ranked by their bits from this one up, the first put winning ties
+        private long[] keys = emptyKeys(1 << 10);
+        private long[] values = new long[1 << 10];
+        private int size;
+
+        StateTable(int rankShift) {
+            this.rankShift = rankShift;
+        }
+
+        /**
+         * Puts a value for a state if it ranks higher than the one it has.
+         *
+         * @return True if the state is new or its value was raised.
+         */
+        boolean improve(long key, long value) {
+            int slot = slot(key);
+            if (keys[slot] == key) {
+                if (value >>> rankShift <= values[slot] >>> rankShift) return false;
+                values[slot] = value;
+                return true;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size * 2 > keys.length) grow();
+            return true;
+        }
+
+        long get(long key) {
+            int slot = slot(key);
+            return keys[slot] == key ? values[slot] : Long.MIN_VALUE;
+        }
+
+        long[] keys() {
+            long[] found = new long[size];
+            int n = 0;
+            for (long key : keys) {
+                if (key != EMPTY) found[n++] = key;
+            }
+            return found;
+        }
+
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            int slot = (int) (key * 0x9E3779B97F4A7C15L >>> 40) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) slot = slot + 1 & mask;
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys, oldValues = values;
+            keys = emptyKeys(oldKeys.length * 2);
+            values = new long[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = slot(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static long[] emptyKeys(int length) {
+            long[] keys = new long[length];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+    }
+
+    /**
+     * A LongQueue is a first in, first out queue of packed states that grows as needed.
+     */
+    private static final class LongQueue {
+        private long[] items;
+        private int head, tail;
+
+        LongQueue(long[] items) {
+            this.items = Arrays.copyOf(items, Math.max(16, items.length * 2));
+            this.tail = items.length;
+        }
+
+        void add(long item) {
+            if (tail == items.length) {
+                items = Arrays.copyOfRange(items, head, head + Math.max(16, (tail - head) * 2));
+                tail -= head;
+                head = 0;
+            }
+            items[tail++] = item;
+        }
+
+        long poll() {
+            return items[head++];
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+    }
+
+    /**
+     * Prints the highest score and how to reach it, and any leaderboard entries above it.
+     */
+    public static void main(String[] args) {
+        long start = System.nanoTime();
+        Solution solution = solve();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf(Locale.ROOT, "Highest possible score %d, found in %.2f s%n", solution.getMaxScore(), seconds);
+
+        GameState state = new GameState();
+        state.step(0);
+        int day = 0;
+        StringBuilder line = new StringBuilder();
+        for (Action action : solution.getPlan()) {
+            if (state.getDay() != day) {
+                if (line.length() > 0) System.out.println(line);
+                day = state.getDay();
+                line.setLength(0);
+                line.append("Day ").append(day).append(':');
+            }
+            line.append(' ').append(String.format(Locale.ROOT, "%02d:00 ", state.getHour()))
+                    .append(action == null ? "WAIT" : action).append(',');
+            if (action == null) {
+                state.step(GameState.SECONDS_PER_HOUR);
+            } else {
+                state.apply(action);
+                state.step(0);
+            }
+        }
+        System.out.println(line);
+        System.out.println("Streaks: " + state.getStreaks().replace('\n', ' ').trim());
+        if (state.getFinalScore() != solution.getMaxScore()) {
+            System.out.println("Playing the schedule through the rules scores " + state.getFinalScore() + " instead");
+        }
+
+        for (Leaderboards.Entry entry : new Leaderboards().getEntries()) {
+            if (entry != null && entry.score > solution.getMaxScore()) {
+                System.out.println("Leaderboard entry " + entry.name + " with " + entry.score + " is above the highest possible score");
+            }
+        }
+    }
+}
@@ -1,9 +1,4 @@
-package com.main.utils;
-
-import java.util.List;
-import java.util.ArrayList;
-import java.util.Set;
-import java.util.HashSet;
+package com.main.rules;
 
 /**
  * The Score class is a new addition to the project for assessment 2, responsible for keeping track of the
@@ -12,20 +7,42 @@ import java.util.HashSet;
  * The class provides methods for adding study hours, eating meals, and performing recreational activities,
  * and calculating the player's score at the end of each day. The class also provides getters for accessing
  * the player's current score, study count, meal count, and recreation count.
+ *
+ * The places studied and relaxed at each day are kept as bit masks of {@link Place#bit}, and only the three
+ * earliest meal times, which are all the meal bonus looks at, so a day can be scored without allocating.
  */
 public class Score {
     // Constants for scoring
-    private static final int MAX_STUDY_HOURS = 6;
+    static final int MAX_STUDY_HOURS = 6; // Studying this long or longer scores the same
     private static final int MIN_STUDY_HOURS = 2;
     private static final int DAILY_RECREATIONAL_ACTIVITY_BONUS = 4;
     private static final int MEAL_INTERVAL_BONUS = 5;
 
     // Constants for streaks
     private static final int NUM_LOCATIONS = 7;
-
-    private final Set<String> studyLocations; // Track different study locations
-    private final Set<String> recreationLocations; // Track different recreational locations visited
-    private final List<Integer> mealTimes; // List to store times meals were eaten (in 24-hour time)
+    // Bits of the streaks achieved, as returned by getStreakBits
+    public static final int WADDLEWARE_REPRESENTATIVE = 1;
+    public static final int PROGRAMMER = 1 << 1;
+    public static final int ATHLETE = 1 << 2;
+    public static final int EARLY_NIGHTS = 1 << 3;
+    public static final int ALL_ROUNDER = 1 << 4;
+    public static final int DAILY_ROUTINE = 1 << 5;
+    public static final int STREAK_COUNT = 6;
+    private static final String[] STREAK_NAMES = {
+            "WaddleWare Representative", "Programmer", "Athlete", "Early Nights", "All Rounder", "Daily Routine"
+    };
+    private static final int[] STREAK_BONUSES = {10, 5, 10, 5, 3, 15};
+    // What each streak needs
+    static final int FEED_DUCKS_DAYS = 7;       // Days feeding the ducks, exactly
+    static final int COMP_SCI_DAYS = 5;         // Days studying at Computer Science, at least
+    static final int SPORTS_DAYS = 7;           // Days at the gym, exactly
+    static final int EARLY_NIGHTS_COUNT = 5;    // Nights going to bed, at least
+    static final int VISIT_ALL_DAYS = 7;        // Days visiting every location, exactly
+    static final int MEALS_TIMED = 3; // The meal bonus only looks at the first three meals
+
+    private int studyLocations; // Bit mask of the different study locations
+    private int recreationLocations; // Bit mask of the different recreational locations visited
+    private final int[] mealTimes; // The earliest times meals were eaten (in 24-hour time), in order
     private boolean missedStudy; // Boolean to check whether a study session was missed on the previous day
     private int studyCount; // Total number of hours studied
     private int mealCount; // Total number of meals eaten
@@ -35,6 +52,7 @@ public class Score {
     // Used for streaks:
 //    private final List<String> streaks; // List to store the streaks achieved by the user.
     private String streaks;
+    private int streakBits;
     private int daysAtSports;
     private int earlyNights;
     private int daysFeedDucks;
@@ -47,9 +65,9 @@ public class Score {
      * Constructs a Score object and initialises other related parameters.
      */
     public Score() {
-        this.studyLocations = new HashSet<>();
-        this.recreationLocations = new HashSet<>();
-        this.mealTimes = new ArrayList<>();
+        this.studyLocations = 0;
+        this.recreationLocations = 0;
+        this.mealTimes = new int[MEALS_TIMED];
         this.streaks = "";
         this.studyCount = 0;
         this.mealCount = 0;
@@ -71,9 +89,9 @@ public class Score {
      * @param hours The number of study hours the player has completed.
      * @param location The location where the player studied.
      */
-    public void study(int hours, String location) {
+    public void study(int hours, Place location) {
         studyCount += hours;
-        studyLocations.add(location);
+        studyLocations |= location.bit;
     }
 
     /**
@@ -81,17 +99,23 @@ public class Score {
      * @param timeEaten The time the meal was eaten (as an integer representing game time in 24-hour clock).
      */
     public void eat(int timeEaten) {
+        // Keep the earliest times in order, as sorting every meal time and taking the first would
+        int slot = Math.min(mealCount, MEALS_TIMED);
+        while (slot > 0 && mealTimes[slot - 1] > timeEaten) {
+            if (slot < MEALS_TIMED) mealTimes[slot] = mealTimes[slot - 1];
+            slot--;
+        }
+        if (slot < MEALS_TIMED) mealTimes[slot] = timeEaten;
         mealCount++;
-        mealTimes.add(timeEaten);
     }
 
     /**
      * Adds a recreational activity and the location where it took place.
      * @param location The location where the recreational activity was done.
      */
-    public void doRecActivity(String location) {
+    public void doRecActivity(Place location) {
         recreationCount++;
-        recreationLocations.add(location);
+        recreationLocations |= location.bit;
     }
 
     /**
@@ -99,13 +123,30 @@ public class Score {
      * Should be called at the end of each day.
      */
     public int calculateScore() {
-        score = 0;
-
         //check if study is missed
         if (studyCount == 0) {
             missedStudy = true;
         }
 
+        score = dailyScore(studyCount, studyLocations, recreationLocations, recreationCount, mealCount, mealTimes);
+        return score;
+    }
+
+    /**
+     * Calculates the score for a day from what the player did in it. Shared with the {@link ScheduleSolver},
+     * so the best score it finds is scored by the same rules.
+     * @param studyCount The number of hours studied.
+     * @param studyLocations The bit mask of the places studied at.
+     * @param recreationLocations The bit mask of the places relaxed at.
+     * @param recreationCount The number of recreational activities done.
+     * @param mealCount The number of meals eaten.
+     * @param mealTimes The times of the earliest three meals, in order.
+     * @return The day's score.
+     */
+    static int dailyScore(int studyCount, int studyLocations, int recreationLocations, int recreationCount,
+                          int mealCount, int[] mealTimes) {
+        int score = 0;
+
         // Add to score based on study sessions
         if (studyCount >= MIN_STUDY_HOURS && studyCount <= MAX_STUDY_HOURS / 2) {
             score += 5; // Reward for studying 2-3 hours
@@ -118,35 +159,35 @@ public class Score {
         }
 
         // Add to score based on unique study and recreation locations
-        score += studyLocations.size() * 5; // Reward for studying in different locations
-        score += recreationLocations.size() * 5; // Reward for a mix of recreation activities
+        score += Integer.bitCount(studyLocations) * 5; // Reward for studying in different locations
+        score += Integer.bitCount(recreationLocations) * 5; // Reward for a mix of recreation activities
 
         // Add to score based on number of recreational activities
         score += recreationCount * DAILY_RECREATIONAL_ACTIVITY_BONUS;
 
         // Calculate score addition for meals
-        score += calculateMealIntervalBonus();
+        score += calculateMealIntervalBonus(mealCount, mealTimes);
 
         return score;
     }
 
     /**
      * Calculates the meal interval bonus based on the times the meals were eaten.
+     * @param mealCount The number of meals eaten.
+     * @param mealTimes The times of the earliest three meals, in order.
      * @return The meal interval bonus.
      */
-    private int calculateMealIntervalBonus() {
+    private static int calculateMealIntervalBonus(int mealCount, int[] mealTimes) {
         int bonus = 0;
-        int numMeals = mealTimes.size();
+        int numMeals = mealCount;
 
         if (numMeals == 1) {
             bonus += 3; // Bonus for eating one meal
 
         } else if (numMeals >= 2) {
-            // Sort the meal times to ensure they're in chronological order
-            mealTimes.sort(Integer::compareTo);
-
+            // The meal times are kept in chronological order
             // Calculate interval between meals
-            int interval1 = mealTimes.get(1) - mealTimes.get(0);
+            int interval1 = mealTimes[1] - mealTimes[0];
 
             // Check if interval1 is within a reasonable range (between 2-6 hours)
             if (interval1 >= 2 && interval1 <= 6) {
@@ -155,7 +196,7 @@ public class Score {
                 // Check if there are three meals
                 if (numMeals == 3) {
                     // Calculate the interval between the second and third meals
-                    int interval2 = mealTimes.get(2) - mealTimes.get(1);
+                    int interval2 = mealTimes[2] - mealTimes[1];
 
                     // Check if interval2 is within a reasonable range (between 2-6 hours)
                     if (interval2 >= 2 && interval2 <= 6) {
@@ -173,9 +214,8 @@ public class Score {
      */
     public void resetDailyCounters() {
         incrementStreakCounters(); //increment streak counters for the day.
-        studyLocations.clear();
-        recreationLocations.clear();
-        mealTimes.clear();
+        studyLocations = 0;
+        recreationLocations = 0;
         this.studyCount = 0;
         this.mealCount = 0;
         this.recreationCount = 0;
@@ -187,53 +227,71 @@ public class Score {
      * @return The streak bonus
      */
     public int checkStreaks() {
-        int streakBonus = 0;
-        if (daysFeedDucks == 7) {
-            streaks += "WaddleWare Representative\n";
-            streakBonus += 10;
-        }
-        if (daysAtCS >= 5) {
-            streaks += "Programmer\n";
-            streakBonus += 5;
-        }
-        if (daysAtSports == 7) {
-            streaks += "Athlete\n";
-            streakBonus += 10;
-        }
-        if (earlyNights >= 5) {
-            streaks += "Early Nights\n";
-            streakBonus += 5;
-        }
-        if (allRounder) {
-            streaks += "All Rounder\n";
-            streakBonus += 3;
+        streakBits = streakBits(daysFeedDucks, daysAtCS, daysAtSports, earlyNights, allRounder, daysVisitAll);
+        for (int streak = 0; streak < STREAK_COUNT; streak++) {
+            if ((streakBits & 1 << streak) != 0) {
+                streaks += STREAK_NAMES[streak] + "\n";
+            }
         }
-        if (daysVisitAll == 7) {
-            streaks += "Daily Routine\n";
-            streakBonus += 15;
+        return streakBonus(streakBits);
+    }
+
+    /**
+     * Works out which streaks the streak counters have achieved. Shared with the {@link ScheduleSolver}.
+     * @return The bits of the streaks achieved.
+     */
+    static int streakBits(int daysFeedDucks, int daysAtCS, int daysAtSports, int earlyNights, boolean allRounder,
+                          int daysVisitAll) {
+        int bits = 0;
+        if (daysFeedDucks == FEED_DUCKS_DAYS) bits |= WADDLEWARE_REPRESENTATIVE;
+        if (daysAtCS >= COMP_SCI_DAYS) bits |= PROGRAMMER;
+        if (daysAtSports == SPORTS_DAYS) bits |= ATHLETE;
+        if (earlyNights >= EARLY_NIGHTS_COUNT) bits |= EARLY_NIGHTS;
+        if (allRounder) bits |= ALL_ROUNDER;
+        if (daysVisitAll == VISIT_ALL_DAYS) bits |= DAILY_ROUTINE;
+        return bits;
+    }
+
+    /**
+     * Adds up the bonus points for streaks.
+     * @param streakBits The bits of the streaks achieved.
+     * @return The streak bonus.
+     */
+    static int streakBonus(int streakBits) {
+        int bonus = 0;
+        for (int streak = 0; streak < STREAK_COUNT; streak++) {
+            if ((streakBits & 1 << streak) != 0) bonus += STREAK_BONUSES[streak];
         }
-        return streakBonus;
+        return bonus;
     }
 
     /**
      * Increments the streak counter variables
      */
     private void incrementStreakCounters() {
-        if (recreationLocations.contains("Feed_ducks")) {
+        if ((recreationLocations & Place.FEED_DUCKS.bit) != 0) {
             daysFeedDucks += 1;
         }
-        if (recreationLocations.contains("Gym_door")) {
+        if ((recreationLocations & Place.GYM.bit) != 0) {
             daysAtSports += 1;
         }
-        if (studyLocations.contains("Comp_sci_door")) {
+        if ((studyLocations & Place.COMP_SCI.bit) != 0) {
             daysAtCS += 1;
         }
-        if (recreationLocations.size() + studyLocations.size() == NUM_LOCATIONS) {
+        if (visitedAll(studyLocations, recreationLocations)) {
             daysVisitAll += 1;
             allRounder = true;
         }
     }
 
+    /**
+     * Returns whether a day's study and recreation took in every location, for the Daily Routine and
+     * All Rounder streaks.
+     */
+    static boolean visitedAll(int studyLocations, int recreationLocations) {
+        return Integer.bitCount(recreationLocations) + Integer.bitCount(studyLocations) == NUM_LOCATIONS;
+    }
+
     /**
      * Increments earlyNights counter variable
      */
@@ -288,4 +346,22 @@ public class Score {
     public String getStreaks() {
         return streaks;
     }
+
+    /**
+     * Returns the streaks achieved by player as bits, such as {@link #PROGRAMMER}, for counting them
+     * without reading the names.
+     * @return The bits of the streaks achieved
+     */
+    public int getStreakBits() {
+        return streakBits;
+    }
+
+    /**
+     * Returns the name of a streak, as listed by getStreaks.
+     * @param streak The number of the streak, from 0 to STREAK_COUNT - 1, whose bit is 1 shifted left by it
+     * @return The name of the streak
+     */
+    public static String getStreakName(int streak) {
+        return STREAK_NAMES[streak];
+    }
 }
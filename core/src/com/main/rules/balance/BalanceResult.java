@@ -0,0 +1,138 @@
+package com.main.rules.balance;
+
+import com.main.rules.GameState;
+import com.main.rules.Score;
+
+/**
+ * The BalanceResult class adds up the games played by a policy: how many games ended on each final score,
+ * how many earned each streak and how many failed. Results for batches of games played apart are merged
+ * into one, and counting a game costs a few additions, so it doesn't slow the games down.
+ * <p>
+ * Final scores are counted exactly from {@link #LOWEST_SCORE} to {@link #HIGHEST_SCORE}, so percentiles
+ * are exact; scores outside that range are counted at its ends.
+ */
+public class BalanceResult {
+    public static final int LOWEST_SCORE = -100;
+    public static final int HIGHEST_SCORE = 1000;
+
+    private final long[] scoreCounts;   // Games by final score, less LOWEST_SCORE
+    private final long[] streakCounts;  // Games by streak earned, by the number of the streak's bit
+    private long games, failures;
+    private long scoreSum;
+    private double scoreSquareSum;
+    private int minScore, maxScore;
+
+    /**
+     * Constructs a result with no games.
+     */
+    public BalanceResult() {
+        this.scoreCounts = new long[HIGHEST_SCORE - LOWEST_SCORE + 1];
+        this.streakCounts = new long[Score.STREAK_COUNT];
+        this.minScore = Integer.MAX_VALUE;
+        this.maxScore = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Counts a game that is over.
+     *
+     * @param state The state of the game.
+     */
+    public void add(GameState state) {
+        int score = state.getFinalScore();
+        games++;
+        scoreCounts[Math.max(LOWEST_SCORE, Math.min(HIGHEST_SCORE, score)) - LOWEST_SCORE]++;
+        scoreSum += score;
+        scoreSquareSum += (double) score * score;
+        minScore = Math.min(minScore, score);
+        maxScore = Math.max(maxScore, score);
+        if (state.hasFailed()) failures++;
+        for (int bits = state.getStreakBits(); bits != 0; bits &= bits - 1) {
+            streakCounts[Integer.numberOfTrailingZeros(bits)]++;
+        }
+    }
+
+    /**
+     * Adds the games of another result to this one.
+     *
+     * @param other The other result.
+     * @return This result.
+     */
+    public BalanceResult merge(BalanceResult other) {
+        for (int i = 0; i < scoreCounts.length; i++) scoreCounts[i] += other.scoreCounts[i];
+        for (int i = 0; i < streakCounts.length; i++) streakCounts[i] += other.streakCounts[i];
+        games += other.games;
+        failures += other.failures;
+        scoreSum += other.scoreSum;
+        scoreSquareSum += other.scoreSquareSum;
+        minScore = Math.min(minScore, other.minScore);
+        maxScore = Math.max(maxScore, other.maxScore);
+        return this;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public int getMinScore() {
+        return minScore;
+    }
+
+    public int getMaxScore() {
+        return maxScore;
+    }
+
+    public double getMeanScore() {
+        return games == 0 ? 0 : (double) scoreSum / games;
+    }
+
+    public double getScoreDeviation() {
+        if (games == 0) return 0;
+        double mean = getMeanScore();
+        return Math.sqrt(Math.max(0, scoreSquareSum / games - mean * mean));
+    }
+
+    /**
+     * Returns the final score that a fraction of the games scored no more than.
+     *
+     * @param fraction The fraction of the games, such as 0.5 for the median.
+     * @return The score, or 0 if there are no games.
+     */
+    public int getPercentile(double fraction) {
+        long rank = Math.max(1, (long) Math.ceil(fraction * games));
+        long seen = 0;
+        for (int i = 0; i < scoreCounts.length; i++) {
+            seen += scoreCounts[i];
+            if (seen >= rank) return i + LOWEST_SCORE;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns how many games ended on final scores in a range.
+     *
+     * @param from The lowest score of the range.
+     * @param to The highest score of the range.
+     * @return The number of games.
+     */
+    public long countScores(int from, int to) {
+        long count = 0;
+        for (int score = Math.max(from, LOWEST_SCORE); score <= Math.min(to, HIGHEST_SCORE); score++) {
+            count += scoreCounts[score - LOWEST_SCORE];
+        }
+        return count;
+    }
+
+    /**
+     * Returns the fraction of the games that earned a streak.
+     *
+     * @param streak The number of the streak, as for {@link Score#getStreakName(int)}.
+     * @return The fraction, from 0 to 1.
+     */
+    public double getStreakRate(int streak) {
+        return games == 0 ? 0 : (double) streakCounts[streak] / games;
+    }
+
+    public double getFailureRate() {
+        return games == 0 ? 0 : (double) failures / games;
+    }
+}
@@ -0,0 +1,81 @@
+package com.main.rules.balance;
+
+import com.main.rules.Score;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * The BalanceRunner is a command line tool for tuning the scoring rules. It plays a great many weeks with
+ * each {@link Policy} on every core and prints how they scored: the spread of final scores, how often each
+ * streak is earned and how often players fail. Change a constant in {@link Score}, run it again and compare,
+ * rather than playing the game through by hand.
+ * <p>
+ * Run it with {@code gradlew core:balance}, optionally with {@code -Pgames=} and {@code -Pseed=}. The same
+ * number of games and seed always print the same results.
+ */
+public class BalanceRunner {
+    private static final long DEFAULT_GAMES = 1_000_000;
+    private static final long DEFAULT_SEED = 1;
+    private static final int HISTOGRAM_BUCKET = 10; // Points per bar
+    private static final int HISTOGRAM_WIDTH = 50;  // Characters in the longest bar
+
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_GAMES;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SEED;
+
+        Map<String, Supplier<Policy>> policies = new LinkedHashMap<>();
+        policies.put("random", RandomPolicy::new);
+        policies.put("greedy", GreedyPolicy::new);
+        policies.put("study-max", StudyMaxPolicy::new);
+        policies.put("slacker", SlackerPolicy::new);
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        System.out.printf(Locale.ROOT, "%,d games per policy on %d threads, seed %d%n%n", games, pool.getParallelism(), seed);
+        for (Map.Entry<String, Supplier<Policy>> policy : policies.entrySet()) {
+            long start = System.nanoTime();
+            BalanceResult result = pool.invoke(new BalanceSimulation(policy.getValue(), games, new SplittableRandom(seed)));
+            double seconds = (System.nanoTime() - start) / 1e9;
+            report(System.out, policy.getKey(), result);
+            System.out.printf(Locale.ROOT, "  played in %.2f s, %,.0f games/s%n%n", seconds, games / seconds);
+        }
+    }
+
+    /**
+     * Prints the results of a policy.
+     *
+     * @param out Where to print them.
+     * @param name The name of the policy.
+     * @param result The results.
+     */
+    public static void report(PrintStream out, String name, BalanceResult result) {
+        out.printf(Locale.ROOT, "%s: mean %.1f, deviation %.1f, min %d, p1 %d, p50 %d, p99 %d, max %d, failed %.2f%%%n",
+                name, result.getMeanScore(), result.getScoreDeviation(), result.getMinScore(),
+                result.getPercentile(0.01), result.getPercentile(0.5), result.getPercentile(0.99),
+                result.getMaxScore(), result.getFailureRate() * 100);
+
+        out.print("  streaks:");
+        for (int streak = 0; streak < Score.STREAK_COUNT; streak++) {
+            out.printf(Locale.ROOT, " %s %.1f%%", Score.getStreakName(streak), result.getStreakRate(streak) * 100);
+        }
+        out.println();
+
+        if (result.getGames() == 0) return;
+        int first = Math.floorDiv(result.getMinScore(), HISTOGRAM_BUCKET) * HISTOGRAM_BUCKET;
+        long most = 0;
+        for (int from = first; from <= result.getMaxScore(); from += HISTOGRAM_BUCKET) {
+            most = Math.max(most, result.countScores(from, from + HISTOGRAM_BUCKET - 1));
+        }
+        for (int from = first; from <= result.getMaxScore(); from += HISTOGRAM_BUCKET) {
+            long count = result.countScores(from, from + HISTOGRAM_BUCKET - 1);
+            int bar = (int) Math.round((double) count / most * HISTOGRAM_WIDTH);
+            out.printf(Locale.ROOT, "  %5d..%-5d %s %.2f%%%n", from, from + HISTOGRAM_BUCKET - 1,
+                    "#".repeat(bar), (double) count / result.getGames() * 100);
+        }
+    }
+}
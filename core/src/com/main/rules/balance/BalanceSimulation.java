@@ -0,0 +1,105 @@
+package com.main.rules.balance;
+
+import com.main.rules.Action;
+import com.main.rules.GameState;
+import com.main.rules.Place;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * The BalanceSimulation plays games with a policy on a fork-join pool. Large batches are split in half
+ * until they are small enough to play on one thread, each half with its own random stream split from its
+ * parent's, and the results are merged on the way back up.
+ * <p>
+ * The batches are always split the same way and each takes its random stream from the same place, so the
+ * result depends only on the policy, the number of games and the seed, not on how many threads play them
+ * or in what order.
+ * <p>
+ * The games are played as the game screen plays them, except that walking between places is taken to
+ * last {@link #TRAVEL_HOURS}, and bed is at Goodricke.
+ */
+public class BalanceSimulation extends RecursiveTask<BalanceResult> {
+    public static final int BATCH_SIZE = 2048;     // Games played on one thread without splitting
+    public static final float TRAVEL_HOURS = 1f;   // How long walking to another place takes
+    private static final Place HOME = Place.GOODRICKE;
+    private static final int MAX_UNTIMED_ACTIONS = 3; // Actions that take no time, like eating, before an hour passes
+
+    private final Supplier<Policy> policies;
+    private final long games;
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a simulation.
+     *
+     * @param policies Makes the policy to play with, once for every batch of games.
+     * @param games The number of games to play.
+     * @param random The source of randomness for the policy, which is split for each batch.
+     */
+    public BalanceSimulation(Supplier<Policy> policies, long games, SplittableRandom random) {
+        this.policies = policies;
+        this.games = games;
+        this.random = random;
+    }
+
+    @Override
+    protected BalanceResult compute() {
+        if (games <= BATCH_SIZE) {
+            BalanceResult result = new BalanceResult();
+            Policy policy = policies.get();
+            for (long game = 0; game < games; game++) {
+                result.add(play(policy, random));
+            }
+            return result;
+        }
+        BalanceSimulation first = new BalanceSimulation(policies, games / 2, random.split());
+        BalanceSimulation second = new BalanceSimulation(policies, games - games / 2, random);
+        first.fork();
+        return second.compute().merge(first.join());
+    }
+
+    /**
+     * Plays a whole game with a policy.
+     *
+     * @param policy The policy.
+     * @param random The source of randomness for the policy.
+     * @return The state of the game once it is over.
+     */
+    public static GameState play(Policy policy, SplittableRandom random) {
+        GameState state = new GameState();
+        state.step(0); // Start the clock at 08:00
+        policy.startGame();
+        Place at = HOME;
+        int untimed = 0;
+        while (!state.isOver()) {
+            Action action = policy.choose(state, random);
+            if (action == null) {
+                state.step(GameState.SECONDS_PER_HOUR);
+                continue;
+            }
+
+            int day = state.getDay();
+            Place place = action.place == null ? HOME : action.place;
+            if (place != at) {
+                at = place;
+                state.step(TRAVEL_HOURS * GameState.SECONDS_PER_HOUR);
+                if (state.getDay() != day) continue; // The day ended on the way
+            }
+
+            float time = state.getTimeElapsed();
+            if (!state.apply(action)) {
+                state.step(GameState.SECONDS_PER_HOUR);
+                continue;
+            }
+            if (action == Action.SLEEP) at = HOME;
+            if (state.getDay() == day && state.getTimeElapsed() == time && ++untimed > MAX_UNTIMED_ACTIONS) {
+                state.step(GameState.SECONDS_PER_HOUR);
+            } else {
+                state.step(0); // Catch the hour up with the time the action took
+            }
+            if (state.getDay() != day || state.getTimeElapsed() != time) untimed = 0;
+        }
+        return state;
+    }
+}
@@ -0,0 +1,50 @@
+package com.main.rules.balance;
+
+import com.main.rules.Action;
+import com.main.rules.GameState;
+import com.main.rules.Place;
+
+import java.util.SplittableRandom;
+
+/**
+ * The GreedyPolicy plays the way the scoring rules reward, as a player who has read them would: three
+ * hours of study a day, an hour at each place so every place counts, three meals a few hours apart, an
+ * hour at each recreation place while the energy lasts, keeping back enough for the next day's study, and
+ * bed at bedtime.
+ */
+public class GreedyPolicy implements Policy {
+    private static final Place[] STUDY = {Place.PIAZZA, Place.RON_COOKE, Place.COMP_SCI};
+    private static final Place[] RECREATION = {Place.GYM, Place.FEED_DUCKS, Place.VISIT_CITY};
+    private static final int STUDY_HOURS = 3;   // The fewest hours that earn the most for studying
+    private static final int MEAL_GAP = 4;      // Hours between meals, within the 2 to 6 that earn a bonus
+    private static final int ENERGY_KEPT = 2;   // Energy kept back for studying
+
+    private int day, studied, relaxed, meals, lastMeal;
+
+    @Override
+    public void startGame() {
+        day = 0;
+    }
+
+    @Override
+    public Action choose(GameState state, SplittableRandom random) {
+        int hour = state.getHour();
+        if (state.getDay() != day) {
+            day = state.getDay();
+            studied = relaxed = meals = 0;
+        }
+        if (hour >= GameState.BEDTIME_HOUR) return Action.SLEEP;
+        if (meals < 3 && (meals == 0 || hour - lastMeal >= MEAL_GAP)) {
+            meals++;
+            lastMeal = hour;
+            return Action.eat(Place.PIAZZA);
+        }
+        if (studied < STUDY_HOURS) {
+            return Action.study(STUDY[studied++], 1);
+        }
+        if (relaxed < RECREATION.length && state.getEnergy() > ENERGY_KEPT) {
+            return Action.recreation(RECREATION[relaxed++], 1);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.main.rules.balance;
+
+import com.main.rules.Action;
+import com.main.rules.GameState;
+
+import java.util.SplittableRandom;
+
+/**
+ * A Policy plays the game in place of a player, choosing what to do next from the state of the game.
+ * The balancing tool plays many games with each policy to see how the scoring rules treat different ways
+ * of playing.
+ * <p>
+ * A policy is only used by one thread at a time, and a new one is made for each batch of games, so it may
+ * keep whatever it likes about the game it is playing.
+ */
+public interface Policy {
+    /**
+     * Called before the policy plays a new game, to forget anything kept about the last one.
+     */
+    void startGame();
+
+    /**
+     * Chooses the next action. The player walks to the action's place first, which takes time, and if the
+     * rules don't allow the action when they get there an hour passes instead.
+     *
+     * @param state The state of the game.
+     * @param random The source of any randomness the policy needs.
+     * @return The action, or null to wait for an hour.
+     */
+    Action choose(GameState state, SplittableRandom random);
+}
@@ -0,0 +1,38 @@
+package com.main.rules.balance;
+
+import com.main.rules.Action;
+import com.main.rules.GameState;
+import com.main.rules.Place;
+
+import java.util.SplittableRandom;
+
+/**
+ * The RandomPolicy plays by picking any action at all, at random, like a player finding their way around
+ * the game for the first time. Half the time it waits instead, so it doesn't spend every day eating.
+ */
+public class RandomPolicy implements Policy {
+    private static final Place[] STUDY = {Place.COMP_SCI, Place.PIAZZA, Place.RON_COOKE};
+    private static final Place[] EAT = {Place.PIAZZA, Place.RON_COOKE};
+    private static final Place[] RECREATION = {Place.GYM, Place.FEED_DUCKS, Place.VISIT_CITY};
+
+    @Override
+    public void startGame() {
+    }
+
+    @Override
+    public Action choose(GameState state, SplittableRandom random) {
+        int hours = random.nextInt(GameState.MIN_HOURS, GameState.MAX_HOURS + 1);
+        switch (random.nextInt(8)) {
+            case 0:
+                return Action.study(STUDY[random.nextInt(STUDY.length)], hours);
+            case 1:
+                return Action.recreation(RECREATION[random.nextInt(RECREATION.length)], hours);
+            case 2:
+                return Action.eat(EAT[random.nextInt(EAT.length)]);
+            case 3:
+                return Action.SLEEP;
+            default:
+                return null;
+        }
+    }
+}
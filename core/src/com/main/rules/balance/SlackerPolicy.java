@@ -0,0 +1,41 @@
+package com.main.rules.balance;
+
+import com.main.rules.Action;
+import com.main.rules.GameState;
+import com.main.rules.Place;
+
+import java.util.SplittableRandom;
+
+/**
+ * The SlackerPolicy never studies. It eats, relaxes for as long as it has the energy, and goes to bed at
+ * bedtime, so it shows what the rules give a player who fails.
+ */
+public class SlackerPolicy implements Policy {
+    private static final Place[] RECREATION = {Place.GYM, Place.FEED_DUCKS, Place.VISIT_CITY};
+    private static final int MEAL_GAP = 4; // Hours between meals
+
+    private int day, meals, lastMeal;
+
+    @Override
+    public void startGame() {
+        day = 0;
+    }
+
+    @Override
+    public Action choose(GameState state, SplittableRandom random) {
+        int hour = state.getHour();
+        if (state.getDay() != day) {
+            day = state.getDay();
+            meals = 0;
+        }
+        if (hour >= GameState.BEDTIME_HOUR) return Action.SLEEP;
+        if (meals < 3 && (meals == 0 || hour - lastMeal >= MEAL_GAP)) {
+            meals++;
+            lastMeal = hour;
+            return Action.eat(Place.PIAZZA);
+        }
+        int hours = Math.min(state.getEnergy(), GameState.MAX_HOURS);
+        if (hours < GameState.MIN_HOURS) return null;
+        return Action.recreation(RECREATION[random.nextInt(RECREATION.length)], hours);
+    }
+}
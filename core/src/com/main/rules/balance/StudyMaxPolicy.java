@@ -0,0 +1,24 @@
+package com.main.rules.balance;
+
+import com.main.rules.Action;
+import com.main.rules.GameState;
+import com.main.rules.Place;
+
+import java.util.SplittableRandom;
+
+/**
+ * The StudyMaxPolicy studies for as long as it can at Computer Science every day and goes to bed as soon
+ * as it is allowed to, never eating or relaxing.
+ */
+public class StudyMaxPolicy implements Policy {
+    private static final Action STUDY = Action.study(Place.COMP_SCI, GameState.MAX_HOURS);
+
+    @Override
+    public void startGame() {
+    }
+
+    @Override
+    public Action choose(GameState state, SplittableRandom random) {
+        return state.getHour() >= GameState.BEDTIME_HOUR ? Action.SLEEP : STUDY;
+    }
+}
@@ -8,19 +8,26 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout; // Added code
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.Timer;
 import com.main.Main;
 import com.main.utils.Button; // Added code
 import com.main.utils.Leaderboards; // Added code
+import com.main.utils.WidgetTree;
 
 /**
  * Represents the end screen of the game, displaying the users score and a leaderboard.
  * Allows the user to enter their name if they qualify for the leaderboard.
  */
 public class EndScreen implements Screen, InputProcessor {
+    // The textures loaded when the screen is constructed, so they can be prefetched before it is shown
+    public static final String[] TEXTURES = {
+            "end_gui/play_button.png"
+    };
+
     // Start of added code
     final Main game;
     final Texture playAgainButton;
-    final BitmapFont font;
+    BitmapFont font, streakFont;
     final String titleText;
     private final Leaderboards leaderboards;
     private String username = "";
@@ -28,11 +35,19 @@ public class EndScreen implements Screen, InputProcessor {
     private final int userScore;
     private boolean usernameEntry = false;
     float maxNameWidth;
+    final WidgetTree widgets;
     Button playAgain;
     float titleY, userScoreY, leaderboardStartY, entryBoxY;
     GlyphLayout layout = new GlyphLayout();
-    private float blinkTimer = 0f; // Timer var for blinking of underscores in text entry
     private boolean showUnderscore = true; // Flag to control visibility of underscore
+    // The screen is only drawn on demand, so the blinking underscore requests a frame each time it toggles
+    private final Timer.Task blinkTask = new Timer.Task() {
+        @Override
+        public void run() {
+            showUnderscore = !showUnderscore;
+            Gdx.graphics.requestRendering();
+        }
+    };
     // End of added code
     boolean exitFlag;
 
@@ -45,12 +60,11 @@ public class EndScreen implements Screen, InputProcessor {
         this.game = game; // Added code
         this.userScore = userScore; // Added code
         titleText = "Game Over"; // Added code
-        playAgainButton = new Texture("end_gui/play_button.png");
-        font = new BitmapFont(Gdx.files.internal("font/WhitePeaberry.fnt"));
+        playAgainButton = game.assets.texture("end_gui/play_button.png");
         leaderboards = new Leaderboards(); // Added code
-        playAgain = new Button(); // Added code
+        widgets = new WidgetTree(this::initDimensions);
+        playAgain = widgets.add(new Button()); // Added code
         this.streaks = streaks; // Added code
-        initDimensions(); // Added code
 
         // Check if user scored high enough to add their name to the leaderboard
         usernameEntry = leaderboards.doesPlaceT10(userScore); // Added code
@@ -67,7 +81,8 @@ public class EndScreen implements Screen, InputProcessor {
                 playAgainButton.getWidth() * 6 * game.scaleFactorX,
                 playAgainButton.getHeight() * 6 * game.scaleFactorY
         );
-        font.getData().setScale(3f * game.scaleFactorX, 3f * game.scaleFactorY); // Adjust font scale
+        font = game.fonts.get(3f * game.scaleFactorX, 3f * game.scaleFactorY);
+        streakFont = game.fonts.get(2f * game.scaleFactorX, 2f * game.scaleFactorY); // Smaller font for streaks
         titleY = game.screenHeight + 40f * game.scaleFactorY;
         userScoreY = titleY - 50f * game.scaleFactorY;
         // Name entry box and prompt position
@@ -84,6 +99,7 @@ public class EndScreen implements Screen, InputProcessor {
     @Override
     public void render(float delta) {
         if (exitFlag) return;
+        widgets.validate();
         ScreenUtils.clear(0.3f, 0.55f, 0.7f, 1);
         game.batch.setProjectionMatrix(game.defaultCamera.combined);
         game.batch.begin();
@@ -95,32 +111,30 @@ public class EndScreen implements Screen, InputProcessor {
         font.draw(game.batch, titleText, titleX, titleY, 0, Align.center, false);
         font.draw(game.batch, "Your score: " + userScore, titleX, userScoreY, 0, Align.center, false);
 
-        font.getData().setScale(2f * game.scaleFactorX, 2f * game.scaleFactorY); // Smaller font for streaks
-        font.draw(game.batch, "Streaks:", 20, game.screenHeight + 20, 0, Align.left, false);
+        streakFont.draw(game.batch, "Streaks:", 20, game.screenHeight + 20, 0, Align.left, false);
         float currentY = game.screenHeight - 10;
 
         // Check if there are any streaks
         if (streaks.isEmpty()) { // "None" if no streaks
-            font.draw(game.batch, "None", 20, currentY, 0, Align.left, false);
+            streakFont.draw(game.batch, "None", 20, currentY, 0, Align.left, false);
         } else { // Display each streak
             String[] streakLines = streaks.split("\n");
             for (String line : streakLines) {
-                font.draw(game.batch, line, 20, currentY, 0, Align.left, false);
+                streakFont.draw(game.batch, line, 20, currentY, 0, Align.left, false);
                 currentY -= 30; // Spacing between lines
             }
         }
-        font.getData().setScale(3f * game.scaleFactorX, 3f * game.scaleFactorY); // Reset font scale
 
         // Render the username entry box if active
         if (usernameEntry) {
-            displayEntryBox(titleX, delta);
+            displayEntryBox(titleX);
         }
 
         // Draw the leaderboard
         displayLeaderboard(titleX);
 
         // Draw play again button
-        game.batch.draw(playAgainButton, playAgain.x(), playAgain.y(), playAgain.width(), playAgain.height());
+        widgets.draw(game.batch, playAgainButton, playAgain);
 
         game.batch.end();
     }
@@ -149,9 +163,8 @@ public class EndScreen implements Screen, InputProcessor {
     /**
      * Renders the username entry box group centered relative to the screen.
      * @param centerX The x-coordinate of the centre of the screen for centering the name entry box.
-     * @param delta The time since the last frame.
      */
-    private void displayEntryBox(float centerX, float delta) {
+    private void displayEntryBox(float centerX) {
         // Width of the "Name:" prompt
         layout.setText(font, "Name:");
         float namePromptWidth = layout.width;
@@ -169,13 +182,6 @@ public class EndScreen implements Screen, InputProcessor {
         // Draw the name text
         font.draw(game.batch, "Name:", entryGroupX, entryBoxY, 0, Align.left, false);
 
-        // Increment the timer and toggle the visibility of the underscore every 0.5 seconds
-        blinkTimer += delta;
-        if (blinkTimer >= 0.5f) {
-            showUnderscore = !showUnderscore;
-            blinkTimer = 0f;
-        }
-
         // Draw entry box next to the text and add an underscore placeholder if needed
         String entryBox = username;
         if (showUnderscore && entryBox.length() < 3) {
@@ -250,6 +256,7 @@ public class EndScreen implements Screen, InputProcessor {
                 // Register the user's score in the leaderboard with their name
                 leaderboards.registerResult(userScore, username);
                 usernameEntry = false; // Only register once
+                blinkTask.cancel();
             }
         }
 
@@ -270,7 +277,7 @@ public class EndScreen implements Screen, InputProcessor {
         touchY = game.screenHeight - touchY;
 
         // Check if play again button is clicked
-        if (playAgain.isClicked(touchX, touchY)) { // Added code
+        if (widgets.touchDown(touchX, touchY) == playAgain) { // Added code
             game.gameData.buttonClickedSoundActivate();
             game.setup();
             return true;
@@ -281,6 +288,7 @@ public class EndScreen implements Screen, InputProcessor {
 
     @Override
     public boolean touchUp(int i, int i1, int i2, int i3) {
+        widgets.release();
         return false;
     }
 
@@ -295,8 +303,8 @@ public class EndScreen implements Screen, InputProcessor {
     }
 
     @Override
-    public boolean mouseMoved(int i, int i1) {
-        return false;
+    public boolean mouseMoved(int screenX, int screenY) {
+        return widgets.mouseMoved(screenX, game.screenHeight - screenY);
     }
 
     @Override
@@ -306,13 +314,17 @@ public class EndScreen implements Screen, InputProcessor {
 
     @Override
     public void show() {
-        Gdx.input.setInputProcessor(this);
+        game.inputRouter.setProcessor(this);
         game.batch.setProjectionMatrix(game.defaultCamera.combined);
+        // Toggle the visibility of the underscore every 0.5 seconds while a name can be entered
+        if (usernameEntry && !blinkTask.isScheduled()) {
+            Timer.schedule(blinkTask, 0.5f, 0.5f);
+        }
     }
 
     @Override
     public void resize(int i, int i1) {
-        initDimensions();
+        widgets.invalidate();
     }
 
     @Override
@@ -327,12 +339,13 @@ public class EndScreen implements Screen, InputProcessor {
 
     @Override
     public void hide() {
-
+        blinkTask.cancel();
+        widgets.release();
     }
 
     @Override
     public void dispose() {
+        blinkTask.cancel();
         playAgainButton.dispose();
-        font.dispose();
     }
 }
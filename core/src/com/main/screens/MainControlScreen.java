@@ -1,6 +1,5 @@
 package com.main.screens;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.Screen;
@@ -8,7 +7,9 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.ScreenUtils;
 import com.main.Main;
+import com.main.utils.Button;
 import com.main.utils.ScreenType;
+import com.main.utils.WidgetTree;
 
 /**
  * The MainControlScreen class provides a visual representation of control instructions
@@ -17,12 +18,21 @@ import com.main.utils.ScreenType;
  * handling rendering and input events within the control screen context.
  */
 public class MainControlScreen implements Screen, InputProcessor {
+    // The textures loaded when the screen is constructed, so they can be prefetched before it is shown
+    public static final String[] TEXTURES = {
+            "settings_gui/back_button.png",
+            "controls_gui/controls_label.png",
+            "controls_gui/controls.png"
+    };
+
     final Main game; // Added code
-    final BitmapFont font; // Added code
+    BitmapFont font; // Added code
     final String objective; // Added code
     private final Texture backButton, controlLabel, controls;
+    private final WidgetTree widgets;
+    private final Button back;
     // X and Y coordinates
-    private float backButtonX, backButtonY, controlLabelX, controlLabelY, controlsX, controlsY, objectiveY, instructionX, instructionY;
+    private float controlLabelX, controlLabelY, controlsX, controlsY, objectiveY, instructionX, instructionY;
     // Buttons dimensions
     private float backButtonWidth, backButtonHeight, controlLabelWidth, controlLabelHeight, controlsHeight, controlsWidth, instructionGap;
 
@@ -35,14 +45,13 @@ public class MainControlScreen implements Screen, InputProcessor {
      */
     public MainControlScreen(Main game) {
         this.game = game;
-        font = new BitmapFont(Gdx.files.internal("font/WhitePeaberry.fnt"));
 
-        backButton = new Texture("settings_gui/back_button.png");
-        controlLabel = new Texture("controls_gui/controls_label.png");
-        controls = new Texture("controls_gui/controls.png");
+        backButton = game.assets.texture("settings_gui/back_button.png");
+        controlLabel = game.assets.texture("controls_gui/controls_label.png");
+        controls = game.assets.texture("controls_gui/controls.png");
 
-        calculateDimensions();
-        calculatePositions();
+        widgets = new WidgetTree(this::layout);
+        back = widgets.add(new Button());
 
         objective = "Welcome to Heslington Hustle! You are a second-year Computer Science student with exams in only 7 days. Explore the map, \n" +
                 "and interact with buildings to eat, study, sleep and have fun. To get a good grade, you need to balance hours of studying with \n" +
@@ -52,8 +61,17 @@ public class MainControlScreen implements Screen, InputProcessor {
     }
 
 
+    /**
+     * Recalculates the size and position of every element on the screen.
+     * Run by the widget tree the first time the screen is drawn after a resize.
+     */
+    private void layout() {
+        calculateDimensions();
+        calculatePositions();
+    }
+
     private void calculateDimensions(){
-        font.getData().setScale(1.5f * game.scaleFactorX, 1.5f * game.scaleFactorY);
+        font = game.fonts.get(1.5f * game.scaleFactorX, 1.5f * game.scaleFactorY);
         backButtonWidth = 200 * game.scaleFactorX;
         backButtonHeight = 100 * game.scaleFactorY;
         controlLabelWidth = 500 * game.scaleFactorX;
@@ -64,8 +82,7 @@ public class MainControlScreen implements Screen, InputProcessor {
     }
 
     private void calculatePositions(){
-        backButtonX = (game.screenWidth - backButtonWidth) / 2f;
-        backButtonY = game.screenHeight / 6f - 120 * game.scaleFactorY;
+        back.init((game.screenWidth - backButtonWidth) / 2f, game.screenHeight / 6f - 120 * game.scaleFactorY, backButtonWidth, backButtonHeight);
         controlLabelX = (game.screenWidth - controlLabelWidth) / 2f;
         controlLabelY = game.screenHeight - (controlLabelHeight * 1.2f);
         controlsX = game.screenWidth / 3.2f;
@@ -77,7 +94,7 @@ public class MainControlScreen implements Screen, InputProcessor {
 
     @Override
     public void show() {
-        Gdx.input.setInputProcessor(this);
+        game.inputRouter.setProcessor(this);
         game.batch.setProjectionMatrix(game.defaultCamera.combined);
     }
 
@@ -89,6 +106,7 @@ public class MainControlScreen implements Screen, InputProcessor {
      */
     @Override
     public void render(float delta) {
+        widgets.validate();
         ScreenUtils.clear(0.3f, 0.55f, 0.7f, 1);
         game.batch.setProjectionMatrix(game.defaultCamera.combined);
         game.batch.begin();
@@ -109,7 +127,7 @@ public class MainControlScreen implements Screen, InputProcessor {
         }
         game.batch.draw(controlLabel, controlLabelX, controlLabelY, controlLabelWidth, controlLabelHeight);
         game.batch.draw(controls, controlsX, controlsY, controlsWidth, controlsHeight);
-        game.batch.draw(backButton, backButtonX, backButtonY, backButtonWidth, backButtonHeight);
+        widgets.draw(game.batch, backButton, back);
 
         game.batch.end();
     }
@@ -127,8 +145,7 @@ public class MainControlScreen implements Screen, InputProcessor {
     public boolean touchDown(int touchX, int touchY, int pointer, int button) {
         touchY = (game.screenHeight - touchY);
 
-        if (touchX >= backButtonX && touchX <= backButtonX + backButtonWidth &&
-                touchY >= backButtonY && touchY <= backButtonY + backButtonHeight) {
+        if (widgets.touchDown(touchX, touchY) == back) {
             game.screenManager.setScreen(ScreenType.MAIN_MENU);
             game.gameData.buttonClickedSoundActivate();
         }
@@ -152,6 +169,7 @@ public class MainControlScreen implements Screen, InputProcessor {
 
     @Override
     public boolean touchUp(int i, int i1, int i2, int i3) {
+        widgets.release();
         return false;
     }
 
@@ -166,8 +184,8 @@ public class MainControlScreen implements Screen, InputProcessor {
     }
 
     @Override
-    public boolean mouseMoved(int i, int i1) {
-        return false;
+    public boolean mouseMoved(int screenX, int screenY) {
+        return widgets.mouseMoved(screenX, game.screenHeight - screenY);
     }
 
     @Override
@@ -178,8 +196,7 @@ public class MainControlScreen implements Screen, InputProcessor {
 
     @Override
     public void resize(int width, int height) {
-        calculateDimensions();
-        calculatePositions();
+        widgets.invalidate();
     }
 
     @Override
@@ -194,7 +211,7 @@ public class MainControlScreen implements Screen, InputProcessor {
 
     @Override
     public void hide() {
-
+        widgets.release();
     }
 
     @Override
@@ -202,7 +219,6 @@ public class MainControlScreen implements Screen, InputProcessor {
         backButton.dispose();
         controlLabel.dispose();
         controls.dispose();
-        font.dispose();
     }
 
 }
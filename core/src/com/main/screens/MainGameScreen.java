@@ -2,53 +2,86 @@ package com.main.screens;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input; // Added code
-import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.ScreenUtils;
 import com.main.Main;
-import com.main.entity.Player;
+import com.main.effects.EffectType;
+import com.main.effects.ParticleEffects;
+import com.main.entity.*;
+import com.main.map.CameraController;
 import com.main.map.GameMap;
+import com.main.map.RouteMap;
+import com.main.map.WorldSpritePass;
+import com.main.rules.Action;
+import com.main.rules.GameEventLog;
+import com.main.rules.GameEvents;
+import com.main.rules.GameState;
+import com.main.rules.Place;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.main.utils.*; // Added code
 
+import java.util.SplittableRandom;
+
 /**
  * The MainGameScreen class is responsible for rendering and updating all the game elements
  * including the player, game world, UI, and handling user input during the main gameplay phase.
+ * <p>
+ * The screen drives the rules from the player's input and reacts to what happens in them, such as a meal
+ * being eaten, through the events they publish, which are dispatched once a tick.
  */
-public class MainGameScreen implements Screen, InputProcessor {
-    //made them to be public static, although it should probably be a class to manage time.
-    //this is needed as time information is needed outside of this class.
-    public static final float GAME_DAY_LENGTH_IN_SECONDS    = 60f; // Added code
-    public static final float SECONDS_PER_GAME_HOUR         = GAME_DAY_LENGTH_IN_SECONDS / 16; // Added code
+public class MainGameScreen implements SimulatedScreen, InputProcessor, GameEvents.Listener {
+    // The clock is kept by the GameState, these are kept here for the code that reads them from the screen
+    public static final float GAME_DAY_LENGTH_IN_SECONDS    = GameState.DAY_LENGTH_SECONDS; // Added code
+    public static final float SECONDS_PER_GAME_HOUR         = GameState.SECONDS_PER_HOUR; // Added code
+    private static final int DUCK_COUNT = 24;
+    private static final float DUCK_SPAWN_RADIUS = 96f; // How far from the feeding spot the ducks start
+    private static final long DUCK_SEED = 1; // The ducks start in the same places every game
+    private static final int NPC_COUNT = 120;
+    // The speed keys are for testing and demonstrations, so players only get them with -Dheslington.devKeys=true
+    private static final boolean DEV_KEYS = Boolean.getBoolean("heslington.devKeys");
     // Final attributes
     private final Color shader;
     private final float zoom = 3f;
     private final Player player;
-    private final BitmapFont font, popupFont, durationFont;
+    private final EntityWorld entities;
+    private final RenderSystem entityRenderer;
+    private final WorldSpritePass worldSprites;
+    private final ParticleEffects effects; // Feedback for the player's activities
+    private final FlockSystem ducks;
+    private final NpcSystem npcs; // Students walking between lectures, meals and the gym
+    private final Texture duckTexture;
+    private final BitmapFont popupFont;
     private final GameMap gameMap;
     private final OrthographicCamera camera;
+    private final CameraController cameraController; // Moves the camera, and tells what is on screen
     private final ShapeRenderer shapeRenderer;
     private final Main game;
     private final Texture menuButton, popupMenu, durationUpButton, durationDownButton,
     menuBackButton, menuStudyButton, menuSleepButton, menuGoButton,
     durationMenuBackground, counterBackground;
     private final Button _menu, _durationUp, _durationDown, _menuBack, _activity; // Added code
+    private final Button _popupFirst, _popupSecond;
+    private final WidgetTree widgets;
+    private final ButtonGroup durationMenu, durationControls;
+    private final Vector3 projected;
+    private final Texture[] energyBars; // One texture for each energy level, drawn by reference
 
-    // Added Code //
-    private final Score dailyScore;
-    private boolean hasFailed;
-    // Added Code //
+    private final GameState state; // The rules, which this screen drives from the player's input
+    private final GameEvents events; // What happens in the rules, for the screen and others to react to
 
     // Non-final attributes
-    private Texture energyBar;
+    private BitmapFont font, durationFont;
     private float counterBackgroundY, counterBackgroundX, counterBackgroundWidth, counterBackgroundHeight;
     private float popupMenuWidth, popupMenuHeight;
     private float durationMenuBackgroundX, durationMenuBackgroundY; // Added code
@@ -56,9 +89,13 @@ public class MainGameScreen implements Screen, InputProcessor {
     private float durationTextY, menuTitleY, hoursLabelY;
     private float energyBarY, energyBarX, energyBarWidth, energyBarHeight;
     private String activity, popupMenuType;
-    private int energyCounter, duration, dayNum, recActivity, studyHours, mealCount, currentHour, totalScore; // Added code
-    private float timeElapsed, fadeTime, minShade;
+    private String counterString; // The HUD's counters, or null to write them again when they change
+    private Place trigger; // The place the player is standing at, or null
+    private Place activityPlace; // Where the open duration menu's activity is done, or null if it is done nowhere
+    private int duration, shownDay; // Added code
+    private float fadeTime, minShade;
     private boolean fadeOut, lockTime, lockMovement, lockPopup, resetPos, popupVisible, showMenu;
+    private boolean paused; // True while the game is in the background or idle
 
     /**
      * Constructs the main game screen with necessary game components.
@@ -71,56 +108,110 @@ public class MainGameScreen implements Screen, InputProcessor {
         this.shader = new Color(0.5f, 0.5f, 0.5f, 1);
 
         // Initialize final Texture objects
-        this.menuButton = new Texture("menu_buttons/menu_icon.png");
-        this.counterBackground = new Texture("counter_background.png");
-        this.popupMenu = new Texture("popup_menu.png");
-        this.durationMenuBackground = new Texture("duration_menu_background.png");
-        this.durationUpButton = new Texture("settings_gui/arrow_right_button.png");
-        this.durationDownButton = new Texture("settings_gui/arrow_left_button.png");
-        this.menuBackButton = new Texture("settings_gui/back_button.png");
-        this.menuStudyButton = new Texture("study_button.png");
-        this.menuSleepButton = new Texture("sleep_button.png");
-        this.menuGoButton = new Texture("go_button.png");
+        this.menuButton = game.assets.texture("menu_buttons/menu_icon.png");
+        this.counterBackground = game.assets.texture("counter_background.png");
+        this.popupMenu = game.assets.texture("popup_menu.png");
+        this.durationMenuBackground = game.assets.texture("duration_menu_background.png");
+        this.durationUpButton = game.assets.texture("settings_gui/arrow_right_button.png");
+        this.durationDownButton = game.assets.texture("settings_gui/arrow_left_button.png");
+        this.menuBackButton = game.assets.texture("settings_gui/back_button.png");
+        this.menuStudyButton = game.assets.texture("study_button.png");
+        this.menuSleepButton = game.assets.texture("sleep_button.png");
+        this.menuGoButton = game.assets.texture("go_button.png");
+        this.energyBars = new Texture[11];
+        for (int energy = 0; energy < this.energyBars.length; energy++) {
+            this.energyBars[energy] = game.assets.texture("energy/energy_" + energy + ".png");
+        }
 
         this._activity = new Button(); // Added code
         this._menu = new Button(); // Added code
         this._durationUp = new Button(); // Added code
         this._durationDown = new Button(); // Added code
         this._menuBack = new Button(); // Added code
+        this._popupFirst = new Button();
+        this._popupSecond = new Button();
+        this.projected = new Vector3();
+
+        // Buttons of the HUD and the activity duration menu, laid out whenever the window is resized
+        this.widgets = new WidgetTree(this::initDimensions);
+        this.widgets.add(this._menu);
+        this.durationMenu = this.widgets.add(new ButtonGroup());
+        this.durationMenu.add(this._menuBack);
+        this.durationMenu.add(this._activity);
+        this.durationControls = this.durationMenu.add(new ButtonGroup());
+        this.durationControls.add(this._durationDown);
+        this.durationControls.add(this._durationUp);
 
         // Initialize non-final attributes
         this.activity = "";
         this.popupMenuType = "";
-        this.energyCounter = 10;
         this.duration = 1;
-        this.dayNum = 1;
-        this.timeElapsed = 0f;
-        this.currentHour = 10;
+        this.state = new GameState();
+        this.events = new GameEvents();
+        this.events.addListener(this);
+        this.events.addListener(new GameEventLog());
+        this.state.setEvents(this.events);
+        this.shownDay = this.state.getDay();
         this.fadeTime = 0;
         this.minShade = 0;
         this.fadeOut = this.lockTime = this.lockMovement = this.lockPopup = this.resetPos = this.popupVisible = this.showMenu = false;
 
-        // Start of added Code
-        this.totalScore = 0;
-        this.hasFailed = false;
-        this.dailyScore = new Score();
-        // End of added Code
-
         // Setting up the game
         this.camera = new OrthographicCamera();
         this.gameMap = new GameMap(this.camera);
-        this.player = new Player(this.game, this.gameMap, this.camera);
-        this.font = new BitmapFont(Gdx.files.internal("font/WhitePeaberry.fnt"));
-        this.popupFont = new BitmapFont(Gdx.files.internal("font/WhitePeaberry.fnt"));
-        this.durationFont = new BitmapFont(Gdx.files.internal("font/WhitePeaberry.fnt"));
-        this.shapeRenderer = new ShapeRenderer();
-        this.energyBar = setEnergyBar();
-
-        this.initDimensions(); // Added code
-        this.popupFont.getData().setScale(0.4f, 0.4f);
+        this.cameraController = new CameraController(this.camera, this.gameMap.getWidth(), this.gameMap.getHeight());
+        this.entities = new EntityWorld();
+        this.entities.setJobSystem(game.jobs);
+        this.player = new Player(this.game, this.gameMap, this.entities);
+        this.duckTexture = game.assets.texture("map/duck.png");
+        TextureRegion duckRight = new TextureRegion(this.duckTexture);
+        duckRight.flip(true, false); // The duck is drawn facing left
+        this.ducks = this.entities.addSystem(new FlockSystem((TiledMapTileLayer) this.gameMap.getMap().getLayers().get("Water"),
+                this.gameMap.getTileSize(), new TextureRegion(this.duckTexture), duckRight));
+        this.npcs = this.entities.addSystem(createNpcSystem());
+        this.entities.addSystem(new MovementSystem());
+        this.entities.addSystem(new CollisionSystem(this.gameMap.getWidth(), this.gameMap.getHeight()));
+        this.entities.addSystem(new AnimationSystem());
+        this.entityRenderer = new RenderSystem();
+        this.worldSprites = new WorldSpritePass();
+        this.effects = new ParticleEffects(game.random.get(RandomService.Stream.PARTICLES));
+        Vector2 feedingSpot = this.gameMap.getLayerCentre("Feed_ducks");
+        if (feedingSpot != null) {
+            this.ducks.spawn(this.entities, DUCK_COUNT, feedingSpot.x, feedingSpot.y, DUCK_SPAWN_RADIUS, new SplittableRandom(DUCK_SEED));
+        }
+        this.popupFont = game.fonts.get(0.4f);
+        this.shapeRenderer = DisposableTracker.track(new ShapeRenderer(), "ShapeRenderer");
+
         this.player.setPos(1389, 635);
-        this.camera.setToOrtho(false, this.game.screenWidth / this.zoom, this.game.screenHeight / this.zoom);
-        this.camera.update();
+        this.cameraController.setViewport(this.game.screenWidth / this.zoom, this.game.screenHeight / this.zoom);
+        this.cameraController.snapTo(getPlayerCentreX(), getPlayerCentreY());
+    }
+
+    /**
+     * Creates the student NPCs and the timetables they follow. They walk the same routes as the player
+     * could, as they collide like the player, and look like either of the player's characters.
+     *
+     * @return The system moving the NPCs.
+     */
+    private NpcSystem createNpcSystem() {
+        RouteMap routes = new RouteMap(gameMap, player.getCollisionHandler(),
+                "Goodricke_door", "Comp_sci_door", "Ron_cooke_door", "Piazza_door", "Gym_door", "Feed_ducks");
+        int home = routes.getPlace("Goodricke_door"), compSci = routes.getPlace("Comp_sci_door");
+        int ronCooke = routes.getPlace("Ron_cooke_door"), piazza = routes.getPlace("Piazza_door");
+        int gym = routes.getPlace("Gym_door"), pond = routes.getPlace("Feed_ducks");
+
+        NpcSystem system = new NpcSystem(routes, cameraController, SECONDS_PER_GAME_HOUR);
+        // Three hours between entries leaves time to cross the campus
+        system.addTimetable(new Timetable(home).at(9, compSci).at(12, piazza).at(15, ronCooke).at(18, gym).at(21, home));
+        system.addTimetable(new Timetable(home).at(10, ronCooke).at(13, piazza).at(16, compSci).at(19, piazza).at(22, home));
+        system.addTimetable(new Timetable(home).at(9, piazza).at(12, compSci).at(15, pond).at(18, gym).at(21, home));
+        system.addTimetable(new Timetable(home).at(11, piazza).at(14, ronCooke).at(17, pond).at(20, piazza).at(23, home));
+
+        CharacterAtlas characters = player.getCharacterAtlas();
+        int[] looks = {entities.addAnimationSet(characters.getAnimations(true)), entities.addAnimationSet(characters.getAnimations(false))};
+        system.spawn(entities, NPC_COUNT, Player.SPRITE_X, Player.SPRITE_Y, entities.addCollider(player.getCollisionHandler()),
+                looks, game.random.get(RandomService.Stream.NPCS));
+        return system;
     }
 
     private void initDimensions() {
@@ -165,8 +256,8 @@ public class MainGameScreen implements Screen, InputProcessor {
         counterBackgroundHeight = 150 * scaleY;
         durationMenuBackgroundWidth = 500 * scaleX;
         durationMenuBackgroundHeight = 500 * scaleY;
-        font.getData().setScale(scaleX, scaleY);
-        durationFont.getData().setScale(3f * scaleX, 3f * scaleY);
+        font = game.fonts.get(scaleX, scaleY);
+        durationFont = game.fonts.get(3f * scaleX, 3f * scaleY);
         energyBarX = 30 * scaleX + this._menu.width();
         energyBarY = screenHeight - energyBarHeight - 10 * scaleY;
         counterBackgroundX = screenWidth - counterBackgroundWidth;
@@ -184,11 +275,60 @@ public class MainGameScreen implements Screen, InputProcessor {
 
     @Override
     public void render(float deltaTime) {
-        if (!lockMovement) player.update(deltaTime); // Added code
-        if (!lockTime) updateGameTime(deltaTime); // Update the game clock // Added code
+        update(deltaTime);
+        draw();
+    }
 
+    /**
+     * Advances the game by a tick: the player's movement, the clock, the fade at the end of the day and
+     * everything moving in the world. Nothing is drawn, so the game can run many ticks in a frame.
+     * @param deltaTime The time to advance by.
+     */
+    @Override
+    public void update(float deltaTime) {
+        widgets.validate();
+        // While paused the world is still drawn if a frame is requested, but no time passes in it.
+        // The screen manager also renders the screen with no time elapsed to snapshot it for a transition.
+        if (paused) deltaTime = 0;
+        if (deltaTime > 0) {
+            if (!lockMovement) player.handleInput(); // Added code
+            else player.stop();
+            // Stop if the game ended, as the screen has been replaced and may have been disposed
+            if (!lockTime && updateGameTime(deltaTime)) return; // Update the game clock // Added code
+            Place touching = Place.fromLayer(getDoorTouching());
+            if (touching != null && touching != trigger) events.triggerEntered(touching);
+            trigger = touching;
+            effects.update(deltaTime, cameraController);
+            // The end screen follows the last day, so its textures can be prepared while it is played
+            if (state.getDay() == GameState.LAST_DAY) game.screenManager.prewarm(ScreenType.END_SCREEN);
+        }
+        // The ducks swim over while the player stands at the feeding spot, and while they feed them
+        if (popupMenuType.equals("Feed_ducks")) {
+            ducks.setAttractor(getPlayerCentreX(), getPlayerCentreY());
+        } else {
+            ducks.clearAttractor();
+        }
+        // With no time elapsed the systems only choose each entity's frame, so this is safe while paused.
+        // The update runs across the job system's threads and returns once they have all finished,
+        // so the entities can then be drawn on this thread.
+        npcs.setTime(GameState.DAY_START_HOUR + state.getTimeElapsed() / SECONDS_PER_GAME_HOUR);
+        entities.update(deltaTime);
+        // Only moves the camera; its matrices are updated once per frame in draw()
+        cameraController.follow(getPlayerCentreX(), getPlayerCentreY());
+        cameraController.update(deltaTime);
+        gameMap.update(deltaTime);
+        fadeOutStep(deltaTime);
+        events.dispatch();
+    }
+
+    /**
+     * Draws the game as the last update left it.
+     */
+    @Override
+    public void draw() {
+        cameraController.apply(); // The only place the camera's matrices are updated each frame
         ScreenUtils.clear(0, 0, 1, 1);
-        drawWorldElements(deltaTime); // Added code
+        drawWorldElements(); // Added code
         drawUIElements();
         drawGameTime(); // Draw current time
     }
@@ -196,7 +336,7 @@ public class MainGameScreen implements Screen, InputProcessor {
 
     @Override
     public void show() {
-        Gdx.input.setInputProcessor(this);
+        game.inputRouter.setProcessor(this);
         lockTime = false;
         player.updateGender();
         player.setDirection(Directions.Down); // Added code
@@ -260,14 +400,12 @@ public class MainGameScreen implements Screen, InputProcessor {
 
     /**
      * Checks if the cursor is hovering over a menu option and changes its color accordingly.
-     * @param posX The X position of the menu option.
-     * @param posY The Y position of the menu option.
+     * @param option The button covering the menu option on screen.
      */
-    private void isHovering(float posX, float posY){
+    private void isHovering(Button option){
         int mouseX = Gdx.input.getX();
         int mouseY = game.screenHeight - Gdx.input.getY();
-        Vector3 menuOpt = camera.project(new Vector3(posX, posY, 0));
-        if (mouseX >= menuOpt.x && mouseX <= menuOpt.x + popupMenuWidth * zoom && mouseY >= menuOpt.y && mouseY <= menuOpt.y + popupMenuHeight * zoom) {
+        if (option.isClicked(mouseX, mouseY)) {
             game.batch.setColor(shader);
         }
         else {
@@ -277,13 +415,17 @@ public class MainGameScreen implements Screen, InputProcessor {
 
     /**
      * Draws a menu option at the specified position with a specified text and shade option.
+     * The option's button is moved to the option's position on screen so that it can be clicked.
+     * @param option The button covering the menu option on screen.
      * @param posX The X position of the menu option.
      * @param posY The Y position of the menu option.
      * @param text The text to display on the menu option.
      * @param shadeOption Determines the shade of the menu option.
      */
-    private void drawMenuOption(float posX, float posY, String text, int shadeOption){
-        if (shadeOption == 0) isHovering(posX, posY);
+    private void drawMenuOption(Button option, float posX, float posY, String text, int shadeOption){
+        camera.project(projected.set(posX, posY, 0));
+        option.init(projected.x, projected.y, popupMenuWidth * zoom, popupMenuHeight * zoom);
+        if (shadeOption == 0) isHovering(option);
         else if (shadeOption == 1) game.batch.setColor(Color.WHITE);
         else if (shadeOption == 2) game.batch.setColor(shader);
         GlyphLayout layout = new GlyphLayout();
@@ -307,13 +449,13 @@ public class MainGameScreen implements Screen, InputProcessor {
 
         game.batch.begin(); // Added code
         game.batch.draw(durationMenuBackground, durationMenuBackgroundX, durationMenuBackgroundY, durationMenuBackgroundWidth, durationMenuBackgroundHeight);
-        game.batch.draw(activityButton, _activity.x(), _activity.y(), _activity.width(), _activity.height()); // Added code
-        game.batch.draw(menuBackButton, _menuBack.x(), _menuBack.y(), _menuBack.width(), _menuBack.height()); // Added code
+        widgets.draw(game.batch, activityButton, _activity);
+        widgets.draw(game.batch, menuBackButton, _menuBack);
         durationFont.draw(game.batch, title, 0, menuTitleY, game.screenWidth, Align.center, false);
 
-        if (!activity.equals("sleep")) {
-            game.batch.draw(durationDownButton, _durationDown.x(),  _durationDown.y(),  _durationDown.width(),  _durationDown.height()); // Added code
-            game.batch.draw(durationUpButton,   _durationUp.x(),    _durationUp.y(),    _durationUp.width(),    _durationUp.height()); // Added code
+        if (durationControls.isShown()) {
+            widgets.draw(game.batch, durationDownButton, _durationDown);
+            widgets.draw(game.batch, durationUpButton, _durationUp);
             durationFont.draw(game.batch, Integer.toString(duration), 0, durationTextY, game.screenWidth, Align.center, false);
             durationFont.draw(game.batch, "Hours", 0, hoursLabelY, game.screenWidth, Align.center, false);
         }
@@ -327,37 +469,40 @@ public class MainGameScreen implements Screen, InputProcessor {
         popupMenuType = getDoorTouching();
         switch (popupMenuType) {
             case "Comp_sci_door":
-                drawMenuOption(player.worldX + 30, player.worldY + 20, "Study", 0);
+                drawMenuOption(_popupFirst, player.getX() + 30, player.getY() + 20, "Study", 0);
                 popupVisible = true;
+                // Studying opens the mini-game, so prepare it while the player is deciding
+                game.screenManager.prewarm(ScreenType.MINI_GAME);
                 break;
             case "Ron_cooke_door": // Added code
             case "Piazza_door":
-                drawMenuOption(player.worldX + 30, player.worldY + 20, "Study", 0);
-                drawMenuOption(player.worldX + 30, player.worldY + 35, "Eat", 0);
+                drawMenuOption(_popupFirst, player.getX() + 30, player.getY() + 20, "Study", 0);
+                drawMenuOption(_popupSecond, player.getX() + 30, player.getY() + 35, "Eat", 0);
                 popupVisible = true;
+                game.screenManager.prewarm(ScreenType.MINI_GAME);
                 break;
             case "Gym_door":
-                drawMenuOption(player.worldX + 30, player.worldY + 20, "Exercise", 0);
+                drawMenuOption(_popupFirst, player.getX() + 30, player.getY() + 20, "Exercise", 0);
                 popupVisible = true;
                 break;
             case "Goodricke_door":
                 int shadeOption;
-                if (currentHour >= 20) {
+                if (state.getHour() >= GameState.BEDTIME_HOUR) {
                     popupVisible = true;
                     shadeOption = 0;
                 } else {
                     popupVisible = false;
                     shadeOption = 2;
                 }
-                drawMenuOption(player.worldX + 30, player.worldY + 20, "Sleep", shadeOption);
+                drawMenuOption(_popupFirst, player.getX() + 30, player.getY() + 20, "Sleep", shadeOption);
                 break;
             // Start of added code
             case "Feed_ducks":
-                drawMenuOption(player.worldX + 30, player.worldY + 20, "Feed", 0);
+                drawMenuOption(_popupFirst, player.getX() + 30, player.getY() + 20, "Feed", 0);
                 popupVisible = true;
                 break;
             case "Visit_city":
-                drawMenuOption(player.worldX + 30, player.worldY + 20, "Visit City", 0);
+                drawMenuOption(_popupFirst, player.getX() + 30, player.getY() + 20, "Visit City", 0);
                 popupVisible = true;
                 break;
             // End of added code
@@ -384,8 +529,9 @@ public class MainGameScreen implements Screen, InputProcessor {
     /**
      * Initiates the fade out process and optionally resets the player's position.
      * @param resetPos A boolean indicating whether to reset the player's position.
+     * @param timeElapsed The time of day the fade starts at, as the fade starts from the evening's shade.
      */
-    private void executeFadeOut(boolean resetPos){
+    private void executeFadeOut(boolean resetPos, float timeElapsed){
         if (fadeOut) return;
         fadeOut = true;
         lockMovement = true;
@@ -397,20 +543,20 @@ public class MainGameScreen implements Screen, InputProcessor {
     }
 
     /**
-     * Manages the stepwise execution of the fade-out effect.
-     * @param delta The time elapsed since the last frame.
+     * Manages the stepwise execution of the fade-out effect. The shade is drawn with the rest of the world.
+     * @param delta The time elapsed since the last update.
      */
     private void fadeOutStep(float delta){
         if (fadeOut){
             if (fadeTime == 0) fadeTime = minShade;
             if (fadeTime <= 1) {
                 fadeTime += delta;
-                drawShadeOverlay(fadeTime);
             }
             else{
                 if (resetPos) {
                     player.setPos( 1389, 635);
                     player.setDirection(Directions.Down); // Added code
+                    cameraController.snapTo(getPlayerCentreX(), getPlayerCentreY()); // Don't pan across the map
                 }
                 fadeTime = 0;
                 fadeOut = false;
@@ -422,32 +568,90 @@ public class MainGameScreen implements Screen, InputProcessor {
         }
     }
 
+    /**
+     * Returns the rules this screen drives, so a replayed session can be checked against the recording.
+     *
+     * @return The game state.
+     */
+    public GameState getState() {
+        return state;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    private float getPlayerCentreX(){
+        return player.getX() + Player.SPRITE_X / 2f;
+    }
+
+    private float getPlayerCentreY(){
+        return player.getY() + Player.SPRITE_Y / 2f;
+    }
+
+    /**
+     * Starts a particle effect just above the player's head.
+     * @param type The kind of effect.
+     */
+    private void startEffect(EffectType type){
+        effects.start(type, getPlayerCentreX(), player.getY() + Player.SPRITE_Y);
+    }
+
+    @Override
+    public void activityStarted(Place place, int hours, int day) {
+        counterString = null;
+        if (place.study) startEffect(EffectType.SPARKLES);
+        else if (place == Place.GYM) startEffect(EffectType.SWEAT);
+        else if (place == Place.FEED_DUCKS) startEffect(EffectType.CRUMBS);
+    }
+
+    @Override
+    public void mealEaten(Place place, int hour, int day) {
+        counterString = null;
+        game.gameData.eatingSoundActivate();
+        startEffect(EffectType.STEAM);
+    }
+
     /**
      * Renders the game world elements including the map and player.
-     * @param delta The time elapsed since the last frame.
+     * The player, ducks, trees and roofs are drawn together in depth order, so the player can walk behind them.
      */
-    private void drawWorldElements(float delta){
-        gameMap.update(delta);
+    private void drawWorldElements(){
         gameMap.render();
         game.batch.setProjectionMatrix(camera.combined);
         game.batch.begin();
-        game.batch.draw(player.getCurrentFrame(), player.worldX, player.worldY, Player.SPRITE_X, Player.SPRITE_Y); // Added code
+        worldSprites.begin(cameraController);
+        gameMap.collectSprites(worldSprites);
+        entityRenderer.collect(entities, worldSprites); // Added code
+        worldSprites.end(game.batch);
+        effects.draw(game.batch, cameraController);
         if (!lockPopup) drawPopUpMenu();
         game.batch.end();
+        float timeElapsed = state.getTimeElapsed();
         if (!fadeOut && timeElapsed/ SECONDS_PER_GAME_HOUR > 11) drawShadeOverlay((timeElapsed - 11 * SECONDS_PER_GAME_HOUR)/(GAME_DAY_LENGTH_IN_SECONDS - 11 * SECONDS_PER_GAME_HOUR)); // Added code
-        fadeOutStep(delta);
+        if (fadeOut && fadeTime <= 1) drawShadeOverlay(fadeTime);
+    }
+
+    /**
+     * Shows the duration menu's buttons only while the menu is open, hiding the duration
+     * arrows when sleeping as the sleep duration cannot be changed.
+     */
+    private void updateWidgetVisibility(){
+        durationMenu.setVisible(showMenu);
+        durationControls.setVisible(!activity.equals("sleep"));
     }
 
     /**
      * Renders the UI elements of the game.
      */
     private void drawUIElements(){
-        String counterString = String.format("Recreation Activities done: " + recActivity + "\nStudy hours: " + studyHours + "\nMeals Eaten: " + mealCount, dayNum, timeElapsed );
+        if (counterString == null) counterString = "Recreation Activities done: " + state.getRecreationCount() + "\nStudy hours: " + state.getStudyHours() + "\nMeals Eaten: " + state.getMealCount();
+        updateWidgetVisibility();
         game.batch.setProjectionMatrix(game.defaultCamera.combined);
         if (showMenu) drawDurationMenu();
         game.batch.begin();
-        game.batch.draw(menuButton, _menu.x(), _menu.y(), _menu.width(), _menu.height()); // Added code
-        game.batch.draw(energyBar, energyBarX, energyBarY, energyBarWidth, energyBarHeight);
+        widgets.draw(game.batch, menuButton, _menu);
+        game.batch.draw(setEnergyBar(), energyBarX, energyBarY, energyBarWidth, energyBarHeight);
         game.batch.draw(counterBackground, counterBackgroundX, counterBackgroundY, counterBackgroundWidth, counterBackgroundHeight);
         font.draw(game.batch, counterString, game.screenWidth - 320 * game.scaleFactorX, game.screenHeight - 40 * game.scaleFactorY);
         game.batch.end();
@@ -456,63 +660,31 @@ public class MainGameScreen implements Screen, InputProcessor {
     /**
      * Updates the game time and handles the transition from day to night.
      * @param delta The time elapsed since the last frame.
+     * @return True if the game ended and the end screen has replaced this one.
      */
-    private void updateGameTime(float delta) {
-        // Start of added code
-        timeElapsed += delta;
-        currentHour = this.getTime();
-
-        // Ensure the hour cycles through the active hours correctly (08:00 to 00:00)
-        if (currentHour >= 24) { // If it reaches 00:00, reset to 08:00 the next day
-            if (dayNum == 7) {
-                totalScore += dailyScore.checkStreaks(); // Add bonus points from achieving streaks
-                game.screenManager.setScreen(ScreenType.END_SCREEN, totalScore, dailyScore.getStreaks());
-            }
-            // End of added code
-            resetDay();
-        }
-    }
-
-    // Start of added Code
-    /**
-     * Calculates the in game time
-     */
-    private int getTime() {
-        // Calculate the current hour in game time
-        int hoursPassed = (int)(timeElapsed / SECONDS_PER_GAME_HOUR);
-        return 8 + hoursPassed; // Starts at 08:00
+    private boolean updateGameTime(float delta) {
+        float endOfStep = state.getTimeElapsed() + delta;
+        state.step(delta);
+        return checkDayEnded(endOfStep);
     }
 
     /**
-     * adds daily score to totalScore
+     * Follows the rules to the next screen when the game is over, or fades out and takes the player home
+     * when a new day has started.
+     * @param timeElapsed The time of day the day ended at, before the clock was reset.
+     * @return True if the game is over and the end screen has been set.
      */
-    private void addDailyScore() {
-        if (dailyScore.hasMissedStudy()) { //check if player has already missed study for a day
-            if (dailyScore.getStudyCount() == 0) { //check if the player hasn't studied today
-                hasFailed = true;
-            }
-        }
-        if (!hasFailed) {
-            totalScore += dailyScore.calculateScore();
-            dailyScore.resetDailyCounters();
+    private boolean checkDayEnded(float timeElapsed) {
+        if (state.isOver()) {
+            shownDay = state.getDay();
+            events.dispatch(); // This screen won't update again, so the last day's events would be lost
+            game.screenManager.setScreen(ScreenType.END_SCREEN, state.getFinalScore(), state.getStreaks());
+            return true;
+        } else if (state.getDay() != shownDay) {
+            executeFadeOut(true, timeElapsed);
         }
-    }
-    // End of added Code
-
-    /**
-     * Resets the game day, including resetting time and increasing the day counter.
-     */
-    private void resetDay(){
-        executeFadeOut(true);
-        currentHour = 8;
-        dayNum++;
-        timeElapsed = 0;
-        energyCounter += 4;
-        if (energyCounter > 10) energyCounter = 10;
-        energyBar.dispose();
-        energyBar = setEnergyBar();
-
-        addDailyScore(); // Added code
+        shownDay = state.getDay();
+        return false;
     }
 
     /**
@@ -520,7 +692,9 @@ public class MainGameScreen implements Screen, InputProcessor {
      */
     private void drawGameTime() {
         // Adjust the format if you want to display minutes or seconds
-        String timeString = String.format("Day: %d       Time: %02d:00", dayNum, currentHour % 24);
+        String timeString = String.format("Day: %d       Time: %02d:00", state.getDay(), state.getHour() % 24);
+        float timeScale = game.clock.getTimeScale();
+        if (timeScale != 1) timeString += "   x" + (timeScale == (int) timeScale ? Integer.toString((int) timeScale) : Float.toString(timeScale));
         game.batch.begin();
         font.draw(game.batch, timeString, game.screenWidth - 320 * game.scaleFactorX, game.screenHeight - 15 * game.scaleFactorY);
         game.batch.end();
@@ -531,10 +705,11 @@ public class MainGameScreen implements Screen, InputProcessor {
      * @return The texture of the current energy bar.
      */
     public Texture setEnergyBar() {
-        if (energyCounter > 0) {
-            return new Texture("energy/energy_" + energyCounter + ".png");
+        int energy = state.getEnergy();
+        if (energy > 0) {
+            return energyBars[Math.min(energy, energyBars.length - 1)];
         } else {
-            return new Texture("energy/energy_0.png");
+            return energyBars[0];
         }
     }
 
@@ -550,8 +725,10 @@ public class MainGameScreen implements Screen, InputProcessor {
     @Override
     public boolean touchDown(int touchX, int touchY, int pointer, int button){
         touchY = game.screenHeight - touchY;
+        updateWidgetVisibility();
+        Button clicked = widgets.touchDown(touchX, touchY);
 
-        if (_menu.isClicked(touchX, touchY)) { // Added code
+        if (clicked == _menu) { // Added code
             game.gameData.buttonClickedSoundActivate();
             game.screenManager.setScreen(ScreenType.MAIN_MENU);
             return true; // Added code
@@ -559,35 +736,29 @@ public class MainGameScreen implements Screen, InputProcessor {
         if (showMenu){ // Added code
             switch (activity){
                 case "study":
-                    if (_durationUp.isClicked(touchX,touchY)) { // Added code
+                    if (clicked == _durationUp) { // Added code
                         game.gameData.buttonClickedSoundActivate();
                         if (duration < 4) duration++;
                     }
-                    else if (_durationDown.isClicked(touchX,touchY)) { // Added code
+                    else if (clicked == _durationDown) { // Added code
                         game.gameData.buttonClickedSoundActivate();
                         if (duration > 1) duration--;
                     }
-                    else if (_menuBack.isClicked(touchX,touchY)) { // Added code
+                    else if (clicked == _menuBack) { // Added code
                         game.gameData.buttonClickedSoundActivate();
                         showMenu = false;
                         lockMovement = fadeOut;
                         duration = 1;
                     }
-                    else if (_activity.isClicked(touchX,touchY)) { // Added code
+                    else if (clicked == _activity) { // Added code
                         game.gameData.buttonClickedSoundActivate();
                         showMenu = false;
                         lockMovement = fadeOut;
-                        studyHours += duration;
-                        if (energyCounter > (duration+1)/2) energyCounter -= (duration+1)/2;
-                        energyBar.dispose();
-                        energyBar = setEnergyBar();
+                        if (activityPlace != null && activityPlace.study) {
+                            state.apply(Action.study(activityPlace, duration));
 
-                        // Start of added code
-                        timeElapsed += duration * SECONDS_PER_GAME_HOUR;
-                        dailyScore.study(duration, getDoorTouching());
-                        // End of added Code
-
-                        game.screenManager.setScreen(ScreenType.MINI_GAME, duration);
+                            game.screenManager.setScreen(ScreenType.MINI_GAME, duration);
+                        }
                     }
                     break;
 
@@ -595,71 +766,56 @@ public class MainGameScreen implements Screen, InputProcessor {
                 // Start of added code
                 case "feed_ducks":
                 case "visit_city":
-                    if (_durationUp.isClicked(touchX,touchY)) {
+                    if (clicked == _durationUp) {
                         game.gameData.buttonClickedSoundActivate();
                         if (duration < 4) duration++;
                     }
-                    else if (_durationDown.isClicked(touchX,touchY)) {
+                    else if (clicked == _durationDown) {
                         game.gameData.buttonClickedSoundActivate();
                         if (duration > 1) duration--;
                     }
-                    else if (_menuBack.isClicked(touchX,touchY)) {
+                    else if (clicked == _menuBack) {
                         game.gameData.buttonClickedSoundActivate();
                         showMenu = false;
                         lockMovement = fadeOut;
                         duration = 1;
                     }
-                    else if (_activity.isClicked(touchX,touchY)) {
+                    else if (clicked == _activity) {
                         game.gameData.buttonClickedSoundActivate();
-                        if (energyCounter >= duration) {
-                            executeFadeOut(false);
+                        float startTime = state.getTimeElapsed();
+                        if (activityPlace != null && activityPlace.recreation
+                                && state.apply(Action.recreation(activityPlace, duration))) {
+                            executeFadeOut(false, startTime);
                             showMenu = false;
                             lockMovement = fadeOut;
-                            recActivity++;
-                            energyCounter -= duration;
-                            energyBar.dispose();
-                            energyBar = setEnergyBar();
-                            timeElapsed += duration * SECONDS_PER_GAME_HOUR;
-
-                            // Added Code //
-                            dailyScore.doRecActivity(getDoorTouching());
-                            // Added Code //
-
                             duration = 1;
                         }
                     }
                     break;
                 // End of added code
                 case "sleep":
-                    if (_durationUp.isClicked(touchX,touchY)) { // Added code
+                    if (clicked == _durationUp) { // Added code
                         game.gameData.buttonClickedSoundActivate();
                         if (duration < 10) duration++;
                     }
-                    else if (_durationDown.isClicked(touchX,touchY)) { // Added code
+                    else if (clicked == _durationDown) { // Added code
                         game.gameData.buttonClickedSoundActivate();
                         if (duration > 1) duration--;
                     }
-                    else if (_menuBack.isClicked(touchX,touchY)) { // Added code
+                    else if (clicked == _menuBack) { // Added code
                         game.gameData.buttonClickedSoundActivate();
                         showMenu = false;
                         lockMovement = fadeOut;
                         duration = 1;
                     }
-                    else if (_activity.isClicked(touchX,touchY)) { // Added code
+                    else if (clicked == _activity) { // Added code
                         game.gameData.buttonClickedSoundActivate();
                         showMenu = false;
                         lockMovement = fadeOut;
 
-                        // Start of added Code
-                        if (dayNum == 7) {
-                            addDailyScore();
-                            totalScore += dailyScore.checkStreaks(); // Add bonus points from achieving streaks
-                            game.screenManager.setScreen(ScreenType.END_SCREEN, totalScore, dailyScore.getStreaks());
-                        } else {
-                            dailyScore.incrementSleep(); //increments count for number of early nights
-                            resetDay();
-                        }
-                        // End of Added Code
+                        float bedtime = state.getTimeElapsed();
+                        state.apply(Action.SLEEP);
+                        checkDayEnded(bedtime);
 
                         duration = 1;
                     }
@@ -667,11 +823,9 @@ public class MainGameScreen implements Screen, InputProcessor {
             }
         }
         else if (popupVisible){
-            Vector3 studyOpt = camera.project(new Vector3(player.worldX + 30, player.worldY + 20, 0));
-            Vector3 eatOpt = camera.project(new Vector3(player.worldX + 30, player.worldY + 35, 0));
             switch (popupMenuType) {
                 case "Comp_sci_door":
-                    if (touchX >= studyOpt.x && touchX <= studyOpt.x + popupMenuWidth * zoom && touchY >= studyOpt.y && touchY <= studyOpt.y + popupMenuHeight * zoom) {
+                    if (_popupFirst.isClicked(touchX, touchY)) {
                         game.gameData.buttonClickedSoundActivate();
                         showMenu = true;
                         lockMovement = true;
@@ -681,28 +835,21 @@ public class MainGameScreen implements Screen, InputProcessor {
                     break;
                 case "Ron_cooke_door": // Added code
                 case "Piazza_door":
-                    if (touchX >= studyOpt.x && touchX <= studyOpt.x + popupMenuWidth * zoom && touchY >= studyOpt.y && touchY <= studyOpt.y + popupMenuHeight * zoom) {
+                    if (_popupFirst.isClicked(touchX, touchY)) {
                         game.gameData.buttonClickedSoundActivate();
                         showMenu = true;
                         lockMovement = true;
                         activity = "study";
                         duration = 1;
                     }
-                    else if (touchX >= eatOpt.x && touchX <= eatOpt.x + popupMenuWidth * zoom && touchY >= eatOpt.y && touchY <= eatOpt.y + popupMenuHeight * zoom) {
+                    else if (_popupSecond.isClicked(touchX, touchY)) {
                         game.gameData.buttonClickedSoundActivate();
-                        game.gameData.eatingSoundActivate();
-                        energyCounter += 3;
-                        mealCount++;
-                        dailyScore.eat(getTime()); // Added code
-
-                        if (energyCounter > 10) energyCounter = 10;
-                        energyBar.dispose();
-                        energyBar = setEnergyBar();
+                        state.apply(Action.eat(Place.fromLayer(popupMenuType)));
                     }
                     break;
 
                 case "Gym_door":
-                    if (touchX >= studyOpt.x && touchX <= studyOpt.x + popupMenuWidth * zoom && touchY >= studyOpt.y && touchY <= studyOpt.y + popupMenuHeight * zoom) {
+                    if (_popupFirst.isClicked(touchX, touchY)) {
                         game.gameData.buttonClickedSoundActivate();
                         showMenu = true;
                         lockMovement = true;
@@ -712,7 +859,7 @@ public class MainGameScreen implements Screen, InputProcessor {
                     break;
 
                 case "Goodricke_door":
-                    if (touchX >= studyOpt.x && touchX <= studyOpt.x + popupMenuWidth * zoom && touchY >= studyOpt.y && touchY <= studyOpt.y + popupMenuHeight * zoom) {
+                    if (_popupFirst.isClicked(touchX, touchY)) {
                         game.gameData.buttonClickedSoundActivate();
                         showMenu = true;
                         lockMovement = true;
@@ -722,7 +869,7 @@ public class MainGameScreen implements Screen, InputProcessor {
                     break;
                 // Start of added code
                 case "Feed_ducks":
-                    if (touchX >= studyOpt.x && touchX <= studyOpt.x + popupMenuWidth * zoom && touchY >= studyOpt.y && touchY <= studyOpt.y + popupMenuHeight * zoom) {
+                    if (_popupFirst.isClicked(touchX, touchY)) {
                         game.gameData.buttonClickedSoundActivate();
                         showMenu = true;
                         lockMovement = true;
@@ -731,7 +878,7 @@ public class MainGameScreen implements Screen, InputProcessor {
                     }
                     break;
                 case "Visit_city":
-                    if (touchX >= studyOpt.x && touchX <= studyOpt.x + popupMenuWidth * zoom && touchY >= studyOpt.y && touchY <= studyOpt.y + popupMenuHeight * zoom) {
+                    if (_popupFirst.isClicked(touchX, touchY)) {
                         game.gameData.buttonClickedSoundActivate();
                         showMenu = true;
                         lockMovement = true;
@@ -741,6 +888,8 @@ public class MainGameScreen implements Screen, InputProcessor {
                     break;
                 // End of added code
             }
+            // Remember the door the menu was opened at, as the player may no longer be touching it when they choose
+            if (showMenu) activityPlace = Place.fromLayer(popupMenuType);
         }
 
         return true;
@@ -748,27 +897,30 @@ public class MainGameScreen implements Screen, InputProcessor {
 
     @Override
     public void resize(int i, int i1) {
-        initDimensions(); // Added code
+        widgets.invalidate();
     }
 
     @Override
     public void pause() {
-
+        paused = true;
     }
 
     @Override
     public void resume() {
-
+        paused = false;
     }
 
     @Override
     public void hide() {
-
+        widgets.release();
     }
 
     @Override
     public void dispose() {
-        shapeRenderer.dispose();
+        DisposableTracker.dispose(shapeRenderer);
+        gameMap.dispose();
+        duckTexture.dispose();
+        effects.dispose();
         menuButton.dispose();
         counterBackground.dispose();
         popupMenu.dispose();
@@ -779,11 +931,10 @@ public class MainGameScreen implements Screen, InputProcessor {
         menuStudyButton.dispose();
         menuSleepButton.dispose();
         menuGoButton.dispose();
-        energyBar.dispose();
+        for (Texture bar : energyBars) {
+            bar.dispose();
+        }
         player.dispose();
-        font.dispose();
-        popupFont.dispose();
-        durationFont.dispose();
     }
 
     // Start of added code
@@ -794,9 +945,19 @@ public class MainGameScreen implements Screen, InputProcessor {
             return true;
         }
 
+        // Slows the game down or fast-forwards it, for testing and demonstrations
+        if (DEV_KEYS && keycode == Input.Keys.LEFT_BRACKET) {
+            game.clock.slower();
+            return true;
+        }
+        if (DEV_KEYS && keycode == Input.Keys.RIGHT_BRACKET) {
+            game.clock.faster();
+            return true;
+        }
+
         if (keycode == Input.Keys.SLASH) {
-//            game.screenManager.setScreen(ScreenType.END_SCREEN, totalScore, dailyScore.getStreaks()); // Skip to the end screen
-            game.screenManager.setScreen(ScreenType.END_SCREEN, totalScore, "WaddleWare Representative\nProgrammer\nAthlete\nEarly Nights\nAll Rounder\nDaily Routine\n"); // Skip to the end screen
+//            game.screenManager.setScreen(ScreenType.END_SCREEN, state.getTotalScore(), state.getStreaks()); // Skip to the end screen
+            game.screenManager.setScreen(ScreenType.END_SCREEN, state.getTotalScore(), "WaddleWare Representative\nProgrammer\nAthlete\nEarly Nights\nAll Rounder\nDaily Routine\n"); // Skip to the end screen
             return true;
         }
         // End of added code
@@ -808,13 +969,14 @@ public class MainGameScreen implements Screen, InputProcessor {
      */
     // Start of added code
     private void skipDayAddScore() {
-        totalScore += 100;
-        dayNum++;
+        float endOfSkip = state.getTimeElapsed() + 10;
+        state.apply(Action.SKIP_DAY); // Also updates the game time, which checks for the last day
 
-        System.out.println("day: " + dayNum);
-        System.out.println("score: " + totalScore);
+        System.out.println("day: " + state.getDay());
+        System.out.println("score: " + state.getTotalScore());
 
-        updateGameTime(10); // Update game time. also checks for last day
+        shownDay++; // Skipping a day doesn't fade out, unless it also reaches midnight
+        checkDayEnded(endOfSkip);
     }
     // End of added code
 
@@ -830,6 +992,7 @@ public class MainGameScreen implements Screen, InputProcessor {
 
     @Override
     public boolean touchUp(int i, int i1, int i2, int i3) {
+        widgets.release();
         return false;
     }
 
@@ -844,8 +1007,8 @@ public class MainGameScreen implements Screen, InputProcessor {
     }
 
     @Override
-    public boolean mouseMoved(int i, int i1) {
-        return false;
+    public boolean mouseMoved(int screenX, int screenY) {
+        return widgets.mouseMoved(screenX, game.screenHeight - screenY);
     }
 
     @Override
@@ -6,7 +6,9 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.utils.ScreenUtils;
 import com.main.Main;
 import com.badlogic.gdx.InputProcessor;
+import com.main.utils.Button;
 import com.main.utils.ScreenType;
+import com.main.utils.WidgetTree;
 
 /**
  * The MainMenuScreen class represents the main menu screen for the game.
@@ -14,8 +16,20 @@ import com.main.utils.ScreenType;
  * such as starting the gameplay, viewing controls, adjusting settings, or exiting the game.
  */
 public class MainMenuScreen implements Screen, InputProcessor {
+    // The textures loaded when the screen is constructed, so they can be prefetched before it is shown
+    public static final String[] TEXTURES = {
+            "menu_gui/heslington_hustle_label.png",
+            "menu_gui/play_button.png",
+            "menu_gui/controls_button.png",
+            "menu_gui/settings_button.png",
+            "menu_gui/exit_button.png"
+    };
+
     final Main game; // Added code
 
+    final WidgetTree widgets;
+    final Button play, controls, settings, exit;
+
     Texture heslingtonHustleLabel, playButton, controlsButton, settingsButton, exitButton;
 
     int heslingtonHustleLabelHeight, playButtonHeight, controlsButtonHeight, settingsButtonHeight, exitButtonHeight;
@@ -23,7 +37,7 @@ public class MainMenuScreen implements Screen, InputProcessor {
 
     int x;
     float heslingtonHustleLabelX;
-    float heslingtonHustleLabelY, playButtonY, controlsButtonY, settingsButtonY, exitButtonY;
+    float heslingtonHustleLabelY;
 
     boolean exitFlag;
 
@@ -37,6 +51,19 @@ public class MainMenuScreen implements Screen, InputProcessor {
         this.game = game;
 
         loadTextures();
+
+        widgets = new WidgetTree(this::layout);
+        play = widgets.add(new Button());
+        controls = widgets.add(new Button());
+        settings = widgets.add(new Button());
+        exit = widgets.add(new Button());
+    }
+
+    /**
+     * Recalculates the size and position of every element on the screen.
+     * Run by the widget tree the first time the screen is drawn after a resize.
+     */
+    private void layout() {
         calculateDimensions();
         calculatePositions();
     }
@@ -45,11 +72,11 @@ public class MainMenuScreen implements Screen, InputProcessor {
      * Loads textures for UI elements from the assets directory.
      */
     private void loadTextures() {
-        heslingtonHustleLabel = new Texture("menu_gui/heslington_hustle_label.png");
-        playButton = new Texture("menu_gui/play_button.png");
-        controlsButton = new Texture("menu_gui/controls_button.png");
-        settingsButton = new Texture("menu_gui/settings_button.png");
-        exitButton = new Texture("menu_gui/exit_button.png");
+        heslingtonHustleLabel = game.assets.texture("menu_gui/heslington_hustle_label.png");
+        playButton = game.assets.texture("menu_gui/play_button.png");
+        controlsButton = game.assets.texture("menu_gui/controls_button.png");
+        settingsButton = game.assets.texture("menu_gui/settings_button.png");
+        exitButton = game.assets.texture("menu_gui/exit_button.png");
     }
 
     /**
@@ -75,30 +102,30 @@ public class MainMenuScreen implements Screen, InputProcessor {
         heslingtonHustleLabelX = (game.screenWidth - heslingtonHustleLabelWidth) / 2f;
         x = (int) ((game.screenWidth - playButtonWidth) / 2f); // this is to make sure the buttons are centered
         heslingtonHustleLabelY = game.screenHeight - heslingtonHustleLabelHeight * 1.25f;
-        playButtonY = game.screenHeight - playButtonHeight * 2.5f;
-        controlsButtonY = game.screenHeight - controlsButtonHeight * 3.75f;
-        settingsButtonY = game.screenHeight - settingsButtonHeight * 5f;
-        exitButtonY = game.screenHeight - exitButtonHeight * 6.25f;
+        play.init(x, game.screenHeight - playButtonHeight * 2.5f, playButtonWidth, playButtonHeight);
+        controls.init(x, game.screenHeight - controlsButtonHeight * 3.75f, controlsButtonWidth, controlsButtonHeight);
+        settings.init(x, game.screenHeight - settingsButtonHeight * 5f, settingsButtonWidth, settingsButtonHeight);
+        exit.init(x, game.screenHeight - exitButtonHeight * 6.25f, exitButtonWidth, exitButtonHeight);
     }
 
     @Override
     public void show() {
         game.batch.setProjectionMatrix(game.defaultCamera.combined);
-        Gdx.input.setInputProcessor(this);
+        game.inputRouter.setProcessor(this);
     }
 
     @Override
     public void render(float delta) {
         if (exitFlag) return;
+        widgets.validate();
         ScreenUtils.clear(0.3f, 0.55f, 0.7f, 1);
         game.batch.setProjectionMatrix(game.defaultCamera.combined);
-        game.batch.setProjectionMatrix(game.defaultCamera.combined);
         game.batch.begin();
         game.batch.draw(heslingtonHustleLabel, heslingtonHustleLabelX, heslingtonHustleLabelY, heslingtonHustleLabelWidth, heslingtonHustleLabelHeight);
-        game.batch.draw(playButton, x, playButtonY, playButtonWidth, playButtonHeight);
-        game.batch.draw(controlsButton, x, controlsButtonY, controlsButtonWidth, controlsButtonHeight);
-        game.batch.draw(settingsButton, x, settingsButtonY, settingsButtonWidth, settingsButtonHeight);
-        game.batch.draw(exitButton, x, exitButtonY, exitButtonWidth, exitButtonHeight);
+        widgets.draw(game.batch, playButton, play);
+        widgets.draw(game.batch, controlsButton, controls);
+        widgets.draw(game.batch, settingsButton, settings);
+        widgets.draw(game.batch, exitButton, exit);
         game.batch.end();
     }
 
@@ -119,28 +146,25 @@ public class MainMenuScreen implements Screen, InputProcessor {
 
     public boolean touchDown(int touchX, int touchY, int pointer, int button) {
         touchY = game.screenHeight - touchY;
+        Button clicked = widgets.touchDown(touchX, touchY);
 
-        if (touchX >= x && touchX <= x + playButtonWidth &&
-                touchY >= playButtonY && touchY <= playButtonY + playButtonHeight) {
+        if (clicked == play) {
             game.gameData.buttonClickedSoundActivate();
             game.screenManager.setScreen(ScreenType.GAME_SCREEN);
         }
-        else if (touchX >= x && touchX <= x + controlsButtonWidth &&
-                touchY >= controlsButtonY && touchY <= controlsButtonY + controlsButtonHeight) {
+        else if (clicked == controls) {
             game.gameData.buttonClickedSoundActivate();
             game.screenManager.setScreen(ScreenType.CONTROLS);
         }
-        else if (touchX >= x && touchX <= x + settingsButtonWidth &&
-                touchY >= settingsButtonY && touchY <= settingsButtonY + settingsButtonHeight) {
+        else if (clicked == settings) {
             game.gameData.buttonClickedSoundActivate();
             game.screenManager.setScreen(ScreenType.SETTINGS);
         }
-        else if (touchX >= x && touchX <= x + exitButtonWidth &&
-                touchY >= exitButtonY && touchY <= exitButtonY + exitButtonHeight) {
+        else if (clicked == exit) {
             game.gameData.buttonClickedSoundActivate();
             game.screenManager.clearMemory();
             exitFlag = true;
-            dispose();
+            // The screen is disposed with the rest of the game when the application exits
             Gdx.app.exit();
         }
         return true;
@@ -148,6 +172,7 @@ public class MainMenuScreen implements Screen, InputProcessor {
 
     @Override
     public boolean touchUp(int i, int i1, int i2, int i3) {
+        widgets.release();
         return false;
     }
 
@@ -162,8 +187,8 @@ public class MainMenuScreen implements Screen, InputProcessor {
     }
 
     @Override
-    public boolean mouseMoved(int i, int i1) {
-        return false;
+    public boolean mouseMoved(int screenX, int screenY) {
+        return widgets.mouseMoved(screenX, game.screenHeight - screenY);
     }
 
     @Override
@@ -173,8 +198,7 @@ public class MainMenuScreen implements Screen, InputProcessor {
 
     @Override
     public void resize(int width, int height) {
-        calculateDimensions();
-        calculatePositions();
+        widgets.invalidate();
     }
 
     @Override
@@ -189,6 +213,7 @@ public class MainMenuScreen implements Screen, InputProcessor {
 
     @Override
     public void hide() {
+        widgets.release();
     }
 
     @Override
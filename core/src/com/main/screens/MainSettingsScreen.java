@@ -1,28 +1,51 @@
 package com.main.screens;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.utils.ScreenUtils;
 import com.main.Main;
+import com.main.utils.Button;
 import com.main.utils.ScreenType;
+import com.main.utils.WidgetTree;
 
 /**
  * Represents the settings screen in the game, allowing players to adjust game settings like music and sound levels,
  * and the character's gender.
  */
 public class MainSettingsScreen implements Screen, InputProcessor {
+    // The textures loaded when the screen is constructed, so they can be prefetched before it is shown
+    public static final String[] TEXTURES = {
+            "settings_gui/back_button.png",
+            "settings_gui/settings_label.png",
+            "settings_gui/arrow_right_button.png",
+            "settings_gui/arrow_left_button.png",
+            "settings_gui/music_label.png",
+            "settings_gui/sound_label.png",
+            "settings_gui/bar_0.png",
+            "settings_gui/bar_25.png",
+            "settings_gui/bar_50.png",
+            "settings_gui/bar_75.png",
+            "settings_gui/bar_100.png",
+            "settings_gui/boy_button.png",
+            "settings_gui/boy_button_indented.png",
+            "settings_gui/girl_button.png",
+            "settings_gui/girl_button_indented.png"
+    };
+
     final Main game; // Added code
     boolean gender;
     private final Texture backButton, settingsLabel, musicUpButton, musicDownButton, musicLabel, soundUpButton, soundLabel, soundDownButton;
+    // Every state of the volume bars and gender buttons is loaded once; clicking only swaps which one is drawn
+    private final Texture[] bars;
+    private final Texture boyButtonPlain, boyButtonIndented, girlButtonPlain, girlButtonIndented;
     private Texture musicBar, soundBar, boyButton, girlButton;
-    // X and Y coordinates for each button and label
-    private float backButtonX, settingsLabelX, musicUpButtonX, musicDownButtonX, musicLabelX, musicBarX, soundUpButtonX, soundLabelX, soundDownButtonX,
-            soundBarX, boyButtonX, girlButtonX;
-    // Y coordinates for each button and label
-    private float backButtonY, settingsLabelY, musicUpButtonY, musicDownButtonY, musicLabelY, musicBarY, soundUpButtonY, soundLabelY, soundDownButtonY,
-            soundBarY, boyButtonY, girlButtonY;
+    private final WidgetTree widgets;
+    private final Button back, musicUp, musicDown, soundUp, soundDown, boy, girl;
+    // X and Y coordinates for each label
+    private float settingsLabelX, musicLabelX, musicBarX, soundLabelX, soundBarX;
+    // Y coordinates for each label
+    private float settingsLabelY, musicLabelY, musicBarY, soundLabelY, soundBarY;
     // Button and label dimensions
     private float backButtonWidth = 200, settingsLabelWidth = 500, musicUpButtonWidth = 75, musicDownButtonWidth = 75, musicLabelWidth = 200, musicBarWidth = 250,
             soundUpButtonWidth = 75, soundLabelWidth = 200, soundDownButtonWidth = 75, soundBarWidth = 250, boyButtonWidth = 150, girlButtonWidth = 150;
@@ -37,27 +60,45 @@ public class MainSettingsScreen implements Screen, InputProcessor {
         this.game = game;
         gender = game.gameData.getGender();
 
-        backButton = new Texture("settings_gui/back_button.png");
-        settingsLabel = new Texture("settings_gui/settings_label.png");
-        musicUpButton = new Texture("settings_gui/arrow_right_button.png");
-        musicDownButton = new Texture("settings_gui/arrow_left_button.png");
-        musicLabel = new Texture("settings_gui/music_label.png");
-        musicBar = new Texture("settings_gui/bar_" + 25 * game.gameData.getMusicLevel() +".png");
-        soundUpButton = new Texture("settings_gui/arrow_right_button.png");
-        soundLabel = new Texture("settings_gui/sound_label.png");
-        soundDownButton = new Texture("settings_gui/arrow_left_button.png");
-        soundBar = new Texture("settings_gui/bar_" + 25 * game.gameData.getSoundLevel() +".png");
-        if (gender) {
-            boyButton = new Texture("settings_gui/boy_button_indented.png");
-            girlButton = new Texture("settings_gui/girl_button.png");
-        }
-        else {
-            girlButton = new Texture("settings_gui/girl_button_indented.png");
-            boyButton = new Texture("settings_gui/boy_button.png");
+        backButton = game.assets.texture("settings_gui/back_button.png");
+        settingsLabel = game.assets.texture("settings_gui/settings_label.png");
+        musicUpButton = game.assets.texture("settings_gui/arrow_right_button.png");
+        musicDownButton = game.assets.texture("settings_gui/arrow_left_button.png");
+        musicLabel = game.assets.texture("settings_gui/music_label.png");
+        soundUpButton = musicUpButton;
+        soundLabel = game.assets.texture("settings_gui/sound_label.png");
+        soundDownButton = musicDownButton;
+
+        bars = new Texture[5];
+        for (int level = 0; level < bars.length; level++) {
+            bars[level] = game.assets.texture("settings_gui/bar_" + 25 * level + ".png");
         }
+        musicBar = bars[game.gameData.getMusicLevel()];
+        soundBar = bars[game.gameData.getSoundLevel()];
+
+        boyButtonPlain = game.assets.texture("settings_gui/boy_button.png");
+        boyButtonIndented = game.assets.texture("settings_gui/boy_button_indented.png");
+        girlButtonPlain = game.assets.texture("settings_gui/girl_button.png");
+        girlButtonIndented = game.assets.texture("settings_gui/girl_button_indented.png");
+        boyButton = gender ? boyButtonIndented : boyButtonPlain;
+        girlButton = gender ? girlButtonPlain : girlButtonIndented;
+
+        widgets = new WidgetTree(this::layout);
+        back = widgets.add(new Button());
+        musicUp = widgets.add(new Button());
+        musicDown = widgets.add(new Button());
+        soundUp = widgets.add(new Button());
+        soundDown = widgets.add(new Button());
+        boy = widgets.add(new Button());
+        girl = widgets.add(new Button());
+    }
 
+    /**
+     * Recalculates the size and position of every element on the screen.
+     * Run by the widget tree the first time the screen is drawn after a resize.
+     */
+    private void layout() {
         calculateDimensions();
-
         calculatePosition();
     }
 
@@ -90,54 +131,69 @@ public class MainSettingsScreen implements Screen, InputProcessor {
     }
 
     private void calculatePosition(){
-        backButtonX = (game.screenWidth - backButtonWidth) / 2;
-        backButtonY = (float) game.screenHeight / 6 - (100 * game.scaleFactorY);
+        back.init(
+                (game.screenWidth - backButtonWidth) / 2,
+                (float) game.screenHeight / 6 - (100 * game.scaleFactorY),
+                backButtonWidth, backButtonHeight);
         settingsLabelX = (game.screenWidth - settingsLabelWidth) / 2;
         settingsLabelY =  game.screenHeight - (settingsLabelHeight * 2);
-        musicUpButtonX = (game.screenWidth - musicUpButtonWidth) / 2 + (200 * game.scaleFactorX);
-        musicUpButtonY = game.screenHeight - musicUpButtonHeight - (350 * game.scaleFactorY);
-        musicDownButtonX = (game.screenWidth - musicUpButtonWidth) / 2 - (200 * game.scaleFactorX);
-        musicDownButtonY = game.screenHeight - musicUpButtonHeight - (350 * game.scaleFactorY);
+        musicUp.init(
+                (game.screenWidth - musicUpButtonWidth) / 2 + (200 * game.scaleFactorX),
+                game.screenHeight - musicUpButtonHeight - (350 * game.scaleFactorY),
+                musicUpButtonWidth, musicUpButtonHeight);
+        musicDown.init(
+                (game.screenWidth - musicUpButtonWidth) / 2 - (200 * game.scaleFactorX),
+                game.screenHeight - musicUpButtonHeight - (350 * game.scaleFactorY),
+                musicDownButtonWidth, musicDownButtonHeight);
         musicLabelX = (game.screenWidth - musicLabelWidth) / 2;
         musicLabelY = game.screenHeight - musicLabelHeight - (290 * game.scaleFactorY);
         musicBarX = (game.screenWidth - musicBarWidth) / 2;
         musicBarY = game.screenHeight - musicBarHeight - (375 * game.scaleFactorY);
-        soundUpButtonX = (game.screenWidth - soundUpButtonWidth) / 2 + (200 * game.scaleFactorX);
-        soundUpButtonY = game.screenHeight - soundUpButtonHeight - (530 * game.scaleFactorY);
+        soundUp.init(
+                (game.screenWidth - soundUpButtonWidth) / 2 + (200 * game.scaleFactorX),
+                game.screenHeight - soundUpButtonHeight - (530 * game.scaleFactorY),
+                soundUpButtonWidth, soundUpButtonHeight);
         soundLabelX = (game.screenWidth - soundLabelWidth) / 2;
         soundLabelY = game.screenHeight - soundLabelHeight - (470 * game.scaleFactorY);
-        soundDownButtonX = (game.screenWidth - soundDownButtonWidth) / 2 - (200 * game.scaleFactorX);
-        soundDownButtonY = game.screenHeight - soundDownButtonHeight - (530 * game.scaleFactorY);
+        soundDown.init(
+                (game.screenWidth - soundDownButtonWidth) / 2 - (200 * game.scaleFactorX),
+                game.screenHeight - soundDownButtonHeight - (530 * game.scaleFactorY),
+                soundDownButtonWidth, soundDownButtonHeight);
         soundBarX = (game.screenWidth - soundBarWidth) / 2;
         soundBarY = game.screenHeight - soundBarHeight - (555 * game.scaleFactorY);
-        boyButtonX = (game.screenWidth - boyButtonWidth) / 2 - (100 * game.scaleFactorX);
-        boyButtonY = game.screenHeight - boyButtonHeight - (650 * game.scaleFactorY);
-        girlButtonX = (game.screenWidth - boyButtonWidth) / 2 + (100 * game.scaleFactorX);
-        girlButtonY = game.screenHeight - boyButtonHeight - (650 * game.scaleFactorY);
+        boy.init(
+                (game.screenWidth - boyButtonWidth) / 2 - (100 * game.scaleFactorX),
+                game.screenHeight - boyButtonHeight - (650 * game.scaleFactorY),
+                boyButtonWidth, boyButtonHeight);
+        girl.init(
+                (game.screenWidth - boyButtonWidth) / 2 + (100 * game.scaleFactorX),
+                game.screenHeight - boyButtonHeight - (650 * game.scaleFactorY),
+                girlButtonWidth, girlButtonHeight);
     }
     @Override
     public void show() {
         game.batch.setProjectionMatrix(game.defaultCamera.combined);
-        Gdx.input.setInputProcessor(this);
+        game.inputRouter.setProcessor(this);
     }
 
     @Override
     public void render(float delta) {
+        widgets.validate();
         ScreenUtils.clear(0.3f, 0.55f, 0.7f, 1);
         game.batch.setProjectionMatrix(game.defaultCamera.combined);
         game.batch.begin();
-        game.batch.draw(backButton, backButtonX, backButtonY, backButtonWidth, backButtonHeight);
+        widgets.draw(game.batch, backButton, back);
         game.batch.draw(settingsLabel, settingsLabelX, settingsLabelY, settingsLabelWidth, settingsLabelHeight);
-        game.batch.draw(musicUpButton, musicUpButtonX, musicUpButtonY, musicUpButtonWidth, musicUpButtonHeight);
-        game.batch.draw(musicDownButton, musicDownButtonX, musicDownButtonY, musicDownButtonWidth, musicDownButtonHeight);
+        widgets.draw(game.batch, musicUpButton, musicUp);
+        widgets.draw(game.batch, musicDownButton, musicDown);
         game.batch.draw(musicLabel, musicLabelX, musicLabelY, musicLabelWidth, musicLabelHeight);
         game.batch.draw(musicBar, musicBarX, musicBarY, musicBarWidth, musicBarHeight);
-        game.batch.draw(soundUpButton, soundUpButtonX, soundUpButtonY, soundUpButtonWidth, soundUpButtonHeight);
+        widgets.draw(game.batch, soundUpButton, soundUp);
         game.batch.draw(soundLabel, soundLabelX, soundLabelY, soundLabelWidth, soundLabelHeight);
-        game.batch.draw(soundDownButton, soundDownButtonX, soundDownButtonY, soundDownButtonWidth, soundDownButtonHeight);
+        widgets.draw(game.batch, soundDownButton, soundDown);
         game.batch.draw(soundBar, soundBarX, soundBarY, soundBarWidth, soundBarHeight);
-        game.batch.draw(boyButton, boyButtonX, boyButtonY, boyButtonWidth, boyButtonHeight);
-        game.batch.draw(girlButton, girlButtonX, girlButtonY, girlButtonWidth, girlButtonHeight);
+        widgets.draw(game.batch, boyButton, boy);
+        widgets.draw(game.batch, girlButton, girl);
         game.batch.end();
     }
 
@@ -165,62 +221,48 @@ public class MainSettingsScreen implements Screen, InputProcessor {
     @Override
     public boolean touchDown(int worldX, int worldY, int pointer, int button) {
         worldY = game.screenHeight - worldY;
+        Button clicked = widgets.touchDown(worldX, worldY);
 
-        if (worldX >= backButtonX && worldX <= backButtonX + backButtonWidth &&
-                worldY >= backButtonY && worldY <= backButtonY + backButtonHeight) {
+        if (clicked == back) {
             game.gameData.buttonClickedSoundActivate();
             game.screenManager.setScreen(ScreenType.MAIN_MENU);
-        } else if (worldX >= musicUpButtonX && worldX <= musicUpButtonX + musicUpButtonWidth &&
-                worldY >= musicUpButtonY && worldY <= musicUpButtonY + musicUpButtonHeight) {
+        } else if (clicked == musicUp) {
             if (game.gameData.getMusicLevel() <= 3){
                 game.gameData.incrementMusicLevel();
                 game.gameData.upSoundActivate();
-                if (musicBar!=null) musicBar.dispose();
-                musicBar = new Texture("settings_gui/bar_" + 25 * game.gameData.getMusicLevel() +".png");
+                musicBar = bars[game.gameData.getMusicLevel()];
             }
-        } else if (worldX >= musicDownButtonX && worldX <= musicDownButtonX + musicDownButtonWidth &&
-                worldY >= musicDownButtonY && worldY <= musicDownButtonY + musicDownButtonHeight){
+        } else if (clicked == musicDown){
 
             if (game.gameData.getMusicLevel() >= 1){
                 game.gameData.decrementMusicLevel();
                 game.gameData.downSoundActivate();
-                if (musicBar!=null) musicBar.dispose();
-                musicBar = new Texture("settings_gui/bar_" + 25 * game.gameData.getMusicLevel() +".png");
+                musicBar = bars[game.gameData.getMusicLevel()];
             }
-        } else if (worldX >= soundUpButtonX && worldX <= soundUpButtonX + soundUpButtonWidth &&
-                worldY >= soundUpButtonY && worldY <= soundUpButtonY + soundUpButtonHeight) {
+        } else if (clicked == soundUp) {
 
             if (game.gameData.getSoundLevel() <= 3){
                 game.gameData.incrementSoundLevel();
                 game.gameData.upSoundActivate();
-                if (soundBar!=null) soundBar.dispose();
-                soundBar = new Texture("settings_gui/bar_" + 25 * game.gameData.getSoundLevel() +".png");
+                soundBar = bars[game.gameData.getSoundLevel()];
             }
-        } else if (worldX >= soundDownButtonX && worldX <= soundDownButtonX + soundDownButtonWidth &&
-                worldY >= soundDownButtonY && worldY <= soundDownButtonY + soundDownButtonHeight){
+        } else if (clicked == soundDown){
 
             if (game.gameData.getSoundLevel() >= 1){
                 game.gameData.decrementSoundLevel();
                 game.gameData.downSoundActivate();
-                if (soundBar!=null) soundBar.dispose();
-                soundBar = new Texture("settings_gui/bar_" + 25 *game.gameData.getSoundLevel()+".png");
+                soundBar = bars[game.gameData.getSoundLevel()];
             }
-        } else if (worldX >= boyButtonX && worldX <= boyButtonX + boyButtonWidth &&
-                worldY >= boyButtonY && worldY <= boyButtonY + boyButtonHeight){
+        } else if (clicked == boy){
             gender = true;
             game.gameData.buttonClickedSoundActivate();
-            if (boyButton!=null) boyButton.dispose();
-            if (girlButton!=null) girlButton.dispose();
-            boyButton = new Texture("settings_gui/boy_button_indented.png");
-            girlButton = new Texture("settings_gui/girl_button.png");
-        } else if (worldX >= girlButtonX && worldX <= girlButtonX + girlButtonWidth &&
-                worldY >= girlButtonY && worldY <= girlButtonY + girlButtonHeight){
+            boyButton = boyButtonIndented;
+            girlButton = girlButtonPlain;
+        } else if (clicked == girl){
             gender = false;
             game.gameData.buttonClickedSoundActivate();
-            if (boyButton!=null) boyButton.dispose();
-            if (girlButton!=null) girlButton.dispose();
-            girlButton = new Texture("settings_gui/girl_button_indented.png");
-            boyButton = new Texture("settings_gui/boy_button.png");
+            girlButton = girlButtonIndented;
+            boyButton = boyButtonPlain;
         }
 
         game.gameData.setGender(gender);
@@ -230,6 +272,7 @@ public class MainSettingsScreen implements Screen, InputProcessor {
 
     @Override
     public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+        widgets.release();
         return false;
     }
 
@@ -245,7 +288,7 @@ public class MainSettingsScreen implements Screen, InputProcessor {
 
     @Override
     public boolean mouseMoved(int screenX, int screenY) {
-        return false;
+        return widgets.mouseMoved(screenX, game.screenHeight - screenY);
     }
 
     @Override
@@ -255,8 +298,7 @@ public class MainSettingsScreen implements Screen, InputProcessor {
 
     @Override
     public void resize(int width, int height) {
-        calculateDimensions();
-        calculatePosition();
+        widgets.invalidate();
     }
 
     @Override
@@ -271,7 +313,7 @@ public class MainSettingsScreen implements Screen, InputProcessor {
 
     @Override
     public void hide() {
-
+        widgets.release();
     }
 
     @Override
@@ -281,12 +323,13 @@ public class MainSettingsScreen implements Screen, InputProcessor {
         musicUpButton.dispose();
         musicDownButton.dispose();
         musicLabel.dispose();
-        musicBar.dispose();
-        soundUpButton.dispose();
         soundLabel.dispose();
-        soundDownButton.dispose();
-        soundBar.dispose();
-        boyButton.dispose();
-        girlButton.dispose();
+        for (Texture bar : bars) {
+            bar.dispose();
+        }
+        boyButtonPlain.dispose();
+        boyButtonIndented.dispose();
+        girlButtonPlain.dispose();
+        girlButtonIndented.dispose();
     }
 }
@@ -1,38 +1,47 @@
 package com.main.screens;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.ScreenUtils;
-import com.badlogic.gdx.utils.Timer;
 import com.main.Main;
+import com.main.utils.Button;
+import com.main.utils.RandomService;
 import com.main.utils.ScreenType;
-
-import java.util.concurrent.ThreadLocalRandom;
+import com.main.utils.WidgetTree;
 
 /**
  * The TypingGame class implements a mini-game for the player to increase their study hours.
  * Players are shown a number that they need to memorize and then type it correctly to succeed.
  */
 public class TypingGame implements Screen, InputProcessor {
+    // The textures loaded when the screen is constructed, so they can be prefetched before it is shown
+    public static final String[] TEXTURES = {
+            "mini_games/guess_button.png",
+            "mini_games/number_memoriser_label.png"
+    };
+
     private final Main game;
     private final int studyDuration;
     private int attempts = 0;
     private int currentNumber = 0;
     private int correct = 0;
     private final Texture guessButton;
+    private final WidgetTree widgets;
+    private final Button guess;
     private String userGuess = "";
     Boolean acceptInput = false, displayCorrect = false, displayWrong = false;
-    final BitmapFont displayText; // Added code
+    BitmapFont displayText; // Added code
     private float displayTextY, displayTextHeight;
     private float gameObjectiveY;
-    private float guessButtonX, guessButtonY, guessButtonWidth, guessButtonHeight;
+    private float guessButtonWidth, guessButtonHeight;
     private final Texture title;
     private float titleX, titleY, titleWidth, titleHeight;
     final String gameObjective; // Added code
+    private Runnable afterDelay; // Run once the delay has passed, or null if there is no delay
+    private float delayLeft;
 
     /**
      * Constructs a TypingGame screen with the game instance and study duration.
@@ -42,14 +51,13 @@ public class TypingGame implements Screen, InputProcessor {
      */
     public TypingGame(Main game, int studyDuration){
         this.game = game;
-        displayText = new BitmapFont(Gdx.files.internal("font/WhitePeaberry.fnt"));
-        guessButton = new Texture("mini_games/guess_button.png");
-        title = new Texture("mini_games/number_memoriser_label.png");
+        guessButton = game.assets.texture("mini_games/guess_button.png");
+        title = game.assets.texture("mini_games/number_memoriser_label.png");
 
-        calculateDimensions();
-        calculatePositions();
+        widgets = new WidgetTree(this::layout);
+        guess = widgets.add(new Button());
 
-        Gdx.input.setInputProcessor(this);
+        game.inputRouter.setProcessor(this);
         this.studyDuration = studyDuration;
 
         gameObjective = "Remember the number given and try to input the number from memory";
@@ -58,11 +66,16 @@ public class TypingGame implements Screen, InputProcessor {
     }
 
     /**
-     * Begins a new challenge by generating a number for the player to memorize.
-     * Handles the logic for correct and incorrect guesses and progresses the game.
+     * Recalculates the size and position of every element on the screen.
+     * Run by the widget tree the first time the screen is drawn after a resize.
      */
+    private void layout() {
+        calculateDimensions();
+        calculatePositions();
+    }
+
     private void calculateDimensions(){
-        displayText.getData().setScale(3f * game.scaleFactorX, 3f * game.scaleFactorY);
+        displayText = game.fonts.get(3f * game.scaleFactorX, 3f * game.scaleFactorY);
         displayTextHeight = 100 * game.scaleFactorY;
         gameObjectiveY = game.screenHeight - 280 * game.scaleFactorY;
         guessButtonWidth = 156 * game.scaleFactorX;
@@ -73,8 +86,12 @@ public class TypingGame implements Screen, InputProcessor {
 
     private void calculatePositions(){
         displayTextY = game.screenHeight/2f - displayTextHeight;
-        guessButtonX = (game.screenWidth - guessButtonWidth)/2f;
-        guessButtonY = (game.screenHeight - guessButtonHeight)/2f - 300 * game.scaleFactorY;
+        guess.init(
+                (game.screenWidth - guessButtonWidth)/2f,
+                (game.screenHeight - guessButtonHeight)/2f - 300 * game.scaleFactorY,
+                guessButtonWidth,
+                guessButtonHeight
+        );
         titleX = (game.screenWidth - titleWidth)/2f;
         titleY = (game.screenHeight - titleHeight)/2f + 400 * game.scaleFactorY;
     }
@@ -104,17 +121,14 @@ public class TypingGame implements Screen, InputProcessor {
 
     /**
      * Implements a delay before executing a given runnable task.
+     * The delay is counted in game time as the screen is rendered, so a recorded session replays the same.
      *
      * @param seconds The delay in seconds before running the task.
      * @param runnable The task to execute after the delay.
      */
     public void delay(int seconds, Runnable runnable){
-        Timer.schedule(new Timer.Task() {
-            @Override
-            public void run() {
-                runnable.run();
-            }
-        }, seconds);
+        delayLeft = seconds;
+        afterDelay = runnable;
     }
   
 
@@ -125,6 +139,8 @@ public class TypingGame implements Screen, InputProcessor {
 
     @Override
     public void render(float delta) {
+        guess.setVisible(acceptInput);
+        widgets.validate();
         ScreenUtils.clear(0.3f, 0.55f, 0.7f, 1);
         game.batch.setProjectionMatrix(game.defaultCamera.combined);
         game.batch.begin();
@@ -132,7 +148,7 @@ public class TypingGame implements Screen, InputProcessor {
         displayText.draw(game.batch, gameObjective, 0, gameObjectiveY, game.screenWidth, Align.center, false);
         if (acceptInput){
             displayText.draw(game.batch, userGuess, 0, displayTextY, game.screenWidth, Align.center, false);
-            game.batch.draw(guessButton, guessButtonX, guessButtonY, guessButtonWidth, guessButtonHeight);
+            widgets.draw(game.batch, guessButton, guess);
         } else if (displayCorrect){
             displayText.draw(game.batch, "Correct well done.", 0, displayTextY, game.screenWidth, Align.center, false);
         } else if (displayWrong) {
@@ -141,6 +157,16 @@ public class TypingGame implements Screen, InputProcessor {
             displayText.draw(game.batch, String.valueOf(currentNumber), 0, displayTextY, game.screenWidth, Align.center, false);
         }
         game.batch.end();
+
+        // Last, as the task may change the screen
+        if (afterDelay != null) {
+            delayLeft -= delta;
+            if (delayLeft <= 0) {
+                Runnable task = afterDelay;
+                afterDelay = null;
+                task.run();
+            }
+        }
     }
 
     /**
@@ -152,15 +178,14 @@ public class TypingGame implements Screen, InputProcessor {
         int startingNumLength = 5;
         int startingNum = (int) (10*Math.pow(10, startingNumLength -1));
         int lowerLimit = (int) (startingNum*Math.pow(10, attempts-1));
-        int num = ThreadLocalRandom.current().nextInt(lowerLimit, lowerLimit*10-1);
+        int num = lowerLimit + game.random.get(RandomService.Stream.MINI_GAME).nextInt(lowerLimit*9-1);
         attempts++;
         return num;
     }
 
     @Override
     public void resize(int width, int height) {
-        calculateDimensions();
-        calculatePositions();
+        widgets.invalidate();
     }
 
     @Override
@@ -182,7 +207,6 @@ public class TypingGame implements Screen, InputProcessor {
     public void dispose() {
         guessButton.dispose();
         title.dispose();
-        displayText.dispose();
     }
 
     @Override
@@ -211,8 +235,7 @@ public class TypingGame implements Screen, InputProcessor {
     public boolean touchDown(int worldX, int worldY, int pointer, int button) {
         worldY = game.screenHeight - worldY;
 
-        if (worldX >= guessButtonX && worldX <= guessButtonX + guessButtonWidth &&
-                worldY >= guessButtonY && worldY <= guessButtonY + guessButtonHeight) {
+        if (widgets.touchDown(worldX, worldY) == guess) {
 
             if (!userGuess.isEmpty()){
                 acceptInput = false;
@@ -231,6 +254,7 @@ public class TypingGame implements Screen, InputProcessor {
 
     @Override
     public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+        widgets.release();
         return false;
     }
 
@@ -246,7 +270,7 @@ public class TypingGame implements Screen, InputProcessor {
 
     @Override
     public boolean mouseMoved(int screenX, int screenY) {
-        return false;
+        return widgets.mouseMoved(screenX, game.screenHeight - screenY);
     }
 
     @Override
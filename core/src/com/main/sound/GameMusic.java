@@ -2,6 +2,7 @@ package com.main.sound;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Music;
+import com.main.utils.DisposableTracker;
 
 /**
  * The GameMusic class manages game music, including playback and volume level adjustments.
@@ -18,7 +19,7 @@ public class GameMusic {
      * Constructor for GameMusic. Initializes and starts playing the game's background music at the maximum volume level.
      */
     public GameMusic() {
-        audio = Gdx.audio.newMusic(Gdx.files.internal("music_loop/Ludum Dare 30 - 01.ogg"));
+        audio = DisposableTracker.track(Gdx.audio.newMusic(Gdx.files.internal("music_loop/Ludum Dare 30 - 01.ogg")), "music_loop/Ludum Dare 30 - 01.ogg");
         audio.play();
         audio.setVolume(musicCap); // Set volume to 100%
         audio.setLooping(true);
@@ -54,4 +55,25 @@ public class GameMusic {
             audio.setVolume(floatingMusicLevel*25/100*musicCap);
         }
     }
+
+    /**
+     * Pauses the music playback.
+     */
+    public void pause() {
+        audio.pause();
+    }
+
+    /**
+     * Resumes the music playback from where it was paused.
+     */
+    public void resume() {
+        audio.play();
+    }
+
+    /**
+     * Stops the music and releases its audio.
+     */
+    public void dispose() {
+        DisposableTracker.dispose(audio);
+    }
 }
@@ -2,6 +2,7 @@ package com.main.sound;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Music;
+import com.main.utils.DisposableTracker;
 
 /**
  * Manages game sound effects including sound level adjustments and playing specific sounds.
@@ -18,10 +19,10 @@ public class GameSound {
      * Initializes sound effects by loading the audio files.
      */
     public GameSound(){
-        upSound = Gdx.audio.newMusic(Gdx.files.internal("sfx/high_note.mp3"));
-        downSound = Gdx.audio.newMusic(Gdx.files.internal("sfx/low_note.mp3"));
-        buttonClickedSound = Gdx.audio.newMusic(Gdx.files.internal("sfx/button_press.mp3"));
-        eatingSound = Gdx.audio.newMusic(Gdx.files.internal("sfx/eating_sound.wav"));
+        upSound = DisposableTracker.track(Gdx.audio.newMusic(Gdx.files.internal("sfx/high_note.mp3")), "sfx/high_note.mp3");
+        downSound = DisposableTracker.track(Gdx.audio.newMusic(Gdx.files.internal("sfx/low_note.mp3")), "sfx/low_note.mp3");
+        buttonClickedSound = DisposableTracker.track(Gdx.audio.newMusic(Gdx.files.internal("sfx/button_press.mp3")), "sfx/button_press.mp3");
+        eatingSound = DisposableTracker.track(Gdx.audio.newMusic(Gdx.files.internal("sfx/eating_sound.wav")), "sfx/eating_sound.wav");
     }
 
     /**
@@ -99,6 +100,16 @@ public class GameSound {
             buttonClickedSound.setVolume(floatingMusicLevel*25/100);
         }
     }
+
+    /**
+     * Releases the audio of every sound effect.
+     */
+    public void dispose() {
+        DisposableTracker.dispose(upSound);
+        DisposableTracker.dispose(downSound);
+        DisposableTracker.dispose(buttonClickedSound);
+        DisposableTracker.dispose(eatingSound);
+    }
 }
 
 
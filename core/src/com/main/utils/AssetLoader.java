@@ -0,0 +1,206 @@
+package com.main.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * The AssetLoader class creates the textures used by the screens, and can prepare them ahead of time.
+ * <p>
+ * Loading a texture has two costs: decoding the PNG into a {@link Pixmap}, and uploading the pixels to the GPU.
+ * {@link #prefetch(String...)} decodes the images on a background thread, and {@link #update()}, called once
+ * per frame, uploads at most one decoded image so that no single frame takes the whole cost. When a screen
+ * later asks for one of these textures through {@link #texture(String)} it is handed the uploaded texture
+ * straight away. Textures that were never prefetched are loaded synchronously, exactly as before.
+ * <p>
+ * Every texture returned is owned by the caller, which remains responsible for disposing it.
+ * The loader keeps a tally of the GPU memory taken by the textures created for each owner, such as a screen
+ * being constructed, so the screen manager can tell how much memory a cached screen is holding on to.
+ * The textures are recorded with the {@link DisposableTracker} and forget themselves when disposed.
+ */
+public class AssetLoader implements Disposable {
+    private final AsyncExecutor executor;
+    private final Map<String, AsyncResult<Pixmap>> decoding;
+    private final Queue<String> uploadOrder;
+    private final Map<String, Texture> ready;
+    private final Map<Object, Long> ownedBytes;
+    private Object owner;
+
+    /**
+     * Constructs a loader with a single background thread for decoding images.
+     */
+    public AssetLoader() {
+        this.executor = new AsyncExecutor(1, "AssetLoader");
+        this.decoding = new HashMap<>();
+        this.uploadOrder = new ArrayDeque<>();
+        this.ready = new HashMap<>();
+        this.ownedBytes = new HashMap<>();
+    }
+
+    /**
+     * Starts counting the textures created from now on towards the given owner.
+     *
+     * @param owner The owner of the textures, or null to stop counting.
+     */
+    public void setOwner(Object owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Returns the estimated GPU memory taken by the textures created for an owner.
+     *
+     * @param owner The owner of the textures.
+     * @return The estimated size of the owner's textures in bytes.
+     */
+    public long getOwnedBytes(Object owner) {
+        Long bytes = ownedBytes.get(owner);
+        return bytes == null ? 0 : bytes;
+    }
+
+    /**
+     * Forgets the tally for an owner once its textures have been disposed.
+     *
+     * @param owner The owner of the textures.
+     */
+    public void forgetOwner(Object owner) {
+        ownedBytes.remove(owner);
+    }
+
+    /**
+     * Starts decoding images on the background thread. Images that are already being decoded
+     * or are waiting to be used are skipped.
+     *
+     * @param paths The internal paths of the images to prepare.
+     */
+    public void prefetch(String... paths) {
+        for (String path : paths) {
+            if (decoding.containsKey(path) || ready.containsKey(path)) continue;
+            decoding.put(path, executor.submit(() -> new Pixmap(Gdx.files.internal(path))));
+            uploadOrder.add(path);
+        }
+    }
+
+    /**
+     * Uploads the oldest prefetched image to the GPU if it has finished decoding.
+     * Called once per frame, on the render thread.
+     */
+    public void update() {
+        String path = uploadOrder.peek();
+        if (path == null || !decoding.get(path).isDone()) return;
+        uploadOrder.remove();
+        ready.put(path, upload(decoding.remove(path)));
+    }
+
+    /**
+     * Returns a texture for the given image, using the prefetched copy if there is one.
+     * If the image is still being decoded this waits for it rather than decoding it a second time.
+     *
+     * @param path The internal path of the image.
+     * @return The texture, which the caller must dispose.
+     */
+    public Texture texture(String path) {
+        Texture texture = ready.remove(path);
+        if (texture == null) {
+            AsyncResult<Pixmap> pending = decoding.remove(path);
+            if (pending != null) {
+                uploadOrder.remove(path);
+                texture = upload(pending);
+            } else {
+                texture = new TrackedTexture(path);
+            }
+        }
+        if (owner != null) {
+            ownedBytes.put(owner, getOwnedBytes(owner) + estimateBytes(texture));
+        }
+        // Prefetched textures are recorded against the screen that takes them, not the one that was showing
+        return DisposableTracker.track(texture, path);
+    }
+
+    /**
+     * Estimates the GPU memory taken by a texture from its size and pixel format.
+     *
+     * @param texture The texture to measure.
+     * @return The estimated size of the texture in bytes.
+     */
+    public static long estimateBytes(Texture texture) {
+        Pixmap.Format format = texture.getTextureData().getFormat();
+        if (format == null) format = Pixmap.Format.RGBA8888;
+        int bytesPerPixel;
+        switch (format) {
+            case Alpha:
+            case Intensity:
+                bytesPerPixel = 1;
+                break;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444:
+                bytesPerPixel = 2;
+                break;
+            case RGB888:
+                bytesPerPixel = 3;
+                break;
+            default:
+                bytesPerPixel = 4;
+                break;
+        }
+        return (long) texture.getWidth() * texture.getHeight() * bytesPerPixel;
+    }
+
+    /**
+     * Creates a texture from a decoded image and releases the image.
+     *
+     * @param pending The result of decoding the image.
+     * @return The uploaded texture.
+     */
+    private static Texture upload(AsyncResult<Pixmap> pending) {
+        Pixmap pixmap = pending.get();
+        Texture texture = new TrackedTexture(pixmap);
+        pixmap.dispose();
+        return texture;
+    }
+
+    /**
+     * Stops the background thread and releases every image and texture that was prepared but never used.
+     */
+    @Override
+    public void dispose() {
+        executor.dispose();
+        for (AsyncResult<Pixmap> pending : decoding.values()) {
+            pending.get().dispose();
+        }
+        for (Texture texture : ready.values()) {
+            texture.dispose();
+        }
+        decoding.clear();
+        uploadOrder.clear();
+        ready.clear();
+        ownedBytes.clear();
+    }
+
+    /**
+     * A texture that removes itself from the {@link DisposableTracker} when it is disposed.
+     */
+    private static final class TrackedTexture extends Texture {
+        TrackedTexture(String internalPath) {
+            super(internalPath);
+        }
+
+        TrackedTexture(Pixmap pixmap) {
+            super(pixmap);
+        }
+
+        @Override
+        public void dispose() {
+            super.dispose();
+            DisposableTracker.untrack(this);
+        }
+    }
+}
@@ -10,6 +10,10 @@ public class Button {
     private float yCoord;
     private float width;
     private float height;
+    private ButtonGroup parent;
+    private boolean visible = true;
+    private boolean hovered;
+    private boolean pressed;
 
     /**
      * Constructs a Button at coordinates (0, 0) with a width and height of 0.
@@ -44,12 +48,71 @@ public class Button {
      * @return True if the click is within the button's bounds, otherwise False.
      */
     public boolean isClicked(int x, int y) {
+        return contains(x, y);
+    }
+
+    /**
+     * Checks if a point lies within the button's bounds.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     * @return True if the point is within the button's bounds, otherwise False.
+     */
+    public boolean contains(float x, float y) {
         return  x >= this.xCoord &&
                 y >= this.yCoord &&
                 x <= this.xCoord + this.width &&
                 y <= this.yCoord + this.height;
     }
 
+    /**
+     * Sets whether the button can be seen and clicked. A hidden button is skipped by hit-testing.
+     *
+     * @param visible True to show the button, False to hide it.
+     */
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+    }
+
+    /**
+     * Returns whether the button and every group containing it are visible.
+     *
+     * @return True if the button is shown on screen.
+     */
+    public boolean isShown() {
+        return visible && (parent == null || parent.isShown());
+    }
+
+    /**
+     * Returns whether the cursor is currently over the button.
+     *
+     * @return True if the button is hovered.
+     */
+    public boolean isHovered() {
+        return hovered;
+    }
+
+    /**
+     * Returns whether the button is currently held down.
+     *
+     * @return True if the button is pressed.
+     */
+    public boolean isPressed() {
+        return pressed;
+    }
+
+    void setHovered(boolean hovered) {
+        this.hovered = hovered;
+    }
+
+    void setPressed(boolean pressed) {
+        this.pressed = pressed;
+    }
+
+    void setParent(ButtonGroup parent) {
+        this.parent = parent;
+    }
+
     /**
      * Returns the x-coordinate of the button.
      * @return The button's x-coordinate.
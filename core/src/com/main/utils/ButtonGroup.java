@@ -0,0 +1,137 @@
+package com.main.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ButtonGroup class is a node in a {@link WidgetTree}. It holds buttons and nested groups so
+ * that whole panels, such as the activity duration menu, can be shown or hidden together.
+ * Its bounds are the union of the bounds of everything it contains and are recalculated
+ * whenever the tree's layout is updated.
+ */
+public class ButtonGroup {
+    private final List<Button> buttons;
+    private final List<ButtonGroup> groups;
+    private ButtonGroup parent;
+    private boolean visible = true;
+    private float xCoord, yCoord, width, height;
+
+    /**
+     * Constructs an empty, visible group.
+     */
+    public ButtonGroup() {
+        this.buttons = new ArrayList<>();
+        this.groups = new ArrayList<>();
+    }
+
+    /**
+     * Adds a button to this group. Buttons added later are drawn and hit-tested on top.
+     *
+     * @param button The button to add.
+     * @return The added button.
+     */
+    public Button add(Button button) {
+        button.setParent(this);
+        buttons.add(button);
+        return button;
+    }
+
+    /**
+     * Adds a nested group to this group.
+     *
+     * @param group The group to add.
+     * @return The added group.
+     */
+    public ButtonGroup add(ButtonGroup group) {
+        group.parent = this;
+        groups.add(group);
+        return group;
+    }
+
+    /**
+     * Sets whether the group, and so every button within it, can be seen and clicked.
+     *
+     * @param visible True to show the group, False to hide it.
+     */
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+    }
+
+    /**
+     * Returns whether this group and every group containing it are visible.
+     *
+     * @return True if the group is shown on screen.
+     */
+    public boolean isShown() {
+        return visible && (parent == null || parent.isShown());
+    }
+
+    /**
+     * Checks if a point lies within the bounds of the group.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     * @return True if the point is within the group's bounds, otherwise False.
+     */
+    public boolean contains(float x, float y) {
+        return x >= xCoord && y >= yCoord && x <= xCoord + width && y <= yCoord + height;
+    }
+
+    /**
+     * Adds every button in this group and its nested groups to the given list, in draw order.
+     *
+     * @param out The list to add the buttons to.
+     */
+    void collect(List<Button> out) {
+        out.addAll(buttons);
+        for (ButtonGroup group : groups) {
+            group.collect(out);
+        }
+    }
+
+    /**
+     * Recalculates the bounds of this group and its nested groups from the buttons they contain.
+     */
+    void updateBounds() {
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        for (Button button : buttons) {
+            minX = Math.min(minX, button.x());
+            minY = Math.min(minY, button.y());
+            maxX = Math.max(maxX, button.x() + button.width());
+            maxY = Math.max(maxY, button.y() + button.height());
+        }
+        for (ButtonGroup group : groups) {
+            group.updateBounds();
+            if (group.width == 0 && group.height == 0) continue;
+            minX = Math.min(minX, group.xCoord);
+            minY = Math.min(minY, group.yCoord);
+            maxX = Math.max(maxX, group.xCoord + group.width);
+            maxY = Math.max(maxY, group.yCoord + group.height);
+        }
+        if (minX > maxX) {
+            xCoord = yCoord = width = height = 0;
+        } else {
+            xCoord = minX;
+            yCoord = minY;
+            width = maxX - minX;
+            height = maxY - minY;
+        }
+    }
+
+    public float x() {
+        return xCoord;
+    }
+
+    public float y() {
+        return yCoord;
+    }
+
+    public float width() {
+        return width;
+    }
+
+    public float height() {
+        return height;
+    }
+}
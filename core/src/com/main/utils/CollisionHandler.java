@@ -53,6 +53,37 @@ public class CollisionHandler {
         }
     }
 
+    /**
+     * Detects whether any of the collision layers has a tile at a position.
+     *
+     * @param tileX The X-coordinate of the tile.
+     * @param tileY The Y-coordinate of the tile.
+     * @return True if the tile is blocked.
+     */
+    public boolean isBlocked(int tileX, int tileY){
+        for (int i = 0; i < collisionLayers.size(); i++) { // Indexed, as an iterator would be allocated
+            if (collisionLayers.get(i).getCell(tileX, tileY) != null) return true;
+        }
+        return false;
+    }
+
+    // The box that collides, relative to the bottom left corner of the object
+    public float getBoxOffsetX() {
+        return offSetX;
+    }
+
+    public float getBoxOffsetY() {
+        return offSetY;
+    }
+
+    public float getBoxWidth() {
+        return objWidth;
+    }
+
+    public float getBoxHeight() {
+        return objHeight;
+    }
+
     /**
      * Detects whether the object is touching a tile of a specific layer.
      *
@@ -222,6 +253,8 @@ public class CollisionHandler {
 
     /**
      * Continuously adjusts the position of the object from start to target, resolving any collisions along the way.
+     * This allocates the result and is kept for callers outside the game loop; the entity systems use
+     * {@link #adjustPos(float, float, float, float, float[], float[], int)}, which doesn't allocate.
      *
      * @param startX The starting X-coordinate.
      * @param startY The starting Y-coordinate.
@@ -230,19 +263,126 @@ public class CollisionHandler {
      * @return A Vector2 representing the final adjusted position after resolving all collisions.
      */
     public Vector2 adjustPos(float startX, float startY, float targX, float targY){
+        float[] resolvedX = new float[1], resolvedY = new float[1];
+        adjustPos(startX, startY, targX, targY, resolvedX, resolvedY, 0);
+        return new Vector2(resolvedX[0], resolvedY[0]);
+    }
+
+    /**
+     * Continuously adjusts the position of the object from start to target, resolving any collisions along the way,
+     * and writes the final position into arrays owned by the caller, such as the entity world's. Nothing is allocated
+     * and the handler isn't changed, so it can be called from several threads at once.
+     *
+     * @param startX The starting X-coordinate.
+     * @param startY The starting Y-coordinate.
+     * @param targX The target X-coordinate.
+     * @param targY The target Y-coordinate.
+     * @param outX The array to write the adjusted X-coordinate into.
+     * @param outY The array to write the adjusted Y-coordinate into.
+     * @param index Where in the arrays to write it.
+     */
+    public void adjustPos(float startX, float startY, float targX, float targY, float[] outX, float[] outY, int index){
         startX += offSetX; startY += offSetY; targX += offSetX; targY += offSetY;
-        Vector2 nextPos = adjustPosStep(startX, startY, targX, targY);
-        Vector2 newPos = null;
-        while (nextPos != null){
-            newPos = nextPos;
-            nextPos = adjustPosStep(startX, startY, nextPos.x, nextPos.y);
+        float x = targX, y = targY;
+        while (resolveStep(startX, startY, x, y, outX, outY, index)) {
+            x = outX[index];
+            y = outY[index];
+        }
+        outX[index] = x - offSetX;
+        outY[index] = y - offSetY;
+    }
+
+    /**
+     * Adjusts the position of the object for a single movement step, as {@link #adjustPosStep} does, without allocating.
+     *
+     * @return True if the step collided, and the adjusted position was written into the arrays.
+     */
+    private boolean resolveStep(float startX, float startY, float targX, float targY, float[] outX, float[] outY, int index){
+        int dir = getDirection(startX, startY, targX, targY);
+        int minTileX = Math.floorDiv((int) targX, tileWidth), maxTileX = Math.floorDiv((int) (targX + objWidth), tileWidth);
+        int minTileY = Math.floorDiv((int) targY, tileHeight), maxTileY = Math.floorDiv((int) (targY + objHeight), tileHeight);
+
+        // The first side hit, found as in getSideHit
+        int firstSide = -1;
+        float firstDepth = 0;
+        for (int i = minTileX; i <= maxTileX; i++) {
+            for (int j = minTileY; j <= maxTileY; j++) {
+                if (!isBlocked(i, j)) continue;
+                int side = collidingSide(startX, startY, i, j, dir);
+                if (side < 0) continue;
+                float depth = depth(side, startX, startY, i, j);
+                if ((firstSide < 0 || depth < firstDepth) && depth >= 0) {
+                    firstSide = side;
+                    firstDepth = depth;
+                }
+            }
         }
-        if (newPos != null){
-            newPos.x -= offSetX; newPos.y -= offSetY;
+
+        switch (firstSide) {
+            case 0:
+                outX[index] = targX;
+                outY[index] = startY - firstDepth + 1;
+                return true;
+            case 1:
+                outX[index] = targX;
+                outY[index] = startY + firstDepth - 1;
+                return true;
+            case 2:
+                outX[index] = startX - firstDepth + 1;
+                outY[index] = targY;
+                return true;
+            case 3:
+                outX[index] = startX + firstDepth - 1;
+                outY[index] = targY;
+                return true;
+            default:
+                return false;
         }
-        else {
-            newPos = new Vector2(targX - offSetX, targY - offSetY);
+    }
+
+    /**
+     * Determines the colliding side of a tile as {@link #collidingSide(Rectangle, Rectangle, int)} does, for the
+     * object's box at a position.
+     *
+     * @return The side, from 0 to 3, or -1 if the direction isn't a movement.
+     */
+    private int collidingSide(float objX, float objY, int tileX, int tileY, int dir){
+        switch (dir){
+            case 1:
+                return 0;
+            case 2:
+                return 1;
+            case 3:
+                return 2;
+            case 4:
+                return depth(0, objX, objY, tileX, tileY) > depth(2, objX, objY, tileX, tileY) ? 0 : 2;
+            case 5:
+                return depth(1, objX, objY, tileX, tileY) > depth(2, objX, objY, tileX, tileY) ? 1 : 2;
+            case 6:
+                return 3;
+            case 7:
+                return depth(0, objX, objY, tileX, tileY) > depth(3, objX, objY, tileX, tileY) ? 0 : 3;
+            case 8:
+                return depth(1, objX, objY, tileX, tileY) > depth(3, objX, objY, tileX, tileY) ? 1 : 3;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Works out how far the object's box at a position is from a side of a tile, negative if it overlaps it.
+     */
+    private float depth(int side, float objX, float objY, int tileX, int tileY){
+        float tileLeft = tileX * tileWidth, tileBottom = tileY * tileHeight;
+        switch (side){
+            case 0:
+                return objY - (tileBottom + tileHeight);
+            case 1:
+                return tileBottom - (objY + objHeight);
+            case 2:
+                return objX - (tileLeft + tileWidth);
+            default:
+                return tileLeft - (objX + objWidth);
         }
-        return newPos;
     }
 }
@@ -0,0 +1,178 @@
+package com.main.utils;
+
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The DisposableTracker class is a debug registry of every live native resource in the game, such as textures,
+ * fonts, shape renderers and music, recorded against the screen that owns it.
+ * <p>
+ * Tracking is off unless the game is started with {@code -Dheslington.trackDisposables=true} or a test
+ * enables it, and every method returns immediately while it is off. When it is on, the screen manager
+ * logs a summary of the live resources on each screen change, and logs a warning for anything still
+ * owned by a screen after that screen has been disposed.
+ */
+public final class DisposableTracker {
+    private static final Logger logger = Logger.getLogger(DisposableTracker.class.getName());
+    private static final Map<Disposable, Entry> live = new IdentityHashMap<>();
+    private static boolean enabled = Boolean.getBoolean("heslington.trackDisposables");
+    private static String owner = "Main";
+
+    /**
+     * A live resource and where it came from.
+     */
+    private static final class Entry {
+        final String description;
+        String owner;
+
+        Entry(String description, String owner) {
+            this.description = description;
+            this.owner = owner;
+        }
+    }
+
+    private DisposableTracker() {
+    }
+
+    /**
+     * Turns tracking on or off. Turning it off forgets every tracked resource.
+     *
+     * @param enabled True to track resources.
+     */
+    public static void setEnabled(boolean enabled) {
+        DisposableTracker.enabled = enabled;
+        if (!enabled) live.clear();
+    }
+
+    /**
+     * Returns whether resources are being tracked.
+     *
+     * @return True if tracking is on.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets the owner that resources tracked from now on are recorded against.
+     *
+     * @param owner The name of the owner, normally a screen type.
+     */
+    public static void setOwner(String owner) {
+        DisposableTracker.owner = owner;
+    }
+
+    /**
+     * Returns the owner that resources are currently recorded against.
+     *
+     * @return The name of the current owner.
+     */
+    public static String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Records a resource against the current owner.
+     *
+     * @param disposable The resource.
+     * @param description A short description of the resource, such as the file it was loaded from.
+     * @return The resource, so that it can be tracked where it is created.
+     */
+    public static <T extends Disposable> T track(T disposable, String description) {
+        return track(disposable, description, owner);
+    }
+
+    /**
+     * Records a resource against a specific owner.
+     *
+     * @param disposable The resource.
+     * @param description A short description of the resource.
+     * @param owner The name of the owner.
+     * @return The resource, so that it can be tracked where it is created.
+     */
+    public static <T extends Disposable> T track(T disposable, String description, String owner) {
+        if (enabled) live.put(disposable, new Entry(description, owner));
+        return disposable;
+    }
+
+    /**
+     * Forgets a resource that has been disposed.
+     *
+     * @param disposable The resource.
+     */
+    public static void untrack(Disposable disposable) {
+        if (enabled) live.remove(disposable);
+    }
+
+    /**
+     * Disposes a resource and forgets it.
+     *
+     * @param disposable The resource to dispose.
+     */
+    public static void dispose(Disposable disposable) {
+        disposable.dispose();
+        untrack(disposable);
+    }
+
+    /**
+     * Returns the number of tracked resources that have not been disposed.
+     *
+     * @return The number of live resources.
+     */
+    public static int getLiveCount() {
+        return live.size();
+    }
+
+    /**
+     * Returns the number of live resources recorded against an owner.
+     *
+     * @param owner The name of the owner.
+     * @return The number of the owner's live resources.
+     */
+    public static int getLiveCount(String owner) {
+        int count = 0;
+        for (Entry entry : live.values()) {
+            if (entry.owner.equals(owner)) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Logs the number of live resources held by each owner.
+     *
+     * @param event What has just happened, such as the screen that was switched to.
+     */
+    public static void report(String event) {
+        if (!enabled) return;
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Entry entry : live.values()) {
+            counts.merge(entry.owner, 1, Integer::sum);
+        }
+        logger.log(Level.INFO, "{0}: {1} live disposables {2}", new Object[] {event, live.size(), counts});
+    }
+
+    /**
+     * Logs a warning for every resource still recorded against an owner that should have released
+     * everything, such as a screen that has just been disposed. The leaked resources are moved to a
+     * separate owner so they are only reported once.
+     *
+     * @param owner The name of the owner.
+     * @return The number of leaked resources.
+     */
+    public static int checkReleased(String owner) {
+        if (!enabled) return 0;
+        int leaked = 0;
+        for (Entry entry : live.values()) {
+            if (!entry.owner.equals(owner)) continue;
+            logger.log(Level.WARNING, "{0} was not disposed by {1}", new Object[] {entry.description, owner});
+            entry.owner = owner + " (leaked)";
+            leaked++;
+        }
+        return leaked;
+    }
+}
@@ -0,0 +1,102 @@
+package com.main.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The FontCache class keeps a single copy of the Peaberry glyph page in memory and hands out
+ * fonts that are already baked to the size a screen asks for.
+ * <p>
+ * Screens used to load their own BitmapFont and call {@code font.getData().setScale(...)} whenever
+ * they needed a different size, which forced the glyphs to be re-laid out and mutated data that
+ * other draws depended on. Each size returned here has its own BitmapFontData with the scale applied
+ * once, so the scale becomes a choice of font at draw time rather than a change to shared state.
+ * Requested scales are snapped to {@link #SCALE_STEP} so that dragging the window reuses the same
+ * handful of sizes instead of baking a new font for every intermediate size.
+ */
+public class FontCache implements Disposable {
+    public static final String FONT_FILE = "font/WhitePeaberry.fnt";
+    public static final float SCALE_STEP = 0.125f;
+
+    private final FileHandle fontFile;
+    private final BitmapFont base;
+    private final Map<Long, BitmapFont> sizes;
+
+    /**
+     * Loads the Peaberry font and its glyph page once.
+     */
+    public FontCache() {
+        this.fontFile = Gdx.files.internal(FONT_FILE);
+        this.base = DisposableTracker.track(new BitmapFont(fontFile), FONT_FILE);
+        this.sizes = new HashMap<>();
+    }
+
+    /**
+     * Returns the unscaled font, sharing the glyph page with every other size in the cache.
+     *
+     * @return The font at scale 1.
+     */
+    public BitmapFont getBase() {
+        return base;
+    }
+
+    /**
+     * Returns a font baked to the given scale, creating it the first time that size is requested.
+     * The returned font must not be rescaled or disposed by the caller.
+     *
+     * @param scaleX The horizontal scale of the font.
+     * @param scaleY The vertical scale of the font.
+     * @return A font drawn at the requested scale.
+     */
+    public BitmapFont get(float scaleX, float scaleY) {
+        int stepsX = snap(scaleX);
+        int stepsY = snap(scaleY);
+        long key = ((long) stepsX << 32) | (stepsY & 0xffffffffL);
+
+        BitmapFont font = sizes.get(key);
+        if (font == null) {
+            BitmapFontData data = new BitmapFontData(fontFile, false);
+            data.setScale(stepsX * SCALE_STEP, stepsY * SCALE_STEP);
+            // Share the glyph page of the base font rather than uploading another copy of it
+            font = new BitmapFont(data, base.getRegion(), true);
+            sizes.put(key, font);
+        }
+        return font;
+    }
+
+    /**
+     * Returns a font baked to the same scale in both directions.
+     *
+     * @param scale The scale of the font.
+     * @return A font drawn at the requested scale.
+     */
+    public BitmapFont get(float scale) {
+        return get(scale, scale);
+    }
+
+    /**
+     * Converts a scale into a whole number of {@link #SCALE_STEP}s, never smaller than one step.
+     *
+     * @param scale The scale to snap.
+     * @return The number of steps closest to the scale.
+     */
+    private static int snap(float scale) {
+        return Math.max(1, Math.round(scale / SCALE_STEP));
+    }
+
+    /**
+     * Disposes the glyph page. The baked sizes only reference the page of the base font,
+     * so disposing the base font is enough to release it.
+     */
+    @Override
+    public void dispose() {
+        sizes.clear();
+        DisposableTracker.dispose(base);
+    }
+}
@@ -0,0 +1,103 @@
+package com.main.utils;
+
+/**
+ * The GameClock class turns the varying time between frames into a whole number of fixed-length ticks,
+ * so the game advances by exactly the same steps however fast the machine draws it. Recording how many
+ * ticks each frame ran is then enough to replay a session exactly.
+ * <p>
+ * Time that doesn't make up a whole tick is carried over to the next frame. After a long stall, such as
+ * loading a screen, at most {@link #MAX_TICKS_PER_FRAME} ticks are run and the rest of the time is dropped,
+ * rather than the game trying to catch up all at once.
+ * <p>
+ * The time scale slows the game down or fast-forwards it by changing how many ticks each frame runs, so the
+ * ticks themselves, and everything simulated in them, are the same at any speed. The most ticks a frame can
+ * run grows with the time scale. {@link #faster()} and {@link #slower()} step through a fixed list of speeds,
+ * so stepping up and back down always returns to normal speed.
+ */
+public class GameClock {
+    public static final int TICKS_PER_SECOND = 60;
+    public static final float STEP = 1f / TICKS_PER_SECOND; // Seconds of game time in each tick
+    public static final int MAX_TICKS_PER_FRAME = 10; // At normal speed
+    public static final float MIN_TIME_SCALE = 0.25f;
+    public static final float MAX_TIME_SCALE = 100f;
+    private static final float[] TIME_SCALES = {MIN_TIME_SCALE, 0.5f, 1, 2, 4, 8, 16, 32, 64, MAX_TIME_SCALE};
+
+    private float accumulator; // Time not yet run as ticks
+    private long tick;         // Ticks run since the clock was made
+    private float timeScale = 1;
+
+    /**
+     * Adds the time since the last frame and works out how many ticks to run for it.
+     *
+     * @param delta Seconds since the last frame.
+     * @return The number of ticks to run this frame, which may be 0.
+     */
+    public int advance(float delta) {
+        accumulator += Math.max(delta, 0) * timeScale;
+        int ticks = (int) (accumulator / STEP);
+        int maxTicks = (int) Math.ceil(MAX_TICKS_PER_FRAME * Math.max(timeScale, 1));
+        if (ticks > maxTicks) {
+            ticks = maxTicks;
+            accumulator = 0;
+        } else {
+            accumulator -= ticks * STEP;
+        }
+        return ticks;
+    }
+
+    /**
+     * Counts ticks once they have been run, whether they came from {@link #advance(float)} or a recording.
+     *
+     * @param ticks The number of ticks run.
+     */
+    public void count(int ticks) {
+        tick += ticks;
+    }
+
+    /**
+     * Sets how fast game time passes compared to real time.
+     *
+     * @param timeScale The time scale, such as 2 for double speed, clamped between {@link #MIN_TIME_SCALE}
+     *                  and {@link #MAX_TIME_SCALE}.
+     */
+    public void setTimeScale(float timeScale) {
+        this.timeScale = Math.max(MIN_TIME_SCALE, Math.min(timeScale, MAX_TIME_SCALE));
+    }
+
+    /**
+     * Speeds the game up to the next time scale in the list, unless it is already at the fastest.
+     */
+    public void faster() {
+        for (float scale : TIME_SCALES) {
+            if (scale > timeScale) {
+                timeScale = scale;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Slows the game down to the previous time scale in the list, unless it is already at the slowest.
+     */
+    public void slower() {
+        for (int i = TIME_SCALES.length - 1; i >= 0; i--) {
+            if (TIME_SCALES[i] < timeScale) {
+                timeScale = TIME_SCALES[i];
+                return;
+            }
+        }
+    }
+
+    public float getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * Returns the number of ticks run since the clock was made.
+     *
+     * @return The tick number.
+     */
+    public long getTick() {
+        return tick;
+    }
+}
@@ -68,6 +68,28 @@ public class GameData {
         music.decrementVolume();
     }
 
+    /**
+     * Pauses the background music, for example while the game is in the background.
+     */
+    public void pauseMusic() {
+        music.pause();
+    }
+
+    /**
+     * Resumes the background music from where it was paused.
+     */
+    public void resumeMusic() {
+        music.resume();
+    }
+
+    /**
+     * Releases the music and sound effects.
+     */
+    public void dispose() {
+        music.dispose();
+        sound.dispose();
+    }
+
     public void incrementSoundLevel(){ sound.incrementVolume(); }
 
     public void decrementSoundLevel(){ sound.decrementVolume(); }
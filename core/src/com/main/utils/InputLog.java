@@ -0,0 +1,187 @@
+package com.main.utils;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The InputLog class describes the binary format that sessions are recorded in by {@link InputRecorder},
+ * and reads it back.
+ * <p>
+ * A log starts with a header of the magic number, the format version and the session's random seed. After
+ * it comes a list of records, each a single byte giving its type followed by its values as variable-length
+ * integers, so a typical key press takes two or three bytes. The top bit of the type byte is set on input
+ * events that a filter on the {@link InputRouter} consumed, such as the one that woke the game up from idle,
+ * since those never reached the screen.
+ * <p>
+ * Frames are not timestamped. A {@link #FRAMES} record instead says how many frames in a row ran the same
+ * number of game ticks, so the tick of every event follows from the records before it, and an unbroken
+ * minute at 60 frames per second takes three bytes.
+ */
+public final class InputLog {
+    public static final int MAGIC = 0x48484C47; // "HHLG"
+    public static final int VERSION = 1;
+    public static final String EXTENSION = ".hhlog";
+
+    // The types of record, followed by the values each holds
+    public static final int FRAMES = 0;          // Frame count, ticks each frame ran
+    public static final int KEY_DOWN = 1;        // Key code
+    public static final int KEY_UP = 2;          // Key code
+    public static final int KEY_TYPED = 3;       // Character
+    public static final int TOUCH_DOWN = 4;      // X, y, pointer, button
+    public static final int TOUCH_UP = 5;        // X, y, pointer, button
+    public static final int TOUCH_CANCELLED = 6; // X, y, pointer, button
+    public static final int TOUCH_DRAGGED = 7;   // X, y, pointer
+    public static final int MOUSE_MOVED = 8;     // X, y
+    public static final int SCROLLED = 9;        // Bits of the x and y amounts as floats
+    public static final int RESIZE = 10;         // Width, height
+    public static final int SLEEP = 11;          // The power manager put the game to sleep
+    public static final int WAKE = 12;           // The power manager woke the game up
+    public static final int END = 13;            // The session ended normally
+    public static final int FILTERED = 0x80;     // Set on events a filter consumed
+    static final int MAX_VALUES = 4;
+
+    private InputLog() {
+    }
+
+    /**
+     * The Reader class reads the records of a log one at a time.
+     * <p>
+     * A log that stops part of the way through, as when the game crashed or the machine lost power, reads
+     * as if it had ended there, since those are the sessions most worth replaying.
+     */
+    public static class Reader {
+        private final InputStream in;
+        private final long seed;
+        private final int[] values;
+        private int type;
+        private boolean filtered;
+
+        /**
+         * Constructs a reader and reads the header of the log.
+         *
+         * @param in The stream to read the log from.
+         * @throws IOException If the stream can't be read or doesn't hold a log of this version.
+         */
+        public Reader(InputStream in) throws IOException {
+            this.in = new BufferedInputStream(in);
+            this.values = new int[MAX_VALUES];
+            int magic = 0;
+            for (int i = 0; i < 4; i++) magic = magic << 8 | readByte();
+            if (magic != MAGIC) throw new IOException("Not an input log");
+            int version = readByte();
+            if (version != VERSION) throw new IOException("Unsupported input log version " + version);
+            long seed = 0;
+            for (int i = 0; i < 8; i++) seed = seed << 8 | readByte();
+            this.seed = seed;
+        }
+
+        /**
+         * Reads the next record, whose type and values are then returned by the getters.
+         *
+         * @return True if a record was read, or false at the end of the log.
+         * @throws IOException If the stream can't be read or the record is not valid.
+         */
+        public boolean next() throws IOException {
+            int tag = in.read();
+            if (tag < 0) return false;
+            type = tag & ~FILTERED;
+            filtered = (tag & FILTERED) != 0;
+            if (type == END) return false;
+            int count = valueCount(type);
+            if (count < 0) throw new IOException("Unknown input log record " + type);
+            try {
+                for (int i = 0; i < count; i++) values[i] = readInt();
+            } catch (EOFException e) {
+                return false; // The session was cut off part of the way through the record
+            }
+            return true;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public int getType() {
+            return type;
+        }
+
+        /**
+         * Returns whether the record is an input event that a filter consumed before it reached the screen.
+         *
+         * @return True if the event was filtered.
+         */
+        public boolean isFiltered() {
+            return filtered;
+        }
+
+        /**
+         * Returns one of the values of the record, in the order listed with each type.
+         *
+         * @param index The index of the value.
+         * @return The value.
+         */
+        public int get(int index) {
+            return values[index];
+        }
+
+        /**
+         * Returns one of the values of a {@link #SCROLLED} record as the amount scrolled.
+         *
+         * @param index The index of the value.
+         * @return The amount.
+         */
+        public float getFloat(int index) {
+            return Float.intBitsToFloat(values[index]);
+        }
+
+        private int readByte() throws IOException {
+            int b = in.read();
+            if (b < 0) throw new EOFException();
+            return b;
+        }
+
+        private int readInt() throws IOException {
+            int result = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return (result >>> 1) ^ -(result & 1); // Undo the zigzag encoding
+            }
+            throw new IOException("Malformed input log value");
+        }
+    }
+
+    /**
+     * Returns how many values a type of record holds.
+     *
+     * @param type The type of record.
+     * @return The number of values, or -1 if the type is not known.
+     */
+    static int valueCount(int type) {
+        switch (type) {
+            case SLEEP:
+            case WAKE:
+            case END:
+                return 0;
+            case KEY_DOWN:
+            case KEY_UP:
+            case KEY_TYPED:
+                return 1;
+            case FRAMES:
+            case MOUSE_MOVED:
+            case SCROLLED:
+            case RESIZE:
+                return 2;
+            case TOUCH_DRAGGED:
+                return 3;
+            case TOUCH_DOWN:
+            case TOUCH_UP:
+            case TOUCH_CANCELLED:
+                return 4;
+            default:
+                return -1;
+        }
+    }
+}
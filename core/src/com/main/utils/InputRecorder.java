@@ -0,0 +1,238 @@
+package com.main.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The InputRecorder class writes a session to an {@link InputLog}: how many ticks each frame ran, every input
+ * event that reached the {@link InputRouter} and each time the game went to sleep or woke up. Together with
+ * the session's random seed this is everything the game's behaviour depends on, so replaying the log
+ * through the real screens plays the session out again exactly.
+ * <p>
+ * Writing a record costs a few bytes in a buffer, so the recorder can be left on in every session. The buffer
+ * is flushed every few seconds, so a log survives the game crashing with at most that much missing from
+ * the end. If the log can't be written the error is logged once and recording stops, but the game carries on.
+ */
+public class InputRecorder {
+    public static final String DIRECTORY = "recordings"; // Relative to the working directory
+    public static final int KEEP_SESSIONS = 20;           // The newest logs kept in the directory
+    private static final int FLUSH_FRAMES = 300;          // Frames between flushes of the buffer
+
+    private static final Logger logger = Logger.getLogger(InputRecorder.class.getName());
+
+    private OutputStream out;
+    private int runTicks, runFrames; // The frames not yet written, which all ran the same number of ticks
+    private int framesSinceFlush;
+
+    /**
+     * Constructs a recorder and writes the header of the log.
+     *
+     * @param out The stream to write the log to, which the recorder closes when it is closed.
+     * @param seed The session's random seed.
+     */
+    public InputRecorder(OutputStream out, long seed) {
+        this.out = new BufferedOutputStream(out);
+        try {
+            for (int shift = 24; shift >= 0; shift -= 8) this.out.write(InputLog.MAGIC >>> shift);
+            this.out.write(InputLog.VERSION);
+            for (int shift = 56; shift >= 0; shift -= 8) this.out.write((int) (seed >>> shift));
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Opens a new file to record this session into, deleting the oldest recordings so that no more than
+     * {@link #KEEP_SESSIONS} are kept.
+     *
+     * @return The stream to the file, or null if it couldn't be created.
+     */
+    public static OutputStream openSessionFile() {
+        File directory = new File(DIRECTORY);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            logger.warning("Can't create the recordings directory " + directory.getAbsolutePath());
+            return null;
+        }
+        File[] old = directory.listFiles((dir, name) -> name.endsWith(InputLog.EXTENSION));
+        if (old != null && old.length >= KEEP_SESSIONS) {
+            Arrays.sort(old, Comparator.comparingLong(File::lastModified));
+            for (int i = 0; i <= old.length - KEEP_SESSIONS; i++) {
+                if (!old[i].delete()) logger.warning("Can't delete the old recording " + old[i]);
+            }
+        }
+        File file = new File(directory, "session-" + System.currentTimeMillis() + InputLog.EXTENSION);
+        try {
+            return new FileOutputStream(file);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Can't create the recording " + file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Records a frame. Runs of frames that ran the same number of ticks are written as one record.
+     *
+     * @param ticks The number of ticks the frame ran.
+     */
+    public void frame(int ticks) {
+        if (out == null) return;
+        if (runFrames > 0 && ticks != runTicks) writeFrames();
+        runTicks = ticks;
+        runFrames++;
+        if (++framesSinceFlush >= FLUSH_FRAMES) {
+            framesSinceFlush = 0;
+            writeFrames();
+            try {
+                out.flush();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    /**
+     * Records an event with no values.
+     *
+     * @param type The type of record, from {@link InputLog}.
+     * @param filtered True if a filter consumed the event before it reached the screen.
+     */
+    public void record(int type, boolean filtered) {
+        begin(type, filtered, 0);
+    }
+
+    /**
+     * Records an event with one value.
+     *
+     * @param type The type of record, from {@link InputLog}.
+     * @param filtered True if a filter consumed the event before it reached the screen.
+     * @param a The value.
+     */
+    public void record(int type, boolean filtered, int a) {
+        if (!begin(type, filtered, 1)) return;
+        write(a);
+    }
+
+    /**
+     * Records an event with two values.
+     *
+     * @param type The type of record, from {@link InputLog}.
+     * @param filtered True if a filter consumed the event before it reached the screen.
+     * @param a The first value.
+     * @param b The second value.
+     */
+    public void record(int type, boolean filtered, int a, int b) {
+        if (!begin(type, filtered, 2)) return;
+        write(a);
+        write(b);
+    }
+
+    /**
+     * Records an event with three values.
+     *
+     * @param type The type of record, from {@link InputLog}.
+     * @param filtered True if a filter consumed the event before it reached the screen.
+     * @param a The first value.
+     * @param b The second value.
+     * @param c The third value.
+     */
+    public void record(int type, boolean filtered, int a, int b, int c) {
+        if (!begin(type, filtered, 3)) return;
+        write(a);
+        write(b);
+        write(c);
+    }
+
+    /**
+     * Records an event with four values.
+     *
+     * @param type The type of record, from {@link InputLog}.
+     * @param filtered True if a filter consumed the event before it reached the screen.
+     * @param a The first value.
+     * @param b The second value.
+     * @param c The third value.
+     * @param d The fourth value.
+     */
+    public void record(int type, boolean filtered, int a, int b, int c, int d) {
+        if (!begin(type, filtered, 4)) return;
+        write(a);
+        write(b);
+        write(c);
+        write(d);
+    }
+
+    /**
+     * Writes the end of the log and closes the stream.
+     */
+    public void close() {
+        if (out == null) return;
+        writeFrames();
+        try {
+            out.write(InputLog.END);
+            out.close();
+        } catch (IOException e) {
+            fail(e);
+        }
+        out = null;
+    }
+
+    /**
+     * Writes the frames before an event, then the event's type.
+     *
+     * @return False if the recorder has stopped.
+     */
+    private boolean begin(int type, boolean filtered, int valueCount) {
+        if (InputLog.valueCount(type) != valueCount || type == InputLog.FRAMES || type == InputLog.END) {
+            throw new IllegalArgumentException("Record " + type + " can't be written with " + valueCount + " values");
+        }
+        if (out == null) return false;
+        writeFrames();
+        writeByte(filtered ? type | InputLog.FILTERED : type);
+        return true;
+    }
+
+    private void writeFrames() {
+        if (runFrames == 0 || out == null) return;
+        writeByte(InputLog.FRAMES);
+        write(runFrames);
+        write(runTicks);
+        runFrames = 0;
+    }
+
+    /**
+     * Writes a value zigzag encoded, so small negative values are as short as small positive ones.
+     */
+    private void write(int value) {
+        int bits = (value << 1) ^ (value >> 31);
+        while ((bits & ~0x7F) != 0) {
+            writeByte((bits & 0x7F) | 0x80);
+            bits >>>= 7;
+        }
+        writeByte(bits);
+    }
+
+    private void writeByte(int b) {
+        if (out == null) return;
+        try {
+            out.write(b);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void fail(IOException e) {
+        logger.log(Level.WARNING, "Stopped recording input", e);
+        try {
+            if (out != null) out.close();
+        } catch (IOException ignored) {
+            // The stream is already broken
+        }
+        out = null;
+    }
+}
@@ -0,0 +1,183 @@
+package com.main.utils;
+
+import com.badlogic.gdx.InputProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The InputRouter class is installed as the game's only input processor and forwards every event to the
+ * processor of the current screen.
+ * <p>
+ * Game-wide services that need to see all input, whatever screen is showing, register themselves as filters.
+ * Filters receive each event first, in the order they were added; a filter that returns true consumes the
+ * event and it is not passed on to the screen.
+ * <p>
+ * If a recorder is set, every event is recorded as it arrives, marked with whether a filter consumed it, so
+ * a session can be replayed through the screens exactly.
+ */
+public class InputRouter implements InputProcessor {
+    private final List<InputProcessor> filters;
+    private InputProcessor processor;
+    private InputRecorder recorder;
+
+    /**
+     * Constructs a router with no filters and no screen processor.
+     */
+    public InputRouter() {
+        this.filters = new ArrayList<>();
+    }
+
+    /**
+     * Sets the processor that events are forwarded to, normally the current screen.
+     *
+     * @param processor The processor to receive events, or null to drop them.
+     */
+    public void setProcessor(InputProcessor processor) {
+        this.processor = processor;
+    }
+
+    /**
+     * Returns the processor that events are forwarded to.
+     *
+     * @return The current processor, or null if there is none.
+     */
+    public InputProcessor getProcessor() {
+        return processor;
+    }
+
+    /**
+     * Adds a filter that sees every event before the screen processor does.
+     *
+     * @param filter The filter to add.
+     */
+    public void addFilter(InputProcessor filter) {
+        filters.add(filter);
+    }
+
+    /**
+     * Sets the recorder that every event is recorded to.
+     *
+     * @param recorder The recorder, or null to stop recording.
+     */
+    public void setRecorder(InputRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public boolean keyDown(int keycode) {
+        boolean filtered = false;
+        for (InputProcessor filter : filters) {
+            if (filter.keyDown(keycode)) {
+                filtered = true;
+                break;
+            }
+        }
+        if (recorder != null) recorder.record(InputLog.KEY_DOWN, filtered, keycode);
+        return filtered || processor != null && processor.keyDown(keycode);
+    }
+
+    @Override
+    public boolean keyUp(int keycode) {
+        boolean filtered = false;
+        for (InputProcessor filter : filters) {
+            if (filter.keyUp(keycode)) {
+                filtered = true;
+                break;
+            }
+        }
+        if (recorder != null) recorder.record(InputLog.KEY_UP, filtered, keycode);
+        return filtered || processor != null && processor.keyUp(keycode);
+    }
+
+    @Override
+    public boolean keyTyped(char character) {
+        boolean filtered = false;
+        for (InputProcessor filter : filters) {
+            if (filter.keyTyped(character)) {
+                filtered = true;
+                break;
+            }
+        }
+        if (recorder != null) recorder.record(InputLog.KEY_TYPED, filtered, character);
+        return filtered || processor != null && processor.keyTyped(character);
+    }
+
+    @Override
+    public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        boolean filtered = false;
+        for (InputProcessor filter : filters) {
+            if (filter.touchDown(screenX, screenY, pointer, button)) {
+                filtered = true;
+                break;
+            }
+        }
+        if (recorder != null) recorder.record(InputLog.TOUCH_DOWN, filtered, screenX, screenY, pointer, button);
+        return filtered || processor != null && processor.touchDown(screenX, screenY, pointer, button);
+    }
+
+    @Override
+    public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+        boolean filtered = false;
+        for (InputProcessor filter : filters) {
+            if (filter.touchUp(screenX, screenY, pointer, button)) {
+                filtered = true;
+                break;
+            }
+        }
+        if (recorder != null) recorder.record(InputLog.TOUCH_UP, filtered, screenX, screenY, pointer, button);
+        return filtered || processor != null && processor.touchUp(screenX, screenY, pointer, button);
+    }
+
+    @Override
+    public boolean touchCancelled(int screenX, int screenY, int pointer, int button) {
+        boolean filtered = false;
+        for (InputProcessor filter : filters) {
+            if (filter.touchCancelled(screenX, screenY, pointer, button)) {
+                filtered = true;
+                break;
+            }
+        }
+        if (recorder != null) recorder.record(InputLog.TOUCH_CANCELLED, filtered, screenX, screenY, pointer, button);
+        return filtered || processor != null && processor.touchCancelled(screenX, screenY, pointer, button);
+    }
+
+    @Override
+    public boolean touchDragged(int screenX, int screenY, int pointer) {
+        boolean filtered = false;
+        for (InputProcessor filter : filters) {
+            if (filter.touchDragged(screenX, screenY, pointer)) {
+                filtered = true;
+                break;
+            }
+        }
+        if (recorder != null) recorder.record(InputLog.TOUCH_DRAGGED, filtered, screenX, screenY, pointer);
+        return filtered || processor != null && processor.touchDragged(screenX, screenY, pointer);
+    }
+
+    @Override
+    public boolean mouseMoved(int screenX, int screenY) {
+        boolean filtered = false;
+        for (InputProcessor filter : filters) {
+            if (filter.mouseMoved(screenX, screenY)) {
+                filtered = true;
+                break;
+            }
+        }
+        if (recorder != null) recorder.record(InputLog.MOUSE_MOVED, filtered, screenX, screenY);
+        return filtered || processor != null && processor.mouseMoved(screenX, screenY);
+    }
+
+    @Override
+    public boolean scrolled(float amountX, float amountY) {
+        boolean filtered = false;
+        for (InputProcessor filter : filters) {
+            if (filter.scrolled(amountX, amountY)) {
+                filtered = true;
+                break;
+            }
+        }
+        if (recorder != null) recorder.record(InputLog.SCROLLED, filtered, Float.floatToIntBits(amountX), Float.floatToIntBits(amountY));
+        return filtered || processor != null && processor.scrolled(amountX, amountY);
+    }
+}
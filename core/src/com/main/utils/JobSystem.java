@@ -0,0 +1,131 @@
+package com.main.utils;
+
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The JobSystem class spreads per-frame work, such as updating every entity, across the cores of the machine
+ * using a work-stealing {@link ForkJoinPool}.
+ * <p>
+ * Work is given as a range of indices which is cut into fixed-size batches. The batch boundaries depend only
+ * on the number of items and the batch size, never on the number of threads, and {@link #parallelFor} does not
+ * return until every batch has finished, so it acts as a barrier: once it returns, the caller can draw the
+ * results on the render thread. As long as a job only writes to the items in its own range, the results are
+ * the same whether it runs on one thread or many.
+ */
+public class JobSystem implements Disposable {
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * A piece of work over a range of indices.
+     */
+    public interface RangeJob {
+        /**
+         * Runs the job for the indices from start, inclusive, to end, exclusive.
+         *
+         * @param start The first index.
+         * @param end One past the last index.
+         */
+        void run(int start, int end);
+    }
+
+    /**
+     * Constructs a job system that leaves one core for the render thread, which also works while it waits.
+     */
+    public JobSystem() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    /**
+     * Constructs a job system with a given number of worker threads.
+     *
+     * @param threads The number of worker threads.
+     */
+    public JobSystem(int threads) {
+        this.pool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("JobSystem-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return The number of threads in the pool.
+     */
+    public int getThreads() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Runs a job over the indices from 0 to count in batches of the default size, and waits for it to finish.
+     *
+     * @param count The number of indices.
+     * @param job The job to run.
+     */
+    public void parallelFor(int count, RangeJob job) {
+        parallelFor(count, DEFAULT_BATCH_SIZE, job);
+    }
+
+    /**
+     * Runs a job over the indices from 0 to count in batches, and waits for every batch to finish.
+     * Work that fits in one batch is run straight away on the calling thread.
+     *
+     * @param count The number of indices.
+     * @param batchSize The number of indices in each batch.
+     * @param job The job to run.
+     */
+    public void parallelFor(int count, int batchSize, RangeJob job) {
+        if (count <= 0) return;
+        int batches = (count + batchSize - 1) / batchSize;
+        if (batches == 1) {
+            job.run(0, count);
+            return;
+        }
+        pool.invoke(new Batches(job, count, batchSize, 0, batches));
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    @Override
+    public void dispose() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * A run of batches that splits itself in half until it is a single batch, so that idle
+     * threads can steal the other halves.
+     */
+    private static final class Batches extends RecursiveAction {
+        private final RangeJob job;
+        private final int count, batchSize, firstBatch, endBatch;
+
+        Batches(RangeJob job, int count, int batchSize, int firstBatch, int endBatch) {
+            this.job = job;
+            this.count = count;
+            this.batchSize = batchSize;
+            this.firstBatch = firstBatch;
+            this.endBatch = endBatch;
+        }
+
+        @Override
+        protected void compute() {
+            if (endBatch - firstBatch == 1) {
+                int start = firstBatch * batchSize;
+                job.run(start, Math.min(start + batchSize, count));
+                return;
+            }
+            int middle = (firstBatch + endBatch) >>> 1;
+            invokeAll(new Batches(job, count, batchSize, firstBatch, middle),
+                    new Batches(job, count, batchSize, middle, endBatch));
+        }
+    }
+}
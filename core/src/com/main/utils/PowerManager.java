@@ -0,0 +1,224 @@
+package com.main.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.Timer;
+import com.main.Main;
+
+/**
+ * The PowerManager class throttles the game while nobody is playing it.
+ * <p>
+ * When the window loses focus or is minimised the game is put into the background: the frame rate drops to
+ * the background rate, the current screen is paused, which stops the game clock, and the music is paused.
+ * While minimised nothing is drawn at all, and rendering can also be suspended whenever the window is in
+ * the background. Separately, if no input arrives for the idle timeout the game enters a kiosk idle state
+ * with the same effect. The first input after that only wakes the game up, so a stray click cannot
+ * press a button on a screen the player has not looked at yet.
+ * <p>
+ * The manager sees every input event because it is registered as a filter on the {@link InputRouter}.
+ */
+public class PowerManager implements InputProcessor {
+    public static final int DEFAULT_FOREGROUND_FPS = 60;
+    public static final int DEFAULT_BACKGROUND_FPS = 10;
+    public static final float DEFAULT_IDLE_MINUTES = 5f;
+    private static final float IDLE_CHECK_INTERVAL = 1f; // Seconds between checks for the idle timeout
+
+    private final Main game;
+    private final Timer.Task idleCheck;
+    private int foregroundFps, backgroundFps;
+    private long idleTimeoutMillis;
+    private boolean suspendInBackground;
+    private boolean background, minimized, idle, asleep;
+    private long lastInputMillis;
+
+    /**
+     * Constructs a power manager with the default frame rates and idle timeout, and starts
+     * watching for the idle timeout.
+     *
+     * @param game The main game class instance.
+     */
+    public PowerManager(Main game) {
+        this.game = game;
+        this.foregroundFps = DEFAULT_FOREGROUND_FPS;
+        this.backgroundFps = DEFAULT_BACKGROUND_FPS;
+        this.idleTimeoutMillis = (long) (DEFAULT_IDLE_MINUTES * 60_000);
+        this.lastInputMillis = TimeUtils.millis();
+        this.idleCheck = new Timer.Task() {
+            @Override
+            public void run() {
+                if (!idle && TimeUtils.timeSinceMillis(lastInputMillis) >= idleTimeoutMillis) {
+                    idle = true;
+                    update();
+                }
+            }
+        };
+        Timer.schedule(idleCheck, IDLE_CHECK_INTERVAL, IDLE_CHECK_INTERVAL);
+    }
+
+    /**
+     * Sets the frame rate used while the game is being played.
+     *
+     * @param fps The foreground frame rate.
+     */
+    public void setForegroundFps(int fps) {
+        this.foregroundFps = fps;
+        update();
+    }
+
+    /**
+     * Sets the frame rate used while the window is in the background or the game is idle.
+     *
+     * @param fps The background frame rate.
+     */
+    public void setBackgroundFps(int fps) {
+        this.backgroundFps = fps;
+        update();
+    }
+
+    /**
+     * Sets how long the game waits without input before entering the idle state.
+     *
+     * @param minutes The idle timeout in minutes.
+     */
+    public void setIdleTimeout(float minutes) {
+        this.idleTimeoutMillis = (long) (minutes * 60_000);
+    }
+
+    /**
+     * Sets whether nothing is drawn while the window is in the background, instead of drawing at the
+     * background rate. Rendering is always suspended while the window is minimised.
+     *
+     * @param suspend True to stop rendering in the background.
+     */
+    public void setSuspendInBackground(boolean suspend) {
+        this.suspendInBackground = suspend;
+        update();
+    }
+
+    /**
+     * Called when the window loses or regains focus.
+     *
+     * @param background True if the window is in the background.
+     */
+    public void setBackground(boolean background) {
+        this.background = background;
+        update();
+    }
+
+    /**
+     * Called when the window is minimised or restored.
+     *
+     * @param minimized True if the window is minimised.
+     */
+    public void setMinimized(boolean minimized) {
+        this.minimized = minimized;
+        update();
+    }
+
+    /**
+     * Returns whether the game is currently throttled, either in the background or idle.
+     *
+     * @return True if the game is asleep.
+     */
+    public boolean isAsleep() {
+        return asleep;
+    }
+
+    /**
+     * Reapplies the frame rate and rendering mode for the current state, for example after the screen
+     * has changed and set its own rendering mode.
+     */
+    public void update() {
+        boolean sleep = background || minimized || idle;
+        if (sleep != asleep) {
+            asleep = sleep;
+            // Replaying the session pauses and resumes the screen at the same moments
+            if (game.recorder != null) game.recorder.record(asleep ? InputLog.SLEEP : InputLog.WAKE, false);
+            Screen screen = game.getScreen();
+            if (asleep) {
+                if (screen != null) screen.pause();
+                game.gameData.pauseMusic();
+            } else {
+                if (screen != null) screen.resume();
+                game.gameData.resumeMusic();
+            }
+        }
+
+        Gdx.graphics.setForegroundFPS(asleep ? backgroundFps : foregroundFps);
+        if (minimized || idle || (background && suspendInBackground)) {
+            Gdx.graphics.setContinuousRendering(false);
+        } else {
+            ScreenType screenType = game.screenManager.getCurrentScreenType();
+            Gdx.graphics.setContinuousRendering(screenType == null || screenType.isContinuousRendering()
+                    || game.screenManager.isTransitioning());
+            Gdx.graphics.requestRendering();
+        }
+    }
+
+    /**
+     * Records that input has arrived, waking the game up if it was idle.
+     *
+     * @return True if the game was idle, so the event only woke it and is consumed.
+     */
+    private boolean onInput() {
+        lastInputMillis = TimeUtils.millis();
+        if (!idle) return false;
+        idle = false;
+        update();
+        return true;
+    }
+
+    /**
+     * Stops watching for the idle timeout.
+     */
+    public void dispose() {
+        idleCheck.cancel();
+    }
+
+    @Override
+    public boolean keyDown(int keycode) {
+        return onInput();
+    }
+
+    @Override
+    public boolean keyUp(int keycode) {
+        return onInput();
+    }
+
+    @Override
+    public boolean keyTyped(char character) {
+        return onInput();
+    }
+
+    @Override
+    public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        return onInput();
+    }
+
+    @Override
+    public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+        return onInput();
+    }
+
+    @Override
+    public boolean touchCancelled(int screenX, int screenY, int pointer, int button) {
+        return onInput();
+    }
+
+    @Override
+    public boolean touchDragged(int screenX, int screenY, int pointer) {
+        return onInput();
+    }
+
+    @Override
+    public boolean mouseMoved(int screenX, int screenY) {
+        return onInput();
+    }
+
+    @Override
+    public boolean scrolled(float amountX, float amountY) {
+        return onInput();
+    }
+}
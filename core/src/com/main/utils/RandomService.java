@@ -0,0 +1,67 @@
+package com.main.utils;
+
+import java.util.SplittableRandom;
+
+/**
+ * The source of everything random in a session. Each part of the game draws from its own named stream, all
+ * split from the session's seed when the service is made, so how much one part draws never changes what
+ * another gets, and a session replayed from the same seed gets the same numbers everywhere.
+ * <p>
+ * The streams are only for the render thread. Work spread across threads should take its own stream from
+ * {@link #split(Stream)} for each piece of work before handing it out, which keeps the results the same
+ * however many threads run it.
+ */
+public class RandomService {
+
+    /**
+     * Enumerates the game's random streams. The streams are split in this order, so new ones go at the end
+     * to leave the others' numbers unchanged.
+     */
+    public enum Stream {
+        MINI_GAME, // The numbers to memorise
+        NPCS,      // How late and how fast each NPC is
+        PARTICLES  // The directions and speeds of particles
+    }
+
+    private final long seed;
+    private final SplittableRandom[] streams;
+
+    /**
+     * Constructs the streams for a session.
+     *
+     * @param seed The session's seed.
+     */
+    public RandomService(long seed) {
+        this.seed = seed;
+        SplittableRandom root = new SplittableRandom(seed);
+        Stream[] names = Stream.values();
+        this.streams = new SplittableRandom[names.length];
+        for (Stream name : names) {
+            streams[name.ordinal()] = root.split();
+        }
+    }
+
+    /**
+     * Returns a stream to draw from on the render thread.
+     *
+     * @param stream The name of the stream.
+     * @return The stream, which is the same object every time.
+     */
+    public SplittableRandom get(Stream stream) {
+        return streams[stream.ordinal()];
+    }
+
+    /**
+     * Splits a new, independent stream off a named one, for work on another thread.
+     *
+     * @param stream The name of the stream to split.
+     * @return The new stream.
+     */
+    public SplittableRandom split(Stream stream) {
+        return streams[stream.ordinal()].split();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
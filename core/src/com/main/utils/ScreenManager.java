@@ -1,22 +1,62 @@
 package com.main.utils;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ScreenUtils;
 import com.main.Main;
 import com.main.screens.*;
 
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * The ScreenManager class manages the game screens, including creation, switching,
  * and memory management of screens.
+ * <p>
+ * Screens that are likely to be shown next can be prewarmed, which decodes their textures in the background
+ * so that building the screen does not stall the frame. Switching screens crossfades from a snapshot
+ * of the outgoing screen, taken by rendering it once into a frame buffer with a delta of zero,
+ * so screens must not advance or change screen when rendered with no time elapsed.
+ * <p>
+ * Cacheable screens are not disposed when they are hidden but kept in a least-recently-used cache, so flicking
+ * between the menus reuses them instead of loading their textures again. The cache is only trimmed under
+ * memory pressure: when the estimated texture memory of the hidden screens exceeds the GPU budget, or when
+ * the used heap exceeds the heap limit, the screens that were shown longest ago are disposed first.
  */
-public class ScreenManager {
+public class ScreenManager implements Disposable {
+    private static final float TRANSITION_TIME = 0.25f; // Length of the crossfade in seconds
+    public static final long DEFAULT_GPU_BUDGET = 32L * 1024 * 1024; // Texture bytes the screen cache may hold
+    public static final float DEFAULT_HEAP_LIMIT = 0.8f; // Fraction of the maximum heap in use before trimming
+    private static final Logger logger = Logger.getLogger(ScreenManager.class.getName());
+
     private final Main game;
     private final Map<ScreenType, Screen> screensInMemory;
+    private final EnumSet<ScreenType> prewarmed;
+    private final LinkedHashMap<ScreenType, Screen> cache;
+    private final Matrix4 savedProjection;
     private Screen curScreen;
     private ScreenType curScreenType;
+    private boolean resizePending;
+    private int pendingWidth, pendingHeight;
+    private boolean transitionsEnabled;
+    private FrameBuffer outgoing;
+    private float transitionTime;
+    private long gpuBudget, cachedBytes;
+    private float heapLimit;
+    private int cacheHits, cacheMisses, cacheEvictions;
 
     /**
      * Initializes the ScreenManager with a reference to the main game class.
@@ -26,6 +66,14 @@ public class ScreenManager {
     public ScreenManager(Main game) {
         this.game = game;
         this.screensInMemory = new HashMap<>();
+        this.prewarmed = EnumSet.noneOf(ScreenType.class);
+        // Access order, so iteration starts from the least recently shown screen
+        this.cache = new LinkedHashMap<>(8, 0.75f, true);
+        this.gpuBudget = DEFAULT_GPU_BUDGET;
+        this.heapLimit = DEFAULT_HEAP_LIMIT;
+        this.savedProjection = new Matrix4();
+        // Frame buffers cannot be created without a real GL context
+        this.transitionsEnabled = Gdx.app.getType() != Application.ApplicationType.HeadlessDesktop;
     }
 
     /**
@@ -43,44 +91,320 @@ public class ScreenManager {
     }
 
     public void clearMemory() {
-        for (Screen screen : screensInMemory.values()) {
-            screen.dispose();
+        for (Map.Entry<ScreenType, Screen> entry : screensInMemory.entrySet()) {
+            release(entry.getKey(), entry.getValue());
         }
         screensInMemory.clear();
     }
 
+    /**
+     * Sets the memory budget of the screen cache.
+     *
+     * @param gpuBudget The estimated texture memory, in bytes, that hidden screens may hold.
+     * @param heapLimit The fraction of the maximum heap that may be in use before hidden screens are disposed.
+     */
+    public void setCacheBudget(long gpuBudget, float heapLimit) {
+        this.gpuBudget = gpuBudget;
+        this.heapLimit = heapLimit;
+        trimCache();
+    }
+
+    /**
+     * Returns the number of times a screen was shown from the cache.
+     *
+     * @return The number of cache hits.
+     */
+    public int getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * Returns the number of times a cacheable screen had to be created.
+     *
+     * @return The number of cache misses.
+     */
+    public int getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * Returns the number of hidden screens disposed to stay within the memory budget.
+     *
+     * @return The number of cache evictions.
+     */
+    public int getCacheEvictions() {
+        return cacheEvictions;
+    }
+
+    /**
+     * Returns the estimated texture memory held by the hidden screens in the cache.
+     *
+     * @return The size of the cached screens' textures in bytes.
+     */
+    public long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    /**
+     * Disposes the least recently shown screens in the cache until it is within its memory budget.
+     */
+    private void trimCache() {
+        Iterator<Map.Entry<ScreenType, Screen>> eldest = cache.entrySet().iterator();
+        while (eldest.hasNext() && (cachedBytes > gpuBudget || isHeapUnderPressure())) {
+            Map.Entry<ScreenType, Screen> entry = eldest.next();
+            eldest.remove();
+            cachedBytes -= game.assets.getOwnedBytes(entry.getKey());
+            release(entry.getKey(), entry.getValue());
+            cacheEvictions++;
+            logger.log(Level.INFO, "Evicted {0} from the screen cache", entry.getKey());
+        }
+    }
+
+    /**
+     * Checks whether the used heap exceeds the heap limit of the cache.
+     *
+     * @return True if hidden screens should be disposed to free memory.
+     */
+    private boolean isHeapUnderPressure() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return used > heapLimit * runtime.maxMemory();
+    }
+
+    /**
+     * Disposes a screen and forgets the memory its textures were taking.
+     * In debug mode, anything the screen created and did not dispose is reported as a leak.
+     *
+     * @param screenType The type of the screen.
+     * @param screen The screen to dispose.
+     */
+    private void release(ScreenType screenType, Screen screen) {
+        screen.dispose();
+        game.assets.forgetOwner(screenType);
+        DisposableTracker.checkReleased(screenType.name());
+    }
+
     /**
      * Sets the current screen of the game. If the screen is stored in memory, it uses it; otherwise, it creates a new screen.
      *
      * @param screenType The type of the screen to display.
      */
     public void setScreen(ScreenType screenType, Object... args) {
-        Gdx.input.setInputProcessor(null);
+        game.inputRouter.setProcessor(null);
+        if (curScreen != null && transitionsEnabled) {
+            captureOutgoing();
+        }
         if (curScreen != null && !screensInMemory.containsKey(curScreenType)){
-            curScreen.dispose();
+            if (curScreenType.isCacheable()) {
+                cache.put(curScreenType, curScreen);
+                cachedBytes += game.assets.getOwnedBytes(curScreenType);
+            }
+            else {
+                release(curScreenType, curScreen);
+            }
         }
+        // Anything the new screen loads while it is showing belongs to it
+        DisposableTracker.setOwner(screenType.name());
         if (screensInMemory.containsKey(screenType)) {
             curScreen = screensInMemory.get(screenType);
         }
+        else if (cache.containsKey(screenType)) {
+            curScreen = cache.remove(screenType);
+            cachedBytes -= game.assets.getOwnedBytes(screenType);
+            cacheHits++;
+        }
         else {
+            if (screenType.isCacheable()) cacheMisses++;
             curScreen = createScreen(screenType, args);
         }
         curScreenType = screenType;
+        // The new screen is laid out for the current window size when it is shown
+        resizePending = false;
         game.setScreen(curScreen);
+        trimCache();
+        prewarmLikelyNext(screenType);
+        logger.log(Level.FINE, "Screen cache: {0} hits, {1} misses, {2} evictions, {3} bytes held",
+                new Object[] {cacheHits, cacheMisses, cacheEvictions, cachedBytes});
+        DisposableTracker.report("Switched to " + screenType);
+
+        // Static screens are only redrawn when input, a resize or an animation requests a frame,
+        // unless the game is asleep, in which case the power manager keeps rendering throttled
+        game.power.update();
     }
 
     /**
-     * Handles the resizing of the current screen and all screens held in memory.
-     * This method is called whenever the window size changes and ensures that
-     * the screen elements and layouts are adjusted accordingly across all screens.
+     * Starts preparing the textures of a screen that is likely to be shown soon. Cheap to call every frame:
+     * a screen is only prefetched once until it is next created. Screens kept in memory or in the cache are skipped.
+     *
+     * @param screenType The type of the screen to prepare.
+     */
+    public void prewarm(ScreenType screenType) {
+        if (screensInMemory.containsKey(screenType) || cache.containsKey(screenType)) return;
+        if (!prewarmed.add(screenType)) return;
+        game.assets.prefetch(texturesFor(screenType));
+    }
+
+    /**
+     * Prewarms the screens that can be reached from a menu screen in one click.
+     * Predictions that depend on the state of the game are made by the game screen itself.
+     *
+     * @param screenType The type of the screen that has just been shown.
+     */
+    private void prewarmLikelyNext(ScreenType screenType) {
+        switch (screenType) {
+            case MAIN_MENU:
+                prewarm(ScreenType.SETTINGS);
+                prewarm(ScreenType.CONTROLS);
+                break;
+            case SETTINGS:
+            case CONTROLS:
+            case END_SCREEN:
+                prewarm(ScreenType.MAIN_MENU);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Returns the textures a screen loads when it is constructed.
+     *
+     * @param screenType The type of the screen.
+     * @return The internal paths of the screen's textures.
+     */
+    private static String[] texturesFor(ScreenType screenType) {
+        switch (screenType) {
+            case MAIN_MENU:
+                return MainMenuScreen.TEXTURES;
+            case SETTINGS:
+                return MainSettingsScreen.TEXTURES;
+            case CONTROLS:
+                return MainControlScreen.TEXTURES;
+            case MINI_GAME:
+                return TypingGame.TEXTURES;
+            case END_SCREEN:
+                return EndScreen.TEXTURES;
+            default:
+                return new String[0];
+        }
+    }
+
+    /**
+     * Sets whether switching screens crossfades between them. Transitions are disabled when running headless.
+     *
+     * @param enabled True to crossfade between screens.
+     */
+    public void setTransitionsEnabled(boolean enabled) {
+        this.transitionsEnabled = enabled;
+    }
+
+    /**
+     * Returns whether a crossfade is currently being drawn.
+     *
+     * @return True while the previous screen is fading out.
+     */
+    public boolean isTransitioning() {
+        return transitionTime > 0;
+    }
+
+    /**
+     * Renders the current screen, before it is replaced, into the frame buffer the crossfade is drawn from.
+     * A {@link SimulatedScreen} is only drawn, as it may be replaced part-way through one of its updates.
+     */
+    private void captureOutgoing() {
+        int width = Gdx.graphics.getBackBufferWidth();
+        int height = Gdx.graphics.getBackBufferHeight();
+        if (width == 0 || height == 0) return;
+        if (outgoing == null || outgoing.getWidth() != width || outgoing.getHeight() != height) {
+            if (outgoing != null) DisposableTracker.dispose(outgoing);
+            outgoing = DisposableTracker.track(new FrameBuffer(Pixmap.Format.RGB888, width, height, false),
+                    "Transition frame buffer", "Main");
+        }
+        outgoing.begin();
+        ScreenUtils.clear(0, 0, 0, 1);
+        if (curScreen instanceof SimulatedScreen) ((SimulatedScreen) curScreen).draw();
+        else curScreen.render(0);
+        outgoing.end();
+        transitionTime = TRANSITION_TIME;
+    }
+
+    /**
+     * Draws the previous screen over the current one, fading it out. Called once per frame,
+     * after the current screen has been rendered.
+     *
+     * @param delta The time elapsed since the last frame.
+     */
+    public void renderTransition(float delta) {
+        if (transitionTime <= 0) return;
+        transitionTime -= delta;
+
+        Batch batch = game.batch;
+        savedProjection.set(batch.getProjectionMatrix());
+        batch.setProjectionMatrix(game.defaultCamera.combined);
+        batch.begin();
+        batch.setColor(1, 1, 1, Math.max(0, transitionTime / TRANSITION_TIME));
+        // Frame buffer textures are stored bottom row first, so the texture is drawn flipped vertically
+        Texture snapshot = outgoing.getColorBufferTexture();
+        batch.draw(snapshot, 0, 0, game.screenWidth, game.screenHeight, 0, 0, 1, 1);
+        batch.setColor(Color.WHITE);
+        batch.end();
+        batch.setProjectionMatrix(savedProjection);
+
+        // The transition no longer forces continuous rendering once it has finished
+        if (transitionTime <= 0) game.power.update();
+    }
+
+    /**
+     * Returns the type of the screen currently being displayed.
+     *
+     * @return The current screen type, or null if no screen has been set yet.
+     */
+    public ScreenType getCurrentScreenType() {
+        return curScreenType;
+    }
+
+    /**
+     * Records that the window has been resized. Nothing is laid out here: while the window is being
+     * dragged this is called for every intermediate size, so only the latest size is kept and it is
+     * applied to the current screen by {@link #applyPendingResize()} before the next frame is drawn.
+     * Screens held in memory are laid out for the window size when they are next shown.
      *
      * @param width The new width of the window.
      * @param height The new height of the window.
      */
     public void resize(int width, int height) {
-        curScreen.resize(width, height);
-        for (Screen screen : screensInMemory.values()) {
-            screen.resize(width, height);
+        pendingWidth = width;
+        pendingHeight = height;
+        resizePending = true;
+    }
+
+    /**
+     * Passes the most recent window size to the current screen, if it has changed since the last frame.
+     * Called once per frame, before the current screen is rendered.
+     */
+    public void applyPendingResize() {
+        if (!resizePending || curScreen == null) return;
+        resizePending = false;
+        curScreen.resize(pendingWidth, pendingHeight);
+    }
+
+    /**
+     * Creates a screen, counting the textures it loads towards its memory estimate.
+     *
+     * @param type The type of the screen to create.
+     * @return The created screen.
+     */
+    private Screen createScreen(ScreenType type, Object... args) {
+        // The prefetched textures are used up by the new screen, so it can be prewarmed again for its next visit
+        prewarmed.remove(type);
+        String previousOwner = DisposableTracker.getOwner();
+        DisposableTracker.setOwner(type.name());
+        game.assets.setOwner(type);
+        try {
+            return instantiate(type, args);
+        } finally {
+            game.assets.setOwner(null);
+            DisposableTracker.setOwner(previousOwner);
         }
     }
 
@@ -88,9 +412,9 @@ public class ScreenManager {
      * Creates a screen based on the given screen type. This method defines how each screen type is instantiated.
      *
      * @param type The type of the screen to create.
-     * @return The created screen, or null if the type is unknown.
+     * @return The created screen.
      */
-    private Screen createScreen(ScreenType type, Object... args) {
+    private Screen instantiate(ScreenType type, Object... args) {
         switch (type) {
             case MAIN_MENU:
                 return new MainMenuScreen(game);
@@ -108,4 +432,25 @@ public class ScreenManager {
                 throw new IllegalArgumentException("Unknown screen type: " + type); // Added code
         }
     }
+
+    /**
+     * Disposes the current screen, every screen held in memory or in the cache, and the frame buffer
+     * used for transitions.
+     */
+    @Override
+    public void dispose() {
+        if (curScreen != null) {
+            curScreen.hide();
+            if (!screensInMemory.containsKey(curScreenType)) release(curScreenType, curScreen);
+            curScreen = null;
+        }
+        clearMemory();
+        for (Map.Entry<ScreenType, Screen> entry : cache.entrySet()) {
+            release(entry.getKey(), entry.getValue());
+        }
+        cache.clear();
+        cachedBytes = 0;
+        if (outgoing != null) DisposableTracker.dispose(outgoing);
+        outgoing = null;
+    }
 }
@@ -2,12 +2,42 @@ package com.main.utils;
 
 /**
  * Enumerates the types of screens used in the game. This allows for easy identification and switching between different game screens.
+ * Each type also states whether its screen has to be redrawn every frame. Static screens are only redrawn when
+ * something changes (input, a resize or an animation requesting a frame), letting an idle kiosk sit on them at
+ * almost no CPU or GPU cost. Screens that are built without any arguments can be kept in the screen cache
+ * when they are hidden, so that going back to them does not load their textures again.
  */
 public enum ScreenType {
-    MAIN_MENU,
-    GAME_SCREEN,
-    SETTINGS,
-    CONTROLS,
-    MINI_GAME,
-    END_SCREEN
+    MAIN_MENU(false, true),
+    GAME_SCREEN(true, false),
+    SETTINGS(false, true),
+    CONTROLS(false, true),
+    MINI_GAME(true, false),
+    END_SCREEN(false, false);
+
+    private final boolean continuousRendering;
+    private final boolean cacheable;
+
+    ScreenType(boolean continuousRendering, boolean cacheable) {
+        this.continuousRendering = continuousRendering;
+        this.cacheable = cacheable;
+    }
+
+    /**
+     * Returns whether screens of this type need to be rendered every frame.
+     *
+     * @return True if the screen animates continuously, False if it only needs to be drawn on demand.
+     */
+    public boolean isContinuousRendering() {
+        return continuousRendering;
+    }
+
+    /**
+     * Returns whether screens of this type can be reused after they have been hidden.
+     *
+     * @return True if the screen can be kept in the screen cache.
+     */
+    public boolean isCacheable() {
+        return cacheable;
+    }
 }
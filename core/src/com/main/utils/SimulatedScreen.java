@@ -0,0 +1,25 @@
+package com.main.utils;
+
+import com.badlogic.gdx.Screen;
+
+/**
+ * A screen whose simulation can be advanced without drawing it. The game runs every tick of a frame through
+ * {@link #update(float)} and then draws the screen once, so a frame that runs many ticks, such as when the
+ * game is fast-forwarded, doesn't draw pictures that are never shown.
+ * <p>
+ * {@link Screen#render(float)} is still called with no time passing, for example to snapshot the screen for
+ * a transition, and should update and then draw.
+ */
+public interface SimulatedScreen extends Screen {
+    /**
+     * Advances the screen's simulation without drawing anything.
+     *
+     * @param delta The time to advance by, in seconds of game time.
+     */
+    void update(float delta);
+
+    /**
+     * Draws the screen as it was left by the last update.
+     */
+    void draw();
+}
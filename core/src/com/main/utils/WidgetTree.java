@@ -0,0 +1,210 @@
+package com.main.utils;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The WidgetTree class holds every button on a screen in a hierarchy of {@link ButtonGroup}s and
+ * dispatches input to them.
+ * <p>
+ * Layout is computed lazily: a screen hands the tree its layout method, calls {@link #invalidate()}
+ * when the window is resized and the layout is run once, at the next draw or input event.
+ * After each layout the buttons are bucketed into a uniform grid covering the tree's bounds,
+ * so finding the button under the cursor only looks at the few buttons that share its cell
+ * instead of checking every rectangle on the screen.
+ */
+public class WidgetTree {
+    private static final int CELL_SIZE = 64;
+    private static final Color HOVER_COLOR = new Color(0.8f, 0.8f, 0.8f, 1);
+    private static final Color PRESSED_COLOR = new Color(0.6f, 0.6f, 0.6f, 1);
+
+    private final ButtonGroup root;
+    private final Runnable layout;
+    private final List<Button> buttons;
+    private final List<List<Button>> cells;
+    private int cols, rows;
+    private float originX, originY;
+    private boolean dirty;
+    private Button hovered, pressed;
+
+    /**
+     * Constructs an empty tree whose layout has not been computed yet.
+     *
+     * @param layout Positions every widget on the screen; run whenever the tree is invalid.
+     */
+    public WidgetTree(Runnable layout) {
+        this.root = new ButtonGroup();
+        this.layout = layout;
+        this.buttons = new ArrayList<>();
+        this.cells = new ArrayList<>();
+        this.dirty = true;
+    }
+
+    /**
+     * Adds a button to the top level of the tree.
+     *
+     * @param button The button to add.
+     * @return The added button.
+     */
+    public Button add(Button button) {
+        dirty = true;
+        return root.add(button);
+    }
+
+    /**
+     * Adds a group to the top level of the tree.
+     *
+     * @param group The group to add.
+     * @return The added group.
+     */
+    public ButtonGroup add(ButtonGroup group) {
+        dirty = true;
+        return root.add(group);
+    }
+
+    /**
+     * Marks the layout as out of date, for example after the window has been resized.
+     * The layout is recomputed once, the next time the tree is drawn or receives input.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Returns whether the layout needs to be recomputed.
+     *
+     * @return True if the layout is out of date.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Runs the layout and rebuilds the hit index if the tree has been invalidated.
+     */
+    public void validate() {
+        if (!dirty) return;
+        dirty = false;
+        layout.run();
+        rebuildIndex();
+    }
+
+    /**
+     * Buckets every button into the grid cells its bounds overlap.
+     */
+    private void rebuildIndex() {
+        buttons.clear();
+        root.collect(buttons);
+        root.updateBounds();
+
+        originX = root.x();
+        originY = root.y();
+        cols = Math.max(1, (int) Math.ceil(root.width() / CELL_SIZE));
+        rows = Math.max(1, (int) Math.ceil(root.height() / CELL_SIZE));
+
+        int cellCount = cols * rows;
+        for (List<Button> cell : cells) {
+            cell.clear();
+        }
+        while (cells.size() < cellCount) {
+            cells.add(new ArrayList<>());
+        }
+
+        for (Button button : buttons) {
+            int minCol = clamp((int) ((button.x() - originX) / CELL_SIZE), cols);
+            int maxCol = clamp((int) ((button.x() + button.width() - originX) / CELL_SIZE), cols);
+            int minRow = clamp((int) ((button.y() - originY) / CELL_SIZE), rows);
+            int maxRow = clamp((int) ((button.y() + button.height() - originY) / CELL_SIZE), rows);
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int col = minCol; col <= maxCol; col++) {
+                    cells.get(row * cols + col).add(button);
+                }
+            }
+        }
+    }
+
+    private static int clamp(int value, int count) {
+        return Math.max(0, Math.min(count - 1, value));
+    }
+
+    /**
+     * Finds the top-most visible button under a point.
+     *
+     * @param x The x-coordinate of the point, measured from the left of the screen.
+     * @param y The y-coordinate of the point, measured from the bottom of the screen.
+     * @return The button under the point, or null if there is none.
+     */
+    public Button hit(float x, float y) {
+        validate();
+        if (!root.contains(x, y)) return null;
+
+        int col = clamp((int) ((x - originX) / CELL_SIZE), cols);
+        int row = clamp((int) ((y - originY) / CELL_SIZE), rows);
+        List<Button> cell = cells.get(row * cols + col);
+        for (int i = cell.size() - 1; i >= 0; i--) {
+            Button button = cell.get(i);
+            if (button.isShown() && button.contains(x, y)) {
+                return button;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Presses the button under a point.
+     *
+     * @param x The x-coordinate of the touch, measured from the left of the screen.
+     * @param y The y-coordinate of the touch, measured from the bottom of the screen.
+     * @return The button that was pressed, or null if the touch missed every button.
+     */
+    public Button touchDown(float x, float y) {
+        release();
+        pressed = hit(x, y);
+        if (pressed != null) pressed.setPressed(true);
+        return pressed;
+    }
+
+    /**
+     * Releases the currently pressed button, if any.
+     */
+    public void release() {
+        if (pressed != null) pressed.setPressed(false);
+        pressed = null;
+    }
+
+    /**
+     * Updates which button is hovered by the cursor.
+     *
+     * @param x The x-coordinate of the cursor, measured from the left of the screen.
+     * @param y The y-coordinate of the cursor, measured from the bottom of the screen.
+     * @return True if the hovered button changed.
+     */
+    public boolean mouseMoved(float x, float y) {
+        Button over = hit(x, y);
+        if (over == hovered) return false;
+        if (hovered != null) hovered.setHovered(false);
+        if (over != null) over.setHovered(true);
+        hovered = over;
+        return true;
+    }
+
+    /**
+     * Draws a texture over a button's bounds, shaded when the button is hovered or pressed.
+     * Nothing is drawn if the button is hidden.
+     *
+     * @param batch The batch to draw with; must already have begun.
+     * @param texture The texture of the button.
+     * @param button The button to draw.
+     */
+    public void draw(Batch batch, Texture texture, Button button) {
+        if (!button.isShown()) return;
+        if (button.isPressed()) batch.setColor(PRESSED_COLOR);
+        else if (button.isHovered()) batch.setColor(HOVER_COLOR);
+        batch.draw(texture, button.x(), button.y(), button.width(), button.height());
+        batch.setColor(Color.WHITE);
+    }
+}
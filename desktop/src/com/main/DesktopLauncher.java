@@ -3,7 +3,10 @@ package com.main;
 import com.badlogic.gdx.Files;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3WindowAdapter;
 import com.badlogic.gdx.Graphics.DisplayMode;
+import com.main.utils.InputRecorder;
+import com.main.utils.PowerManager;
 import org.lwjgl.glfw.GLFW;
 import org.lwjgl.glfw.GLFWVidMode;
 
@@ -24,7 +27,20 @@ public class DesktopLauncher {
 		// General window configuration
 		config.setWindowPosition(0, 40);
 		config.setResizable(true);
-		config.setForegroundFPS(60);
+		config.setForegroundFPS(PowerManager.DEFAULT_FOREGROUND_FPS);
+
+		// Every session is recorded, so a problem seen on a kiosk can be replayed exactly from its log
+		Main main = new Main(System.nanoTime(), InputRecorder.openSessionFile());
+
+		// Pause the game while the window is unfocused or minimised; the power manager throttles it meanwhile
+		config.setPauseWhenLostFocus(true);
+		config.setPauseWhenMinimized(true);
+		config.setWindowListener(new Lwjgl3WindowAdapter() {
+			@Override
+			public void iconified(boolean isIconified) {
+				if (main.power != null) main.power.setMinimized(isIconified);
+			}
+		});
 		// config.setDecorated(false); //this can be used to remove the window
 
 		// Set window icons for different platforms
@@ -33,6 +49,6 @@ public class DesktopLauncher {
 		config.setWindowIcon(Files.FileType.Internal, "icon/icon_128.png"); // icon for macOS
 
 		config.setTitle("Heslington_Hustle");
-		new Lwjgl3Application(new Main(), config);
+		new Lwjgl3Application(main, config);
 	}
 }
@@ -0,0 +1,44 @@
+package io.HeslingtonHustle.tests;
+
+import com.main.rules.Score;
+import com.main.rules.balance.BalanceResult;
+import com.main.rules.balance.BalanceSimulation;
+import com.main.rules.balance.GreedyPolicy;
+import com.main.rules.balance.RandomPolicy;
+import com.main.rules.balance.SlackerPolicy;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the balancing tool gives the same results however many threads play the games, and that its
+ * policies play as intended.
+ */
+public class BalanceSimulationTest {
+    private static final long GAMES = 3 * BalanceSimulation.BATCH_SIZE + 1;
+
+    @Test
+    public void testResultsDependOnlyOnSeed() {
+        BalanceResult serial = new ForkJoinPool(1).invoke(new BalanceSimulation(RandomPolicy::new, GAMES, new SplittableRandom(7)));
+        BalanceResult parallel = new ForkJoinPool(4).invoke(new BalanceSimulation(RandomPolicy::new, GAMES, new SplittableRandom(7)));
+        assertEquals(GAMES, parallel.getGames());
+        assertEquals(serial.getMeanScore(), parallel.getMeanScore(), 0);
+        assertEquals(serial.getFailureRate(), parallel.getFailureRate(), 0);
+        assertEquals(serial.getPercentile(0.99), parallel.getPercentile(0.99));
+    }
+
+    @Test
+    public void testPoliciesPlayAsIntended() {
+        BalanceResult greedy = new BalanceSimulation(GreedyPolicy::new, 10, new SplittableRandom(1)).invoke();
+        assertEquals(0, greedy.getFailureRate(), 0);
+        assertEquals(1, greedy.getStreakRate(Integer.numberOfTrailingZeros(Score.PROGRAMMER)), 0);
+
+        BalanceResult slacker = new BalanceSimulation(SlackerPolicy::new, 10, new SplittableRandom(1)).invoke();
+        assertEquals(1, slacker.getFailureRate(), 0);
+        assertTrue(greedy.getMinScore() > slacker.getMaxScore());
+    }
+}
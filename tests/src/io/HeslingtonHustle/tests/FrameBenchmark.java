@@ -0,0 +1,237 @@
+package io.HeslingtonHustle.tests;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.main.Main;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Measures how much CPU time the game takes to run each frame under the headless backend, so changes
+ * to the render loop can be checked for regressions without a GPU.
+ * <p>
+ * Each frame is timed by the CPU time of the thread running it, which is steadier than the time on the
+ * clock on a busy machine. Work the frame hands to the job system's threads is only counted while this
+ * thread waits for it, so the CPU time of the whole process is reported alongside. Allocations are counted
+ * on this thread only.
+ * <p>
+ * Results are compared with a baseline saved by an earlier run. A result regresses if its median, 99th
+ * percentile or allocations per frame grow by more than the threshold, and by more than a small absolute
+ * amount, so very cheap screens don't fail on timer noise. The 99.9th percentile and the collections are
+ * reported but not compared, since a handful of frames decide them.
+ */
+public class FrameBenchmark {
+    private static final long MIN_REGRESSION_NANOS = 20_000; // Smaller changes are timer noise
+    private static final long MIN_REGRESSION_BYTES = 256;
+
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Something done before each measured frame, such as pressing keys.
+     */
+    public interface Script {
+        /**
+         * Called before each frame, including the warm-up frames.
+         *
+         * @param frame The number of the frame, counting from 0.
+         */
+        void beforeFrame(int frame);
+    }
+
+    /**
+     * The Result class holds the measurements of one benchmark.
+     */
+    public static class Result {
+        public final String name;
+        public final int frames;
+        public final long p50, p99, p999;   // CPU time of the frames in nanoseconds
+        public final long processNanos;     // Mean CPU time of the whole process per frame
+        public final long bytesPerFrame;    // Mean allocations per frame
+        public final long collections, collectionMillis;
+
+        Result(String name, long[] nanos, long processNanos, long bytes, long collections, long collectionMillis) {
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            this.name = name;
+            this.frames = nanos.length;
+            this.p50 = percentile(sorted, 0.5);
+            this.p99 = percentile(sorted, 0.99);
+            this.p999 = percentile(sorted, 0.999);
+            this.processNanos = processNanos / nanos.length;
+            this.bytesPerFrame = bytes < 0 ? -1 : bytes / nanos.length;
+            this.collections = collections;
+            this.collectionMillis = collectionMillis;
+        }
+
+        private static long percentile(long[] sorted, double fraction) {
+            int rank = (int) Math.ceil(fraction * sorted.length); // The nearest rank, counting from 1
+            return sorted[Math.max(Math.min(rank, sorted.length), 1) - 1];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-12s %6d frames  p50 %7.3f ms  p99 %7.3f ms  p99.9 %7.3f ms  process %7.3f ms"
+                            + "  %8d B/frame  %3d GCs (%d ms)", name, frames, p50 / 1e6, p99 / 1e6, p999 / 1e6,
+                    processNanos / 1e6, bytesPerFrame, collections, collectionMillis);
+        }
+    }
+
+    /**
+     * Runs the game for some frames of one tick each and measures the frames after the warm-up.
+     *
+     * @param name The name of the benchmark, under which it is saved in the baseline.
+     * @param game The game, already showing the screen to measure.
+     * @param warmUp The number of frames to run first without measuring them, while the JIT compiles the code.
+     * @param frames The number of frames to measure.
+     * @param script What to do before each frame.
+     * @return The measurements.
+     */
+    public static Result run(String name, Main game, int warmUp, int frames, Script script) {
+        for (int frame = 0; frame < warmUp; frame++) {
+            script.beforeFrame(frame);
+            game.frame(1);
+        }
+
+        long[] nanos = new long[frames];
+        long collections = collectionCount(), collectionMillis = collectionMillis();
+        long bytes = allocatedBytes();
+        long process = processCpuNanos();
+        for (int frame = 0; frame < frames; frame++) {
+            script.beforeFrame(warmUp + frame);
+            long start = threads.getCurrentThreadCpuTime();
+            game.frame(1);
+            nanos[frame] = threads.getCurrentThreadCpuTime() - start;
+        }
+        process = processCpuNanos() - process;
+        long allocated = allocatedBytes();
+        bytes = bytes < 0 || allocated < 0 ? -1 : allocated - bytes;
+        return new Result(name, nanos, process, bytes, collectionCount() - collections,
+                collectionMillis() - collectionMillis);
+    }
+
+    /**
+     * Compares results with a baseline.
+     *
+     * @param results The results.
+     * @param baseline The baseline, as saved by {@link #save}.
+     * @param threshold How much worse than the baseline a result may be, as a fraction, e.g. 0.25 for 25%.
+     * @return A description of each regression, or an empty list if there were none.
+     */
+    public static List<String> compare(List<Result> results, Properties baseline, double threshold) {
+        List<String> regressions = new ArrayList<>();
+        for (Result result : results) {
+            check(regressions, baseline, result.name + ".p50", result.p50, threshold, MIN_REGRESSION_NANOS);
+            check(regressions, baseline, result.name + ".p99", result.p99, threshold, MIN_REGRESSION_NANOS);
+            if (result.bytesPerFrame >= 0) {
+                check(regressions, baseline, result.name + ".bytesPerFrame", result.bytesPerFrame, threshold,
+                        MIN_REGRESSION_BYTES);
+            }
+        }
+        return regressions;
+    }
+
+    private static void check(List<String> regressions, Properties baseline, String key, long value,
+                              double threshold, long minimum) {
+        String saved = baseline.getProperty(key);
+        if (saved == null) return; // Not measured when the baseline was saved
+        long before = Long.parseLong(saved);
+        if (value > before * (1 + threshold) && value - before > minimum) {
+            regressions.add(String.format("%s went from %d to %d (+%.0f%%)", key, before, value,
+                    100.0 * (value - before) / Math.max(before, 1)));
+        }
+    }
+
+    /**
+     * Loads a baseline.
+     *
+     * @param file The file the baseline was saved to.
+     * @return The baseline, or null if the file doesn't exist.
+     * @throws IOException If the file can't be read.
+     */
+    public static Properties load(File file) throws IOException {
+        if (!file.isFile()) return null;
+        Properties baseline = new Properties();
+        try (Reader in = new FileReader(file)) {
+            baseline.load(in);
+        }
+        return baseline;
+    }
+
+    /**
+     * Saves results as the baseline to compare later runs with.
+     *
+     * @param file The file to save the baseline to.
+     * @param results The results.
+     * @throws IOException If the file can't be written.
+     */
+    public static void save(File file, List<Result> results) throws IOException {
+        Properties baseline = new Properties();
+        for (Result result : results) {
+            baseline.setProperty(result.name + ".p50", Long.toString(result.p50));
+            baseline.setProperty(result.name + ".p99", Long.toString(result.p99));
+            baseline.setProperty(result.name + ".p999", Long.toString(result.p999));
+            if (result.bytesPerFrame >= 0) {
+                baseline.setProperty(result.name + ".bytesPerFrame", Long.toString(result.bytesPerFrame));
+            }
+        }
+        try (Writer out = new FileWriter(file)) {
+            baseline.store(out, "Frame CPU times in nanoseconds, saved by FrameBenchmarkTest on "
+                    + System.getProperty("os.name") + " with " + Runtime.getRuntime().availableProcessors() + " cores");
+        }
+    }
+
+    /**
+     * Creates a GL context that does nothing, in which shaders compile and link. It allocates nothing, so
+     * the allocations measured are the game's own.
+     *
+     * @return The GL context.
+     */
+    public static GL20 nullGL() {
+        return new NullGL20();
+    }
+
+    private static long allocatedBytes() {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) threads;
+            if (threadBean.isThreadAllocatedMemoryEnabled()) {
+                return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1; // Not supported by this JVM
+    }
+
+    private static long processCpuNanos() {
+        Object os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+        }
+        return 0;
+    }
+
+    private static long collectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(collector.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private static long collectionMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(collector.getCollectionTime(), 0);
+        }
+        return millis;
+    }
+}
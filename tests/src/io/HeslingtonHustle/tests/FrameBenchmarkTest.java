@@ -0,0 +1,133 @@
+package io.HeslingtonHustle.tests;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.GL20;
+import com.main.Main;
+import com.main.utils.ScreenType;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs every screen for a few thousand frames with scripted input and fails if the CPU time or the
+ * allocations per frame have regressed from the saved baseline. Not part of the normal test run; run it
+ * with gradlew tests:frameBenchmark, adding -PupdateBaseline to save the results as the new baseline.
+ * <p>
+ * The baseline is tests/frame-baseline.properties. Frame times depend on the machine, so it is made with
+ * -PupdateBaseline on the machine the benchmark is compared on, and committed from there. Without a baseline
+ * the benchmark fails rather than passing with nothing to compare against.
+ * <p>
+ * The settings are read from system properties: frameBenchmark.frames, frameBenchmark.threshold,
+ * frameBenchmark.baseline and frameBenchmark.updateBaseline.
+ */
+@RunWith(GdxTestRunner.class)
+public class FrameBenchmarkTest {
+    private static final long SEED = 1;
+    private static final int WIDTH = 1922, HEIGHT = 995; // The game's default size, so the screens aren't scaled
+    private static final int WARM_UP_FRAMES = 600;
+    private static final int WALK_FRAMES = 90;           // Frames the player walks each way around the loop
+    private static final int[] WALK_KEYS = {Input.Keys.RIGHT, Input.Keys.UP, Input.Keys.LEFT, Input.Keys.DOWN};
+
+    @Test
+    public void testFrameTimesWithinBaseline() throws IOException {
+        int frames = Integer.getInteger("frameBenchmark.frames", 3000);
+        double threshold = Double.parseDouble(System.getProperty("frameBenchmark.threshold", "0.25"));
+        File baselineFile = new File(System.getProperty("frameBenchmark.baseline", "../tests/frame-baseline.properties"));
+        boolean update = Boolean.getBoolean("frameBenchmark.updateBaseline");
+        Properties baseline = FrameBenchmark.load(baselineFile);
+        if (baseline == null && !update) {
+            fail("No frame baseline at " + baselineFile.getCanonicalPath()
+                    + "; make one with gradlew tests:frameBenchmark -PupdateBaseline and commit it");
+        }
+
+        GL20 gl = Gdx.gl;
+        Gdx.gl = Gdx.gl20 = FrameBenchmark.nullGL();
+        InputReplayer.ReplayInput input = new InputReplayer.ReplayInput();
+        Input previous = Gdx.input;
+        Gdx.input = input;
+        Main game = new Main(SEED, null);
+        List<FrameBenchmark.Result> results = new ArrayList<>();
+        try {
+            game.create();
+            game.screenManager.setTransitionsEnabled(false);
+            game.resize(WIDTH, HEIGHT);
+            game.frame(1);
+
+            for (ScreenType menu : new ScreenType[] {ScreenType.MAIN_MENU, ScreenType.SETTINGS, ScreenType.CONTROLS}) {
+                game.screenManager.setScreen(menu);
+                results.add(FrameBenchmark.run(menu.name(), game, WARM_UP_FRAMES, frames, frame -> sweepMouse(game, input, frame)));
+            }
+
+            game.screenManager.setScreen(ScreenType.GAME_SCREEN);
+            results.add(FrameBenchmark.run("GAME_SCREEN", game, WARM_UP_FRAMES, frames, frame -> walk(game, input, frame)));
+
+            // A study session that never ends, as the guess is never sent
+            game.screenManager.setScreen(ScreenType.MINI_GAME, 1);
+            results.add(FrameBenchmark.run("MINI_GAME", game, WARM_UP_FRAMES, frames, frame -> type(game, frame)));
+
+            game.screenManager.setScreen(ScreenType.END_SCREEN, 500, "Programmer\nEarly Nights\n");
+            results.add(FrameBenchmark.run("END_SCREEN", game, WARM_UP_FRAMES, frames, frame -> sweepMouse(game, input, frame)));
+        } finally {
+            game.dispose();
+            Gdx.input = previous;
+            Gdx.gl = Gdx.gl20 = gl;
+        }
+
+        for (FrameBenchmark.Result result : results) {
+            System.out.println(result);
+        }
+        if (update) {
+            FrameBenchmark.save(baselineFile, results);
+            System.out.println("Saved the baseline to " + baselineFile.getCanonicalPath());
+            return;
+        }
+        List<String> regressions = FrameBenchmark.compare(results, baseline, threshold);
+        assertTrue("Frames regressed by more than " + Math.round(threshold * 100) + "%:\n" + String.join("\n", regressions),
+                regressions.isEmpty());
+    }
+
+    /**
+     * Moves the mouse back and forth across the middle of the window, over the buttons.
+     */
+    private static void sweepMouse(Main game, InputReplayer.ReplayInput input, int frame) {
+        int x = Math.abs(frame % (2 * WIDTH) - WIDTH);
+        int y = HEIGHT / 2 + (frame / 7 % 200) - 100;
+        input.moveTo(x, y);
+        game.inputRouter.mouseMoved(x, y);
+    }
+
+    /**
+     * Walks the player around a loop, running on every other lap.
+     */
+    private static void walk(Main game, InputReplayer.ReplayInput input, int frame) {
+        if (frame % WALK_FRAMES != 0) return;
+        int leg = frame / WALK_FRAMES;
+        int last = WALK_KEYS[(leg + WALK_KEYS.length - 1) % WALK_KEYS.length];
+        input.keyUp(last);
+        game.inputRouter.keyUp(last);
+        input.keyDown(WALK_KEYS[leg % WALK_KEYS.length]);
+        game.inputRouter.keyDown(WALK_KEYS[leg % WALK_KEYS.length]);
+        if (leg % WALK_KEYS.length == 0) {
+            boolean run = leg / WALK_KEYS.length % 2 == 1;
+            if (run) input.keyDown(Input.Keys.SHIFT_LEFT);
+            else input.keyUp(Input.Keys.SHIFT_LEFT);
+        }
+    }
+
+    /**
+     * Types digits and rubs them out again, once the number has been shown.
+     */
+    private static void type(Main game, int frame) {
+        if (frame % 10 != 0) return;
+        game.inputRouter.keyTyped(frame / 10 % 8 < 5 ? (char) ('0' + frame / 10 % 10) : '\b');
+    }
+}
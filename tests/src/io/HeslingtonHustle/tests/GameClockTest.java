@@ -0,0 +1,61 @@
+package io.HeslingtonHustle.tests;
+
+import com.main.utils.GameClock;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the game clock turns frames into ticks at any time scale.
+ */
+public class GameClockTest {
+    private static final float FRAME = 1f / 60f;
+
+    @Test
+    public void testTimeScaleChangesHowManyTicksRun() {
+        assertEquals(60, ticksInASecond(1), 1);
+        assertEquals(240, ticksInASecond(4), 1);
+        assertEquals(15, ticksInASecond(0.25f), 1);
+        assertEquals("Clamped to the fastest speed", ticksInASecond(GameClock.MAX_TIME_SCALE), ticksInASecond(1000));
+    }
+
+    @Test
+    public void testStallRunsLimitedTicks() {
+        GameClock clock = new GameClock();
+        assertEquals(GameClock.MAX_TICKS_PER_FRAME, clock.advance(5));
+        assertEquals("The rest of the stall is dropped", 0, clock.advance(0));
+
+        clock.setTimeScale(10);
+        assertEquals(10 * GameClock.MAX_TICKS_PER_FRAME, clock.advance(5));
+    }
+
+    @Test
+    public void testSpeedStepsReturnToNormal() {
+        GameClock clock = new GameClock();
+        for (int i = 0; i < 20; i++) clock.faster();
+        assertEquals(GameClock.MAX_TIME_SCALE, clock.getTimeScale(), 0);
+        for (int i = 0; i < 6; i++) clock.slower();
+        assertEquals(2, clock.getTimeScale(), 0);
+        clock.slower();
+        assertEquals(1, clock.getTimeScale(), 0);
+        for (int i = 0; i < 20; i++) clock.slower();
+        assertEquals(GameClock.MIN_TIME_SCALE, clock.getTimeScale(), 0);
+
+        clock.setTimeScale(3);
+        clock.faster();
+        assertEquals("From a speed not in the list", 4, clock.getTimeScale(), 0);
+    }
+
+    /**
+     * Runs a second of frames at a time scale and counts the ticks, which may be one short from rounding.
+     */
+    private static int ticksInASecond(float timeScale) {
+        GameClock clock = new GameClock();
+        clock.setTimeScale(timeScale);
+        int ticks = 0;
+        for (int frame = 0; frame < 60; frame++) {
+            ticks += clock.advance(FRAME);
+        }
+        return ticks;
+    }
+}
@@ -0,0 +1,111 @@
+package io.HeslingtonHustle.tests;
+
+import com.main.rules.Action;
+import com.main.rules.GameEvents;
+import com.main.rules.GameState;
+import com.main.rules.Place;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the rules publish each event once, and the event bus hands them on in order.
+ */
+public class GameEventsTest {
+
+    /**
+     * Writes down every event it is given.
+     */
+    private static class Recorder implements GameEvents.Listener {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void activityStarted(Place place, int hours, int day) {
+            events.add("activity " + place + " " + hours + " day " + day);
+        }
+
+        @Override
+        public void mealEaten(Place place, int hour, int day) {
+            events.add("meal " + place + " " + hour + " day " + day);
+        }
+
+        @Override
+        public void dayEnded(int day, int dayScore, int totalScore) {
+            events.add("day " + day + " ended " + totalScore);
+        }
+
+        @Override
+        public void triggerEntered(Place place) {
+            events.add("trigger " + place);
+        }
+    }
+
+    @Test
+    public void testRulesPublishEachEventOnce() {
+        GameEvents events = new GameEvents();
+        Recorder recorder = new Recorder();
+        events.addListener(recorder);
+        GameState state = new GameState();
+        state.setEvents(events);
+
+        state.apply(Action.study(Place.COMP_SCI, 2));
+        state.apply(Action.eat(Place.PIAZZA));
+        state.apply(Action.SLEEP); // Too early for bed, so nothing happens
+        state.step(GameState.DAY_LENGTH_SECONDS); // Midnight
+        assertEquals("Nothing is handed on until dispatched", 0, recorder.events.size());
+
+        events.dispatch();
+        events.dispatch();
+        assertEquals(3, recorder.events.size());
+        assertEquals("activity " + Place.COMP_SCI + " 2 day 1", recorder.events.get(0));
+        assertEquals("meal " + Place.PIAZZA + " 10 day 1", recorder.events.get(1));
+        assertEquals("day 1 ended " + state.getTotalScore(), recorder.events.get(2));
+    }
+
+    @Test
+    public void testLastDayEndsOnce() {
+        // The game can end by reaching midnight or going to bed on the last day
+        for (boolean toBed : new boolean[] {false, true}) {
+            GameEvents events = new GameEvents();
+            Recorder recorder = new Recorder();
+            events.addListener(recorder);
+            GameState state = new GameState();
+            state.setEvents(events);
+
+            while (!state.isOver()) {
+                state.apply(Action.study(Place.COMP_SCI, 1));
+                if (toBed && state.getDay() == GameState.LAST_DAY) {
+                    state.step(GameState.SECONDS_PER_HOUR * (GameState.BEDTIME_HOUR - GameState.DAY_START_HOUR));
+                    state.apply(Action.SLEEP);
+                } else {
+                    state.step(GameState.DAY_LENGTH_SECONDS);
+                }
+                events.dispatch();
+            }
+
+            int lastDayEnded = 0;
+            for (String event : recorder.events) {
+                if (event.startsWith("day " + GameState.LAST_DAY + " ended")) lastDayEnded++;
+            }
+            assertEquals(toBed ? "Going to bed" : "Reaching midnight", 1, lastDayEnded);
+        }
+    }
+
+    @Test
+    public void testFullBufferDispatchesEarly() {
+        GameEvents events = new GameEvents(4);
+        Recorder recorder = new Recorder();
+        events.addListener(recorder);
+
+        for (int i = 0; i < 10; i++) events.triggerEntered(Place.of(i % Place.count()));
+        events.dispatch();
+
+        assertEquals(10, recorder.events.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("trigger " + Place.of(i % Place.count()), recorder.events.get(i));
+        }
+    }
+}
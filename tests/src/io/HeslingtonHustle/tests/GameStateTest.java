@@ -0,0 +1,65 @@
+package io.HeslingtonHustle.tests;
+
+import com.main.rules.Action;
+import com.main.rules.GameState;
+import com.main.rules.Place;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Plays games through the rules alone, without the game screen, checking they behave as they did when
+ * they lived in the screen.
+ */
+public class GameStateTest {
+    private static final float STEP = 1f / 60f;
+
+    @Test
+    public void testBedtimeAndEnergyLimitActions() {
+        GameState state = new GameState();
+        state.step(STEP);
+        assertFalse("Can't sleep before 20:00", state.apply(Action.SLEEP));
+
+        assertTrue(state.apply(Action.recreation(Place.GYM, 4)));
+        assertTrue(state.apply(Action.recreation(Place.FEED_DUCKS, 4)));
+        assertEquals(2, state.getEnergy());
+        assertFalse("Not enough energy left", state.apply(Action.recreation(Place.VISIT_CITY, 4)));
+        assertEquals(2, state.getRecreationCount());
+
+        assertTrue(state.apply(Action.eat(Place.PIAZZA)));
+        assertEquals(5, state.getEnergy());
+    }
+
+    @Test
+    public void testMissingStudyTwiceFails() {
+        GameState state = new GameState();
+        while (!state.isOver()) state.step(STEP);
+        assertTrue(state.hasFailed());
+        assertEquals("Only the first day is scored", -5, state.getFinalScore());
+    }
+
+    @Test
+    public void testLastDayEndsDifferentlyAsleepOrAtMidnight() {
+        // Studying 3 hours at Computer Science scores 10 a day, and 5 days of it earns the Programmer streak
+        GameState atMidnight = new GameState();
+        while (!atMidnight.isOver()) studyThenWaitForMidnight(atMidnight);
+        assertEquals("The last day isn't scored at midnight", 6 * 10 + 5, atMidnight.getFinalScore());
+        assertEquals("Programmer\n", atMidnight.getStreaks());
+
+        GameState asleep = new GameState();
+        while (asleep.getDay() < GameState.LAST_DAY) studyThenWaitForMidnight(asleep);
+        assertTrue(asleep.apply(Action.study(Place.COMP_SCI, 3)));
+        while (asleep.getHour() < GameState.BEDTIME_HOUR) asleep.step(STEP);
+        assertTrue(asleep.apply(Action.SLEEP));
+        assertTrue(asleep.isOver());
+        assertEquals("Going to bed scores the last day", 7 * 10 + 5, asleep.getFinalScore());
+    }
+
+    private static void studyThenWaitForMidnight(GameState state) {
+        int day = state.getDay();
+        state.apply(Action.study(Place.COMP_SCI, 3));
+        while (state.getDay() == day && !state.isOver()) state.step(STEP);
+    }
+}
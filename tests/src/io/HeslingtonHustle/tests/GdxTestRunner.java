@@ -16,6 +16,7 @@
 
 package io.HeslingtonHustle.tests;
 
+import java.nio.IntBuffer;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -26,7 +27,14 @@ import org.junit.runners.model.InitializationError;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL20;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import com.badlogic.gdx.ApplicationListener;
 import com.badlogic.gdx.backends.headless.HeadlessApplication;
@@ -41,7 +49,31 @@ public class GdxTestRunner extends BlockJUnit4ClassRunner implements Application
 		HeadlessApplicationConfiguration conf = new HeadlessApplicationConfiguration();
 
 		new HeadlessApplication(this, conf);
-		Gdx.gl = mock(GL20.class);
+		Gdx.gl = Gdx.gl20 = mockGL();
+	}
+
+	/**
+	 * Creates a mocked GL context in which shaders compile and link, so that classes such as
+	 * SpriteBatch and ShapeRenderer can be constructed by the game under test. Textures get a handle,
+	 * as a texture without one isn't removed from the managed textures when it is disposed.
+	 */
+	static GL20 mockGL() {
+		GL20 gl = mock(GL20.class);
+		when(gl.glGenTexture()).thenReturn(1);
+		when(gl.glCreateShader(anyInt())).thenReturn(1);
+		when(gl.glCreateProgram()).thenReturn(1);
+		Answer<Void> status = new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) {
+				int pname = (Integer) invocation.getArguments()[1];
+				IntBuffer params = (IntBuffer) invocation.getArguments()[2];
+				params.put(0, pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS ? 1 : 0);
+				return null;
+			}
+		};
+		doAnswer(status).when(gl).glGetShaderiv(anyInt(), anyInt(), any(IntBuffer.class));
+		doAnswer(status).when(gl).glGetProgramiv(anyInt(), anyInt(), any(IntBuffer.class));
+		return gl;
 	}
 
 	@Override
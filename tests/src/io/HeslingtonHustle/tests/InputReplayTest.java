@@ -0,0 +1,117 @@
+package io.HeslingtonHustle.tests;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.main.Main;
+import com.main.rules.GameState;
+import com.main.screens.MainGameScreen;
+import com.main.utils.ScreenType;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Records a short session through the real screens and replays it, checking the replay ends exactly where
+ * the session did.
+ */
+@RunWith(GdxTestRunner.class)
+public class InputReplayTest {
+    private static final long SEED = 42;
+    private static final int WIDTH = 1922, HEIGHT = 995; // The game's default size, so the screens aren't scaled
+    private static final int PLAY_X = 961, PLAY_Y = 280; // The middle of the main menu's Play button
+
+    @Test
+    public void testReplayEndsWhereTheSessionDid() throws IOException {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        String recorded = record(log);
+        assertTrue("The log is " + log.size() + " bytes", log.size() < 200);
+
+        Main replayed = InputReplayer.replay(new ByteArrayInputStream(log.toByteArray()));
+        try {
+            assertEquals(recorded, describe(replayed));
+        } finally {
+            replayed.dispose();
+        }
+    }
+
+    @Test
+    public void testCutOffLogReplaysUpToWhereItStops() throws IOException {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        record(log);
+        byte[] bytes = log.toByteArray();
+
+        // As if the game had crashed part of the way through writing a record
+        Main replayed = InputReplayer.replay(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 3)));
+        try {
+            assertEquals(ScreenType.GAME_SCREEN, replayed.screenManager.getCurrentScreenType());
+        } finally {
+            replayed.dispose();
+        }
+    }
+
+    /**
+     * Plays a session that starts a game, walks around and skips a day, with frames of uneven lengths.
+     *
+     * @return A description of where the session ended.
+     */
+    private static String record(ByteArrayOutputStream log) {
+        InputReplayer.ReplayInput input = new InputReplayer.ReplayInput();
+        Input previous = Gdx.input;
+        Gdx.input = input;
+        Main game = new Main(SEED, log);
+        try {
+            game.create();
+            game.resize(WIDTH, HEIGHT);
+            frames(game, 10, 1);
+
+            input.touchDown(PLAY_X, PLAY_Y);
+            game.inputRouter.touchDown(PLAY_X, PLAY_Y, 0, Input.Buttons.LEFT);
+            input.touchUp(PLAY_X, PLAY_Y);
+            game.inputRouter.touchUp(PLAY_X, PLAY_Y, 0, Input.Buttons.LEFT);
+            frames(game, 30, 1);
+
+            input.keyDown(Input.Keys.RIGHT);
+            game.inputRouter.keyDown(Input.Keys.RIGHT);
+            frames(game, 20, 2);
+            input.keyDown(Input.Keys.UP);
+            game.inputRouter.keyDown(Input.Keys.UP);
+            frames(game, 15, 1);
+            frames(game, 3, 0);
+            input.keyUp(Input.Keys.RIGHT);
+            game.inputRouter.keyUp(Input.Keys.RIGHT);
+            frames(game, 10, 3);
+            input.keyUp(Input.Keys.UP);
+            game.inputRouter.keyUp(Input.Keys.UP);
+
+            game.inputRouter.keyDown(Input.Keys.SEMICOLON);
+            game.inputRouter.keyUp(Input.Keys.SEMICOLON);
+            frames(game, 120, 1);
+            return describe(game);
+        } finally {
+            game.dispose(); // Also ends the log
+            Gdx.input = previous;
+        }
+    }
+
+    private static void frames(Main game, int count, int ticks) {
+        for (int i = 0; i < count; i++) {
+            game.frame(ticks);
+        }
+    }
+
+    private static String describe(Main game) {
+        assertEquals(ScreenType.GAME_SCREEN, game.screenManager.getCurrentScreenType());
+        MainGameScreen screen = (MainGameScreen) game.getScreen();
+        GameState state = screen.getState();
+        return "tick " + game.clock.getTick() + ", day " + state.getDay() + ", time " + state.getTimeElapsed()
+                + ", energy " + state.getEnergy() + ", score " + state.getTotalScore()
+                + ", player at " + screen.getPlayer().getX() + ", " + screen.getPlayer().getY();
+    }
+}
@@ -0,0 +1,233 @@
+package io.HeslingtonHustle.tests;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import com.main.Main;
+import com.main.rules.GameState;
+import com.main.screens.MainGameScreen;
+import com.main.utils.GameClock;
+import com.main.utils.InputLog;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Replays a session recorded by the game's InputRecorder through the real screens under the headless
+ * backend, as fast as they run. Each recorded frame runs the same ticks as it did in the session and each
+ * input event reaches the screen at the same point, so the session plays out exactly as it did, including
+ * any crash.
+ * <p>
+ * Run from the command line to replay a log from a kiosk, e.g. gradlew tests:replay -Plog=session.hhlog
+ */
+public class InputReplayer {
+
+    /**
+     * The ReplayInput class answers the screens that poll the keyboard and mouse, such as the player
+     * walking while an arrow key is held, from the events replayed so far.
+     */
+    public static class ReplayInput extends MockInput {
+        private final boolean[] pressed = new boolean[Input.Keys.MAX_KEYCODE + 1];
+        private int pressedCount;
+        private int x, y;
+        private int touches;
+
+        public void keyDown(int keycode) {
+            if (keycode >= 0 && keycode < pressed.length && !pressed[keycode]) {
+                pressed[keycode] = true;
+                pressedCount++;
+            }
+        }
+
+        public void keyUp(int keycode) {
+            if (keycode >= 0 && keycode < pressed.length && pressed[keycode]) {
+                pressed[keycode] = false;
+                pressedCount--;
+            }
+        }
+
+        public void moveTo(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        public void touchDown(int x, int y) {
+            moveTo(x, y);
+            touches++;
+        }
+
+        public void touchUp(int x, int y) {
+            moveTo(x, y);
+            touches = Math.max(touches - 1, 0);
+        }
+
+        @Override
+        public boolean isKeyPressed(int key) {
+            if (key == Input.Keys.ANY_KEY) return pressedCount > 0;
+            return key >= 0 && key < pressed.length && pressed[key];
+        }
+
+        @Override
+        public int getX() {
+            return x;
+        }
+
+        @Override
+        public int getX(int pointer) {
+            return x;
+        }
+
+        @Override
+        public int getY() {
+            return y;
+        }
+
+        @Override
+        public int getY(int pointer) {
+            return y;
+        }
+
+        @Override
+        public boolean isTouched() {
+            return touches > 0;
+        }
+
+        @Override
+        public boolean isTouched(int pointer) {
+            return touches > 0;
+        }
+    }
+
+    /**
+     * Replays a log from the start of the session to its end. Must be called on the application's thread.
+     *
+     * @param log The stream to read the log from.
+     * @return The game as the session left it, which the caller disposes.
+     * @throws IOException If the log can't be read.
+     */
+    public static Main replay(InputStream log) throws IOException {
+        InputLog.Reader reader = new InputLog.Reader(log);
+        Input previous = Gdx.input;
+        ReplayInput input = new ReplayInput();
+        Gdx.input = input;
+        try {
+            Main game = new Main(reader.getSeed(), null);
+            game.create();
+            // Sleeping and waking up are replayed from the log instead
+            game.power.setIdleTimeout(Float.MAX_VALUE);
+            while (reader.next()) {
+                play(game, input, reader);
+            }
+            return game;
+        } finally {
+            Gdx.input = previous;
+        }
+    }
+
+    /**
+     * Plays one record of the log. Events that a filter consumed during the session only update the polled
+     * input, since they never reached the screen.
+     */
+    private static void play(Main game, ReplayInput input, InputLog.Reader record) {
+        InputProcessor screen = record.isFiltered() ? null : game.inputRouter.getProcessor();
+        switch (record.getType()) {
+            case InputLog.FRAMES:
+                for (int frame = 0; frame < record.get(0); frame++) {
+                    game.frame(record.get(1));
+                }
+                break;
+            case InputLog.RESIZE:
+                game.resize(record.get(0), record.get(1));
+                break;
+            case InputLog.SLEEP:
+                game.pause();
+                break;
+            case InputLog.WAKE:
+                game.resume();
+                break;
+            case InputLog.KEY_DOWN:
+                input.keyDown(record.get(0));
+                if (screen != null) screen.keyDown(record.get(0));
+                break;
+            case InputLog.KEY_UP:
+                input.keyUp(record.get(0));
+                if (screen != null) screen.keyUp(record.get(0));
+                break;
+            case InputLog.KEY_TYPED:
+                if (screen != null) screen.keyTyped((char) record.get(0));
+                break;
+            case InputLog.TOUCH_DOWN:
+                input.touchDown(record.get(0), record.get(1));
+                if (screen != null) screen.touchDown(record.get(0), record.get(1), record.get(2), record.get(3));
+                break;
+            case InputLog.TOUCH_UP:
+                input.touchUp(record.get(0), record.get(1));
+                if (screen != null) screen.touchUp(record.get(0), record.get(1), record.get(2), record.get(3));
+                break;
+            case InputLog.TOUCH_CANCELLED:
+                input.touchUp(record.get(0), record.get(1));
+                if (screen != null) screen.touchCancelled(record.get(0), record.get(1), record.get(2), record.get(3));
+                break;
+            case InputLog.TOUCH_DRAGGED:
+                input.moveTo(record.get(0), record.get(1));
+                if (screen != null) screen.touchDragged(record.get(0), record.get(1), record.get(2));
+                break;
+            case InputLog.MOUSE_MOVED:
+                input.moveTo(record.get(0), record.get(1));
+                if (screen != null) screen.mouseMoved(record.get(0), record.get(1));
+                break;
+            case InputLog.SCROLLED:
+                if (screen != null) screen.scrolled(record.getFloat(0), record.getFloat(1));
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Replays a log given on the command line and prints where the session ended up.
+     *
+     * @param args The path of the log.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length != 1 || args[0].isEmpty()) {
+            System.err.println("Usage: InputReplayer <session" + InputLog.EXTENSION + ">");
+            System.exit(2);
+        }
+        CountDownLatch done = new CountDownLatch(1);
+        int[] status = {0};
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                Gdx.gl = Gdx.gl20 = GdxTestRunner.mockGL();
+                try (InputStream log = new FileInputStream(args[0])) {
+                    long start = System.nanoTime();
+                    Main game = replay(log);
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    System.out.printf("Replayed %d ticks (%.1f s of play) in %.2f s%n", game.clock.getTick(),
+                            (float) game.clock.getTick() / GameClock.TICKS_PER_SECOND, seconds);
+                    System.out.println("Ended on " + game.screenManager.getCurrentScreenType());
+                    if (game.getScreen() instanceof MainGameScreen) {
+                        GameState state = ((MainGameScreen) game.getScreen()).getState();
+                        System.out.printf("Day %d, %02d:00, energy %d, score %d%n", state.getDay(), state.getHour(),
+                                state.getEnergy(), state.getTotalScore());
+                    }
+                    game.dispose();
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    status[0] = 1;
+                } finally {
+                    done.countDown();
+                }
+            }
+        }, new HeadlessApplicationConfiguration());
+        done.await();
+        System.exit(status[0]);
+    }
+}
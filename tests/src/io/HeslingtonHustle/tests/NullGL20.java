@@ -0,0 +1,179 @@
+package io.HeslingtonHustle.tests;
+
+import com.badlogic.gdx.graphics.GL20;
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * A GL context that does nothing and allocates nothing, in which shaders compile and link. Unlike a
+ * Mockito mock it doesn't remember its calls, and unlike a proxy it doesn't box its arguments, so the
+ * allocations measured by {@link FrameBenchmark} are the game's own. Textures get a handle, as a texture
+ * without one isn't removed from the managed textures when it is disposed; every other query returns zero,
+ * false or null.
+ */
+public class NullGL20 implements GL20 {
+    public void glActiveTexture(int a) {}
+    public void glBindTexture(int a, int b) {}
+    public void glBlendFunc(int a, int b) {}
+    public void glClear(int a) {}
+    public void glClearColor(float a, float b, float c, float d) {}
+    public void glClearDepthf(float a) {}
+    public void glClearStencil(int a) {}
+    public void glColorMask(boolean a, boolean b, boolean c, boolean d) {}
+    public void glCompressedTexImage2D(int a, int b, int c, int d, int e, int f, int g, Buffer h) {}
+    public void glCompressedTexSubImage2D(int a, int b, int c, int d, int e, int f, int g, int h, Buffer i) {}
+    public void glCopyTexImage2D(int a, int b, int c, int d, int e, int f, int g, int h) {}
+    public void glCopyTexSubImage2D(int a, int b, int c, int d, int e, int f, int g, int h) {}
+    public void glCullFace(int a) {}
+    public void glDeleteTextures(int a, IntBuffer b) {}
+    public void glDeleteTexture(int a) {}
+    public void glDepthFunc(int a) {}
+    public void glDepthMask(boolean a) {}
+    public void glDepthRangef(float a, float b) {}
+    public void glDisable(int a) {}
+    public void glDrawArrays(int a, int b, int c) {}
+    public void glDrawElements(int a, int b, int c, Buffer d) {}
+    public void glEnable(int a) {}
+    public void glFinish() {}
+    public void glFlush() {}
+    public void glFrontFace(int a) {}
+    public void glGenTextures(int a, IntBuffer b) {}
+    public int glGenTexture() { return 1; }
+    public int glGetError() { return 0; }
+    public void glGetIntegerv(int a, IntBuffer b) {}
+    public String glGetString(int a) { return null; }
+    public void glHint(int a, int b) {}
+    public void glLineWidth(float a) {}
+    public void glPixelStorei(int a, int b) {}
+    public void glPolygonOffset(float a, float b) {}
+    public void glReadPixels(int a, int b, int c, int d, int e, int f, Buffer g) {}
+    public void glScissor(int a, int b, int c, int d) {}
+    public void glStencilFunc(int a, int b, int c) {}
+    public void glStencilMask(int a) {}
+    public void glStencilOp(int a, int b, int c) {}
+    public void glTexImage2D(int a, int b, int c, int d, int e, int f, int g, int h, Buffer i) {}
+    public void glTexParameterf(int a, int b, float c) {}
+    public void glTexSubImage2D(int a, int b, int c, int d, int e, int f, int g, int h, Buffer i) {}
+    public void glViewport(int a, int b, int c, int d) {}
+    public void glAttachShader(int a, int b) {}
+    public void glBindAttribLocation(int a, int b, String c) {}
+    public void glBindBuffer(int a, int b) {}
+    public void glBindFramebuffer(int a, int b) {}
+    public void glBindRenderbuffer(int a, int b) {}
+    public void glBlendColor(float a, float b, float c, float d) {}
+    public void glBlendEquation(int a) {}
+    public void glBlendEquationSeparate(int a, int b) {}
+    public void glBlendFuncSeparate(int a, int b, int c, int d) {}
+    public void glBufferData(int a, int b, Buffer c, int d) {}
+    public void glBufferSubData(int a, int b, int c, Buffer d) {}
+    public int glCheckFramebufferStatus(int a) { return 0; }
+    public void glCompileShader(int a) {}
+    public int glCreateProgram() { return 1; }
+    public int glCreateShader(int a) { return 1; }
+    public void glDeleteBuffer(int a) {}
+    public void glDeleteBuffers(int a, IntBuffer b) {}
+    public void glDeleteFramebuffer(int a) {}
+    public void glDeleteFramebuffers(int a, IntBuffer b) {}
+    public void glDeleteProgram(int a) {}
+    public void glDeleteRenderbuffer(int a) {}
+    public void glDeleteRenderbuffers(int a, IntBuffer b) {}
+    public void glDeleteShader(int a) {}
+    public void glDetachShader(int a, int b) {}
+    public void glDisableVertexAttribArray(int a) {}
+    public void glDrawElements(int a, int b, int c, int d) {}
+    public void glEnableVertexAttribArray(int a) {}
+    public void glFramebufferRenderbuffer(int a, int b, int c, int d) {}
+    public void glFramebufferTexture2D(int a, int b, int c, int d, int e) {}
+    public int glGenBuffer() { return 0; }
+    public void glGenBuffers(int a, IntBuffer b) {}
+    public void glGenerateMipmap(int a) {}
+    public int glGenFramebuffer() { return 0; }
+    public void glGenFramebuffers(int a, IntBuffer b) {}
+    public int glGenRenderbuffer() { return 0; }
+    public void glGenRenderbuffers(int a, IntBuffer b) {}
+    public String glGetActiveAttrib(int a, int b, IntBuffer c, IntBuffer d) { return null; }
+    public String glGetActiveUniform(int a, int b, IntBuffer c, IntBuffer d) { return null; }
+    public void glGetAttachedShaders(int a, int b, Buffer c, IntBuffer d) {}
+    public int glGetAttribLocation(int a, String b) { return 0; }
+    public void glGetBooleanv(int a, Buffer b) {}
+    public void glGetBufferParameteriv(int a, int b, IntBuffer c) {}
+    public void glGetFloatv(int a, FloatBuffer b) {}
+    public void glGetFramebufferAttachmentParameteriv(int a, int b, int c, IntBuffer d) {}
+    public void glGetProgramiv(int program, int pname, IntBuffer params) { params.put(0, pname == GL_COMPILE_STATUS || pname == GL_LINK_STATUS ? 1 : 0); }
+    public String glGetProgramInfoLog(int a) { return null; }
+    public void glGetRenderbufferParameteriv(int a, int b, IntBuffer c) {}
+    public void glGetShaderiv(int shader, int pname, IntBuffer params) { params.put(0, pname == GL_COMPILE_STATUS || pname == GL_LINK_STATUS ? 1 : 0); }
+    public String glGetShaderInfoLog(int a) { return null; }
+    public void glGetShaderPrecisionFormat(int a, int b, IntBuffer c, IntBuffer d) {}
+    public void glGetTexParameterfv(int a, int b, FloatBuffer c) {}
+    public void glGetTexParameteriv(int a, int b, IntBuffer c) {}
+    public void glGetUniformfv(int a, int b, FloatBuffer c) {}
+    public void glGetUniformiv(int a, int b, IntBuffer c) {}
+    public int glGetUniformLocation(int a, String b) { return 0; }
+    public void glGetVertexAttribfv(int a, int b, FloatBuffer c) {}
+    public void glGetVertexAttribiv(int a, int b, IntBuffer c) {}
+    public void glGetVertexAttribPointerv(int a, int b, Buffer c) {}
+    public boolean glIsBuffer(int a) { return false; }
+    public boolean glIsEnabled(int a) { return false; }
+    public boolean glIsFramebuffer(int a) { return false; }
+    public boolean glIsProgram(int a) { return false; }
+    public boolean glIsRenderbuffer(int a) { return false; }
+    public boolean glIsShader(int a) { return false; }
+    public boolean glIsTexture(int a) { return false; }
+    public void glLinkProgram(int a) {}
+    public void glReleaseShaderCompiler() {}
+    public void glRenderbufferStorage(int a, int b, int c, int d) {}
+    public void glSampleCoverage(float a, boolean b) {}
+    public void glShaderBinary(int a, IntBuffer b, int c, Buffer d, int e) {}
+    public void glShaderSource(int a, String b) {}
+    public void glStencilFuncSeparate(int a, int b, int c, int d) {}
+    public void glStencilMaskSeparate(int a, int b) {}
+    public void glStencilOpSeparate(int a, int b, int c, int d) {}
+    public void glTexParameterfv(int a, int b, FloatBuffer c) {}
+    public void glTexParameteri(int a, int b, int c) {}
+    public void glTexParameteriv(int a, int b, IntBuffer c) {}
+    public void glUniform1f(int a, float b) {}
+    public void glUniform1fv(int a, int b, FloatBuffer c) {}
+    public void glUniform1fv(int a, int b, float[] c, int d) {}
+    public void glUniform1i(int a, int b) {}
+    public void glUniform1iv(int a, int b, IntBuffer c) {}
+    public void glUniform1iv(int a, int b, int[] c, int d) {}
+    public void glUniform2f(int a, float b, float c) {}
+    public void glUniform2fv(int a, int b, FloatBuffer c) {}
+    public void glUniform2fv(int a, int b, float[] c, int d) {}
+    public void glUniform2i(int a, int b, int c) {}
+    public void glUniform2iv(int a, int b, IntBuffer c) {}
+    public void glUniform2iv(int a, int b, int[] c, int d) {}
+    public void glUniform3f(int a, float b, float c, float d) {}
+    public void glUniform3fv(int a, int b, FloatBuffer c) {}
+    public void glUniform3fv(int a, int b, float[] c, int d) {}
+    public void glUniform3i(int a, int b, int c, int d) {}
+    public void glUniform3iv(int a, int b, IntBuffer c) {}
+    public void glUniform3iv(int a, int b, int[] c, int d) {}
+    public void glUniform4f(int a, float b, float c, float d, float e) {}
+    public void glUniform4fv(int a, int b, FloatBuffer c) {}
+    public void glUniform4fv(int a, int b, float[] c, int d) {}
+    public void glUniform4i(int a, int b, int c, int d, int e) {}
+    public void glUniform4iv(int a, int b, IntBuffer c) {}
+    public void glUniform4iv(int a, int b, int[] c, int d) {}
+    public void glUniformMatrix2fv(int a, int b, boolean c, FloatBuffer d) {}
+    public void glUniformMatrix2fv(int a, int b, boolean c, float[] d, int e) {}
+    public void glUniformMatrix3fv(int a, int b, boolean c, FloatBuffer d) {}
+    public void glUniformMatrix3fv(int a, int b, boolean c, float[] d, int e) {}
+    public void glUniformMatrix4fv(int a, int b, boolean c, FloatBuffer d) {}
+    public void glUniformMatrix4fv(int a, int b, boolean c, float[] d, int e) {}
+    public void glUseProgram(int a) {}
+    public void glValidateProgram(int a) {}
+    public void glVertexAttrib1f(int a, float b) {}
+    public void glVertexAttrib1fv(int a, FloatBuffer b) {}
+    public void glVertexAttrib2f(int a, float b, float c) {}
+    public void glVertexAttrib2fv(int a, FloatBuffer b) {}
+    public void glVertexAttrib3f(int a, float b, float c, float d) {}
+    public void glVertexAttrib3fv(int a, FloatBuffer b) {}
+    public void glVertexAttrib4f(int a, float b, float c, float d, float e) {}
+    public void glVertexAttrib4fv(int a, FloatBuffer b) {}
+    public void glVertexAttribPointer(int a, int b, int c, boolean d, int e, Buffer f) {}
+    public void glVertexAttribPointer(int a, int b, int c, boolean d, int e, int f) {}
+}
@@ -0,0 +1,78 @@
+package io.HeslingtonHustle.tests;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.main.Main;
+import com.main.utils.DisposableTracker;
+import com.main.utils.ScreenType;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Plays through every screen and presses Play Again hundreds of times, failing if textures or other
+ * native resources are left undisposed, or if the heap keeps growing.
+ */
+@RunWith(GdxTestRunner.class)
+public class PlayAgainSoakTest {
+    private static final int WARM_UP_CYCLES = 10;
+    private static final int SOAK_CYCLES = 200;
+    private static final long HEAP_TOLERANCE = 8L * 1024 * 1024;
+
+    @Test
+    public void testPlayAgainDoesNotLeak() {
+        // The mocked GL remembers every call, which would look like the heap growing
+        GL20 mockGL = Gdx.gl;
+        Gdx.gl = Gdx.gl20 = new NullGL20();
+        DisposableTracker.setEnabled(true);
+        Main game = new Main();
+        game.create();
+        try {
+            // The first cycles fill the screen cache and the font cache, which are expected to grow
+            for (int i = 0; i < WARM_UP_CYCLES; i++) {
+                playThrough(game);
+            }
+            int textures = Texture.getNumManagedTextures();
+            int disposables = DisposableTracker.getLiveCount();
+            long heap = usedHeap();
+
+            for (int i = 0; i < SOAK_CYCLES; i++) {
+                playThrough(game);
+            }
+
+            assertEquals("Textures leaked by Play Again", textures, Texture.getNumManagedTextures());
+            assertEquals("Disposables leaked by Play Again", disposables, DisposableTracker.getLiveCount());
+            long growth = usedHeap() - heap;
+            assertTrue("Heap grew by " + growth + " bytes", growth < HEAP_TOLERANCE);
+        } finally {
+            game.dispose();
+            DisposableTracker.setEnabled(false);
+            Gdx.gl = Gdx.gl20 = mockGL;
+        }
+    }
+
+    /**
+     * Visits every screen once, then starts a new game as the Play Again button does.
+     */
+    private static void playThrough(Main game) {
+        game.screenManager.setScreen(ScreenType.SETTINGS);
+        game.screenManager.setScreen(ScreenType.CONTROLS);
+        game.screenManager.setScreen(ScreenType.MAIN_MENU);
+        game.screenManager.setScreen(ScreenType.GAME_SCREEN);
+        game.screenManager.setScreen(ScreenType.MINI_GAME, 1);
+        game.screenManager.setScreen(ScreenType.GAME_SCREEN);
+        game.screenManager.setScreen(ScreenType.END_SCREEN, 0, "");
+        game.setup();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
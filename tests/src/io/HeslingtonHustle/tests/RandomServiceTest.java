@@ -0,0 +1,35 @@
+package io.HeslingtonHustle.tests;
+
+import com.main.utils.RandomService;
+import com.main.utils.RandomService.Stream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Checks the random streams are repeatable from the session seed and independent of each other.
+ */
+public class RandomServiceTest {
+    private static final long SEED = 42;
+
+    @Test
+    public void testStreamsDontAffectEachOther() {
+        RandomService quiet = new RandomService(SEED);
+        RandomService busy = new RandomService(SEED);
+        for (int i = 0; i < 100; i++) busy.get(Stream.PARTICLES).nextInt();
+
+        assertEquals(quiet.get(Stream.MINI_GAME).nextLong(), busy.get(Stream.MINI_GAME).nextLong());
+        assertEquals(quiet.get(Stream.NPCS).nextLong(), busy.get(Stream.NPCS).nextLong());
+    }
+
+    @Test
+    public void testSplitsAreRepeatable() {
+        RandomService first = new RandomService(SEED);
+        RandomService second = new RandomService(SEED);
+        assertEquals(first.split(Stream.NPCS).nextLong(), second.split(Stream.NPCS).nextLong());
+        assertEquals("Splitting moves the stream on", first.split(Stream.NPCS).nextLong(), second.split(Stream.NPCS).nextLong());
+
+        assertNotEquals(first.get(Stream.MINI_GAME).nextLong(), new RandomService(SEED + 1).get(Stream.MINI_GAME).nextLong());
+    }
+}
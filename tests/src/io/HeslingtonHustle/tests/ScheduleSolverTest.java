@@ -0,0 +1,45 @@
+package io.HeslingtonHustle.tests;
+
+import com.main.rules.Action;
+import com.main.rules.GameState;
+import com.main.rules.ScheduleSolver;
+import com.main.rules.balance.BalanceResult;
+import com.main.rules.balance.BalanceSimulation;
+import com.main.rules.balance.GreedyPolicy;
+import com.main.rules.balance.RandomPolicy;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the schedule the solver finds really scores its highest score when played through the rules,
+ * and that no simulated player beats it.
+ */
+public class ScheduleSolverTest {
+    @Test
+    public void testScheduleReachesHighestScore() {
+        ScheduleSolver.Solution solution = ScheduleSolver.solve();
+
+        GameState state = new GameState();
+        state.step(0);
+        for (Action action : solution.getPlan()) {
+            if (action == null) {
+                state.step(GameState.SECONDS_PER_HOUR);
+            } else {
+                assertTrue("The rules refused " + action + " on day " + state.getDay(), state.apply(action));
+                state.step(0);
+            }
+        }
+        assertTrue(state.isOver());
+        assertEquals(solution.getMaxScore(), state.getFinalScore());
+
+        for (BalanceResult result : new BalanceResult[] {
+                new BalanceSimulation(GreedyPolicy::new, 100, new SplittableRandom(1)).invoke(),
+                new BalanceSimulation(RandomPolicy::new, 10000, new SplittableRandom(1)).invoke()}) {
+            assertTrue(result.getMaxScore() <= solution.getMaxScore());
+        }
+    }
+}